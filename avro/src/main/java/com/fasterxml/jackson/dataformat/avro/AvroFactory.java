@@ -6,6 +6,7 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.BinaryTSFactory;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheAvroParserImpl;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPool;
 import com.fasterxml.jackson.dataformat.avro.deser.*;
 
 /**
@@ -43,6 +44,14 @@ public class AvroFactory
      * `false` to use Jackson native Avro decoder.
      */
     protected boolean _useApacheLibDecoder;
+
+    /**
+     * Pool that parsers and generators claim Apache Avro library encoders
+     * and decoders from.
+     *
+     * @since 3.0
+     */
+    protected ApacheCodecRecyclerPool _codecRecyclerPool;
     
     /*
     /**********************************************************
@@ -71,6 +80,7 @@ public class AvroFactory
     {
         super(src);
         _useApacheLibDecoder = src._useApacheLibDecoder;
+        _codecRecyclerPool = src._codecRecyclerPool;
     }
 
     /**
@@ -82,6 +92,7 @@ public class AvroFactory
     {
         super(b);
         _useApacheLibDecoder = b.useApacheLibDecoder();
+        _codecRecyclerPool = b.codecRecyclerPool();
     }
 
     @Override
@@ -189,6 +200,16 @@ public class AvroFactory
         return (_formatWriteFeatures & f.getMask()) != 0;
     }
 
+    /**
+     * Accessor for pool that parsers and generators claim Apache Avro
+     * library encoders and decoders from.
+     *
+     * @since 3.0
+     */
+    public ApacheCodecRecyclerPool getCodecRecyclerPool() {
+        return _codecRecyclerPool;
+    }
+
     /*
     /**********************************************************
     /* Data format support
@@ -235,7 +256,7 @@ public class AvroFactory
                   readCtxt.getStreamReadFeatures(_streamReadFeatures),
                   readCtxt.getFormatReadFeatures(_formatReadFeatures),
                   (AvroSchema) readCtxt.getSchema(),
-                  in);
+                  in, _codecRecyclerPool);
         }
         return new JacksonAvroParserImpl(readCtxt, ioCtxt,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
@@ -253,7 +274,7 @@ public class AvroFactory
                     readCtxt.getStreamReadFeatures(_streamReadFeatures),
                     readCtxt.getFormatReadFeatures(_formatReadFeatures),
                     (AvroSchema) readCtxt.getSchema(),
-                    data, offset, len);
+                    data, offset, len, _codecRecyclerPool);
         }
         return new JacksonAvroParserImpl(readCtxt, ioCtxt,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
@@ -284,6 +305,6 @@ public class AvroFactory
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
                 writeCtxt.getFormatWriteFeatures(_formatWriteFeatures),
                 out,
-                (AvroSchema) writeCtxt.getSchema());
+                (AvroSchema) writeCtxt.getSchema(), _codecRecyclerPool);
     }
 }
@@ -3,6 +3,8 @@ package com.fasterxml.jackson.dataformat.avro;
 import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
 import com.fasterxml.jackson.dataformat.avro.AvroFactoryBuilder;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPool;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPools;
 
 /**
  * {@link com.fasterxml.jackson.core.TokenStreamFactory.TSFBuilder}
@@ -29,6 +31,12 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
      */
     protected boolean _useApacheLibDecoder;
 
+    /**
+     * Pool that parsers and generators claim Apache Avro library encoders
+     * and decoders from.
+     */
+    protected ApacheCodecRecyclerPool _codecRecyclerPool;
+
     /*
     /**********************************************************
     /* Life cycle
@@ -44,6 +52,7 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
         super(AvroFactory.DEFAULT_AVRO_PARSER_FEATURE_FLAGS,
                 AvroFactory.DEFAULT_AVRO_GENERATOR_FEATURE_FLAGS);
         _useApacheLibDecoder = useApacheDecoder;
+        _codecRecyclerPool = ApacheCodecRecyclerPools.threadLocalPool();
 
         // 04-Mar-2013, tatu: Content auto-closing is unfortunately a feature
         //    that works poorly with Avro error reporting, and generally
@@ -55,6 +64,7 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
 
     public AvroFactoryBuilder(AvroFactory base) {
         super(base);
+        _codecRecyclerPool = base._codecRecyclerPool;
     }
 
     @Override
@@ -71,6 +81,8 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
 
     public boolean useApacheLibDecoder() { return _useApacheLibDecoder; }
 
+    public ApacheCodecRecyclerPool codecRecyclerPool() { return _codecRecyclerPool; }
+
     /*
     /**********************************************************
     /* Mutators
@@ -140,4 +152,23 @@ public class AvroFactoryBuilder extends DecorableTSFBuilder<AvroFactory, AvroFac
     public AvroFactoryBuilder configure(AvroGenerator.Feature f, boolean state) {
         return state ? enable(f) : disable(f);
     }
+
+    // // // Codec recycling
+
+    /**
+     * Method for specifying pool that parsers and generators claim Apache
+     * Avro library encoders and decoders from. Default pool,
+     * {@link ApacheCodecRecyclerPools#threadLocalPool()}, keeps codecs
+     * per thread, which gives no reuse when a new thread is used for each
+     * task (as is typical with virtual threads); pools from
+     * {@link ApacheCodecRecyclerPools#newLockFreePool()} and
+     * {@link ApacheCodecRecyclerPools#newBoundedPool()} are shared by all threads.
+     */
+    public AvroFactoryBuilder codecRecyclerPool(ApacheCodecRecyclerPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Can not pass null codec recycler pool");
+        }
+        _codecRecyclerPool = pool;
+        return _this();
+    }
 }
@@ -13,6 +13,8 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecycler;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPool;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPools;
 import com.fasterxml.jackson.dataformat.avro.ser.AvroWriteContext;
 import com.fasterxml.jackson.dataformat.avro.ser.EncodedDatum;
 
@@ -131,6 +133,13 @@ public class AvroGenerator extends GeneratorBase
      */
     protected BinaryEncoder _encoder;
 
+    /**
+     * Pool encoder is claimed from, and released back to.
+     *
+     * @since 3.0
+     */
+    protected final ApacheCodecRecyclerPool _codecRecyclerPool;
+
     /**
      * Flag that is set when the whole content is complete, can
      * be output.
@@ -148,13 +157,27 @@ public class AvroGenerator extends GeneratorBase
             OutputStream output,
             AvroSchema schema)
         throws IOException
+    {
+        this(writeCtxt, ctxt, jsonFeatures, avroFeatures, output, schema,
+                ApacheCodecRecyclerPools.threadLocalPool());
+    }
+
+    /**
+     * @since 3.0
+     */
+    public AvroGenerator(ObjectWriteContext writeCtxt, IOContext ctxt,
+            int jsonFeatures, int avroFeatures,
+            OutputStream output,
+            AvroSchema schema, ApacheCodecRecyclerPool codecRecyclerPool)
+        throws IOException
     {
         super(writeCtxt, jsonFeatures);
+        _codecRecyclerPool = codecRecyclerPool;
         _ioContext = ctxt;
         _formatWriteFeatures = avroFeatures;
         _output = output;
         _tokenWriteContext = AvroWriteContext.nullContext();
-        _encoder = ApacheCodecRecycler.encoder(_output, isEnabled(Feature.AVRO_BUFFERING));
+        _encoder = ApacheCodecRecycler.encoder(codecRecyclerPool, _output, isEnabled(Feature.AVRO_BUFFERING));
         _rootSchema = Objects.requireNonNull(schema, "Can not pass `null` 'schema'");
         // start with temporary root...
         _tokenWriteContext = _rootContext = AvroWriteContext.createRootContext(this,
@@ -605,7 +628,7 @@ public class AvroGenerator extends GeneratorBase
         BinaryEncoder e = _encoder;
         if (e != null) {
             _encoder = null;
-            ApacheCodecRecycler.release(e);
+            ApacheCodecRecycler.release(_codecRecyclerPool, e);
         }
     }
 
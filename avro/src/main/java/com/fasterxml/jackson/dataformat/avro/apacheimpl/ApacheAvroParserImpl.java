@@ -53,6 +53,13 @@ public class ApacheAvroParserImpl extends AvroParserImpl
      */
     protected BinaryDecoder _decoder;
 
+    /**
+     * Pool decoder is claimed from, and released back to.
+     *
+     * @since 3.0
+     */
+    protected final ApacheCodecRecyclerPool _codecRecyclerPool;
+
     /**
      * We need to keep track of text values.
      */
@@ -67,24 +74,48 @@ public class ApacheAvroParserImpl extends AvroParserImpl
     public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
             int parserFeatures, int avroFeatures, AvroSchema schema,
             InputStream in)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema, in,
+                ApacheCodecRecyclerPools.threadLocalPool());
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema,
+            InputStream in, ApacheCodecRecyclerPool codecRecyclerPool)
     {
         super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema);
+        _codecRecyclerPool = codecRecyclerPool;
         _inputStream = in;
         _inputBuffer = ioCtxt.allocReadIOBuffer();
         _inputPtr = 0;
         _inputEnd = 0;
         _bufferRecyclable = true;
-        _decoder = ApacheCodecRecycler.decoder(in,
+        _decoder = ApacheCodecRecycler.decoder(codecRecyclerPool, in,
                 Feature.AVRO_BUFFERING.enabledIn(avroFeatures));
     }
 
     public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
             int parserFeatures, int avroFeatures, AvroSchema schema,
             byte[] data, int offset, int len)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema, data, offset, len,
+                ApacheCodecRecyclerPools.threadLocalPool());
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ApacheAvroParserImpl(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int avroFeatures, AvroSchema schema,
+            byte[] data, int offset, int len, ApacheCodecRecyclerPool codecRecyclerPool)
     {
         super(readCtxt, ioCtxt, parserFeatures, avroFeatures, schema);
+        _codecRecyclerPool = codecRecyclerPool;
         _inputStream = null;
-        _decoder = ApacheCodecRecycler.decoder(data, offset, len);
+        _decoder = ApacheCodecRecycler.decoder(codecRecyclerPool, data, offset, len);
     }
 
     @Override
@@ -100,7 +131,7 @@ public class ApacheAvroParserImpl extends AvroParserImpl
         BinaryDecoder d = _decoder;
         if (d != null) {
             _decoder = null;
-            ApacheCodecRecycler.release(d);
+            ApacheCodecRecycler.release(_codecRecyclerPool, d);
         }
     }
 
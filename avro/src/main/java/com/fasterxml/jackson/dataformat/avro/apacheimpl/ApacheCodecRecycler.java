@@ -2,7 +2,6 @@ package com.fasterxml.jackson.dataformat.avro.apacheimpl;
 
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.SoftReference;
 
 import org.apache.avro.io.*;
 
@@ -20,13 +19,16 @@ public final class ApacheCodecRecycler
 
     protected final static EncoderFactory ENCODER_FACTORY = EncoderFactory.get();
 
-    protected final static ThreadLocal<SoftReference<ApacheCodecRecycler>> _recycler
-            = new ThreadLocal<SoftReference<ApacheCodecRecycler>>();
-
     private BinaryDecoder decoder;
     private BinaryEncoder encoder;
 
-    private ApacheCodecRecycler() { }
+    /**
+     * Constructor is public so that custom {@link ApacheCodecRecyclerPool}
+     * implementations may construct recyclers.
+     *
+     * @since 3.0
+     */
+    public ApacheCodecRecycler() { }
 
     /*
     /**********************************************************
@@ -34,51 +36,96 @@ public final class ApacheCodecRecycler
     /**********************************************************
      */
 
-    public static BinaryDecoder decoder(InputStream in, boolean buffering)
+    public static BinaryDecoder decoder(InputStream in, boolean buffering) {
+        return decoder(ApacheCodecRecyclerPools.threadLocalPool(), in, buffering);
+    }
+
+    public static BinaryDecoder decoder(byte[] buffer, int offset, int len) {
+        return decoder(ApacheCodecRecyclerPools.threadLocalPool(), buffer, offset, len);
+    }
+
+    public static BinaryEncoder encoder(OutputStream out, boolean buffering) {
+        return encoder(ApacheCodecRecyclerPools.threadLocalPool(), out, buffering);
+    }
+
+    public static void release(BinaryDecoder dec) {
+        release(ApacheCodecRecyclerPools.threadLocalPool(), dec);
+    }
+
+    public static void release(BinaryEncoder enc) {
+        release(ApacheCodecRecyclerPools.threadLocalPool(), enc);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public static BinaryDecoder decoder(ApacheCodecRecyclerPool pool,
+            InputStream in, boolean buffering)
     {
-        BinaryDecoder prev = _recycler().claimDecoder();
+        BinaryDecoder prev = _claimDecoder(pool);
         return buffering
                 ? DECODER_FACTORY.binaryDecoder(in, prev)
                 : DECODER_FACTORY.directBinaryDecoder(in, prev);
     }
 
-    public static BinaryDecoder decoder(byte[] buffer, int offset, int len)
+    /**
+     * @since 3.0
+     */
+    public static BinaryDecoder decoder(ApacheCodecRecyclerPool pool,
+            byte[] buffer, int offset, int len)
     {
-        BinaryDecoder prev = _recycler().claimDecoder();
+        BinaryDecoder prev = _claimDecoder(pool);
         return DECODER_FACTORY.binaryDecoder(buffer, offset, len, prev);
     }
 
-    public static BinaryEncoder encoder(OutputStream out, boolean buffering)
+    /**
+     * @since 3.0
+     */
+    public static BinaryEncoder encoder(ApacheCodecRecyclerPool pool,
+            OutputStream out, boolean buffering)
     {
-        BinaryEncoder prev = _recycler().claimEncoder();
+        BinaryEncoder prev = _claimEncoder(pool);
         return buffering
             ? ENCODER_FACTORY.binaryEncoder(out, prev)
             : ENCODER_FACTORY.directBinaryEncoder(out, prev);
     }
 
-    public static void release(BinaryDecoder dec) {
-        _recycler().decoder = (BinaryDecoder) dec;
+    /**
+     * @since 3.0
+     */
+    public static void release(ApacheCodecRecyclerPool pool, BinaryDecoder dec) {
+        ApacheCodecRecycler r = pool.acquireRecycler();
+        r.decoder = dec;
+        pool.releaseRecycler(r);
     }
 
-    public static void release(BinaryEncoder enc) {
-        _recycler().encoder = enc;
+    /**
+     * @since 3.0
+     */
+    public static void release(ApacheCodecRecyclerPool pool, BinaryEncoder enc) {
+        ApacheCodecRecycler r = pool.acquireRecycler();
+        r.encoder = enc;
+        pool.releaseRecycler(r);
     }
 
     /*
     /**********************************************************
-    /* Internal per-instance methods
+    /* Internal methods
     /**********************************************************
      */
-    
-    private static ApacheCodecRecycler _recycler() {
-        SoftReference<ApacheCodecRecycler> ref = _recycler.get();
-        ApacheCodecRecycler r = (ref == null) ? null : ref.get();
-
-        if (r == null) {
-            r = new ApacheCodecRecycler();
-            _recycler.set(new SoftReference<ApacheCodecRecycler>(r));
-        }
-        return r;
+
+    private static BinaryDecoder _claimDecoder(ApacheCodecRecyclerPool pool) {
+        ApacheCodecRecycler r = pool.acquireRecycler();
+        BinaryDecoder d = r.claimDecoder();
+        pool.releaseRecycler(r);
+        return d;
+    }
+
+    private static BinaryEncoder _claimEncoder(ApacheCodecRecyclerPool pool) {
+        ApacheCodecRecycler r = pool.acquireRecycler();
+        BinaryEncoder e = r.claimEncoder();
+        pool.releaseRecycler(r);
+        return e;
     }
 
     private BinaryDecoder claimDecoder() {
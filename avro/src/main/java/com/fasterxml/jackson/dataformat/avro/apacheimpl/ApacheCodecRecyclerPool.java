@@ -0,0 +1,26 @@
+package com.fasterxml.jackson.dataformat.avro.apacheimpl;
+
+/**
+ * Interface for pools of {@link ApacheCodecRecycler}s, used for reusing
+ * Apache Avro library encoders and decoders across parsers and generators.
+ * Recycler is only acquired for the duration of claiming or releasing
+ * a codec; implementations must be thread-safe.
+ * See {@link ApacheCodecRecyclerPools} for standard implementations.
+ *
+ * @since 3.0
+ */
+public interface ApacheCodecRecyclerPool
+    extends java.io.Serializable
+{
+    /**
+     * Method called to acquire a recycler to use, constructing a new one if
+     * pool has none available.
+     */
+    public ApacheCodecRecycler acquireRecycler();
+
+    /**
+     * Method called to return a recycler acquired using
+     * {@link #acquireRecycler}.
+     */
+    public void releaseRecycler(ApacheCodecRecycler recycler);
+}
@@ -0,0 +1,232 @@
+package com.fasterxml.jackson.dataformat.avro.apacheimpl;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Standard {@link ApacheCodecRecyclerPool} implementations:
+ *<ul>
+ * <li>{@link ThreadLocalPool} (default): one recycler per thread, referenced
+ *   using {@link SoftReference}; works well with a limited number of
+ *   long-lived (platform) threads, but gives no reuse with short-lived
+ *   (for example, virtual) threads.
+ *  </li>
+ * <li>{@link LockFreePool}: lock-free striped pool, independent of thread identity.
+ *  </li>
+ * <li>{@link BoundedPool}: pool that uses a bounded queue, independent of
+ *   thread identity.
+ *  </li>
+ * <li>{@link NonRecyclingPool}: no reuse at all.
+ *  </li>
+ *</ul>
+ *
+ * @since 3.0
+ */
+public final class ApacheCodecRecyclerPools
+{
+    /**
+     * Default number of stripes (slots) of {@link LockFreePool}.
+     */
+    public final static int DEFAULT_STRIPES = 16;
+
+    /**
+     * Default size of queue of {@link BoundedPool}.
+     */
+    public final static int DEFAULT_POOL_SIZE = 100;
+
+    private ApacheCodecRecyclerPools() { }
+
+    /**
+     * @return Shared pool that uses {@link ThreadLocal} recyclers (default pool)
+     */
+    public static ApacheCodecRecyclerPool threadLocalPool() {
+        return ThreadLocalPool.SHARED;
+    }
+
+    /**
+     * @return Shared pool that does no recycling
+     */
+    public static ApacheCodecRecyclerPool nonRecyclingPool() {
+        return NonRecyclingPool.SHARED;
+    }
+
+    public static ApacheCodecRecyclerPool newLockFreePool() {
+        return new LockFreePool(DEFAULT_STRIPES);
+    }
+
+    public static ApacheCodecRecyclerPool newLockFreePool(int stripes) {
+        return new LockFreePool(stripes);
+    }
+
+    public static ApacheCodecRecyclerPool newBoundedPool() {
+        return new BoundedPool(DEFAULT_POOL_SIZE);
+    }
+
+    public static ApacheCodecRecyclerPool newBoundedPool(int size) {
+        return new BoundedPool(size);
+    }
+
+    /*
+    /**********************************************************
+    /* Implementations
+    /**********************************************************
+     */
+
+    /**
+     * Pool that keeps one recycler per thread, referenced using
+     * {@link SoftReference}; releasing recyclers is a no-op.
+     */
+    public static class ThreadLocalPool implements ApacheCodecRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final static ThreadLocalPool SHARED = new ThreadLocalPool();
+
+        protected final transient ThreadLocal<SoftReference<ApacheCodecRecycler>> _recyclerRef
+            = new ThreadLocal<SoftReference<ApacheCodecRecycler>>();
+
+        protected ThreadLocalPool() { }
+
+        @Override
+        public ApacheCodecRecycler acquireRecycler()
+        {
+            SoftReference<ApacheCodecRecycler> ref = _recyclerRef.get();
+            ApacheCodecRecycler r = (ref == null) ? null : ref.get();
+
+            if (r == null) {
+                r = new ApacheCodecRecycler();
+                _recyclerRef.set(new SoftReference<ApacheCodecRecycler>(r));
+            }
+            return r;
+        }
+
+        @Override
+        public void releaseRecycler(ApacheCodecRecycler recycler) {
+            // nothing to do, recycler remains referenced by thread
+        }
+
+        protected Object readResolve() {
+            return SHARED;
+        }
+    }
+
+    /**
+     * Pool that constructs a new recycler for every codec claimed.
+     */
+    public static class NonRecyclingPool implements ApacheCodecRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final static NonRecyclingPool SHARED = new NonRecyclingPool();
+
+        protected NonRecyclingPool() { }
+
+        @Override
+        public ApacheCodecRecycler acquireRecycler() {
+            return new ApacheCodecRecycler();
+        }
+
+        @Override
+        public void releaseRecycler(ApacheCodecRecycler recycler) { }
+
+        protected Object readResolve() {
+            return SHARED;
+        }
+    }
+
+    /**
+     * Lock-free pool that keeps released recyclers in a fixed number of
+     * slots (stripes); threads start probing for a free (or full) slot at
+     * a random position, to reduce contention. Recyclers released when all
+     * slots are full are dropped.
+     */
+    public static class LockFreePool implements ApacheCodecRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final int _stripes;
+
+        protected final transient AtomicReferenceArray<ApacheCodecRecycler> _recyclers;
+
+        protected LockFreePool(int stripes)
+        {
+            if (stripes < 1) {
+                throw new IllegalArgumentException("Number of stripes must be positive, was "+stripes);
+            }
+            _stripes = stripes;
+            _recyclers = new AtomicReferenceArray<>(stripes);
+        }
+
+        @Override
+        public ApacheCodecRecycler acquireRecycler()
+        {
+            final int start = ThreadLocalRandom.current().nextInt(_stripes);
+            for (int i = 0; i < _stripes; ++i) {
+                final int ix = (start + i) % _stripes;
+                if (_recyclers.get(ix) != null) {
+                    ApacheCodecRecycler r = _recyclers.getAndSet(ix, null);
+                    if (r != null) {
+                        return r;
+                    }
+                }
+            }
+            return new ApacheCodecRecycler();
+        }
+
+        @Override
+        public void releaseRecycler(ApacheCodecRecycler recycler)
+        {
+            final int start = ThreadLocalRandom.current().nextInt(_stripes);
+            for (int i = 0; i < _stripes; ++i) {
+                final int ix = (start + i) % _stripes;
+                if ((_recyclers.get(ix) == null) && _recyclers.compareAndSet(ix, null, recycler)) {
+                    return;
+                }
+            }
+        }
+
+        protected Object readResolve() {
+            return new LockFreePool(_stripes);
+        }
+    }
+
+    /**
+     * Pool that keeps released recyclers in a bounded queue; recyclers
+     * released when queue is full are dropped.
+     */
+    public static class BoundedPool implements ApacheCodecRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final int _size;
+
+        protected final transient ArrayBlockingQueue<ApacheCodecRecycler> _recyclers;
+
+        protected BoundedPool(int size)
+        {
+            if (size < 1) {
+                throw new IllegalArgumentException("Pool size must be positive, was "+size);
+            }
+            _size = size;
+            _recyclers = new ArrayBlockingQueue<>(size);
+        }
+
+        @Override
+        public ApacheCodecRecycler acquireRecycler()
+        {
+            ApacheCodecRecycler r = _recyclers.poll();
+            return (r == null) ? new ApacheCodecRecycler() : r;
+        }
+
+        @Override
+        public void releaseRecycler(ApacheCodecRecycler recycler) {
+            _recyclers.offer(recycler);
+        }
+
+        protected Object readResolve() {
+            return new BoundedPool(_size);
+        }
+    }
+}
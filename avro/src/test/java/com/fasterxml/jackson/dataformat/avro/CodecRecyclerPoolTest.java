@@ -0,0 +1,102 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecycler;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPool;
+import com.fasterxml.jackson.dataformat.avro.apacheimpl.ApacheCodecRecyclerPools;
+
+/**
+ * Tests for configuring {@link ApacheCodecRecyclerPool} used for reusing
+ * Apache Avro library encoders and decoders.
+ */
+public class CodecRecyclerPoolTest extends AvroTestBase
+{
+    public void testDefaultPool() throws Exception
+    {
+        assertSame(ApacheCodecRecyclerPools.threadLocalPool(),
+                new AvroFactory().getCodecRecyclerPool());
+        assertSame(ApacheCodecRecyclerPools.threadLocalPool(),
+                AvroFactory.builderWithApacheDecoder().build().getCodecRecyclerPool());
+    }
+
+    public void testRoundTripWithPools() throws Exception
+    {
+        for (ApacheCodecRecyclerPool pool : new ApacheCodecRecyclerPool[] {
+                ApacheCodecRecyclerPools.threadLocalPool(),
+                ApacheCodecRecyclerPools.nonRecyclingPool(),
+                ApacheCodecRecyclerPools.newLockFreePool(),
+                ApacheCodecRecyclerPools.newBoundedPool()
+        }) {
+            AvroMapper mapper = _mapper(pool);
+            assertSame(pool, mapper.tokenStreamFactory().getCodecRecyclerPool());
+            assertSame(pool, mapper.tokenStreamFactory().rebuild().build().getCodecRecyclerPool());
+            for (int i = 0; i < 3; ++i) {
+                _verifyRoundTrip(mapper, i);
+            }
+        }
+    }
+
+    public void testRecyclerReuse() throws Exception
+    {
+        ApacheCodecRecyclerPool pool = ApacheCodecRecyclerPools.newBoundedPool(1);
+        ApacheCodecRecycler r = pool.acquireRecycler();
+        pool.releaseRecycler(r);
+        assertSame(r, pool.acquireRecycler());
+        assertNotSame(r, pool.acquireRecycler());
+
+        pool = ApacheCodecRecyclerPools.newLockFreePool(1);
+        r = pool.acquireRecycler();
+        pool.releaseRecycler(r);
+        assertSame(r, pool.acquireRecycler());
+        assertNotSame(r, pool.acquireRecycler());
+    }
+
+    public void testConcurrentUse() throws Exception
+    {
+        final AvroMapper mapper = _mapper(ApacheCodecRecyclerPools.newLockFreePool(2));
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 40; ++i) {
+                final int index = i;
+                results.add(exec.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        _verifyRoundTrip(mapper, index);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> f : results) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    private AvroMapper _mapper(ApacheCodecRecyclerPool pool) {
+        return new AvroMapper(AvroFactory.builderWithApacheDecoder()
+                .codecRecyclerPool(pool)
+                .build());
+    }
+
+    private void _verifyRoundTrip(AvroMapper mapper, int index) throws IOException
+    {
+        final AvroSchema schema = getEmployeeSchema();
+        Employee input = new Employee("Bob"+index, 30+index,
+                new String[] { "bob"+index+"@example.com" }, null);
+        byte[] doc = mapper.writer(schema).writeValueAsBytes(input);
+
+        Employee result = mapper.readerFor(Employee.class).with(schema).readValue(doc);
+        assertEquals(input.name, result.name);
+        assertEquals(input.age, result.age);
+        result = mapper.readerFor(Employee.class).with(schema)
+                .readValue(new ByteArrayInputStream(doc));
+        assertEquals(input.name, result.name);
+        assertEquals(input.emails[0], result.emails[0]);
+    }
+}
@@ -0,0 +1,288 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+/**
+ * {@link CBORParser} variant used for content passed as a {@link ByteBuffer}.
+ * Only heap buffers are parsed directly from their backing array. Decoding
+ * works on byte arrays, so content of direct (and read-only) buffers is
+ * copied, one chunk at a time, into the (recycled) input buffer of the
+ * parser as parsing proceeds: this avoids copying whole frames on heap, but
+ * does not avoid copying altogether. Exceptions are non-chunked Binary values,
+ * which are read from the buffer directly into the result array, and content
+ * that is skipped, which is not loaded at all.
+ *<p>
+ * If {@link CBORParser.Feature#READ_BINARY_AS_BYTE_BUFFER} is enabled,
+ * non-chunked Binary values are exposed by {@link #getEmbeddedObject()} as
+ * read-only {@link ByteBuffer} slices of input buffer: their content is
+ * neither copied nor, for direct buffers, loaded into the input buffer.
+ */
+public class CBORByteBufferParser extends CBORParser
+{
+    // Marker used to indicate that the current Binary value is only
+    // available as slice (reset along with `_binaryValue` for each token)
+    private final static byte[] SLICED_BYTES = new byte[0];
+
+    /**
+     * Buffer that was passed as input; not modified by the parser.
+     */
+    protected final ByteBuffer _inputSource;
+
+    /**
+     * For direct buffers, duplicate of {@link #_inputSource} from which
+     * content is loaded (position indicating first byte not yet loaded);
+     * {@code null} for heap buffers.
+     */
+    protected final ByteBuffer _source;
+
+    protected final boolean _cfgBinaryAsByteBuffer;
+
+    /**
+     * Read-only slice of input buffer for current Binary value, if one
+     * accessed via {@link #getEmbeddedObject()}.
+     */
+    protected ByteBuffer _binarySlice;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public CBORByteBufferParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym, ByteBuffer input)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym, input,
+                // note: read-only heap buffers do not expose their backing array
+                input.hasArray() ? null : input.duplicate());
+    }
+
+    private CBORByteBufferParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym, ByteBuffer input, ByteBuffer source)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym,
+                (source == null) ? null : new ByteBufferInputStream(source),
+                (source == null) ? input.array() : ioCtxt.allocReadIOBuffer(),
+                (source == null) ? (input.arrayOffset() + input.position()) : 0,
+                (source == null) ? (input.arrayOffset() + input.limit()) : 0,
+                // only buffer allocated above may be recycled
+                (source != null));
+        _inputSource = input;
+        _source = source;
+        _cfgBinaryAsByteBuffer = Feature.READ_BINARY_AS_BYTE_BUFFER.enabledIn(cborFeatures);
+    }
+
+    @Override
+    public Object getInputSource() {
+        return _inputSource;
+    }
+
+    /*
+    /**********************************************************************
+    /* Binary access
+    /**********************************************************************
+     */
+
+    @Override
+    public Object getEmbeddedObject() throws IOException
+    {
+        if (_tokenIncomplete && _cfgBinaryAsByteBuffer
+                && (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT)) {
+            _tokenIncomplete = false;
+            final int len = _decodeExplicitLength(_typeByte & 0x1F);
+            if (len < 0) { // chunked, need to be aggregated
+                _binaryValue = _finishBytes(len);
+                return _binaryValue;
+            }
+            _binarySlice = _sliceBytes(len);
+            _binaryValue = SLICED_BYTES;
+            return _binarySlice.duplicate();
+        }
+        if (_hasBinarySlice()) {
+            return _binarySlice.duplicate();
+        }
+        return super.getEmbeddedObject();
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant b64variant) throws IOException
+    {
+        if (_hasBinarySlice()) {
+            _binaryValue = _copySlice();
+        }
+        return super.getBinaryValue(b64variant);
+    }
+
+    @Override
+    public int readBinaryValue(Base64Variant b64variant, OutputStream out) throws IOException
+    {
+        if (_hasBinarySlice()) {
+            _binaryValue = _copySlice();
+        }
+        return super.readBinaryValue(b64variant, out);
+    }
+
+    private boolean _hasBinarySlice() {
+        return (_binaryValue == SLICED_BYTES) && !_tokenIncomplete
+                && (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    private byte[] _copySlice()
+    {
+        ByteBuffer slice = _binarySlice;
+        _binarySlice = null;
+        byte[] result = new byte[slice.remaining()];
+        slice.duplicate().get(result);
+        return result;
+    }
+
+    /**
+     * Helper method for constructing read-only slice of the input buffer for
+     * {@code len} bytes starting at current input position, and skipping
+     * over those bytes.
+     */
+    protected ByteBuffer _sliceBytes(int len) throws IOException
+    {
+        final int avail = _inputEnd - _inputPtr;
+        ByteBuffer slice;
+
+        if (_source == null) { // heap buffer: all content accessible
+            if (len > avail) {
+                _reportInvalidEOF(" for Binary value: needed "+len+" bytes, only "+avail+" available",
+                        JsonToken.VALUE_EMBEDDED_OBJECT);
+            }
+            slice = ByteBuffer.wrap(_inputBuffer, _inputPtr, len).slice();
+            _inputPtr += len;
+            return slice.asReadOnlyBuffer();
+        }
+        // Direct buffer: content at end of input buffer has been loaded from
+        // source, just before its current position
+        final int start = _source.position() - avail;
+        if (len > (avail + _source.remaining())) {
+            _reportInvalidEOF(" for Binary value: needed "+len+" bytes, only "
+                    +(avail + _source.remaining())+" available",
+                    JsonToken.VALUE_EMBEDDED_OBJECT);
+        }
+        slice = _source.duplicate();
+        slice.position(start);
+        slice.limit(start + len);
+        slice = slice.slice().asReadOnlyBuffer();
+
+        if (len <= avail) {
+            _inputPtr += len;
+        } else { // skip the rest without loading
+            _source.position(start + len);
+            _currInputProcessed += _inputEnd + (len - avail);
+            _inputPtr = _inputEnd = 0;
+        }
+        return slice;
+    }
+
+    /*
+    /**********************************************************************
+    /* Overrides for reading directly from direct buffers
+    /**********************************************************************
+     */
+
+    /**
+     * Overridden to read non-chunked Binary values of direct buffers, beyond
+     * content already loaded, directly from the source into result array with
+     * a single bulk get, instead of loading them through the input buffer.
+     */
+    @Override
+    protected byte[] _finishBytes(int len) throws IOException
+    {
+        final int avail = _inputEnd - _inputPtr;
+        // chunked (negative length) values, and ones fully loaded, handled as usual
+        if ((_source == null) || (len <= avail)) {
+            return super._finishBytes(len);
+        }
+        final int rest = len - avail;
+        if (rest > _source.remaining()) {
+            _reportInvalidEOF(" for Binary value: needed "+len+" bytes, only "
+                    +(avail + _source.remaining())+" available",
+                    JsonToken.VALUE_EMBEDDED_OBJECT);
+        }
+        byte[] b = new byte[len];
+        System.arraycopy(_inputBuffer, _inputPtr, b, 0, avail);
+        _source.get(b, avail, rest);
+        _currInputProcessed += _inputEnd + rest;
+        _inputPtr = _inputEnd = 0;
+        return b;
+    }
+
+    /**
+     * Overridden to skip content of direct buffers, beyond content already
+     * loaded, by just advancing position of the source.
+     */
+    @Override
+    protected void _skipBytes(int len) throws IOException
+    {
+        final int avail = _inputEnd - _inputPtr;
+        if ((_source == null) || (len <= avail) || ((len - avail) > _source.remaining())) {
+            // default handling also reports truncated content
+            super._skipBytes(len);
+            return;
+        }
+        final int rest = len - avail;
+        _source.position(_source.position() + rest);
+        _currInputProcessed += _inputEnd + rest;
+        _inputPtr = _inputEnd = 0;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Simple {@link InputStream} implementation that reads from a
+     * {@link ByteBuffer}, advancing its position.
+     */
+    final static class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer _buffer;
+
+        public ByteBufferInputStream(ByteBuffer buffer) {
+            _buffer = buffer;
+        }
+
+        @Override
+        public int available() {
+            return _buffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return _buffer.hasRemaining() ? (_buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int offset, int len) {
+            if (!_buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, _buffer.remaining());
+            _buffer.get(b, offset, len);
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(n, _buffer.remaining());
+            if (count <= 0) {
+                return 0;
+            }
+            _buffer.position(_buffer.position() + count);
+            return count;
+        }
+    }
+}
@@ -56,6 +56,71 @@ public final class CBORConstants
      * for the very first root-level data item.
      */
     public final static int TAG_ID_SELF_DESCRIBE = 55799;
+
+    /**
+     * Tag used to mark a "stringref namespace": container within which
+     * Text and Binary values may be replaced by references to earlier
+     * occurrences of the same value.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_ID_STRINGREF_NAMESPACE = 256;
+
+    /**
+     * Tag used for a "stringref": back-reference (by index) to a Text or
+     * Binary value earlier in the enclosing stringref namespace.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_ID_STRINGREF = 25;
+
+    /**
+     * First of the tags (64 - 87) used for "typed arrays" (RFC 8746): Binary
+     * values that contain packed numbers of a specific type. Type, size and
+     * byte order of elements are encoded in the low 5 bits of tag id:
+     * <code>0b010_f_s_e_ll</code> where <code>f</code> indicates floating-point
+     * values, <code>s</code> signed integers, <code>e</code> little-endian
+     * byte order and <code>ll</code> element size.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_FIRST = 64;
+
+    /**
+     * Last of the tags used for "typed arrays" (RFC 8746)
+     *
+     * @since 3.0
+     */
+    public final static int TAG_TYPED_ARRAY_LAST = 87;
+
+    public final static int TAG_TYPED_ARRAY_SINT32_BE = 74;
+    public final static int TAG_TYPED_ARRAY_SINT64_BE = 75;
+    public final static int TAG_TYPED_ARRAY_FLOAT64_BE = 82;
+
+    /**
+     * Tag for standard date/time String (RFC 3339), like
+     * "2013-03-21T20:04:00Z".
+     *
+     * @since 3.0
+     */
+    public final static int TAG_DATE_TIME_STRING = 0;
+
+    /**
+     * Tag for epoch-based date/time: number (integer or floating-point)
+     * of seconds since 1970-01-01T00:00Z.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_EPOCH_DATE_TIME = 1;
+
+    /**
+     * Tag for "extended time" (RFC 9581): Object with integer keys, with
+     * epoch-based seconds as value of key 1 and optional fraction of second
+     * as milli-, micro- or nanoseconds as value of key -3, -6 or -9.
+     *
+     * @since 3.0
+     */
+    public final static int TAG_EXTENDED_TIME = 1001;
     
     /*
     /**********************************************************
@@ -141,4 +206,27 @@ public final class CBORConstants
         int actual = (encoded & MASK_MAJOR_TYPE) >> 5;
         return (actual == expType);
     }
+
+    /**
+     * Helper method for checking whether a definite-length Text or Binary value
+     * of given encoded length (in bytes) is to be added in string table of
+     * current stringref namespace, given number of entries table already has.
+     * Values are only added if a reference to them would be shorter than value
+     * itself.
+     *
+     * @since 3.0
+     */
+    public static boolean isStringRefCandidate(int tableSize, int byteLength) {
+        if (tableSize < 24) {
+            return (byteLength >= 3);
+        }
+        if (tableSize < 256) {
+            return (byteLength >= 4);
+        }
+        if (tableSize < 65536) {
+            return (byteLength >= 5);
+        }
+        // table size is an int, so always below 2^32
+        return (byteLength >= 7);
+    }
 }
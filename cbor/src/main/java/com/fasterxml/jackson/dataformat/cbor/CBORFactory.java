@@ -1,8 +1,13 @@
 package com.fasterxml.jackson.dataformat.cbor;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.BinaryTSFactory;
@@ -12,6 +17,8 @@ import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
 import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.Named;
 
+import com.fasterxml.jackson.dataformat.cbor.async.NonBlockingByteArrayParser;
+
 /**
  * Factory used for constructing {@link CBORParser} and {@link CBORGenerator}
  * instances; both of which handle
@@ -54,6 +61,13 @@ public class CBORFactory
      */
     final static int DEFAULT_CBOR_GENERATOR_FEATURE_FLAGS = CBORGenerator.Feature.collectDefaults();
 
+    /**
+     * Default maximum number of symbol table partitions retained by a factory.
+     *
+     * @since 3.0
+     */
+    public final static int DEFAULT_SYMBOL_TABLE_MAX_PARTITIONS = 1000;
+
     /*
     /**********************************************************************
     /* Symbol table management
@@ -64,7 +78,45 @@ public class CBORFactory
      * Alternative to the basic symbol table, some stream-based
      * parsers use different name canonicalization method.
      */
-    protected final transient ByteQuadsCanonicalizer _byteSymbolCanonicalizer = ByteQuadsCanonicalizer.createRoot();
+    protected final transient ByteQuadsCanonicalizer _byteSymbolCanonicalizer;
+
+    /**
+     * Maximum number of symbols parsers may merge in the shared symbol table;
+     * 0 for no limit (other than that of symbol table itself).
+     *
+     * @since 3.0
+     */
+    protected final int _symbolTableMaxSize;
+
+    /**
+     * Collector for symbol table metrics, if any.
+     *
+     * @since 3.0
+     */
+    protected final transient CBORSymbolTableMetrics _symbolTableMetrics;
+
+    /**
+     * Maximum number of symbol table partitions retained; 0 for no limit.
+     *
+     * @since 3.0
+     */
+    protected final int _symbolTableMaxPartitions;
+
+    /**
+     * Shared symbol table of this factory, along with settings for releasing
+     * symbol tables of parsers.
+     *
+     * @since 3.0
+     */
+    protected final transient SymbolTablePartition _symbolTables;
+
+    /**
+     * Symbol table partitions created so far, shared by all partitions of
+     * the same factory.
+     *
+     * @since 3.0
+     */
+    protected final transient ConcurrentHashMap<String, CBORFactory> _symbolTablePartitions;
 
     /*
     /**********************************************************************
@@ -85,11 +137,34 @@ public class CBORFactory
     public CBORFactory() {
         super(DEFAULT_CBOR_PARSER_FEATURE_FLAGS,
                 DEFAULT_CBOR_GENERATOR_FEATURE_FLAGS);
+        _symbolTableMaxSize = 0;
+        _symbolTableMetrics = null;
+        _symbolTableMaxPartitions = DEFAULT_SYMBOL_TABLE_MAX_PARTITIONS;
+        _symbolTables = new SymbolTablePartition(0, null);
+        _byteSymbolCanonicalizer = _symbolTables.root;
+        _symbolTablePartitions = new ConcurrentHashMap<>();
     }
 
     public CBORFactory(CBORFactory src)
+    {
+        this(src, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Constructor used for creating symbol table partitions: shares
+     * configuration with given factory, but uses a separate symbol table.
+     *
+     * @since 3.0
+     */
+    protected CBORFactory(CBORFactory src, ConcurrentHashMap<String, CBORFactory> partitions)
     {
         super(src);
+        _symbolTableMaxSize = src._symbolTableMaxSize;
+        _symbolTableMetrics = src._symbolTableMetrics;
+        _symbolTableMaxPartitions = src._symbolTableMaxPartitions;
+        _symbolTables = new SymbolTablePartition(_symbolTableMaxSize, _symbolTableMetrics);
+        _byteSymbolCanonicalizer = _symbolTables.root;
+        _symbolTablePartitions = partitions;
     }
 
     /**
@@ -99,6 +174,12 @@ public class CBORFactory
      */
     protected CBORFactory(CBORFactoryBuilder b) {
         super(b);
+        _symbolTableMaxSize = b.symbolTableMaxSize();
+        _symbolTableMetrics = b.symbolTableMetrics();
+        _symbolTableMaxPartitions = b.symbolTableMaxPartitions();
+        _symbolTables = new SymbolTablePartition(_symbolTableMaxSize, _symbolTableMetrics);
+        _byteSymbolCanonicalizer = _symbolTables.root;
+        _symbolTablePartitions = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -155,8 +236,8 @@ public class CBORFactory
 
     @Override
     public boolean canParseAsync() {
-        // 30-Sep-2017, tatu: No async implementation exists yet
-        return false;
+        // Jackson 3.0 adds async parser for CBOR (non-blocking, byte[] feeder)
+        return true;
     }
 
     /*
@@ -199,6 +280,183 @@ public class CBORFactory
         return f.enabledIn(_formatWriteFeatures);
     }
 
+    /*
+    /**********************************************************************
+    /* Extended API: async
+    /**********************************************************************
+     */
+
+    @Override
+    public NonBlockingByteArrayParser createNonBlockingByteArrayParser(ObjectReadContext readCtxt)
+            throws IOException
+    {
+        ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
+        return new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                can);
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: symbol tables
+    /**********************************************************************
+     */
+
+    /**
+     * Method for accessing a factory that has same configuration as this
+     * factory, but that uses a separate shared symbol table for canonicalizing
+     * property names, identified by given id. This is useful if content
+     * read has many distinct sets of property names (like ones of different
+     * schemas, or of different tenants of a service): keeping these in
+     * separate symbol tables avoids symbol table getting too big, and then
+     * flushed.
+     *<p>
+     * Partition factories are created lazily and retained, so that calls
+     * with the same id return the same instance; all partitions of the
+     * same factory share the same set of partitions. Partitions no longer
+     * needed should be removed with {@link #removeSymbolTablePartition}.
+     * Number of partitions retained is limited (see
+     * {@link CBORFactoryBuilder#symbolTableMaxPartitions}): once limit is
+     * reached, a new partition is returned for each call with a new id, without
+     * retaining it, so it is up to caller to keep and reuse it.
+     */
+    public CBORFactory forSymbolTablePartition(String id)
+    {
+        CBORFactory partition = _symbolTablePartitions.get(id);
+        if (partition == null) {
+            if ((_symbolTableMaxPartitions > 0)
+                    && (_symbolTablePartitions.size() >= _symbolTableMaxPartitions)) {
+                return _createSymbolTablePartition();
+            }
+            partition = _symbolTablePartitions.computeIfAbsent(id,
+                    k -> _createSymbolTablePartition());
+        }
+        return partition;
+    }
+
+    /**
+     * Method for removing symbol table partition with given id (see
+     * {@link #forSymbolTablePartition}), so that its symbol table can be
+     * garbage collected once no longer used by parsers.
+     *
+     * @return True if partition was removed; false if there was no such partition
+     */
+    public boolean removeSymbolTablePartition(String id) {
+        return _symbolTablePartitions.remove(id) != null;
+    }
+
+    /**
+     * Overridable factory method called to create a new symbol table partition.
+     * Must be overridden by sub-classes as well.
+     */
+    protected CBORFactory _createSymbolTablePartition() {
+        return new CBORFactory(this, _symbolTablePartitions);
+    }
+
+    /**
+     * Accessor for symbol table metrics collector configured using
+     * {@link CBORFactoryBuilder#symbolTableMetrics}, if any.
+     */
+    public CBORSymbolTableMetrics getSymbolTableMetrics() {
+        return _symbolTableMetrics;
+    }
+
+    /**
+     * Helper method called for newly constructed (blocking) parsers to
+     * configure custom symbol table release handling, if needed.
+     */
+    protected <P extends CBORParser> P _trackSymbols(P p) {
+        if (_symbolTables.hasCustomRelease()) {
+            p._trackSymbols(_symbolTables);
+        }
+        return p;
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: ByteBuffer input
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing parser for reading content of given
+     * {@link ByteBuffer}, from its current position to its limit. Content
+     * of heap buffers is read directly from the backing array; content of
+     * direct buffers is copied in chunks into the input buffer of the parser
+     * (see {@link CBORByteBufferParser}).
+     * Position of the buffer is not modified by parsing.
+     *<p>
+     * If {@link CBORParser.Feature#READ_BINARY_AS_BYTE_BUFFER} is enabled,
+     * Binary values are exposed as read-only slices of the buffer.
+     */
+    public CBORParser createParser(ObjectReadContext readCtxt, ByteBuffer data)
+        throws IOException
+    {
+        IOContext ioCtxt = _createContext(data, false);
+        if (_inputDecorator != null) {
+            InputStream in = _inputDecorator.decorate(ioCtxt,
+                    new CBORByteBufferParser.ByteBufferInputStream(data.duplicate()));
+            if (in != null) {
+                return _createParser(readCtxt, ioCtxt, in);
+            }
+        }
+        return _trackSymbols(new CBORByteBufferParser(readCtxt, ioCtxt,
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                _byteSymbolCanonicalizer.makeChild(_factoryFeatures),
+                data));
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: NIO output
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing generator that writes content to given
+     * {@link WritableByteChannel}. Buffered content, as well as longer
+     * Binary and raw values, are written to the channel without intermediate
+     * copies.
+     *<p>
+     * Channel must be in blocking mode, since generator has no way to wait for
+     * channel to accept more content: passing a non-blocking
+     * {@link SelectableChannel} results in an {@link IllegalArgumentException}.
+     */
+    public CBORGenerator createGenerator(ObjectWriteContext writeCtxt,
+            WritableByteChannel out) throws IOException
+    {
+        if ((out instanceof SelectableChannel) && !((SelectableChannel) out).isBlocking()) {
+            throw new IllegalArgumentException("Can not write to a non-blocking channel");
+        }
+        // false -> we do NOT own channel
+        IOContext ioCtxt = _createContext(out, false);
+        return (CBORGenerator) _createGenerator(writeCtxt, ioCtxt,
+                _decorate(ioCtxt, new CBORGenerator.ChannelOutputStream(out)));
+    }
+
+    /**
+     * Method for constructing generator that writes content into given
+     * {@link ByteBuffer}, starting at its current position. If buffer gets
+     * full, {@code expander} is called with it, and is to return buffer
+     * to continue writing into: either a bigger copy (with content so far),
+     * or a new (possibly pooled) buffer to write rest of content into, so
+     * that caller can then use gathering writes of all buffers.
+     * If {@code expander} is {@code null} (or returns {@code null}), an
+     * {@link IOException} is thrown if content does not fit.
+     *<p>
+     * After flushing or closing generator, buffer last written into is
+     * available via {@link JsonGenerator#getOutputTarget()}.
+     */
+    public CBORGenerator createGenerator(ObjectWriteContext writeCtxt,
+            ByteBuffer out, UnaryOperator<ByteBuffer> expander) throws IOException
+    {
+        IOContext ioCtxt = _createContext(out, false);
+        return (CBORGenerator) _createGenerator(writeCtxt, ioCtxt,
+                _decorate(ioCtxt, new CBORGenerator.ByteBufferOutputStream(out, expander)));
+    }
+
     /*
     /**********************************************************************
     /* Parser factory methods
@@ -218,11 +476,11 @@ public class CBORFactory
     protected CBORParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             InputStream in) throws IOException
     {
-        return new CBORParserBootstrapper(ioCtxt, in).constructParser(readCtxt,
+        return _trackSymbols(new CBORParserBootstrapper(ioCtxt, in).constructParser(readCtxt,
                 _factoryFeatures,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _byteSymbolCanonicalizer);
+                _byteSymbolCanonicalizer));
     }
 
     /**
@@ -233,11 +491,12 @@ public class CBORFactory
     protected CBORParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             byte[] data, int offset, int len) throws IOException
     {
-        return new CBORParserBootstrapper(ioCtxt, data, offset, len).constructParser(readCtxt,
-                _factoryFeatures,
-                readCtxt.getStreamReadFeatures(_streamReadFeatures),
-                readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _byteSymbolCanonicalizer);
+        return _trackSymbols(new CBORParserBootstrapper(ioCtxt, data, offset, len)
+                .constructParser(readCtxt,
+                        _factoryFeatures,
+                        readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                        readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                        _byteSymbolCanonicalizer));
     }
 
     @Override
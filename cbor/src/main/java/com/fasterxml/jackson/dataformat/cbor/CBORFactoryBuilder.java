@@ -11,6 +11,32 @@ import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
  */
 public class CBORFactoryBuilder extends DecorableTSFBuilder<CBORFactory, CBORFactoryBuilder>
 {
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Maximum number of symbols parsers may merge in the shared symbol table:
+     * symbols added by parsers that have more symbols are dropped, instead of
+     * the whole shared table getting cleared once it gets too big.
+     * Default of 0 means that only the fixed limit of shared symbol table applies.
+     */
+    protected int _symbolTableMaxSize;
+
+    /**
+     * Collector for symbol table metrics, if any.
+     */
+    protected CBORSymbolTableMetrics _symbolTableMetrics;
+
+    /**
+     * Maximum number of symbol table partitions (see
+     * {@link CBORFactory#forSymbolTablePartition}) retained by factory;
+     * 0 for no limit.
+     */
+    protected int _symbolTableMaxPartitions;
+
     /*
     /**********************************************************************
     /* Life cycle
@@ -20,10 +46,14 @@ public class CBORFactoryBuilder extends DecorableTSFBuilder<CBORFactory, CBORFac
     protected CBORFactoryBuilder() {
         super(CBORFactory.DEFAULT_CBOR_PARSER_FEATURE_FLAGS,
                 CBORFactory.DEFAULT_CBOR_GENERATOR_FEATURE_FLAGS);
+        _symbolTableMaxPartitions = CBORFactory.DEFAULT_SYMBOL_TABLE_MAX_PARTITIONS;
     }
 
     public CBORFactoryBuilder(CBORFactory base) {
         super(base);
+        _symbolTableMaxSize = base._symbolTableMaxSize;
+        _symbolTableMetrics = base._symbolTableMetrics;
+        _symbolTableMaxPartitions = base._symbolTableMaxPartitions;
     }
 
     // // // Parser features
@@ -90,6 +120,60 @@ public class CBORFactoryBuilder extends DecorableTSFBuilder<CBORFactory, CBORFac
         return state ? enable(f) : disable(f);
     }
 
+    // // // Symbol table configuration
+
+    /**
+     * Method for limiting number of symbols parsers may merge in the shared
+     * symbol table (see {@link #_symbolTableMaxSize}); 0 for no limit (other
+     * than that of shared symbol table itself).
+     */
+    public CBORFactoryBuilder symbolTableMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Symbol table max size can not be negative ("+maxSize+")");
+        }
+        _symbolTableMaxSize = maxSize;
+        return _this();
+    }
+
+    /**
+     * Method for configuring collector for symbol table metrics; {@code null}
+     * to not collect metrics.
+     */
+    public CBORFactoryBuilder symbolTableMetrics(CBORSymbolTableMetrics metrics) {
+        _symbolTableMetrics = metrics;
+        return _this();
+    }
+
+    /**
+     * Method for limiting number of symbol table partitions factory retains
+     * (see {@link #_symbolTableMaxPartitions}); 0 for no limit.
+     */
+    public CBORFactoryBuilder symbolTableMaxPartitions(int maxPartitions) {
+        if (maxPartitions < 0) {
+            throw new IllegalArgumentException("Symbol table max partitions can not be negative ("+maxPartitions+")");
+        }
+        _symbolTableMaxPartitions = maxPartitions;
+        return _this();
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public int symbolTableMaxSize() {
+        return _symbolTableMaxSize;
+    }
+
+    public CBORSymbolTableMetrics symbolTableMetrics() {
+        return _symbolTableMetrics;
+    }
+
+    public int symbolTableMaxPartitions() {
+        return _symbolTableMaxPartitions;
+    }
+
     @Override
     public CBORFactory build() {
         // 28-Dec-2017, tatu: No special settings beyond base class ones, so:
@@ -1,14 +1,23 @@
 package com.fasterxml.jackson.dataformat.cbor;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.UnaryOperator;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.json.DupDetector;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.core.util.JacksonFeatureSet;
 
 import static com.fasterxml.jackson.dataformat.cbor.CBORConstants.*;
@@ -61,7 +70,99 @@ public class CBORGenerator extends GeneratorBase
          * Default value is <code>false</code> meaning that type tag will not be
          * written at the beginning of a new document.
          */
-        WRITE_TYPE_HEADER(false), ;
+        WRITE_TYPE_HEADER(false),
+
+        /**
+         * Feature that determines whether "stringref" extension (tags 256 and 25)
+         * is used to avoid repeating Text and Binary values: if enabled, each
+         * root-level Array and Object is written as a stringref namespace, and
+         * repeated Strings (property names and values) within it are written as
+         * references to their first occurrence.
+         * This can reduce size of documents that contain the same Strings many
+         * times, but requires decoder to support the extension.
+         * <p>
+         * Default value is <code>false</code> meaning that Strings are always
+         * written out in full.
+         *
+         * @since 3.0
+         */
+        STRINGREF(false),
+
+        /**
+         * Feature that determines whether primitive arrays written using
+         * <code>writeArray()</code> methods (<code>int[]</code>, <code>long[]</code>,
+         * <code>double[]</code>) are written as "typed arrays" (RFC 8746):
+         * tagged Binary values that contain packed big-endian 32-bit ints, 64-bit
+         * longs or 64-bit doubles; or, if disabled, as regular Arrays with
+         * individual number values.
+         * Typed arrays are more compact for large values and much faster to
+         * write and read, but require decoder to support the extension.
+         * <p>
+         * Default value is <code>false</code> meaning that regular Arrays
+         * are written.
+         *
+         * @since 3.0
+         */
+        WRITE_TYPED_ARRAYS(false),
+
+        /**
+         * Feature that determines whether generator should try to use smallest
+         * (size-wise) floating-point representation: if true, <code>double</code>
+         * values that can be represented exactly as 32-bit <code>float</code>s,
+         * and <code>float</code> values that can be represented exactly as 16-bit
+         * "half-precision" floats, will be written using shorter representation;
+         * if false, will use length indicated by argument type.
+         * Note that this does not affect "typed arrays" (see {@link #WRITE_TYPED_ARRAYS}),
+         * which always use fixed-size values.
+         * <p>
+         * Default value is <code>false</code> meaning that values are written
+         * using full length of argument type.
+         *
+         * @since 3.0
+         */
+        WRITE_MINIMAL_FLOATS(false),
+
+        /**
+         * Feature that determines whether output uses "deterministic" encoding
+         * as defined by RFC 8949 (section 4.2): if enabled, entries of every
+         * Object are sorted by bytewise lexicographic order of their encoded
+         * keys, all Objects, Arrays and Strings are written with definite length
+         * and numbers using their shortest lossless representation (as if both
+         * {@link #WRITE_MINIMAL_INTS} and {@link #WRITE_MINIMAL_FLOATS} were enabled).
+         * This means that logically equal content is always encoded as the
+         * same byte sequence, regardless of ordering of properties.
+         *<p>
+         * Note that since entries have to be sorted, content of each Object
+         * (as well as that of Arrays written without known length) is buffered
+         * in memory until the Object is complete. Note, too, that
+         * {@link #STRINGREF} is not used when this feature is enabled,
+         * since references would depend on ordering of writes.
+         * <p>
+         * Default value is <code>false</code> meaning that content is written
+         * in the order it is passed to generator.
+         *
+         * @since 3.0
+         */
+        WRITE_CANONICAL(false),
+
+        /**
+         * Feature that determines whether Arrays and Objects written without
+         * known number of entries (<code>writeStartArray()</code>,
+         * <code>writeStartObject()</code> without size argument) are written
+         * with definite length, if possible. If enabled, a placeholder for the
+         * length is written, and replaced with actual definite length once the
+         * container is closed, as long as placeholder is still in the output
+         * buffer (moving content if longer length prefix is needed).
+         * If content has already been flushed, "indefinite" length (with
+         * trailing BREAK marker) is used as fallback.
+         * <p>
+         * Default value is <code>false</code> meaning that indefinite length
+         * is always used for such Arrays and Objects.
+         *
+         * @since 3.0
+         */
+        WRITE_DEFINITE_LENGTHS(false),
+        ;
 
         protected final boolean _defaultState;
         protected final int _mask;
@@ -136,6 +237,16 @@ public class CBORGenerator extends GeneratorBase
 
     protected boolean _cfgMinimalInts;
 
+    protected boolean _cfgStringRefs;
+
+    protected boolean _cfgTypedArrays;
+
+    protected boolean _cfgMinimalFloats;
+
+    protected boolean _cfgCanonical;
+
+    protected boolean _cfgDefiniteLengths;
+
     /*
     /**********************************************************************
     /* Output state
@@ -144,6 +255,14 @@ public class CBORGenerator extends GeneratorBase
 
     protected CBORWriteContext _tokenWriteContext;
 
+    /**
+     * Innermost Object or Array whose content is being buffered when
+     * writing with {@link Feature#WRITE_CANONICAL} enabled, if any.
+     *
+     * @since 3.0
+     */
+    protected CanonicalContainer _canonicalContainer;
+
     /*
     /**********************************************************************
     /* Output buffering
@@ -199,6 +318,27 @@ public class CBORGenerator extends GeneratorBase
      */
     protected int _currentRemainingElements = INDEFINITE_LENGTH;
 
+    /*
+    /**********************************************************************
+    /* Stringref handling
+    /**********************************************************************
+     */
+
+    /**
+     * String table of the current stringref namespace (root-level Array or
+     * Object written with {@link Feature#STRINGREF} enabled), if any:
+     * maps Strings added in the table to their reference indexes.
+     * <code>null</code> when not within a namespace.
+     */
+    protected HashMap<String, Integer> _stringRefs;
+
+    /**
+     * Number of entries in the string table of the current stringref
+     * namespace; includes Binary values that are not included in
+     * {@link #_stringRefs} (since they are never referenced by generator)
+     */
+    protected int _stringRefCount;
+
     /*
     /**********************************************************************
     /* Other configuration
@@ -229,6 +369,14 @@ public class CBORGenerator extends GeneratorBase
                 : null;
         _tokenWriteContext = CBORWriteContext.createRootContext(dups);
         _cfgMinimalInts = Feature.WRITE_MINIMAL_INTS.enabledIn(formatFeatures);
+        _cfgStringRefs = Feature.STRINGREF.enabledIn(formatFeatures);
+        _cfgTypedArrays = Feature.WRITE_TYPED_ARRAYS.enabledIn(formatFeatures);
+        _cfgMinimalFloats = Feature.WRITE_MINIMAL_FLOATS.enabledIn(formatFeatures);
+        _cfgCanonical = Feature.WRITE_CANONICAL.enabledIn(formatFeatures);
+        _cfgDefiniteLengths = Feature.WRITE_DEFINITE_LENGTHS.enabledIn(formatFeatures);
+        if (_cfgCanonical) {
+            _applyCanonicalSettings();
+        }
         _out = out;
         _bufferRecyclable = true;
         _outputBuffer = ctxt.allocWriteEncodingBuffer(BYTE_BUFFER_FOR_OUTPUT);
@@ -265,6 +413,14 @@ public class CBORGenerator extends GeneratorBase
                 : null;
         _tokenWriteContext = CBORWriteContext.createRootContext(dups);
         _cfgMinimalInts = Feature.WRITE_MINIMAL_INTS.enabledIn(formatFeatures);
+        _cfgStringRefs = Feature.STRINGREF.enabledIn(formatFeatures);
+        _cfgTypedArrays = Feature.WRITE_TYPED_ARRAYS.enabledIn(formatFeatures);
+        _cfgMinimalFloats = Feature.WRITE_MINIMAL_FLOATS.enabledIn(formatFeatures);
+        _cfgCanonical = Feature.WRITE_CANONICAL.enabledIn(formatFeatures);
+        _cfgDefiniteLengths = Feature.WRITE_DEFINITE_LENGTHS.enabledIn(formatFeatures);
+        if (_cfgCanonical) {
+            _applyCanonicalSettings();
+        }
         _out = out;
         _bufferRecyclable = bufferRecyclable;
         _outputTail = offset;
@@ -313,8 +469,20 @@ public class CBORGenerator extends GeneratorBase
     /**********************************************************************
      */
 
+    /**
+     * Returns underlying output target: for generators constructed for
+     * {@link WritableByteChannel}s the channel, and for generators constructed
+     * for {@link ByteBuffer}s the buffer currently written into (which may
+     * differ from the original one if buffer has been expanded).
+     */
     @Override
     public Object getOutputTarget() {
+        if (_out instanceof ChannelOutputStream) {
+            return ((ChannelOutputStream) _out)._channel;
+        }
+        if (_out instanceof ByteBufferOutputStream) {
+            return ((ByteBufferOutputStream) _out)._buffer;
+        }
         return _out;
     }
 
@@ -354,6 +522,19 @@ public class CBORGenerator extends GeneratorBase
         _formatFeatures |= f.getMask();
         if (f == Feature.WRITE_MINIMAL_INTS) {
             _cfgMinimalInts = true;
+        } else if (f == Feature.STRINGREF) {
+            _cfgStringRefs = true;
+        } else if (f == Feature.WRITE_TYPED_ARRAYS) {
+            _cfgTypedArrays = true;
+        } else if (f == Feature.WRITE_MINIMAL_FLOATS) {
+            _cfgMinimalFloats = true;
+        } else if (f == Feature.WRITE_CANONICAL) {
+            _cfgCanonical = true;
+        } else if (f == Feature.WRITE_DEFINITE_LENGTHS) {
+            _cfgDefiniteLengths = true;
+        }
+        if (_cfgCanonical) {
+            _applyCanonicalSettings();
         }
         return this;
     }
@@ -362,6 +543,22 @@ public class CBORGenerator extends GeneratorBase
         _formatFeatures &= ~f.getMask();
         if (f == Feature.WRITE_MINIMAL_INTS) {
             _cfgMinimalInts = false;
+        } else if (f == Feature.STRINGREF) {
+            _cfgStringRefs = false;
+        } else if (f == Feature.WRITE_TYPED_ARRAYS) {
+            _cfgTypedArrays = false;
+        } else if (f == Feature.WRITE_MINIMAL_FLOATS) {
+            _cfgMinimalFloats = false;
+        } else if (f == Feature.WRITE_CANONICAL) {
+            _cfgCanonical = false;
+            _cfgMinimalInts = Feature.WRITE_MINIMAL_INTS.enabledIn(_formatFeatures);
+            _cfgMinimalFloats = Feature.WRITE_MINIMAL_FLOATS.enabledIn(_formatFeatures);
+            _cfgStringRefs = Feature.STRINGREF.enabledIn(_formatFeatures);
+        } else if (f == Feature.WRITE_DEFINITE_LENGTHS) {
+            _cfgDefiniteLengths = false;
+        }
+        if (_cfgCanonical) {
+            _applyCanonicalSettings();
         }
         return this;
     }
@@ -385,6 +582,12 @@ public class CBORGenerator extends GeneratorBase
         if (!_tokenWriteContext.writeFieldName(name)) {
             _reportError("Can not write a field name, expecting a value");
         }
+        if (_inCanonicalContainer()) {
+            _startCanonicalEntry();
+        }
+        if ((_stringRefs != null) && _writeStringRef(name)) {
+            return;
+        }
         _writeString(name);
     }
 
@@ -395,12 +598,18 @@ public class CBORGenerator extends GeneratorBase
         if (!_tokenWriteContext.writeFieldName(name.getValue())) {
             _reportError("Can not write a field name, expecting a value");
         }
+        if (_inCanonicalContainer()) {
+            _startCanonicalEntry();
+        }
         byte[] raw = name.asUnquotedUTF8();
         final int len = raw.length;
         if (len == 0) {
             _writeByte(BYTE_EMPTY_STRING);
             return;
         }
+        if ((_stringRefs != null) && _writeStringRef(name.getValue(), len)) {
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_TEXT, len);
         _writeBytes(raw, 0, len);
     }
@@ -410,6 +619,9 @@ public class CBORGenerator extends GeneratorBase
         if (!_tokenWriteContext.writeFieldId(id)) {
             _reportError("Can not write a field id, expecting a value");
         }
+        if (_inCanonicalContainer()) {
+            _startCanonicalEntry();
+        }
         _writeLongNoCheck(id);
     }
 
@@ -458,28 +670,45 @@ public class CBORGenerator extends GeneratorBase
     @Override
     public final void writeStartArray() throws IOException {
         _verifyValueWrite("start an array");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildArrayContext(null);
         if (_elementCountsPtr > 0) {
             _pushRemainingElements();
         }
         _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_ARRAY_INDEFINITE);
+        if (_cfgCanonical) {
+            _startCanonicalContainer();
+        } else {
+            _writeContainerStart(BYTE_ARRAY_INDEFINITE);
+        }
     }
 
     @Override
     public void writeStartArray(Object currValue) throws IOException {
         _verifyValueWrite("start an array");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildArrayContext(currValue);
         if (_elementCountsPtr > 0) {
             _pushRemainingElements();
         }
         _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_ARRAY_INDEFINITE);
+        if (_cfgCanonical) {
+            _startCanonicalContainer();
+        } else {
+            _writeContainerStart(BYTE_ARRAY_INDEFINITE);
+        }
     }
 
     @Override
     public void writeStartArray(Object forValue, int elementsToWrite) throws IOException {
         _verifyValueWrite("start an array");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildArrayContext(forValue);
         _pushRemainingElements();
         _currentRemainingElements = elementsToWrite;
@@ -492,38 +721,65 @@ public class CBORGenerator extends GeneratorBase
             _reportError("Current context not Array but "+_tokenWriteContext.typeDesc());
         }
         closeComplexElement();
+        if (_inCanonicalContainer()) {
+            _finishCanonicalContainer();
+        }
         _tokenWriteContext = _tokenWriteContext.getParent();
+        if ((_stringRefs != null) && _tokenWriteContext.inRoot()) {
+            _stringRefs = null;
+        }
     }
 
     @Override
     public final void writeStartObject() throws IOException {
         _verifyValueWrite("start an object");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildObjectContext(null);
         if (_elementCountsPtr > 0) {
             _pushRemainingElements();
         }
         _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_OBJECT_INDEFINITE);
+        if (_cfgCanonical) {
+            _startCanonicalContainer();
+        } else {
+            _writeContainerStart(BYTE_OBJECT_INDEFINITE);
+        }
     }
 
     @Override
     public final void writeStartObject(Object forValue) throws IOException {
         _verifyValueWrite("start an object");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildObjectContext(forValue);
         if (_elementCountsPtr > 0) {
             _pushRemainingElements();
         }
         _currentRemainingElements = INDEFINITE_LENGTH;
-        _writeByte(BYTE_OBJECT_INDEFINITE);
+        if (_cfgCanonical) {
+            _startCanonicalContainer();
+        } else {
+            _writeContainerStart(BYTE_OBJECT_INDEFINITE);
+        }
     }
 
     @Override
     public final void writeStartObject(Object forValue, int elementsToWrite) throws IOException {
         _verifyValueWrite("start an object");
+        if (_cfgStringRefs && _tokenWriteContext.inRoot()) {
+            _startStringRefNamespace();
+        }
         _tokenWriteContext = _tokenWriteContext.createChildObjectContext(forValue);
         _pushRemainingElements();
         _currentRemainingElements = elementsToWrite;
-        _writeLengthMarker(PREFIX_TYPE_OBJECT, elementsToWrite);
+        if (_cfgCanonical) {
+            _startCanonicalContainer();
+        } else {
+            _writeLengthMarker(PREFIX_TYPE_OBJECT, elementsToWrite);
+        }
     }
 
     @Override
@@ -532,7 +788,13 @@ public class CBORGenerator extends GeneratorBase
             _reportError("Current context not Object but "+ _tokenWriteContext.typeDesc());
         }
         closeComplexElement();
+        if (_inCanonicalContainer()) {
+            _finishCanonicalContainer();
+        }
         _tokenWriteContext = _tokenWriteContext.getParent();
+        if ((_stringRefs != null) && _tokenWriteContext.inRoot()) {
+            _stringRefs = null;
+        }
     }
 
     @Override
@@ -541,6 +803,10 @@ public class CBORGenerator extends GeneratorBase
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
         _verifyValueWrite("write int array");
+        if (_cfgTypedArrays) {
+            _writeTypedArray(array, offset, length);
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
 
         if (_cfgMinimalInts) {
@@ -570,6 +836,10 @@ public class CBORGenerator extends GeneratorBase
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
         _verifyValueWrite("write int array");
+        if (_cfgTypedArrays) {
+            _writeTypedArray(array, offset, length);
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
         for (int i = offset, end = offset+length; i < end; ++i) {
             _writeLongNoCheck(array[i]);
@@ -582,12 +852,92 @@ public class CBORGenerator extends GeneratorBase
         _verifyOffsets(array.length, offset, length);
         // short-cut, do not create child array context etc
         _verifyValueWrite("write int array");
+        if (_cfgTypedArrays) {
+            _writeTypedArray(array, offset, length);
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_ARRAY, length);
         for (int i = offset, end = offset+length; i < end; ++i) {
             _writeDoubleNoCheck(array[i]);
         }
     }
 
+    /*
+    /**********************************************************************
+    /* Internal methods, typed arrays
+    /**********************************************************************
+     */
+
+    // Typed arrays are written in big-endian (network) byte order, same as
+    // other CBOR numbers; content is copied in bulk using buffer views
+
+    private final void _writeTypedArray(int[] array, int offset, int length) throws IOException
+    {
+        _writeTypedArrayPrefix(TAG_TYPED_ARRAY_SINT32_BE, length, 4);
+        while (length > 0) {
+            final int count = Math.min(length, _typedArrayRoom(4));
+            ByteBuffer.wrap(_outputBuffer, _outputTail, count << 2).asIntBuffer()
+                .put(array, offset, count);
+            _outputTail += (count << 2);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private final void _writeTypedArray(long[] array, int offset, int length) throws IOException
+    {
+        _writeTypedArrayPrefix(TAG_TYPED_ARRAY_SINT64_BE, length, 8);
+        while (length > 0) {
+            final int count = Math.min(length, _typedArrayRoom(8));
+            ByteBuffer.wrap(_outputBuffer, _outputTail, count << 3).asLongBuffer()
+                .put(array, offset, count);
+            _outputTail += (count << 3);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private final void _writeTypedArray(double[] array, int offset, int length) throws IOException
+    {
+        _writeTypedArrayPrefix(TAG_TYPED_ARRAY_FLOAT64_BE, length, 8);
+        while (length > 0) {
+            final int count = Math.min(length, _typedArrayRoom(8));
+            ByteBuffer.wrap(_outputBuffer, _outputTail, count << 3).asDoubleBuffer()
+                .put(array, offset, count);
+            _outputTail += (count << 3);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private final void _writeTypedArrayPrefix(int tag, int elementCount, int elementSize)
+        throws IOException
+    {
+        if (elementCount > (Integer.MAX_VALUE / elementSize)) {
+            _reportError("Too many elements ("+elementCount+") to write as a typed array");
+        }
+        final int byteLength = elementCount * elementSize;
+        _writeLengthMarker(PREFIX_TYPE_TAG, tag);
+        if (_stringRefs != null) {
+            _addBinaryStringRef(byteLength);
+        }
+        _writeLengthMarker(PREFIX_TYPE_BYTES, byteLength);
+    }
+
+    /**
+     * Helper method for finding out how many elements of given size fit in the
+     * output buffer, flushing it first if not even one does.
+     */
+    private final int _typedArrayRoom(int elementSize) throws IOException
+    {
+        int room = (_outputEnd - _outputTail) / elementSize;
+        if (room == 0) {
+            _flushBuffer();
+            room = (_outputEnd - _outputTail) / elementSize;
+        }
+        return room;
+    }
+
     private final void _pushRemainingElements() {
         if (_elementCounts.length == _elementCountsPtr) { // initially, as well as if full
             _elementCounts = Arrays.copyOf(_elementCounts, _elementCounts.length+10);
@@ -675,6 +1025,9 @@ public class CBORGenerator extends GeneratorBase
     }
 
     private final void _writeDoubleNoCheck(double d) throws IOException {
+        if (_cfgMinimalFloats && _writeMinimalDouble(d)) {
+            return;
+        }
         _ensureRoomForOutput(11);
         // 17-Apr-2010, tatu: could also use 'doubleToIntBits', but it seems
         // more accurate to use exact representation; and possibly faster.
@@ -695,6 +1048,87 @@ public class CBORGenerator extends GeneratorBase
         _outputBuffer[_outputTail++] = (byte) i;
     }
 
+    /**
+     * Helper method called to write given <code>double</code> value as
+     * 32-bit or 16-bit floating-point value, if (and only if) that can be done
+     * without losing any information (including sign of zero, NaN payload).
+     *
+     * @return True if value was written; false if full 64 bits are needed
+     */
+    private final boolean _writeMinimalDouble(double d) throws IOException
+    {
+        final float f = (float) d;
+        if (Double.doubleToRawLongBits(f) != Double.doubleToRawLongBits(d)) {
+            return false;
+        }
+        final int half = _halfFloatBits(f);
+        if (half >= 0) {
+            _writeHalfFloat(half);
+            return true;
+        }
+        _ensureRoomForOutput(5);
+        int i = Float.floatToRawIntBits(f);
+        _outputBuffer[_outputTail++] = BYTE_FLOAT32;
+        _outputBuffer[_outputTail++] = (byte) (i >> 24);
+        _outputBuffer[_outputTail++] = (byte) (i >> 16);
+        _outputBuffer[_outputTail++] = (byte) (i >> 8);
+        _outputBuffer[_outputTail++] = (byte) i;
+        return true;
+    }
+
+    private final void _writeHalfFloat(int half) throws IOException
+    {
+        _ensureRoomForOutput(3);
+        _outputBuffer[_outputTail++] = BYTE_FLOAT16;
+        _outputBuffer[_outputTail++] = (byte) (half >> 8);
+        _outputBuffer[_outputTail++] = (byte) half;
+    }
+
+    /**
+     * Helper method for converting given <code>float</code> value into
+     * 16-bit "half-precision" representation, if that is possible without
+     * losing precision.
+     *
+     * @return 16-bit representation of the value, if exact; -1 if not
+     */
+    protected final static int _halfFloatBits(float f)
+    {
+        final int bits = Float.floatToRawIntBits(f);
+        final int sign = (bits >>> 16) & 0x8000;
+        final int exp = (bits >>> 23) & 0xFF;
+        final int mant = bits & 0x7FFFFF;
+
+        if (exp == 0xFF) { // Infinity, NaN: fine if payload fits
+            if ((mant & 0x1FFF) != 0) {
+                return -1;
+            }
+            return sign | 0x7C00 | (mant >> 13);
+        }
+        if (exp == 0) { // zero is fine; 32-bit subnormals too small
+            return (mant == 0) ? sign : -1;
+        }
+        final int e = exp - 127;
+        if (e > 15) {
+            return -1;
+        }
+        if (e >= -14) { // within range of "normal" half-floats
+            if ((mant & 0x1FFF) != 0) {
+                return -1;
+            }
+            return sign | ((e + 15) << 10) | (mant >> 13);
+        }
+        if (e < -24) {
+            return -1;
+        }
+        // but smallest values may be representable as "subnormal" half-floats
+        final int sig = mant | 0x800000;
+        final int shift = -e - 1;
+        if ((sig & ((1 << shift) - 1)) != 0) {
+            return -1;
+        }
+        return sign | (sig >> shift);
+    }
+
     /*
     /**********************************************************************
     /* Output method implementations, textual
@@ -708,6 +1142,9 @@ public class CBORGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write String value");
+        if ((_stringRefs != null) && _writeStringRef(text)) {
+            return;
+        }
         _writeString(text);
     }
 
@@ -720,6 +1157,9 @@ public class CBORGenerator extends GeneratorBase
             _writeByte(BYTE_EMPTY_STRING);
             return;
         }
+        if ((_stringRefs != null) && _writeStringRef(sstr.getValue(), len)) {
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_TEXT, len);
         _writeBytes(raw, 0, len);
     }
@@ -732,6 +1172,9 @@ public class CBORGenerator extends GeneratorBase
             _writeByte(BYTE_EMPTY_STRING);
             return;
         }
+        if ((_stringRefs != null) && _writeStringRef(new String(text, offset, len))) {
+            return;
+        }
         _writeString(text, offset, len);
     }
 
@@ -744,8 +1187,12 @@ public class CBORGenerator extends GeneratorBase
             _writeByte(BYTE_EMPTY_STRING);
             return;
         }
+        if ((_stringRefs != null)
+                && _writeStringRef(new String(raw, offset, len, StandardCharsets.UTF_8), len)) {
+            return;
+        }
         _writeLengthMarker(PREFIX_TYPE_TEXT, len);
-        _writeBytes(raw, 0, len);
+        _writeBytes(raw, offset, len);
     }
 
     @Override
@@ -812,25 +1259,26 @@ public class CBORGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write Binary value");
+        if (_stringRefs != null) {
+            _addBinaryStringRef(len);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, len);
         _writeBytes(data, offset, len);
     }
 
     @Override
     public int writeBinary(InputStream data, int dataLength) throws IOException {
-        /*
-         * 28-Mar-2014, tatu: Theoretically we could implement encoder that uses
-         * chunking to output binary content of unknown (a priori) length. But
-         * for no let's require knowledge of length, for simplicity: may be
-         * revisited in future.
-         */
+        // Content of unknown length is written as chunked (indefinite-length) value
         if (dataLength < 0) {
-            throw new UnsupportedOperationException(
-                    "Must pass actual length for CBOR encoded data");
+            _verifyValueWrite("write Binary value");
+            return _writeChunkedBytes(data);
         }
         _verifyValueWrite("write Binary value");
         int missing;
 
+        if (_stringRefs != null) {
+            _addBinaryStringRef(dataLength);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, dataLength);
         missing = _writeBytes(data, dataLength);
         if (missing > 0) {
@@ -962,6 +1410,11 @@ public class CBORGenerator extends GeneratorBase
     // Main write method isolated so that it can be called directly
     // in cases where that is needed (to encode BigDecimal)
     protected void _write(BigInteger v) throws IOException {
+        // canonical output requires use of "plain" integers when possible
+        if (_cfgCanonical && (v.bitLength() < 64)) {
+            _writeLongNoCheck(v.longValue());
+            return;
+        }
         /*
          * Supported by using type tags, as per spec: major type for tag '6'; 5
          * LSB either 2 for positive bignum or 3 for negative bignum. And then
@@ -975,6 +1428,9 @@ public class CBORGenerator extends GeneratorBase
         }
         byte[] data = v.toByteArray();
         final int len = data.length;
+        if (_stringRefs != null) {
+            _addBinaryStringRef(len);
+        }
         _writeLengthMarker(PREFIX_TYPE_BYTES, len);
         _writeBytes(data, 0, len);
     }
@@ -982,6 +1438,9 @@ public class CBORGenerator extends GeneratorBase
     @Override
     public void writeNumber(double d) throws IOException {
         _verifyValueWrite("write number");
+        if (_cfgMinimalFloats && _writeMinimalDouble(d)) {
+            return;
+        }
         _ensureRoomForOutput(11);
         /*
          * 17-Apr-2010, tatu: could also use 'doubleToIntBits', but it seems
@@ -1009,6 +1468,13 @@ public class CBORGenerator extends GeneratorBase
         // Ok, now, we needed token type byte plus 5 data bytes (7 bits each)
         _ensureRoomForOutput(6);
         _verifyValueWrite("write number");
+        if (_cfgMinimalFloats) {
+            final int half = _halfFloatBits(f);
+            if (half >= 0) {
+                _writeHalfFloat(half);
+                return;
+            }
+        }
 
         /*
          * 17-Apr-2010, tatu: could also use 'floatToIntBits', but it seems more
@@ -1128,6 +1594,15 @@ public class CBORGenerator extends GeneratorBase
                 }
             }
         }
+        // Incomplete canonical content can not be written (if auto-close disabled)
+        if (_canonicalContainer != null) {
+            while (_canonicalContainer.parent != null) {
+                _canonicalContainer = _canonicalContainer.parent;
+            }
+            _bytesWritten = _canonicalContainer.startOffset;
+            _canonicalContainer = null;
+            _outputTail = 0;
+        }
         // boolean wasClosed = _closed;
         super.close();
         _flushBuffer();
@@ -1166,6 +1641,83 @@ public class CBORGenerator extends GeneratorBase
         _writeLengthMarker(PREFIX_TYPE_TAG, tagId);
     }
 
+    /**
+     * Method for writing out given instant as epoch-based date/time value
+     * (Tag 1): as integral number of seconds if there is no fractional
+     * part, otherwise as floating-point number of seconds.
+     *
+     * @param value Instant to write; if {@code null}, CBOR null is written
+     *
+     * @since 3.0
+     */
+    public void writeTimestamp(Instant value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        final int nanos = value.getNano();
+        if (nanos == 0) {
+            writeTimestamp(value.getEpochSecond());
+        } else {
+            writeTimestamp(value.getEpochSecond() + (nanos / 1_000_000_000.0));
+        }
+    }
+
+    /**
+     * Method for writing out epoch-based date/time value (Tag 1) with
+     * integral number of seconds; value is always written using the minimal
+     * integer encoding (regardless of {@link Feature#WRITE_MINIMAL_INTS}).
+     *
+     * @param epochSeconds Number of seconds since 1970-01-01T00:00Z
+     *
+     * @since 3.0
+     */
+    public void writeTimestamp(long epochSeconds) throws IOException {
+        _writeLengthMarker(PREFIX_TYPE_TAG, TAG_EPOCH_DATE_TIME);
+        if (epochSeconds >= 0L) {
+            if (epochSeconds < 0x100000000L) {
+                _verifyValueWrite("write number");
+                _writeIntMinimal(PREFIX_TYPE_INT_POS, (int) epochSeconds);
+                return;
+            }
+        } else if (epochSeconds >= -0x100000000L) {
+            _verifyValueWrite("write number");
+            _writeIntMinimal(PREFIX_TYPE_INT_NEG, (int) (-epochSeconds - 1L));
+            return;
+        }
+        writeNumber(epochSeconds);
+    }
+
+    /**
+     * Method for writing out epoch-based date/time value (Tag 1) with
+     * floating-point number of seconds.
+     *
+     * @param epochSeconds Number of seconds since 1970-01-01T00:00Z
+     *
+     * @since 3.0
+     */
+    public void writeTimestamp(double epochSeconds) throws IOException {
+        _writeLengthMarker(PREFIX_TYPE_TAG, TAG_EPOCH_DATE_TIME);
+        writeNumber(epochSeconds);
+    }
+
+    /**
+     * Method for writing out given date/time as standard date/time String
+     * (Tag 0), using ISO-8601 (RFC 3339) representation.
+     *
+     * @param value Date/time to write; if {@code null}, CBOR null is written
+     *
+     * @since 3.0
+     */
+    public void writeDateTimeString(OffsetDateTime value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        _writeLengthMarker(PREFIX_TYPE_TAG, TAG_DATE_TIME_STRING);
+        writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+    }
+
     /*
     /**********************************************************************
     /* Extended API, raw bytes (by-passing encoder)
@@ -1305,6 +1857,13 @@ public class CBORGenerator extends GeneratorBase
     protected final void _writeChunkedString(char[] text, int offset, int len)
         throws IOException
     {
+        // canonical output requires definite length, so need to encode the whole thing first
+        if (_cfgCanonical) {
+            byte[] b = new String(text, offset, len).getBytes(StandardCharsets.UTF_8);
+            _writeLengthMarker(PREFIX_TYPE_TEXT, b.length);
+            _writeBytes(b, 0, b.length);
+            return;
+        }
         // need to use a marker first
         _writeByte(BYTE_STRING_INDEFINITE);
 
@@ -1337,6 +1896,308 @@ public class CBORGenerator extends GeneratorBase
         _writeByte(BYTE_BREAK);
     }
 
+    /*
+    /**********************************************************************
+    /* Internal methods, canonical output
+    /**********************************************************************
+     */
+
+    private final void _applyCanonicalSettings() {
+        _cfgMinimalInts = true;
+        _cfgMinimalFloats = true;
+        _cfgStringRefs = false;
+    }
+
+    private final boolean _inCanonicalContainer() {
+        return (_canonicalContainer != null)
+                && (_canonicalContainer.context == _tokenWriteContext);
+    }
+
+    /**
+     * Method called after creating context for a new Object or Array
+     * with {@link Feature#WRITE_CANONICAL} enabled: will flush content
+     * so far, and start buffering content of the new container.
+     */
+    private final void _startCanonicalContainer() throws IOException
+    {
+        _flushBuffer();
+        _canonicalContainer = new CanonicalContainer(_canonicalContainer,
+                _tokenWriteContext, _bytesWritten);
+    }
+
+    private final void _startCanonicalEntry()
+    {
+        // offset within buffered content is based on bytes flushed so far
+        _canonicalContainer.addEntry(_bytesWritten + _outputTail);
+    }
+
+    /**
+     * Method called at the end of an Object or Array whose content has been
+     * buffered: will write definite-length head, followed by content
+     * (with entries sorted for Objects), to the enclosing output.
+     */
+    private final void _finishCanonicalContainer() throws IOException
+    {
+        _flushBuffer();
+        final CanonicalContainer curr = _canonicalContainer;
+        final byte[] content = curr.content.toByteArray();
+        _canonicalContainer = curr.parent;
+        // content gets counted when written out again
+        _bytesWritten = curr.startOffset;
+
+        final int count = _tokenWriteContext.getEntryCount();
+        if (!_tokenWriteContext.inObject()) {
+            _writeLengthMarker(PREFIX_TYPE_ARRAY, count);
+            _writeBytes(content, 0, content.length);
+            return;
+        }
+        _writeLengthMarker(PREFIX_TYPE_OBJECT, count);
+        if (curr.entryCount < 2) {
+            _writeBytes(content, 0, content.length);
+            return;
+        }
+        // Encodings are self-delimiting so sorting whole entries (key followed by
+        // value) results in same ordering as sorting by keys alone
+        final int entryCount = curr.entryCount;
+        final int[] offsets = curr.entryOffsets;
+        final byte[][] entries = new byte[entryCount][];
+        for (int i = 0; i < entryCount; ++i) {
+            final int start = offsets[i] - curr.startOffset;
+            final int end = (i+1 < entryCount) ? (offsets[i+1] - curr.startOffset) : content.length;
+            entries[i] = Arrays.copyOfRange(content, start, end);
+        }
+        Arrays.sort(entries, CanonicalContainer::compareEntries);
+        for (byte[] entry : entries) {
+            _writeBytes(entry, 0, entry.length);
+        }
+    }
+
+    /**
+     * Helper class used for buffering content of an Object or Array when
+     * writing canonical output (see {@link Feature#WRITE_CANONICAL}).
+     *
+     * @since 3.0
+     */
+    protected final static class CanonicalContainer
+    {
+        final CanonicalContainer parent;
+
+        final CBORWriteContext context;
+
+        final ByteArrayBuilder content = new ByteArrayBuilder();
+
+        /**
+         * Value of {@link CBORGenerator#_bytesWritten} when buffering started,
+         * used for calculating offsets within buffered content.
+         */
+        final int startOffset;
+
+        /**
+         * Offsets of Object entries (property name followed by value),
+         * relative to {@link #startOffset}
+         */
+        int[] entryOffsets = NO_INTS;
+
+        int entryCount;
+
+        CanonicalContainer(CanonicalContainer parent, CBORWriteContext context,
+                int startOffset) {
+            this.parent = parent;
+            this.context = context;
+            this.startOffset = startOffset;
+        }
+
+        void addEntry(int offset) {
+            if (entryCount == entryOffsets.length) {
+                entryOffsets = Arrays.copyOf(entryOffsets, Math.max(8, entryCount * 2));
+            }
+            entryOffsets[entryCount++] = offset;
+        }
+
+        // bytewise lexicographic order, as per RFC 8949
+        static int compareEntries(byte[] b1, byte[] b2) {
+            final int end = Math.min(b1.length, b2.length);
+            for (int i = 0; i < end; ++i) {
+                int diff = (b1[i] & 0xFF) - (b2[i] & 0xFF);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return b1.length - b2.length;
+        }
+    }
+
+    /**
+     * {@link OutputStream} adapter used for writing to {@link WritableByteChannel}s,
+     * wrapping passed byte arrays without copying. Channel must be in blocking
+     * mode: if channel does not accept any content, an {@link IOException} is
+     * thrown instead of retrying.
+     *
+     * @since 3.0
+     */
+    final static class ChannelOutputStream extends OutputStream
+    {
+        final WritableByteChannel _channel;
+
+        public ChannelOutputStream(WritableByteChannel channel) {
+            _channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int len) throws IOException {
+            ByteBuffer bb = ByteBuffer.wrap(b, offset, len);
+            while (bb.hasRemaining()) {
+                if (_channel.write(bb) == 0) {
+                    throw new IOException("WritableByteChannel.write() wrote 0 bytes, with "
+                            +bb.remaining()+" bytes remaining (non-blocking channel?)");
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            _channel.close();
+        }
+    }
+
+    /**
+     * {@link OutputStream} adapter used for writing into caller-provided
+     * {@link ByteBuffer}s: when current buffer is full, expander function
+     * is called with it to get the buffer to write rest of content into.
+     *
+     * @since 3.0
+     */
+    final static class ByteBufferOutputStream extends OutputStream
+    {
+        private final UnaryOperator<ByteBuffer> _expander;
+
+        ByteBuffer _buffer;
+
+        public ByteBufferOutputStream(ByteBuffer buffer, UnaryOperator<ByteBuffer> expander) {
+            _buffer = buffer;
+            _expander = expander;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!_buffer.hasRemaining()) {
+                _expand();
+            }
+            _buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int len) throws IOException {
+            while (true) {
+                final int count = Math.min(len, _buffer.remaining());
+                _buffer.put(b, offset, count);
+                if ((len -= count) == 0) {
+                    return;
+                }
+                offset += count;
+                _expand();
+            }
+        }
+
+        private void _expand() throws IOException {
+            ByteBuffer next = (_expander == null) ? null : _expander.apply(_buffer);
+            if ((next == null) || !next.hasRemaining()) {
+                throw new IOException("Output ByteBuffer full (capacity "+_buffer.capacity()
+                        +") and could not be expanded");
+            }
+            _buffer = next;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, stringref handling
+    /**********************************************************************
+     */
+
+    /**
+     * Method called when starting a root-level Array or Object with
+     * {@link Feature#STRINGREF} enabled: writes the namespace tag and
+     * starts a new string table.
+     */
+    private final void _startStringRefNamespace() throws IOException
+    {
+        _writeLengthMarker(PREFIX_TYPE_TAG, TAG_ID_STRINGREF_NAMESPACE);
+        _stringRefs = new HashMap<>();
+        _stringRefCount = 0;
+    }
+
+    /**
+     * Method called within a stringref namespace before writing a Text value
+     * (or property name): if String has been added in string table, will write
+     * reference to it and return <code>true</code>; otherwise will add String
+     * in table if it qualifies, and return <code>false</code> to indicate that
+     * caller needs to write String as usual.
+     */
+    private final boolean _writeStringRef(String str) throws IOException
+    {
+        final int len = str.length();
+        int byteLength;
+        if (len > MAX_LONG_STRING_CHARS) { // will be chunked, never added in table
+            byteLength = 0;
+        } else if (len >= 7) {
+            // Encoded length is at least that of chars; enough to know it qualifies
+            byteLength = len;
+        } else {
+            byteLength = _utf8Length(str, len);
+        }
+        return _writeStringRef(str, byteLength);
+    }
+
+    private final boolean _writeStringRef(String str, int byteLength) throws IOException
+    {
+        Integer index = _stringRefs.get(str);
+        if (index != null) {
+            _writeLengthMarker(PREFIX_TYPE_TAG, TAG_ID_STRINGREF);
+            _writeLengthMarker(PREFIX_TYPE_INT_POS, index.intValue());
+            return true;
+        }
+        if (isStringRefCandidate(_stringRefCount, byteLength)) {
+            _stringRefs.put(str, Integer.valueOf(_stringRefCount++));
+        }
+        return false;
+    }
+
+    /**
+     * Method called within a stringref namespace before writing a Binary value,
+     * to keep track of entries in string table: Binary values are never
+     * referenced by generator but they still take up indexes.
+     */
+    private final void _addBinaryStringRef(int byteLength)
+    {
+        if (isStringRefCandidate(_stringRefCount, byteLength)) {
+            ++_stringRefCount;
+        }
+    }
+
+    // Helper method for calculating UTF-8 encoded length of a short String
+    private final static int _utf8Length(String str, int len)
+    {
+        int bytes = len;
+        for (int i = 0; i < len; ++i) {
+            final char c = str.charAt(i);
+            if (c > 0x7F) {
+                // 2 bytes for 2-byte chars and each half of surrogate pair, otherwise 3
+                if ((c < 0x800) || (c >= SURR1_FIRST && c <= SURR2_LAST)) {
+                    bytes += 1;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, UTF-8 encoding
@@ -1596,6 +2457,12 @@ public class CBORGenerator extends GeneratorBase
             return;
         }
         if ((_outputTail + len) >= _outputEnd) {
+            // Content bigger than buffer is better written as is, without copying
+            if (len >= _outputEnd) {
+                _flushBuffer();
+                _writeDirect(data, offset, len);
+                return;
+            }
             _writeBytesLong(data, offset, len);
             return;
         }
@@ -1622,6 +2489,56 @@ public class CBORGenerator extends GeneratorBase
         return bytesLeft;
     }
 
+    /**
+     * Helper method for writing contents of given stream as chunked
+     * (indefinite-length) Binary value: each chunk contains as much content
+     * as fits in the output buffer, so no additional buffering is needed.
+     * Chunked values are never added in "stringref" table (by either
+     * generator or parser), so no need to track them either.
+     */
+    protected final int _writeChunkedBytes(InputStream in) throws IOException
+    {
+        // canonical output requires definite length, so need to read the whole thing first
+        if (_cfgCanonical) {
+            final ByteArrayBuilder bb = new ByteArrayBuilder();
+            final byte[] buf = new byte[4000];
+            int count;
+            while ((count = in.read(buf)) >= 0) {
+                bb.write(buf, 0, count);
+            }
+            byte[] b = bb.toByteArray();
+            if (_stringRefs != null) {
+                _addBinaryStringRef(b.length);
+            }
+            _writeLengthMarker(PREFIX_TYPE_BYTES, b.length);
+            _writeBytes(b, 0, b.length);
+            return b.length;
+        }
+        _writeByte((byte) (PREFIX_TYPE_BYTES + SUFFIX_INDEFINITE));
+        int total = 0;
+        while (true) {
+            // leave room for chunk header: type byte and 16-bit length
+            if ((_outputEnd - _outputTail) < 8) {
+                _flushBuffer();
+            }
+            final int start = _outputTail;
+            int count = in.read(_outputBuffer, start + 3,
+                    Math.min(0xFFFF, _outputEnd - start - 3));
+            if (count < 0) {
+                break;
+            }
+            if (count > 0) {
+                _outputBuffer[start] = (byte) (PREFIX_TYPE_BYTES + SUFFIX_UINT16_ELEMENTS);
+                _outputBuffer[start+1] = (byte) (count >> 8);
+                _outputBuffer[start+2] = (byte) count;
+                _outputTail = start + 3 + count;
+                total += count;
+            }
+        }
+        _writeByte(BYTE_BREAK);
+        return total;
+    }
+
     private final void _writeBytesLong(byte[] data, int offset, int len)
             throws IOException {
         if (_outputTail >= _outputEnd) {
@@ -1661,22 +2578,101 @@ public class CBORGenerator extends GeneratorBase
 
     protected final void _flushBuffer() throws IOException {
         if (_outputTail > 0) {
-            _bytesWritten += _outputTail;
-            _out.write(_outputBuffer, 0, _outputTail);
+            _writeDirect(_outputBuffer, 0, _outputTail);
             _outputTail = 0;
         }
     }
 
+    /**
+     * Method for writing given content to the underlying output (or buffered
+     * canonical content), bypassing output buffer: caller must have flushed
+     * buffered content first.
+     */
+    private final void _writeDirect(byte[] data, int offset, int len) throws IOException {
+        _bytesWritten += len;
+        if (_canonicalContainer != null) {
+            _canonicalContainer.content.write(data, offset, len);
+        } else {
+            _out.write(data, offset, len);
+        }
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, size control for array and objects
     /**********************************************************************
 	*/
 
+    /**
+     * Method for writing start marker of an Array or Object without known
+     * length: if {@link Feature#WRITE_DEFINITE_LENGTHS} is enabled, marker
+     * serves as placeholder to replace with definite length later on.
+     */
+    private final void _writeContainerStart(byte indefiniteMarker) throws IOException {
+        _writeByte(indefiniteMarker);
+        if (_cfgDefiniteLengths) {
+            _tokenWriteContext.setLengthHeadOffset(_bytesWritten + _outputTail - 1);
+        }
+    }
+
+    /**
+     * Method called at the end of an Array or Object written with placeholder
+     * for its length: if placeholder is still in the output buffer, will replace
+     * it with definite length (moving content if longer prefix is needed).
+     *
+     * @return True if definite length was written; false if caller needs to
+     *    write BREAK marker to end indefinite-length content
+     */
+    private final boolean _backpatchLength()
+    {
+        final int headOffset = _tokenWriteContext.getLengthHeadOffset();
+        if (headOffset < 0) {
+            return false;
+        }
+        final int ix = headOffset - _bytesWritten;
+        if (ix < 0) { // already flushed, too late
+            return false;
+        }
+        final byte[] buf = _outputBuffer;
+        final int majorType = (buf[ix] == BYTE_ARRAY_INDEFINITE) ? PREFIX_TYPE_ARRAY : PREFIX_TYPE_OBJECT;
+        final int count = _tokenWriteContext.getEntryCount();
+        if (count < 24) {
+            buf[ix] = (byte) (majorType + count);
+            return true;
+        }
+        final int extra = (count <= 0xFF) ? 1 : ((count <= 0xFFFF) ? 2 : 4);
+        // can only move content if there is room without flushing
+        if ((_outputTail + extra) > _outputEnd) {
+            return false;
+        }
+        System.arraycopy(buf, ix+1, buf, ix+1+extra, _outputTail - ix - 1);
+        _outputTail += extra;
+        switch (extra) {
+        case 1:
+            buf[ix] = (byte) (majorType + SUFFIX_UINT8_ELEMENTS);
+            break;
+        case 2:
+            buf[ix] = (byte) (majorType + SUFFIX_UINT16_ELEMENTS);
+            buf[++ix] = (byte) (count >> 8);
+            break;
+        default:
+            buf[ix] = (byte) (majorType + SUFFIX_UINT32_ELEMENTS);
+            buf[++ix] = (byte) (count >> 24);
+            buf[++ix] = (byte) (count >> 16);
+            buf[++ix] = (byte) (count >> 8);
+        }
+        buf[++ix] = (byte) count;
+        return true;
+    }
+
     private final void closeComplexElement() throws IOException {
         switch (_currentRemainingElements) {
         case INDEFINITE_LENGTH:
-            _writeByte(BYTE_BREAK);
+            // buffered (canonical) content gets definite length once complete;
+            // and if possible, length of others is back-patched
+            if (!_inCanonicalContainer() && !_backpatchLength()) {
+                _writeByte(BYTE_BREAK);
+            }
             break;
         case 0: // expected for sized ones
             break;
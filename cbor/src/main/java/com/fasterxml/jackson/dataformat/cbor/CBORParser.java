@@ -3,7 +3,14 @@ package com.fasterxml.jackson.dataformat.cbor;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import java.nio.charset.Charset;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
@@ -25,7 +32,38 @@ public class CBORParser extends ParserBase
      */
     public enum Feature implements FormatFeature
     {
-//        BOGUS(false)
+        /**
+         * Feature that determines whether Binary values read by parsers
+         * constructed for {@link java.nio.ByteBuffer} input (see
+         * {@link CBORFactory#createParser(ObjectReadContext, java.nio.ByteBuffer)})
+         * are exposed by {@link JsonParser#getEmbeddedObject()} as read-only
+         * {@link java.nio.ByteBuffer} slices of input, without copying content;
+         * or, if disabled, as {@code byte[]}s like with other input sources.
+         * Slices are only valid as long as input buffer is not modified or
+         * released.
+         *<p>
+         * Has no effect on parsers for other input sources.
+         *<p>
+         * Default value is <code>false</code> since databind expects
+         * {@code byte[]} for Binary values.
+         */
+        READ_BINARY_AS_BYTE_BUFFER(false),
+
+        /**
+         * Feature that determines whether values tagged as date/times
+         * (tags 0, 1 and 1001) are decoded and exposed as
+         * {@link JsonToken#VALUE_EMBEDDED_OBJECT}s, accessible using
+         * {@link JsonParser#getEmbeddedObject()}: tag 0 (date/time String) as
+         * {@link java.time.OffsetDateTime}, and tags 1 (epoch-based date/time)
+         * and 1001 (extended time) as {@link java.time.Instant}; or, if disabled,
+         * exposed as the underlying (String, number, Object) tokens.
+         * Epoch-based values are converted directly from the encoded number.
+         *<p>
+         * Note: not (yet) supported by non-blocking parsers.
+         *<p>
+         * Default value is <code>false</code> for backwards compatibility.
+         */
+        DECODE_DATE_TIME_TAGS(false)
         ;
 
         final boolean _defaultState;
@@ -64,6 +102,22 @@ public class CBORParser extends ParserBase
     private final static double MATH_POW_2_10 = Math.pow(2, 10);
     private final static double MATH_POW_2_NEG14 = Math.pow(2, -14);
 
+    // Range of integer-valued property names for which canonical String
+    // representations are cached (lazily) and shared by all parsers
+    private final static int SMALL_INT_NAME_MIN = -256;
+    private final static int SMALL_INT_NAME_MAX = 1023;
+
+    private final static String[] SMALL_INT_NAMES
+        = new String[SMALL_INT_NAME_MAX - SMALL_INT_NAME_MIN + 1];
+
+    // Kinds of typed arrays, by type of Java array that holds the values
+    protected final static int TYPED_ARRAY_INT = 1;
+    protected final static int TYPED_ARRAY_UINT32 = 2; // as int[]
+    protected final static int TYPED_ARRAY_LONG = 3;
+    protected final static int TYPED_ARRAY_UINT64 = 4; // as long[]
+    protected final static int TYPED_ARRAY_FLOAT = 5;
+    protected final static int TYPED_ARRAY_DOUBLE = 6;
+
     /*
     /**********************************************************************
     /* Parsing state
@@ -128,11 +182,35 @@ public class CBORParser extends ParserBase
      */
     protected int _typeByte;
 
+    /**
+     * Decoded date/time value of the current token, if it is a date/time
+     * tagged value exposed as {@link JsonToken#VALUE_EMBEDDED_OBJECT}
+     * (see {@link Feature#DECODE_DATE_TIME_TAGS}).
+     *
+     * @since 3.0
+     */
+    protected Object _dateTimeValue;
+
+    /**
+     * @since 3.0
+     */
+    protected final boolean _cfgDateTimeTags;
+
     /**
      * Helper variables used when dealing with chunked content.
      */
     private int _chunkLeft, _chunkEnd;
 
+    /**
+     * Stream that is reading contents of the current String or Binary value
+     * from input, if one was opened using {@link #getTextReader} or
+     * {@link #getBinaryStream} and has not reached end of the value yet;
+     * remaining contents will be skipped when advancing to the next token.
+     *
+     * @since 3.0
+     */
+    protected ValueInputStream _valueStream;
+
     // Base class has all other types, but no distinction between double, float, so
     protected float _numberFloat;
 
@@ -147,6 +225,24 @@ public class CBORParser extends ParserBase
      */
     final protected ByteQuadsCanonicalizer _symbols;
 
+    /**
+     * Shared symbol table partition {@link #_symbols} was created from, if
+     * custom handling is needed when releasing symbol table (symbol table
+     * size limit or metrics configured); {@code null} if not.
+     */
+    SymbolTablePartition _symbolPartition;
+
+    /**
+     * Number of hash buckets {@link #_symbols} had when parser was constructed
+     */
+    protected int _symbolBuckets;
+
+    /**
+     * Number of symbol table lookups, and lookups that did not find a name,
+     * for metrics
+     */
+    protected int _symbolLookups, _symbolMisses;
+
     /**
      * Temporary buffer used for name parsing.
      */
@@ -157,6 +253,84 @@ public class CBORParser extends ParserBase
      */
     protected int _quad1, _quad2, _quad3;
 
+    /*
+    /**********************************************************************
+    /* Stringref handling
+    /**********************************************************************
+     */
+
+    /**
+     * String table of the current "stringref" namespace (tag 256), if any:
+     * contains Text ({@link String}) and Binary (<code>byte[]</code>) values
+     * in order of appearance, to be referenced by index (tag 25).
+     * <code>null</code> when not within a namespace.
+     *
+     * @since 3.0
+     */
+    protected ArrayList<Object> _stringRefs;
+
+    /**
+     * Parsing context that encloses the Array or Object that started the
+     * current stringref namespace: namespace ends when parser returns to
+     * this context.
+     *
+     * @since 3.0
+     */
+    protected CBORReadContext _stringRefParent;
+
+    /**
+     * Outer namespaces (string table, parent context pairs) for the
+     * (rare) case of nested stringref namespaces; lazily allocated.
+     *
+     * @since 3.0
+     */
+    protected ArrayList<Object> _stringRefStack;
+
+    /*
+    /**********************************************************************
+    /* Typed array handling
+    /**********************************************************************
+     */
+
+    /**
+     * Decoded values of the "typed array" (RFC 8746) being iterated over,
+     * if any: <code>int[]</code>, <code>long[]</code>, <code>float[]</code>
+     * or <code>double[]</code> depending on {@link #_typedArrayKind}.
+     * Elements are exposed as number tokens of an Array.
+     *
+     * @since 3.0
+     */
+    protected Object _typedArray;
+
+    /**
+     * Kind of {@link #_typedArray}, one of <code>TYPED_ARRAY_xxx</code> constants
+     *
+     * @since 3.0
+     */
+    protected int _typedArrayKind;
+
+    /*
+    /**********************************************************************
+    /* Integer-valued property name handling
+    /**********************************************************************
+     */
+
+    /**
+     * Matcher for which {@link #_intNameMatches} has been filled, if any
+     *
+     * @since 3.0
+     */
+    protected FieldNameMatcher _intNameMatcher;
+
+    /**
+     * Match indexes of single-byte integer-valued property names (values
+     * 0 to 23 and -1 to -24) for {@link #_intNameMatcher}, offset by 2 so
+     * that 0 means "not yet known".
+     *
+     * @since 3.0
+     */
+    protected int[] _intNameMatches;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -180,6 +354,7 @@ public class CBORParser extends ParserBase
         DupDetector dups = StreamReadFeature.STRICT_DUPLICATE_DETECTION.enabledIn(parserFeatures)
                 ? DupDetector.rootDetector(this) : null;
         _parsingContext = CBORReadContext.createRootContext(dups);
+        _cfgDateTimeTags = Feature.DECODE_DATE_TIME_TAGS.enabledIn(cborFeatures);
 
         _tokenInputRow = -1;
         _tokenInputCol = -1;
@@ -295,7 +470,12 @@ public class CBORParser extends ParserBase
     public void close() throws IOException {
         if (!_closed) {
             _closed = true;
-            _symbols.release();
+            _valueStream = null;
+            if (_symbolPartition == null) {
+                _symbols.release();
+            } else {
+                _symbolPartition.release(_symbols, _symbolBuckets, _symbolLookups, _symbolMisses);
+            }
             try {
                 _closeInput();
             } finally {
@@ -306,6 +486,15 @@ public class CBORParser extends ParserBase
         }
     }
 
+    /**
+     * Method called by {@link CBORFactory} to make parser release its symbol
+     * table using given partition.
+     */
+    void _trackSymbols(SymbolTablePartition partition) {
+        _symbolPartition = partition;
+        _symbolBuckets = _symbols.bucketCount();
+    }
+
     /*
     /**********************************************************************
     /* Overridden methods
@@ -323,6 +512,109 @@ public class CBORParser extends ParserBase
         return false;
     }
 
+    /**
+     * Overridden to skip contents of Arrays and Objects structurally, using
+     * definite lengths of nested values to skip over them without decoding
+     * (or even tokenizing) names and values; time taken is proportional to
+     * number of bytes skipped.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if ((_currToken != JsonToken.START_OBJECT) && (_currToken != JsonToken.START_ARRAY)) {
+            return this;
+        }
+        // Values within "stringref" namespace need to be tracked; and contents
+        // of typed arrays have already been read: use regular token-based skipping
+        if ((_stringRefs != null) || (_typedArray != null)) {
+            return _skipChildrenByToken();
+        }
+        final CBORReadContext ctxt = _parsingContext;
+        _skipStructurally(ctxt, ctxt.getExpectedLength());
+        return this;
+    }
+
+    /**
+     * Method for skipping all remaining elements of the current Array, after
+     * zero or more of them have been read, so that current token becomes
+     * matching {@link JsonToken#END_ARRAY}. As with {@link #skipChildren()},
+     * elements are skipped without decoding them, if possible.
+     * If current token is {@link JsonToken#START_ARRAY}, this is equivalent
+     * to {@link #skipChildren()}.
+     *
+     * @since 3.0
+     */
+    public JsonParser skipRemainingElements() throws IOException
+    {
+        final CBORReadContext ctxt = _parsingContext;
+        if (!ctxt.inArray()) {
+            _reportError("Can only skip remaining elements of an Array, current context: "+ctxt.typeDesc());
+        }
+        if ((_stringRefs != null) || (_typedArray != null)) {
+            return _skipRemainingElementsByToken();
+        }
+        _skipStructurally(ctxt, ctxt.getRemainingExpectedLength());
+        return this;
+    }
+
+    /**
+     * Helper method for skipping given number of remaining entries of
+     * given Array or Object context (or, if count is negative, until
+     * "break" marker), and closing the context.
+     * Current token, if String or Binary value not yet (fully) read, is skipped
+     * first.
+     */
+    protected void _skipStructurally(CBORReadContext ctxt, int entries) throws IOException
+    {
+        if (_tokenIncomplete || (_valueStream != null)) {
+            _skipIncomplete();
+        }
+        if (entries >= 0) {
+            long count = entries;
+            if (ctxt.inObject()) {
+                count += count;
+            }
+            for (; count > 0L; --count) {
+                if (!_skipValue()) {
+                    _reportUnexpectedBreak();
+                }
+            }
+        } else {
+            while (_skipValue()) { }
+        }
+        _parsingContext = ctxt.getParent();
+        _currToken = ctxt.inObject() ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Helper method for skipping contents of current Array or Object token
+     * by token, as done by default {@link JsonParser#skipChildren()}
+     * implementation.
+     */
+    protected final JsonParser _skipChildrenByToken() throws IOException {
+        return super.skipChildren();
+    }
+
+    /**
+     * Helper method for skipping remaining elements of current Array token by
+     * token, using {@link #skipChildren()} for nested Arrays and Objects.
+     */
+    protected final JsonParser _skipRemainingElementsByToken() throws IOException
+    {
+        JsonToken t;
+        while ((t = nextToken()) != JsonToken.END_ARRAY) {
+            if (t == null) {
+                _handleEOF();
+                return this;
+            }
+            if (t == JsonToken.NOT_AVAILABLE) {
+                _reportError("Not enough content available to skip remaining Array elements");
+            }
+            skipChildren();
+        }
+        return this;
+    }
+
     /**
      * Method called to release internal buffers owned by the base
      * reader. This may be called along with {@link #_closeInput} (for
@@ -353,7 +645,7 @@ public class CBORParser extends ParserBase
     {
         _numTypesValid = NR_UNKNOWN;
         // For longer tokens (text, binary), we'll only read when requested
-        if (_tokenIncomplete) {
+        if (_tokenIncomplete || (_valueStream != null)) {
             _skipIncomplete();
         }
         _tokenInputTotal = _currInputProcessed + _inputPtr;
@@ -370,6 +662,9 @@ public class CBORParser extends ParserBase
                 // completed the whole Object?
                 if (!_parsingContext.expectMoreValues()) {
                     _parsingContext = _parsingContext.getParent();
+                    if (_parsingContext == _stringRefParent) {
+                        _exitStringRefNamespace();
+                    }
                     return (_currToken = JsonToken.END_OBJECT);
                 }
                 return (_currToken = _decodeFieldName());
@@ -377,9 +672,16 @@ public class CBORParser extends ParserBase
         } else {
             if (!_parsingContext.expectMoreValues()) {
                 _tagValue = -1;
+                _typedArray = null;
                 _parsingContext = _parsingContext.getParent();
+                if (_parsingContext == _stringRefParent) {
+                    _exitStringRefNamespace();
+                }
                 return (_currToken = JsonToken.END_ARRAY);
             }
+            if (_typedArray != null) {
+                return _nextTypedArrayElement();
+            }
         }
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -399,6 +701,18 @@ public class CBORParser extends ParserBase
             }
             ch = _inputBuffer[_inputPtr++];
             type = (ch >> 5) & 0x7;
+            // "stringref" namespace (possibly preceded by self-describe tag), reference
+            if ((_tagValue == TAG_ID_STRINGREF_NAMESPACE)
+                    || ((type == 6) && (_tagValue == TAG_ID_SELF_DESCRIBE))) {
+                ch = _startStringRefNamespace(ch);
+                type = (ch >> 5) & 0x7;
+            }
+            if ((_tagValue == TAG_ID_STRINGREF) && (_stringRefs != null)) {
+                return _handleStringRef(ch);
+            }
+            if (_cfgDateTimeTags && _isDateTimeTag(_tagValue)) {
+                return _handleDateTimeTag(_tagValue, ch);
+            }
         } else {
             _tagValue = -1;
         }
@@ -495,6 +809,9 @@ public class CBORParser extends ParserBase
         case 2: // byte[]
             _typeByte = ch;
             _tokenIncomplete = true;
+            if (_stringRefs != null) {
+                _finishAndAddStringRef();
+            }
             if (_tagValue >= 0) {
                 return _handleTaggedBinary(_tagValue);
             }
@@ -503,6 +820,9 @@ public class CBORParser extends ParserBase
         case 3: // String
             _typeByte = ch;
             _tokenIncomplete = true;
+            if (_stringRefs != null) {
+                _finishAndAddStringRef();
+            }
             return (_currToken = JsonToken.VALUE_STRING);
 
         case 4: // Array
@@ -558,6 +878,9 @@ public class CBORParser extends ParserBase
                 if (_parsingContext.inArray()) {
                     if (!_parsingContext.hasExpectedLength()) {
                         _parsingContext = _parsingContext.getParent();
+                        if (_parsingContext == _stringRefParent) {
+                            _exitStringRefNamespace();
+                        }
                         return (_currToken = JsonToken.END_ARRAY);
                     }
                 }
@@ -569,6 +892,36 @@ public class CBORParser extends ParserBase
         return null;
     }
 
+    private int _nextFieldNameSmallInt(FieldNameMatcher matcher, int value, boolean neg)
+        throws IOException
+    {
+        final int ix;
+        final String name;
+        if (neg) {
+            ix = value + 24;
+            name = _intToName(-value - 1);
+        } else {
+            ix = value;
+            name = _intToName(value);
+        }
+        _parsingContext.setCurrentName(name);
+        _currToken = JsonToken.FIELD_NAME;
+        if (matcher != _intNameMatcher) {
+            if (_intNameMatches == null) {
+                _intNameMatches = new int[48];
+            } else {
+                Arrays.fill(_intNameMatches, 0);
+            }
+            _intNameMatcher = matcher;
+        }
+        int match = _intNameMatches[ix];
+        if (match == 0) {
+            match = matcher.matchName(name) + 2;
+            _intNameMatches[ix] = match;
+        }
+        return match - 2;
+    }
+
     protected String _numberToName(int ch, boolean neg) throws IOException
     {
         final int lowBits = ch & 0x1F;
@@ -601,7 +954,31 @@ public class CBORParser extends ParserBase
         if (neg) {
             i = -i - 1;
         }
-        return String.valueOf(i);
+        return _intToName(i);
+    }
+
+    /**
+     * Helper method for converting integer-valued property name into
+     * String: for small values (as used by COSE, for example) will return
+     * shared canonical instance, to avoid allocating a new String for every
+     * occurrence (and to make matching of names faster, as hash code of
+     * instance is only calculated once).
+     *
+     * @since 3.0
+     */
+    protected final static String _intToName(int i)
+    {
+        if ((i < SMALL_INT_NAME_MIN) || (i > SMALL_INT_NAME_MAX)) {
+            return String.valueOf(i);
+        }
+        final int ix = i - SMALL_INT_NAME_MIN;
+        String name = SMALL_INT_NAMES[ix];
+        // Strings are immutable so racy initialization is safe (if wasteful)
+        if (name == null) {
+            name = String.valueOf(i);
+            SMALL_INT_NAMES[ix] = name;
+        }
+        return name;
     }
 
     protected JsonToken _handleTaggedBinary(int tag) throws IOException
@@ -612,14 +989,24 @@ public class CBORParser extends ParserBase
             neg = false;
         } else  if (tag == TAG_BIGNUM_NEG) {
             neg = true;
+        } else if ((tag >= TAG_TYPED_ARRAY_FIRST) && (tag <= TAG_TYPED_ARRAY_LAST)) {
+            if (_tokenIncomplete) {
+                _finishToken();
+            }
+            if (_startTypedArray(tag, _binaryValue)) {
+                return (_currToken = JsonToken.START_ARRAY);
+            }
+            return (_currToken = JsonToken.VALUE_EMBEDDED_OBJECT);
         } else {
             // 12-May-2016, tatu: Since that's all we know, let's otherwise
             //   just return default Binary data marker
             return (_currToken = JsonToken.VALUE_EMBEDDED_OBJECT);
         }
 
-        // First: get the data
-        _finishToken();
+        // First: get the data (unless already read for stringref handling)
+        if (_tokenIncomplete) {
+            _finishToken();
+        }
 
         BigInteger nr = new BigInteger(_binaryValue);
         if (neg) {
@@ -818,6 +1205,9 @@ public class CBORParser extends ParserBase
             }
             _typeByte = ch;
             _tokenIncomplete = true;
+            if (_stringRefs != null) {
+                _finishAndAddStringRef();
+            }
             _currToken = _handleTaggedBinary(tagValue);
             return (_currToken == JsonToken.VALUE_NUMBER_INT);
 
@@ -894,9 +1284,11 @@ public class CBORParser extends ParserBase
     @Override
     public String nextFieldName() throws IOException
     {
-        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME) {
+        // names may be stringrefs within namespace, so only use fast path outside
+        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME
+                && (_stringRefs == null)) {
             _numTypesValid = NR_UNKNOWN;
-            if (_tokenIncomplete) {
+            if (_tokenIncomplete || (_valueStream != null)) {
                 _skipIncomplete();
             }
             _tokenInputTotal = _currInputProcessed + _inputPtr;
@@ -964,9 +1356,10 @@ public class CBORParser extends ParserBase
     public boolean nextFieldName(SerializableString str) throws IOException
     {
         // Two parsing modes; can only succeed if expecting field name, so handle that first:
-        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME) {
+        if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME
+                && (_stringRefs == null)) {
             _numTypesValid = NR_UNKNOWN;
-            if (_tokenIncomplete) {
+            if (_tokenIncomplete || (_valueStream != null)) {
                 _skipIncomplete();
             }
             _tokenInputTotal = _currInputProcessed + _inputPtr;
@@ -1018,8 +1411,17 @@ public class CBORParser extends ParserBase
             nextToken();
             return FieldNameMatcher.MATCH_ODD_TOKEN;
         }
+        // names may be stringrefs within namespace, so need to use generic handling
+        if (_stringRefs != null) {
+            JsonToken t = nextToken();
+            if (t == JsonToken.FIELD_NAME) {
+                return matcher.matchName(currentName());
+            }
+            return (t == JsonToken.END_OBJECT) ? FieldNameMatcher.MATCH_END_OBJECT
+                    : FieldNameMatcher.MATCH_ODD_TOKEN;
+        }
 
-        if (_tokenIncomplete) {
+        if (_tokenIncomplete || (_valueStream != null)) {
             _skipIncomplete();
         }
         _numTypesValid = NR_UNKNOWN;
@@ -1075,6 +1477,7 @@ public class CBORParser extends ParserBase
     private int _nextFieldDecodeAndAdd(FieldNameMatcher matcher, int len) throws IOException
     {
         // 27-Nov-2017, tatu: May already be in main shared symbol table, need to check...
+        ++_symbolLookups;
         String name;
         final int qlen = (len + 3) >> 2;
         switch (qlen) {
@@ -1104,6 +1507,12 @@ public class CBORParser extends ParserBase
 
     private int _nextFieldNameNonText(FieldNameMatcher matcher, int ch) throws IOException
     {
+        // Single-byte integer names (common with COSE, for example) are matched
+        // using cached match indexes
+        final int type = ((ch >> 5) & 0x7);
+        if ((type <= CBORConstants.MAJOR_TYPE_INT_NEG) && ((ch & 0x1F) <= 23)) {
+            return _nextFieldNameSmallInt(matcher, ch & 0x1F, type == CBORConstants.MAJOR_TYPE_INT_NEG);
+        }
         String name = _decodeNonStringName(ch); // NOTE: sets current name too
         _currToken = JsonToken.FIELD_NAME;
         /// 15-Nov-2017, tatu: Is this correct? Copied from `nextFieldName()` but...
@@ -1258,8 +1667,14 @@ public class CBORParser extends ParserBase
     @Override
     public String nextTextValue() throws IOException
     {
+        // Strings may be stringrefs within namespace, and typed array elements
+        // are not read from input, so only use fast path outside of those
+        // (as well as date/time tags, if decoded)
+        if ((_stringRefs != null) || (_typedArray != null) || _cfgDateTimeTags) {
+            return (nextToken() == JsonToken.VALUE_STRING) ? getText() : null;
+        }
         _numTypesValid = NR_UNKNOWN;
-        if (_tokenIncomplete) {
+        if (_tokenIncomplete || (_valueStream != null)) {
             _skipIncomplete();
         }
         _tokenInputTotal = _currInputProcessed + _inputPtr;
@@ -1306,6 +1721,11 @@ public class CBORParser extends ParserBase
             }
             ch = _inputBuffer[_inputPtr++];
             type = (ch >> 5) & 0x7;
+            if ((_tagValue == TAG_ID_STRINGREF_NAMESPACE)
+                    || ((type == 6) && (_tagValue == TAG_ID_SELF_DESCRIBE))) {
+                ch = _startStringRefNamespace(ch);
+                type = (ch >> 5) & 0x7;
+            }
         } else {
             _tagValue = -1;
         }
@@ -1404,6 +1824,11 @@ public class CBORParser extends ParserBase
         case 2: // byte[]
             _typeByte = ch;
             _tokenIncomplete = true;
+            // tagged Binary may be BigInteger or typed array, not just Binary
+            if (_tagValue >= 0) {
+                _handleTaggedBinary(_tagValue);
+                return null;
+            }
             _currToken = JsonToken.VALUE_EMBEDDED_OBJECT;
             return null;
 
@@ -1517,78 +1942,475 @@ public class CBORParser extends ParserBase
 
     /*
     /**********************************************************
-    /* Public API, access to token information, text
+    /* Public API, bulk reading of Array values
     /**********************************************************
      */
 
     /**
-     * Method for accessing textual representation of the current event;
-     * if no current event (before first call to {@link #nextToken}, or
-     * after encountering end-of-input), returns null.
-     * Method can be called for any event.
+     * Method for reading up to {@code max} consecutive elements of the current
+     * Array as {@code int} values, into given buffer. Parser must point to
+     * either {@link JsonToken#START_ARRAY} of the Array, or an element within it.
+     * Elements that are fully available in the input buffer are decoded directly
+     * from it, without going through {@link #nextToken()}.
+     *<p>
+     * Reading stops when {@code max} elements have been read (current token
+     * being the last element read); when end of Array is reached (current token
+     * being {@link JsonToken#END_ARRAY}); or when an element that is not an
+     * integral number within range of Java {@code int} is encountered (current
+     * token being that element, not included in the count).
+     *
+     * @return Number of elements read into {@code dst}
+     *
+     * @since 3.0
      */
-    @Override    
-    public String getText() throws IOException
+    public int readIntArray(int[] dst, int offset, int max) throws IOException
     {
-        JsonToken t = _currToken;
-        if (_tokenIncomplete) {
-            if (t == JsonToken.VALUE_STRING) {
-                return _finishTextToken(_typeByte);
+        _verifyArrayRead();
+        int count = 0;
+        while (count < max) {
+            if (_canReadArrayDirectly()) {
+                final byte[] buf = _inputBuffer;
+                final int end = _inputEnd - 5; // longest value: 5 bytes
+                final int limit = offset + count + Math.min(max - count, _remainingArrayElements());
+                final int start = offset + count;
+                int ix = start;
+                int ptr = _inputPtr;
+                int valueStart = ptr;
+                while ((ix < limit) && (ptr <= end)) {
+                    final int ch = buf[ptr] & 0xFF;
+                    final int type = ch >> 5;
+                    if (type > CBORConstants.MAJOR_TYPE_INT_NEG) {
+                        break;
+                    }
+                    int v = ch & 0x1F;
+                    if (v <= 23) {
+                        valueStart = ptr++;
+                    } else if (v == 24) {
+                        v = buf[ptr+1] & 0xFF;
+                        valueStart = ptr;
+                        ptr += 2;
+                    } else if (v == 25) {
+                        v = ((buf[ptr+1] & 0xFF) << 8) | (buf[ptr+2] & 0xFF);
+                        valueStart = ptr;
+                        ptr += 3;
+                    } else if (v == 26) {
+                        v = _int32At(buf, ptr+1);
+                        if (v < 0) { // not within int range
+                            break;
+                        }
+                        valueStart = ptr;
+                        ptr += 5;
+                    } else {
+                        break;
+                    }
+                    if (type != CBORConstants.MAJOR_TYPE_INT_POS) {
+                        v = -v - 1;
+                    }
+                    _parsingContext.expectMoreValues();
+                    dst[ix++] = v;
+                }
+                if (ix > start) {
+                    _inputPtr = ptr;
+                    _numberInt = dst[ix-1];
+                    _numTypesValid = NR_INT;
+                    _bulkValueRead(JsonToken.VALUE_NUMBER_INT, valueStart);
+                    count += (ix - start);
+                    if (count == max) {
+                        break;
+                    }
+                }
             }
+            // Element not (fully) available in buffer, or not of expected type
+            if ((nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    || (getNumberType() != NumberType.INT)) {
+                break;
+            }
+            dst[offset + count++] = _numberInt;
         }
-        if (t == JsonToken.VALUE_STRING) {
-            return _textBuffer.contentsAsString();
-        }
-        if (t == null) { // null only before/after document
-            return null;
-        }
-        if (t == JsonToken.FIELD_NAME) {
-            return _parsingContext.currentName();
-        }
-        if (t.isNumeric()) {
-            return getNumberValue().toString();
-        }
-        return _currToken.asString();
+        return count;
     }
 
-    @Override
-    public char[] getTextCharacters() throws IOException
+    /**
+     * Method for reading up to {@code max} consecutive elements of the current
+     * Array as {@code long} values, into given buffer; works similar to
+     * {@link #readIntArray}, except that all integral numbers within range of
+     * Java {@code long} are accepted.
+     *
+     * @return Number of elements read into {@code dst}
+     *
+     * @since 3.0
+     */
+    public int readLongArray(long[] dst, int offset, int max) throws IOException
     {
-        if (_currToken != null) { // null only before/after document
-            if (_tokenIncomplete) {
-                _finishToken();
-            }
-            if (_currToken == JsonToken.VALUE_STRING) {
-                return _textBuffer.getTextBuffer();
+        _verifyArrayRead();
+        int count = 0;
+        while (count < max) {
+            if (_canReadArrayDirectly()) {
+                final byte[] buf = _inputBuffer;
+                final int end = _inputEnd - 9; // longest value: 9 bytes
+                final int limit = offset + count + Math.min(max - count, _remainingArrayElements());
+                final int start = offset + count;
+                int ix = start;
+                int ptr = _inputPtr;
+                int valueStart = ptr;
+                while ((ix < limit) && (ptr <= end)) {
+                    final int ch = buf[ptr] & 0xFF;
+                    final int type = ch >> 5;
+                    if (type > CBORConstants.MAJOR_TYPE_INT_NEG) {
+                        break;
+                    }
+                    final int lowBits = ch & 0x1F;
+                    long l;
+                    if (lowBits <= 23) {
+                        l = lowBits;
+                        valueStart = ptr++;
+                    } else if (lowBits == 24) {
+                        l = buf[ptr+1] & 0xFF;
+                        valueStart = ptr;
+                        ptr += 2;
+                    } else if (lowBits == 25) {
+                        l = ((buf[ptr+1] & 0xFF) << 8) | (buf[ptr+2] & 0xFF);
+                        valueStart = ptr;
+                        ptr += 3;
+                    } else if (lowBits == 26) {
+                        l = _int32At(buf, ptr+1) & 0xFFFFFFFFL;
+                        valueStart = ptr;
+                        ptr += 5;
+                    } else if (lowBits == 27) {
+                        l = _int64At(buf, ptr+1);
+                        if (l < 0L) { // not within long range
+                            break;
+                        }
+                        valueStart = ptr;
+                        ptr += 9;
+                    } else {
+                        break;
+                    }
+                    if (type != CBORConstants.MAJOR_TYPE_INT_POS) {
+                        l = -l - 1L;
+                    }
+                    _parsingContext.expectMoreValues();
+                    dst[ix++] = l;
+                }
+                if (ix > start) {
+                    _inputPtr = ptr;
+                    _numberLong = dst[ix-1];
+                    _numTypesValid = NR_LONG;
+                    _bulkValueRead(JsonToken.VALUE_NUMBER_INT, valueStart);
+                    count += (ix - start);
+                    if (count == max) {
+                        break;
+                    }
+                }
             }
-            if (_currToken == JsonToken.FIELD_NAME) {
-                return _parsingContext.currentName().toCharArray();
+            if (nextToken() != JsonToken.VALUE_NUMBER_INT) {
+                break;
             }
-            if ((_currToken == JsonToken.VALUE_NUMBER_INT)
-                    || (_currToken == JsonToken.VALUE_NUMBER_FLOAT)) {
-                return getNumberValue().toString().toCharArray();
+            final NumberType nt = getNumberType();
+            if ((nt != NumberType.INT) && (nt != NumberType.LONG)) {
+                break;
             }
-            return _currToken.asCharArray();
+            dst[offset + count++] = getLongValue();
         }
-        return null;
+        return count;
     }
 
-    @Override    
-    public int getTextLength() throws IOException
+    /**
+     * Method for reading up to {@code max} consecutive elements of the current
+     * Array as {@code double} values, into given buffer; works similar to
+     * {@link #readIntArray}, except that all numbers are accepted (and
+     * converted to {@code double} as necessary). Only floating-point values
+     * are decoded directly from input buffer.
+     *
+     * @return Number of elements read into {@code dst}
+     *
+     * @since 3.0
+     */
+    public int readDoubleArray(double[] dst, int offset, int max) throws IOException
     {
-        if (_currToken != null) { // null only before/after document
-            if (_tokenIncomplete) {
-                _finishToken();
-            }
-            if (_currToken == JsonToken.VALUE_STRING) {
-                return _textBuffer.size();                
-            }
-            if (_currToken == JsonToken.FIELD_NAME) {
-                return _parsingContext.currentName().length();
+        _verifyArrayRead();
+        int count = 0;
+        while (count < max) {
+            if (_canReadArrayDirectly()) {
+                final byte[] buf = _inputBuffer;
+                final int end = _inputEnd - 9; // longest value: 9 bytes
+                final int limit = offset + count + Math.min(max - count, _remainingArrayElements());
+                final int start = offset + count;
+                int ix = start;
+                int ptr = _inputPtr;
+                int valueStart = ptr;
+                double d = 0.0;
+                while ((ix < limit) && (ptr <= end)) {
+                    final byte b = buf[ptr];
+                    if (b == BYTE_FLOAT64) {
+                        d = Double.longBitsToDouble(_int64At(buf, ptr+1));
+                        valueStart = ptr;
+                        ptr += 9;
+                    } else if (b == BYTE_FLOAT32) {
+                        d = Float.intBitsToFloat(_int32At(buf, ptr+1));
+                        valueStart = ptr;
+                        ptr += 5;
+                    } else if (b == BYTE_FLOAT16) {
+                        d = _decodeHalfSizeFloat(((buf[ptr+1] & 0xFF) << 8) | (buf[ptr+2] & 0xFF));
+                        valueStart = ptr;
+                        ptr += 3;
+                    } else {
+                        break;
+                    }
+                    _parsingContext.expectMoreValues();
+                    dst[ix++] = d;
+                }
+                if (ix > start) {
+                    _inputPtr = ptr;
+                    _numberDouble = d;
+                    _numTypesValid = NR_DOUBLE;
+                    _bulkValueRead(JsonToken.VALUE_NUMBER_FLOAT, valueStart);
+                    count += (ix - start);
+                    if (count == max) {
+                        break;
+                    }
+                }
             }
-            if ((_currToken == JsonToken.VALUE_NUMBER_INT)
-                    || (_currToken == JsonToken.VALUE_NUMBER_FLOAT)) {
-                return getNumberValue().toString().length();
+            final JsonToken t = nextToken();
+            if ((t != JsonToken.VALUE_NUMBER_FLOAT) && (t != JsonToken.VALUE_NUMBER_INT)) {
+                break;
+            }
+            dst[offset + count++] = getDoubleValue();
+        }
+        return count;
+    }
+
+    /**
+     * Method for reading up to {@code max} consecutive elements of the current
+     * Array as {@code float} values, into given buffer; works similar to
+     * {@link #readDoubleArray}.
+     *
+     * @return Number of elements read into {@code dst}
+     *
+     * @since 3.0
+     */
+    public int readFloatArray(float[] dst, int offset, int max) throws IOException
+    {
+        _verifyArrayRead();
+        int count = 0;
+        while (count < max) {
+            if (_canReadArrayDirectly()) {
+                final byte[] buf = _inputBuffer;
+                final int end = _inputEnd - 9; // longest value: 9 bytes
+                final int limit = offset + count + Math.min(max - count, _remainingArrayElements());
+                final int start = offset + count;
+                int ix = start;
+                int ptr = _inputPtr;
+                int valueStart = ptr;
+                double d = 0.0;
+                while ((ix < limit) && (ptr <= end)) {
+                    final byte b = buf[ptr];
+                    if (b == BYTE_FLOAT32) {
+                        d = Float.intBitsToFloat(_int32At(buf, ptr+1));
+                        valueStart = ptr;
+                        ptr += 5;
+                    } else if (b == BYTE_FLOAT64) {
+                        d = Double.longBitsToDouble(_int64At(buf, ptr+1));
+                        valueStart = ptr;
+                        ptr += 9;
+                    } else if (b == BYTE_FLOAT16) {
+                        d = _decodeHalfSizeFloat(((buf[ptr+1] & 0xFF) << 8) | (buf[ptr+2] & 0xFF));
+                        valueStart = ptr;
+                        ptr += 3;
+                    } else {
+                        break;
+                    }
+                    _parsingContext.expectMoreValues();
+                    dst[ix++] = (float) d;
+                }
+                if (ix > start) {
+                    _inputPtr = ptr;
+                    _numberDouble = d;
+                    _numTypesValid = NR_DOUBLE;
+                    _bulkValueRead(JsonToken.VALUE_NUMBER_FLOAT, valueStart);
+                    count += (ix - start);
+                    if (count == max) {
+                        break;
+                    }
+                }
+            }
+            final JsonToken t = nextToken();
+            if ((t != JsonToken.VALUE_NUMBER_FLOAT) && (t != JsonToken.VALUE_NUMBER_INT)) {
+                break;
+            }
+            dst[offset + count++] = getFloatValue();
+        }
+        return count;
+    }
+
+    private final void _verifyArrayRead() throws IOException
+    {
+        if (!_parsingContext.inArray()) {
+            _reportError("Can not read Array values: current token ("+_currToken
+                    +") not START_ARRAY or an Array element");
+        }
+    }
+
+    // Whether elements of current Array may be decoded directly from the input
+    // buffer: not if there is unread content, or elements come from typed array
+    private final boolean _canReadArrayDirectly() {
+        return !_tokenIncomplete && (_valueStream == null)
+                && (_typedArray == null) && _parsingContext.inArray();
+    }
+
+    private final int _remainingArrayElements() {
+        if (_parsingContext.hasExpectedLength()) {
+            return _parsingContext.getExpectedLength() - _parsingContext.getCurrentIndex() - 1;
+        }
+        // Break marker will not be accepted as an element so no need to check
+        return Integer.MAX_VALUE;
+    }
+
+    // Helper method for updating state to match last value read by a bulk method,
+    // as if it was read by `nextToken()`
+    private final void _bulkValueRead(JsonToken t, int valueStart) {
+        _tokenInputTotal = _currInputProcessed + valueStart;
+        _binaryValue = null;
+        _tagValue = -1;
+        _currToken = t;
+    }
+
+    private final static int _int32At(byte[] buf, int ptr) {
+        return (buf[ptr] << 24) | ((buf[ptr+1] & 0xFF) << 16)
+                | ((buf[ptr+2] & 0xFF) << 8) | (buf[ptr+3] & 0xFF);
+    }
+
+    private final static long _int64At(byte[] buf, int ptr) {
+        return (((long) _int32At(buf, ptr)) << 32) | (_int32At(buf, ptr+4) & 0xFFFFFFFFL);
+    }
+
+    /*
+    /**********************************************************
+    /* Public API, access to token information, text
+    /**********************************************************
+     */
+
+    /**
+     * Method for accessing textual representation of the current event;
+     * if no current event (before first call to {@link #nextToken}, or
+     * after encountering end-of-input), returns null.
+     * Method can be called for any event.
+     */
+    @Override    
+    public String getText() throws IOException
+    {
+        JsonToken t = _currToken;
+        if (_tokenIncomplete) {
+            if (t == JsonToken.VALUE_STRING) {
+                return _finishTextToken(_typeByte);
+            }
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            return _textBuffer.contentsAsString();
+        }
+        if (t == null) { // null only before/after document
+            return null;
+        }
+        if (t == JsonToken.FIELD_NAME) {
+            return _parsingContext.currentName();
+        }
+        if (t.isNumeric()) {
+            return getNumberValue().toString();
+        }
+        return _currToken.asString();
+    }
+
+    /**
+     * Method for accessing textual content of the current token as UTF-8
+     * encoded bytes. For String values this is done without decoding (or
+     * constructing a {@link String}), by copying raw content from the input
+     * buffer, and the value is left undecoded so that it may still be
+     * accessed using other text accessors.
+     * Long (longer than input buffer) and chunked values are decoded and
+     * re-encoded.
+     *
+     * @return UTF-8 encoded textual content of the current token, if any;
+     *    {@code null} if none (before or after document)
+     *
+     * @since 3.0
+     */
+    public byte[] getTextAsUTF8Bytes() throws IOException
+    {
+        if (_tokenIncomplete && (_currToken == JsonToken.VALUE_STRING)) {
+            final int len = _loadRawContent();
+            if (len >= 0) {
+                final int start = _inputPtr + _rawTextHeadLength(_typeByte & 0x1F);
+                return Arrays.copyOfRange(_inputBuffer, start, start + len);
+            }
+        }
+        String text = getText();
+        return (text == null) ? null : text.getBytes(UTF8);
+    }
+
+    /**
+     * Method similar to {@link #getTextAsUTF8Bytes()}, but that writes UTF-8
+     * encoded content into given {@link OutputStream}; for String values
+     * directly from the input buffer, without any intermediate copies.
+     *
+     * @return Number of bytes written
+     *
+     * @since 3.0
+     */
+    public int getTextAsUTF8(OutputStream out) throws IOException
+    {
+        if (_tokenIncomplete && (_currToken == JsonToken.VALUE_STRING)) {
+            final int len = _loadRawContent();
+            if (len >= 0) {
+                out.write(_inputBuffer, _inputPtr + _rawTextHeadLength(_typeByte & 0x1F), len);
+                return len;
+            }
+        }
+        byte[] b = getTextAsUTF8Bytes();
+        if (b == null) {
+            return 0;
+        }
+        out.write(b);
+        return b.length;
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException
+    {
+        if (_currToken != null) { // null only before/after document
+            if (_tokenIncomplete) {
+                _finishToken();
+            }
+            if (_currToken == JsonToken.VALUE_STRING) {
+                return _textBuffer.getTextBuffer();
+            }
+            if (_currToken == JsonToken.FIELD_NAME) {
+                return _parsingContext.currentName().toCharArray();
+            }
+            if ((_currToken == JsonToken.VALUE_NUMBER_INT)
+                    || (_currToken == JsonToken.VALUE_NUMBER_FLOAT)) {
+                return getNumberValue().toString().toCharArray();
+            }
+            return _currToken.asCharArray();
+        }
+        return null;
+    }
+
+    @Override    
+    public int getTextLength() throws IOException
+    {
+        if (_currToken != null) { // null only before/after document
+            if (_tokenIncomplete) {
+                _finishToken();
+            }
+            if (_currToken == JsonToken.VALUE_STRING) {
+                return _textBuffer.size();                
+            }
+            if (_currToken == JsonToken.FIELD_NAME) {
+                return _parsingContext.currentName().length();
+            }
+            if ((_currToken == JsonToken.VALUE_NUMBER_INT)
+                    || (_currToken == JsonToken.VALUE_NUMBER_FLOAT)) {
+                return getNumberValue().toString().length();
             }
             return _currToken.asCharArray().length;
         }
@@ -1681,6 +2503,9 @@ public class CBORParser extends ParserBase
             _finishToken();
         }
         if (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT ) {
+            if (_cfgDateTimeTags && _isDateTimeTag(_tagValue)) {
+                return _dateTimeValue;
+            }
             return _binaryValue;
         }
         return null;
@@ -1736,6 +2561,172 @@ public class CBORParser extends ParserBase
         return total;
     }
 
+    /*
+    /**********************************************************************
+    /* Extended API, streaming access to String and Binary values
+    /**********************************************************************
+     */
+
+    /**
+     * Method for accessing contents of the current Binary value
+     * ({@link JsonToken#VALUE_EMBEDDED_OBJECT}) as a stream, without
+     * buffering the whole value in memory: contents of both definite-length
+     * and chunked (indefinite-length) values are read lazily from the
+     * underlying input as stream is read, using only the regular input buffer.
+     *<p>
+     * Stream is only valid until parser is advanced: remaining contents are
+     * skipped when advancing to the next token. Value contents are not
+     * accessible using other accessors once stream has been opened. If value
+     * has already been decoded (or is not read from input stream), a stream
+     * over decoded value is returned.
+     * Closing the returned stream has no effect on the parser.
+     *
+     * @since 3.0
+     */
+    public InputStream getBinaryStream() throws IOException
+    {
+        if (_currToken != JsonToken.VALUE_EMBEDDED_OBJECT) {
+            _reportError("Current token ("+currentToken()+") not VALUE_EMBEDDED_OBJECT, can not access as binary");
+        }
+        if (_tokenIncomplete && (((_typeByte >> 5) & 0x7) == CBORConstants.MAJOR_TYPE_BYTES)) {
+            return _startValueStream(CBORConstants.MAJOR_TYPE_BYTES);
+        }
+        byte[] b = getBinaryValue();
+        return new ByteArrayInputStream((b == null) ? NO_BYTES : b);
+    }
+
+    /**
+     * Method for accessing contents of the current String value
+     * ({@link JsonToken#VALUE_STRING}) as a character stream, without
+     * buffering the whole value in memory: contents of both definite-length
+     * and chunked (indefinite-length) values are read and decoded lazily
+     * from the underlying input as reader is read.
+     *<p>
+     * Same limitations apply as with {@link #getBinaryStream()}: reader is only
+     * valid until parser is advanced, and value contents are not accessible
+     * using other accessors once reader has been opened.
+     *
+     * @since 3.0
+     */
+    public Reader getTextReader() throws IOException
+    {
+        if (_currToken != JsonToken.VALUE_STRING) {
+            _reportError("Current token ("+currentToken()+") not VALUE_STRING, can not access as text");
+        }
+        if (_tokenIncomplete) {
+            return new InputStreamReader(_startValueStream(CBORConstants.MAJOR_TYPE_TEXT),
+                    UTF8.newDecoder());
+        }
+        return new StringReader(getText());
+    }
+
+    private InputStream _startValueStream(int majorType) throws IOException
+    {
+        _tokenIncomplete = false;
+        if (majorType == CBORConstants.MAJOR_TYPE_TEXT) {
+            _textBuffer.resetWithEmpty();
+        }
+        int len = _decodeExplicitLength(_typeByte & 0x1F);
+        ValueInputStream stream = new ValueInputStream(majorType, len);
+        _valueStream = stream;
+        return stream;
+    }
+
+    /**
+     * Stream used for reading contents of a String or Binary value directly
+     * from the input buffer, loading more content as needed; for chunked
+     * values, chunk headers are decoded as the stream is read.
+     *
+     * @since 3.0
+     */
+    protected class ValueInputStream extends InputStream
+    {
+        private final int _majorType;
+
+        private final boolean _chunked;
+
+        /**
+         * Number of bytes left in current chunk (or value, if not chunked)
+         */
+        private int _left;
+
+        ValueInputStream(int majorType, int length) {
+            _majorType = majorType;
+            _chunked = (length < 0);
+            _left = _chunked ? 0 : length;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            if (!_hasMore()) {
+                return -1;
+            }
+            --_left;
+            return _inputBuffer[_inputPtr++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0) {
+                return 0;
+            }
+            if (!_hasMore()) {
+                return -1;
+            }
+            int count = Math.min(len, Math.min(_left, _inputEnd - _inputPtr));
+            System.arraycopy(_inputBuffer, _inputPtr, b, off, count);
+            _inputPtr += count;
+            _left -= count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (_valueStream == this) ? Math.min(_left, _inputEnd - _inputPtr) : 0;
+        }
+
+        /**
+         * Closing does not skip the rest of the value; parser does that when
+         * advanced.
+         */
+        @Override
+        public void close() { }
+
+        /**
+         * Helper method that makes sure there is at least one byte of value
+         * contents in the input buffer, if value has any left.
+         */
+        private boolean _hasMore() throws IOException
+        {
+            if (_valueStream != this) {
+                return false;
+            }
+            while (_left == 0) {
+                if (!_chunked || ((_left = _decodeChunkLength(_majorType)) < 0)) {
+                    _left = 0;
+                    _valueStream = null;
+                    return false;
+                }
+            }
+            if (_inputPtr >= _inputEnd) {
+                loadMoreGuaranteed();
+            }
+            return true;
+        }
+
+        void _skipRest() throws IOException
+        {
+            _valueStream = null;
+            _skipBytes(_left);
+            _left = 0;
+            if (_chunked) {
+                _skipChunked(_majorType);
+            }
+        }
+    }
+
     /*
     /**********************************************************************
     /* Numeric accessors of public API
@@ -2089,6 +3080,100 @@ public class CBORParser extends ParserBase
         _finishShortText(len);
     }
 
+    /**
+     * Helper method called to ensure that the length prefix and all content of
+     * the current (incomplete) String or Binary value are in the input buffer,
+     * starting at current input pointer, without consuming any of it.
+     *
+     * @return Length of the value in bytes, if the whole value could be
+     *    made available in buffer; -1 for chunked values, and ones that are too
+     *    long to fit in buffer
+     */
+    private final int _loadRawContent() throws IOException
+    {
+        final int lowBits = _typeByte & 0x1F;
+        if (lowBits <= 23) {
+            if ((_inputEnd - _inputPtr) < lowBits) {
+                _loadToHaveAtLeast(lowBits);
+            }
+            return lowBits;
+        }
+        final int headLen = _rawTextHeadLength(lowBits);
+        if (headLen < 0) { // chunked, or 64-bit length
+            return -1;
+        }
+        if ((_inputEnd - _inputPtr) < headLen) {
+            _loadToHaveAtLeast(headLen);
+        }
+        int len = 0;
+        for (int i = 0; i < headLen; ++i) {
+            len = (len << 8) | (_inputBuffer[_inputPtr + i] & 0xFF);
+        }
+        // note: may have overflowed for 32-bit lengths
+        if ((len < 0) || (len > (_inputBuffer.length - headLen))) {
+            return -1;
+        }
+        if ((_inputEnd - _inputPtr) < (headLen + len)) {
+            _loadToHaveAtLeast(headLen + len);
+        }
+        return len;
+    }
+
+    /**
+     * Helper method used by {@link CBORTranscoder} for writing UTF-8 encoded
+     * content of the current (undecoded) String value as-is, using
+     * {@link JsonGenerator#writeUTF8String}. Value is not consumed.
+     *
+     * @return True if content was written; false if not (value already
+     *    decoded, chunked or too long to fit in input buffer)
+     */
+    protected boolean _writeRawText(JsonGenerator g) throws IOException
+    {
+        if (_tokenIncomplete && (_currToken == JsonToken.VALUE_STRING)) {
+            final int len = _loadRawContent();
+            if (len >= 0) {
+                g.writeUTF8String(_inputBuffer, _inputPtr + _rawTextHeadLength(_typeByte & 0x1F), len);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method used by {@link CBORTranscoder} for writing content of the
+     * current (undecoded) Binary value directly from the input buffer, using
+     * {@link JsonGenerator#writeBinary(byte[], int, int)}. Value is not consumed.
+     *
+     * @return True if content was written; false if not (value already
+     *    decoded, chunked or too long to fit in input buffer)
+     */
+    protected boolean _writeRawBinary(JsonGenerator g) throws IOException
+    {
+        if (_tokenIncomplete && (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT)
+                && ((_typeByte >> 5) == CBORConstants.MAJOR_TYPE_BYTES)) {
+            final int len = _loadRawContent();
+            if (len >= 0) {
+                g.writeBinary(_inputBuffer, _inputPtr + _rawTextHeadLength(_typeByte & 0x1F), len);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final static int _rawTextHeadLength(int lowBits)
+    {
+        switch (lowBits) {
+        case 24:
+            return 1;
+        case 25:
+            return 2;
+        case 26:
+            return 4;
+        default:
+            return (lowBits <= 23) ? 0 : -1;
+        }
+    }
+
     protected String _finishTextToken(int ch) throws IOException
     {
         _tokenIncomplete = false;
@@ -2468,6 +3553,9 @@ public class CBORParser extends ParserBase
             if (ch == -1) {
                 if (!_parsingContext.hasExpectedLength()) {
                     _parsingContext = _parsingContext.getParent();
+                    if (_parsingContext == _stringRefParent) {
+                        _exitStringRefNamespace();
+                    }
                     return JsonToken.END_OBJECT;
                 }
                 _reportUnexpectedBreak();
@@ -2489,6 +3577,9 @@ public class CBORParser extends ParserBase
                     name = _decodeShortName(lenMarker);
                     name = _addDecodedToSymbols(lenMarker, name);
                 }
+                if (_stringRefs != null) {
+                    _addStringRef(name, lenMarker);
+                }
             }
         } else {
             final int actualLen = _decodeExplicitLength(lenMarker);
@@ -2496,6 +3587,9 @@ public class CBORParser extends ParserBase
                 name = _decodeChunkedName();
             } else {
                 name = _decodeLongerName(actualLen);
+                if (_stringRefs != null) {
+                    _addStringRef(name, actualLen);
+                }
             }
         }
         _parsingContext.setCurrentName(name);
@@ -2606,9 +3700,14 @@ public class CBORParser extends ParserBase
             //  08-Sep-2014, tatu: There are codecs (f.ex. Perl module "CBOR::XS") that use Binary data...
             final int blen = _decodeExplicitLength(ch & 0x1F);
             byte[] b = _finishBytes(blen);
+            if ((_stringRefs != null) && (blen >= 0)) {
+                _addStringRef(b, blen);
+            }
             // TODO: Optimize, if this becomes commonly used & bottleneck; we have
             //  more optimized UTF-8 codecs available.
             name = new String(b, UTF8);
+        } else if ((type == CBORConstants.MAJOR_TYPE_TAG) && (_stringRefs != null)) {
+            name = _decodeStringRefName(ch);
         } else {
             if ((ch & 0xFF) == CBORConstants.INT_BREAK) {
                 _reportUnexpectedBreak();
@@ -2621,6 +3720,7 @@ public class CBORParser extends ParserBase
 
     private final String _findDecodedFromSymbols(final int len) throws IOException
     {
+        ++_symbolLookups;
         if ((_inputEnd - _inputPtr) < len) {
             _loadToHaveAtLeast(len);
         }
@@ -2736,6 +3836,7 @@ public class CBORParser extends ParserBase
     }
 
     private final String _addDecodedToSymbols(int len, String name) {
+        ++_symbolMisses;
         if (len < 5) {
             return _symbols.addName(name, _quad1);
         }
@@ -2766,6 +3867,10 @@ public class CBORParser extends ParserBase
      */
     protected void _skipIncomplete() throws IOException
     {
+        if (_valueStream != null) { // partially read using stream?
+            _valueStream._skipRest();
+            return;
+        }
         _tokenIncomplete = false;
         final int type = ((_typeByte >> 5) & 0x7);
 
@@ -2849,6 +3954,109 @@ public class CBORParser extends ParserBase
         }
     }
     
+    /**
+     * Helper method called to skip a single value, including contents of
+     * possible nested Arrays and Objects, without decoding it.
+     * Nesting is tracked using an explicit stack (and not recursion), so
+     * that deeply nested content can not cause stack overflow.
+     *
+     * @return True if a value was skipped; false if "break" marker was
+     *    encountered instead
+     */
+    protected boolean _skipValue() throws IOException
+    {
+        // Number of values remaining at each enclosing nesting level;
+        // -1 for indefinite-length ones
+        long[] stack = null;
+        int depth = 0;
+        long remaining = 1L;
+
+        while (true) {
+            if (remaining == 0L) {
+                if (depth == 0) {
+                    return true;
+                }
+                remaining = stack[--depth];
+                continue;
+            }
+            if (_inputPtr >= _inputEnd) {
+                loadMoreGuaranteed();
+            }
+            int ch = _inputBuffer[_inputPtr++] & 0xFF;
+            // Tags are just prefixes for values
+            while ((ch >> 5) == CBORConstants.MAJOR_TYPE_TAG) {
+                _decodeTag(ch & 0x1F);
+                if (_inputPtr >= _inputEnd) {
+                    loadMoreGuaranteed();
+                }
+                ch = _inputBuffer[_inputPtr++] & 0xFF;
+            }
+            if (ch == CBORConstants.INT_BREAK) {
+                if (remaining > 0L) {
+                    if (depth == 0) {
+                        return false;
+                    }
+                    _reportUnexpectedBreak();
+                }
+                // end of indefinite-length Array or Object
+                remaining = 0L;
+                continue;
+            }
+            if (remaining > 0L) {
+                --remaining;
+            }
+            final int lowBits = ch & 0x1F;
+            switch (ch >> 5) {
+            case CBORConstants.MAJOR_TYPE_BYTES:
+            case CBORConstants.MAJOR_TYPE_TEXT:
+                _typeByte = ch;
+                _skipIncomplete();
+                break;
+            case CBORConstants.MAJOR_TYPE_ARRAY:
+            case CBORConstants.MAJOR_TYPE_OBJECT:
+                {
+                    final int len = _decodeExplicitLength(lowBits);
+                    if (len == 0) {
+                        break;
+                    }
+                    if (stack == null) {
+                        stack = new long[8];
+                    } else if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth + depth);
+                    }
+                    stack[depth++] = remaining;
+                    if (len < 0) {
+                        remaining = -1L;
+                    } else if ((ch >> 5) == CBORConstants.MAJOR_TYPE_OBJECT) {
+                        remaining = len + (long) len;
+                    } else {
+                        remaining = len;
+                    }
+                }
+                break;
+            default: // integers, floats and simple values have similar heads
+                if (lowBits > 23) {
+                    switch (lowBits) {
+                    case 24:
+                        _skipBytes(1);
+                        break;
+                    case 25:
+                        _skipBytes(2);
+                        break;
+                    case 26:
+                        _skipBytes(4);
+                        break;
+                    case 27:
+                        _skipBytes(8);
+                        break;
+                    default:
+                        _invalidToken(ch);
+                    }
+                }
+            }
+        }
+    }
+
     protected void _skipBytesL(long llen) throws IOException
     {
         while (llen > MAX_INT_L) {
@@ -2871,6 +4079,527 @@ public class CBORParser extends ParserBase
         }
     }
 
+    /*
+    /**********************************************************************
+    /* Internal methods, date/time handling
+    /**********************************************************************
+     */
+
+    private final static boolean _isDateTimeTag(int tag) {
+        return (tag == TAG_DATE_TIME_STRING) || (tag == TAG_EPOCH_DATE_TIME)
+                || (tag == TAG_EXTENDED_TIME);
+    }
+
+    /**
+     * Method called to decode a value tagged with one of date/time tags,
+     * when {@link Feature#DECODE_DATE_TIME_TAGS} is enabled.
+     *
+     * @param ch First byte of the tagged value
+     */
+    protected JsonToken _handleDateTimeTag(int tag, int ch) throws IOException
+    {
+        final int type = (ch >> 5) & 0x7;
+        final int lowBits = ch & 0x1F;
+
+        if (tag == TAG_DATE_TIME_STRING) {
+            if (type != CBORConstants.MAJOR_TYPE_TEXT) {
+                _reportError("Invalid value for date/time String (tag 0): expected Text value, got major type "+type);
+            }
+            _typeByte = ch;
+            String text;
+            if (_stringRefs != null) { // need to add in string table
+                _tokenIncomplete = true;
+                _finishAndAddStringRef();
+                text = _textBuffer.contentsAsString();
+            } else {
+                text = _finishTextToken(ch);
+            }
+            try {
+                _dateTimeValue = OffsetDateTime.parse(text);
+            } catch (DateTimeException e) {
+                _reportError("Invalid date/time String (tag 0) '"+text+"': "+e.getMessage());
+            }
+        } else if ((tag == TAG_EXTENDED_TIME) && (type == CBORConstants.MAJOR_TYPE_OBJECT)) {
+            _dateTimeValue = _decodeExtendedTime(lowBits);
+        } else {
+            _dateTimeValue = _decodeEpochTime(tag, type, lowBits);
+        }
+        return (_currToken = JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    /**
+     * Helper method for decoding epoch-based date/time (integer or
+     * floating-point number of seconds), without constructing intermediate
+     * number values.
+     */
+    protected Instant _decodeEpochTime(int tag, int type, int lowBits) throws IOException
+    {
+        final int ch = (type << 5) | lowBits;
+        try {
+            switch (type) {
+            case CBORConstants.MAJOR_TYPE_INT_POS:
+                {
+                    long secs = _decodeUInt(ch);
+                    if (secs >= 0L) { // 64-bit values may overflow
+                        return Instant.ofEpochSecond(secs);
+                    }
+                }
+                break;
+            case CBORConstants.MAJOR_TYPE_INT_NEG:
+                {
+                    long secs = _decodeUInt(ch);
+                    if (secs >= 0L) {
+                        return Instant.ofEpochSecond(-secs - 1L);
+                    }
+                }
+                break;
+            case CBORConstants.MAJOR_TYPE_MISC:
+                {
+                    double d;
+                    switch (lowBits) {
+                    case 25:
+                        d = _decodeHalfSizeFloat();
+                        break;
+                    case 26:
+                        d = Float.intBitsToFloat(_decode32Bits());
+                        break;
+                    case 27:
+                        d = Double.longBitsToDouble(_decode64Bits());
+                        break;
+                    default:
+                        _reportError("Invalid value for date/time (tag "+tag
+                                +"): expected number, got simple value "+lowBits);
+                        return null;
+                    }
+                    if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                        final double secs = Math.floor(d);
+                        return Instant.ofEpochSecond((long) secs, Math.round((d - secs) * 1_000_000_000.0));
+                    }
+                }
+                break;
+            default:
+                _reportError("Invalid value for date/time (tag "+tag+"): expected number, got major type "+type);
+            }
+        } catch (DateTimeException e) { // out of range
+        }
+        _reportError("Invalid value for date/time (tag "+tag+"): out of range");
+        return null;
+    }
+
+    /**
+     * Helper method for decoding "extended time" (tag 1001) Object: only
+     * epoch-based seconds (key 1) and fraction of second (keys -3, -6, -9)
+     * are decoded, other entries are skipped.
+     */
+    protected Instant _decodeExtendedTime(int lowBits) throws IOException
+    {
+        int count = _decodeExplicitLength(lowBits);
+        Instant base = null;
+        long nanos = 0L;
+
+        for (; count != 0; --count) {
+            if (_inputPtr >= _inputEnd) {
+                loadMoreGuaranteed();
+            }
+            int ch = _inputBuffer[_inputPtr++] & 0xFF;
+            if (ch == INT_BREAK) {
+                if (count > 0) {
+                    _reportUnexpectedBreak();
+                }
+                break;
+            }
+            final int type = ch >> 5;
+            if (type > CBORConstants.MAJOR_TYPE_INT_NEG) {
+                _reportError("Invalid key for extended time (tag 1001): expected integer, got major type "+type);
+            }
+            final long key = (type == CBORConstants.MAJOR_TYPE_INT_POS)
+                    ? _decodeUInt(ch) : (-_decodeUInt(ch) - 1L);
+            if (key == 1L) {
+                if (_inputPtr >= _inputEnd) {
+                    loadMoreGuaranteed();
+                }
+                ch = _inputBuffer[_inputPtr++] & 0xFF;
+                base = _decodeEpochTime(TAG_EXTENDED_TIME, ch >> 5, ch & 0x1F);
+            } else if ((key == -3L) || (key == -6L) || (key == -9L)) {
+                if (_inputPtr >= _inputEnd) {
+                    loadMoreGuaranteed();
+                }
+                ch = _inputBuffer[_inputPtr++] & 0xFF;
+                if ((ch >> 5) != CBORConstants.MAJOR_TYPE_INT_POS) {
+                    _reportError("Invalid fraction of second for extended time (tag 1001): expected unsigned integer");
+                }
+                final long fraction = _decodeUInt(ch);
+                // note: 64-bit values over Long.MAX_VALUE decoded as negative
+                nanos = -1L;
+                if (fraction >= 0L) {
+                    try {
+                        nanos = (key == -3L) ? Math.multiplyExact(fraction, 1_000_000L)
+                                : ((key == -6L) ? Math.multiplyExact(fraction, 1_000L) : fraction);
+                    } catch (ArithmeticException e) { // overflow: left as invalid
+                    }
+                }
+                if ((nanos < 0L) || (nanos >= 1_000_000_000L)) {
+                    _reportError("Invalid fraction of second for extended time (tag 1001): "
+                            +Long.toUnsignedString(fraction)+" (key "+key+")");
+                }
+            } else {
+                _skipValue();
+            }
+        }
+        if (base == null) {
+            _reportError("Invalid extended time (tag 1001): missing base time (key 1)");
+        }
+        try {
+            return base.plusNanos(nanos);
+        } catch (DateTimeException e) {
+            _reportError("Invalid value for date/time (tag 1001): out of range");
+            return null;
+        }
+    }
+
+    /**
+     * Helper method for decoding unsigned integer value of given head; note
+     * that 64-bit values above {@link Long#MAX_VALUE} are returned as negative
+     * numbers.
+     *
+     * @param ch Head byte of the value
+     */
+    private final long _decodeUInt(int ch) throws IOException
+    {
+        final int lowBits = ch & 0x1F;
+        if (lowBits <= 23) {
+            return lowBits;
+        }
+        switch (lowBits - 24) {
+        case 0:
+            return _decode8Bits();
+        case 1:
+            return _decode16Bits();
+        case 2:
+            return _decode32Bits() & 0xFFFFFFFFL;
+        case 3:
+            return _decode64Bits();
+        }
+        _invalidToken(ch);
+        return 0L;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, stringref handling
+    /**********************************************************************
+     */
+
+    /**
+     * Method called after encountering "stringref namespace" tag (or self-describe
+     * tag followed by another tag), with the byte following the tag: will
+     * start a new namespace if tagged value is an Array or Object.
+     *
+     * @return First byte of the tagged value
+     */
+    protected final int _startStringRefNamespace(int ch) throws IOException
+    {
+        // Self-describe tag is just a marker: expose the tag that follows instead
+        if (_tagValue == TAG_ID_SELF_DESCRIBE) {
+            _tagValue = _decodeTag(ch & 0x1F);
+            if (_inputPtr >= _inputEnd) {
+                loadMoreGuaranteed();
+            }
+            ch = _inputBuffer[_inputPtr++];
+            if (_tagValue != TAG_ID_STRINGREF_NAMESPACE) {
+                return ch;
+            }
+        }
+        final int type = (ch >> 5) & 0x7;
+        if ((type == CBORConstants.MAJOR_TYPE_ARRAY) || (type == CBORConstants.MAJOR_TYPE_OBJECT)) {
+            _enterStringRefNamespace();
+        }
+        // namespace is transparent to caller so do not expose the tag
+        _tagValue = -1;
+        return ch;
+    }
+
+    /**
+     * Method called to start a new stringref namespace, before creating
+     * context for the Array or Object that starts it.
+     */
+    protected final void _enterStringRefNamespace()
+    {
+        if (_stringRefs != null) { // nested namespace
+            if (_stringRefStack == null) {
+                _stringRefStack = new ArrayList<>();
+            }
+            _stringRefStack.add(_stringRefs);
+            _stringRefStack.add(_stringRefParent);
+        }
+        _stringRefs = new ArrayList<>();
+        _stringRefParent = _parsingContext;
+    }
+
+    /**
+     * Method called when the Array or Object that started the current
+     * stringref namespace has been closed.
+     */
+    @SuppressWarnings("unchecked")
+    protected final void _exitStringRefNamespace()
+    {
+        final ArrayList<Object> stack = _stringRefStack;
+        if ((stack == null) || stack.isEmpty()) {
+            _stringRefs = null;
+            _stringRefParent = null;
+        } else {
+            _stringRefParent = (CBORReadContext) stack.remove(stack.size() - 1);
+            _stringRefs = (ArrayList<Object>) stack.remove(stack.size() - 1);
+        }
+    }
+
+    /**
+     * Method called within a stringref namespace to add a definite-length
+     * Text or Binary value in string table, if its length qualifies.
+     */
+    protected final void _addStringRef(Object value, int byteLength)
+    {
+        if (isStringRefCandidate(_stringRefs.size(), byteLength)) {
+            _stringRefs.add(value);
+        }
+    }
+
+    protected final Object _stringRefAt(int index) throws IOException
+    {
+        if ((index < 0) || (index >= _stringRefs.size())) {
+            _reportError("Invalid stringref index ("+index+"): string table has "
+                    +_stringRefs.size()+" entries");
+        }
+        return _stringRefs.get(index);
+    }
+
+    /**
+     * Method called within a stringref namespace for Text and Binary values:
+     * since values need to be added in string table as they are encountered,
+     * they can not be lazily decoded (or skipped).
+     */
+    protected void _finishAndAddStringRef() throws IOException
+    {
+        _tokenIncomplete = false;
+        final int ch = _typeByte;
+        final int len = _decodeExplicitLength(ch & 0x1F);
+
+        if (((ch >> 5) & 0x7) == CBORConstants.MAJOR_TYPE_BYTES) {
+            _binaryValue = _finishBytes(len);
+            // note: chunked values are never added
+            if (len >= 0) {
+                _addStringRef(_binaryValue, len);
+            }
+            return;
+        }
+        if (len <= 0) {
+            if (len < 0) {
+                _finishChunkedText();
+            } else {
+                _textBuffer.resetWithEmpty();
+            }
+            return;
+        }
+        String text;
+        if (len > (_inputEnd - _inputPtr)) {
+            if (len >= _inputBuffer.length) {
+                _finishLongText(len);
+                text = _textBuffer.contentsAsString();
+            } else {
+                _loadToHaveAtLeast(len);
+                text = _finishShortText(len);
+            }
+        } else {
+            text = _finishShortText(len);
+        }
+        _addStringRef(text, len);
+    }
+
+    /**
+     * Method called to resolve a stringref (tag 25 within namespace), given
+     * the byte following the tag.
+     */
+    protected JsonToken _handleStringRef(int ch) throws IOException
+    {
+        final int type = (ch >> 5) & 0x7;
+        if (type != CBORConstants.MAJOR_TYPE_INT_POS) {
+            _reportError("Unexpected token (major type "+type+") as stringref index: should get unsigned int");
+        }
+        Object value = _stringRefAt(_decodeExplicitLength(ch & 0x1F));
+        _tagValue = -1;
+        if (value instanceof String) {
+            // no need to decode, and accessors return the same String instance
+            _textBuffer.resetWithString((String) value);
+            return (_currToken = JsonToken.VALUE_STRING);
+        }
+        // copy to keep string table safe from modifications by caller
+        _binaryValue = ((byte[]) value).clone();
+        return (_currToken = JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    private final String _decodeStringRefName(int ch) throws IOException
+    {
+        final int tag = _decodeTag(ch & 0x1F);
+        if (_inputPtr >= _inputEnd) {
+            loadMoreGuaranteed();
+        }
+        ch = _inputBuffer[_inputPtr++];
+        if ((tag != TAG_ID_STRINGREF) || (((ch >> 5) & 0x7) != CBORConstants.MAJOR_TYPE_INT_POS)) {
+            throw _constructError("Unsupported tagged value (tag "+tag
+                    +") for CBOR Object property name: only stringrefs allowed");
+        }
+        Object value = _stringRefAt(_decodeExplicitLength(ch & 0x1F));
+        if (value instanceof String) {
+            return (String) value;
+        }
+        return new String((byte[]) value, UTF8);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, typed arrays
+    /**********************************************************************
+     */
+
+    /**
+     * Method called for Binary value tagged as a "typed array" (RFC 8746):
+     * if element type is supported, will decode all elements (with bulk
+     * copy for multi-byte elements) and create Array context for iterating
+     * over them; if not (8-bit unsigned, 128-bit float), caller will expose
+     * value as regular Binary value. Tag 76 (which would be "little-endian"
+     * signed 8-bit) is reserved and reported as an error.
+     *
+     * @return True if typed array was decoded and Array context created
+     */
+    protected final boolean _startTypedArray(int tag, byte[] data) throws IOException
+    {
+        final boolean isFloat = (tag & 0x10) != 0;
+        final boolean signed = (tag & 0x08) != 0;
+        final int ll = tag & 0x03;
+        if (isFloat ? (ll == 3) : ((ll == 0) && !signed)) {
+            return false;
+        }
+        // only big-endian variant (tag 72) of signed 8-bit is defined
+        if (!isFloat && (ll == 0) && ((tag & 0x04) != 0)) {
+            _reportError("Unsupported typed array (tag "+tag+"): reserved tag");
+        }
+        final int elementSize = isFloat ? (2 << ll) : (1 << ll);
+        final int len = data.length;
+        if ((len % elementSize) != 0) {
+            _reportError("Invalid length ("+len+") of typed array (tag "+tag
+                    +"): not a multiple of element size ("+elementSize+")");
+        }
+        final int count = len / elementSize;
+        final ByteBuffer bb = ByteBuffer.wrap(data)
+                .order(((tag & 0x04) == 0) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        if (isFloat) {
+            if (ll == 2) {
+                double[] values = new double[count];
+                bb.asDoubleBuffer().get(values);
+                _typedArray = values;
+                _typedArrayKind = TYPED_ARRAY_DOUBLE;
+            } else {
+                float[] values = new float[count];
+                if (ll == 1) {
+                    bb.asFloatBuffer().get(values);
+                } else {
+                    ShortBuffer sb = bb.asShortBuffer();
+                    for (int i = 0; i < count; ++i) {
+                        values[i] = _decodeHalfSizeFloat(sb.get(i) & 0xFFFF);
+                    }
+                }
+                _typedArray = values;
+                _typedArrayKind = TYPED_ARRAY_FLOAT;
+            }
+        } else if (ll == 3) {
+            long[] values = new long[count];
+            bb.asLongBuffer().get(values);
+            _typedArray = values;
+            _typedArrayKind = signed ? TYPED_ARRAY_LONG : TYPED_ARRAY_UINT64;
+        } else {
+            int[] values = new int[count];
+            if (ll == 2) {
+                bb.asIntBuffer().get(values);
+                _typedArrayKind = signed ? TYPED_ARRAY_INT : TYPED_ARRAY_UINT32;
+            } else {
+                if (ll == 1) {
+                    ShortBuffer sb = bb.asShortBuffer();
+                    if (signed) {
+                        for (int i = 0; i < count; ++i) {
+                            values[i] = sb.get(i);
+                        }
+                    } else {
+                        for (int i = 0; i < count; ++i) {
+                            values[i] = sb.get(i) & 0xFFFF;
+                        }
+                    }
+                } else { // signed 8-bit
+                    for (int i = 0; i < count; ++i) {
+                        values[i] = data[i];
+                    }
+                }
+                _typedArrayKind = TYPED_ARRAY_INT;
+            }
+            _typedArray = values;
+        }
+        _binaryValue = null;
+        _parsingContext = _parsingContext.createChildArrayContext(count);
+        return true;
+    }
+
+    /**
+     * Method called to expose next element of the current typed array;
+     * caller has verified there is one.
+     */
+    protected final JsonToken _nextTypedArrayElement()
+    {
+        final int ix = _parsingContext.getCurrentIndex();
+        _tagValue = -1;
+        switch (_typedArrayKind) {
+        case TYPED_ARRAY_INT:
+            _numberInt = ((int[]) _typedArray)[ix];
+            _numTypesValid = NR_INT;
+            break;
+        case TYPED_ARRAY_UINT32:
+            {
+                int v = ((int[]) _typedArray)[ix];
+                if (v >= 0) {
+                    _numberInt = v;
+                    _numTypesValid = NR_INT;
+                } else {
+                    _numberLong = v & 0xFFFFFFFFL;
+                    _numTypesValid = NR_LONG;
+                }
+            }
+            break;
+        case TYPED_ARRAY_LONG:
+            _numberLong = ((long[]) _typedArray)[ix];
+            _numTypesValid = NR_LONG;
+            break;
+        case TYPED_ARRAY_UINT64:
+            {
+                long l = ((long[]) _typedArray)[ix];
+                if (l >= 0L) {
+                    _numberLong = l;
+                    _numTypesValid = NR_LONG;
+                } else {
+                    _numberBigInt = _bigPositive(l);
+                    _numTypesValid = NR_BIGINT;
+                }
+            }
+            break;
+        case TYPED_ARRAY_FLOAT:
+            _numberFloat = ((float[]) _typedArray)[ix];
+            _numTypesValid = NR_FLOAT;
+            return (_currToken = JsonToken.VALUE_NUMBER_FLOAT);
+        default:
+            _numberDouble = ((double[]) _typedArray)[ix];
+            _numTypesValid = NR_DOUBLE;
+            return (_currToken = JsonToken.VALUE_NUMBER_FLOAT);
+        }
+        return (_currToken = JsonToken.VALUE_NUMBER_INT);
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, length/number decoding
@@ -2955,10 +4684,16 @@ public class CBORParser extends ParserBase
         return len;
     }
     
-    private float _decodeHalfSizeFloat() throws IOException
-    {
-        int i16 = _decode16Bits() & 0xFFFF;
+    private float _decodeHalfSizeFloat() throws IOException {
+        return _decodeHalfSizeFloat(_decode16Bits() & 0xFFFF);
+    }
 
+    /**
+     * Helper method for converting 16 bits of an IEEE 754 half-precision
+     * ("float16") value into matching {@code float}.
+     */
+    protected final static float _decodeHalfSizeFloat(int i16)
+    {
         boolean neg = (i16 >> 15) != 0;
         int e = (i16 >> 10) & 0x1F;
         int f = i16 & 0x03FF;
@@ -3315,12 +5050,12 @@ public class CBORParser extends ParserBase
 
     private final static BigInteger BIT_63 = BigInteger.ONE.shiftLeft(63);
 
-    private final BigInteger _bigPositive(long l) {
+    protected final BigInteger _bigPositive(long l) {
         BigInteger biggie = BigInteger.valueOf((l << 1) >>> 1);
         return biggie.or(BIT_63);
     }
 
-    private final BigInteger _bigNegative(long l) {
+    protected final BigInteger _bigNegative(long l) {
         // 03-Dec-2017, tatu: [dataformats-binary#149] Careful with overflow
         BigInteger unsignedBase = _bigPositive(l);
         return unsignedBase.negate().subtract(BigInteger.ONE);
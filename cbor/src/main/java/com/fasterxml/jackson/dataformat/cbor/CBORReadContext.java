@@ -131,6 +131,16 @@ public final class CBORReadContext
     public boolean hasExpectedLength() { return (_expEntryCount >= 0); }
     public int getExpectedLength() { return _expEntryCount; }
 
+    /**
+     * @return Number of entries (Array elements, Object properties) of a
+     *    definite-length Array or Object not yet read; -1 if length is not known
+     *
+     * @since 3.0
+     */
+    public int getRemainingExpectedLength() {
+        return (_expEntryCount < 0) ? -1 : (_expEntryCount - _index - 1);
+    }
+
     public boolean acceptsBreakMarker() {
         return (_expEntryCount < 0) && _type != TYPE_ROOT;
     }
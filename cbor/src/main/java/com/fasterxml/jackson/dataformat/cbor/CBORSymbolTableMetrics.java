@@ -0,0 +1,114 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collector of metrics on canonicalization of property names by
+ * {@link CBORParser}s, configured using
+ * {@link CBORFactoryBuilder#symbolTableMetrics}. Counters are updated when
+ * parsers are closed (not for each name), so that overhead is low; and
+ * same instance may be shared by multiple factories (and symbol table
+ * partitions, see {@link CBORFactory#forSymbolTablePartition}) to get
+ * aggregated metrics.
+ *<p>
+ * Note that only blocking parsers are tracked: non-blocking parsers do
+ * not update metrics.
+ *
+ * @since 3.0
+ */
+public class CBORSymbolTableMetrics
+{
+    protected final LongAdder _lookups = new LongAdder();
+
+    protected final LongAdder _misses = new LongAdder();
+
+    protected final LongAdder _rehashes = new LongAdder();
+
+    protected final LongAdder _flushes = new LongAdder();
+
+    protected volatile int _lastSymbolCount;
+
+    protected volatile int _lastBucketCount;
+
+    protected volatile int _lastCollisionCount;
+
+    /*
+    /**********************************************************************
+    /* Counters
+    /**********************************************************************
+     */
+
+    /**
+     * @return Number of property names found from symbol tables, without
+     *    decoding
+     */
+    public long getHitCount() {
+        return _lookups.sum() - _misses.sum();
+    }
+
+    /**
+     * @return Number of property names that were not found from symbol tables
+     *    and had to be decoded (and added to tables)
+     */
+    public long getMissCount() {
+        return _misses.sum();
+    }
+
+    /**
+     * @return Number of times a symbol table had to be expanded (rehashed)
+     *    during parsing
+     */
+    public long getRehashCount() {
+        return _rehashes.sum();
+    }
+
+    /**
+     * @return Number of times symbols added by a parser were dropped instead
+     *    of being merged in the shared symbol table because table got too
+     *    big: either exceeding {@link CBORFactoryBuilder#symbolTableMaxSize},
+     *    or the fixed limit of the shared table itself, in which case shared
+     *    table is cleared as well.
+     */
+    public long getFlushCount() {
+        return _flushes.sum();
+    }
+
+    /*
+    /**********************************************************************
+    /* Gauges
+    /**********************************************************************
+     */
+
+    /**
+     * @return Number of symbols in the symbol table most recently released
+     *    by a parser
+     */
+    public int getSymbolCount() {
+        return _lastSymbolCount;
+    }
+
+    /**
+     * @return Number of hash buckets in the symbol table most recently
+     *    released by a parser
+     */
+    public int getBucketCount() {
+        return _lastBucketCount;
+    }
+
+    /**
+     * @return Number of symbols not in their primary slot (that is, ones that
+     *    collided with another symbol) in the symbol table most recently
+     *    released by a parser
+     */
+    public int getCollisionCount() {
+        return _lastCollisionCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[CBORSymbolTableMetrics: hits=%d, misses=%d, rehashes=%d, flushes=%d"
+                +", symbols=%d, buckets=%d, collisions=%d]",
+                getHitCount(), getMissCount(), getRehashCount(), getFlushCount(),
+                getSymbolCount(), getBucketCount(), getCollisionCount());
+    }
+}
@@ -0,0 +1,155 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+
+/**
+ * Compact alternative to databind {@code TokenBuffer} for buffering CBOR
+ * content, for example by custom deserializers that need to look ahead
+ * (to find type id) before deserializing a value. Instead of token objects
+ * and boxed values, buffered content is stored as CBOR-encoded bytes: when
+ * copying from a {@link CBORParser}, String and Binary values are copied
+ * as-is using {@link CBORTranscoder}, and replaying is done using a regular
+ * {@link CBORParser} over the buffered bytes.
+ *<p>
+ * Content may also be written directly using {@link #getGenerator()}, and
+ * any number of parsers may be constructed to read the content buffered
+ * so far; writing more content does not affect these parsers.
+ *
+ * @since 3.0
+ */
+public class CBORTokenBuffer
+    implements Closeable
+{
+    protected final static int DEFAULT_INITIAL_CAPACITY = 256;
+
+    protected final CBORFactory _factory;
+
+    protected final CBORGenerator _generator;
+
+    public CBORTokenBuffer(CBORFactory f) throws IOException {
+        this(f, ObjectWriteContext.empty(), DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CBORTokenBuffer(CBORFactory f, ObjectWriteContext writeCtxt, int initialCapacity)
+        throws IOException
+    {
+        _factory = f;
+        _generator = f.createGenerator(writeCtxt, ByteBuffer.allocate(initialCapacity),
+                CBORTokenBuffer::_expand);
+    }
+
+    /**
+     * Convenience method that constructs a buffer and copies current value of
+     * given parser (the whole Array or Object, if current token starts one)
+     * into it. Similar to {@code TokenBuffer.asCopyOfValue()}.
+     */
+    public static CBORTokenBuffer asCopyOfValue(CBORFactory f, JsonParser p) throws IOException
+    {
+        CBORTokenBuffer buffer = new CBORTokenBuffer(f);
+        buffer.copyCurrentStructure(p);
+        return buffer;
+    }
+
+    /*
+    /**********************************************************************
+    /* Writing content
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for generator that writes into this buffer.
+     */
+    public CBORGenerator getGenerator() {
+        return _generator;
+    }
+
+    /**
+     * Method for copying current token of given parser into this buffer.
+     */
+    public void copyCurrentEvent(JsonParser p) throws IOException
+    {
+        if (p instanceof CBORParser) {
+            new CBORTranscoder((CBORParser) p, _generator).copyCurrentEvent();
+        } else {
+            _generator.copyCurrentEvent(p);
+        }
+    }
+
+    /**
+     * Method for copying current token of given parser into this buffer,
+     * along with all contents if it is a start marker.
+     */
+    public void copyCurrentStructure(JsonParser p) throws IOException
+    {
+        if (p instanceof CBORParser) {
+            new CBORTranscoder((CBORParser) p, _generator).copyCurrentStructure();
+        } else {
+            _generator.copyCurrentStructure(p);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessing content
+    /**********************************************************************
+     */
+
+    /**
+     * Method for constructing a parser for reading content buffered so far.
+     * Parser reads directly from the buffer, without copying content.
+     */
+    public CBORParser asParser(ObjectReadContext readCtxt) throws IOException
+    {
+        final ByteBuffer content = _content();
+        return (CBORParser) _factory.createParser(readCtxt,
+                content.array(), content.arrayOffset(), content.position());
+    }
+
+    /**
+     * Method for accessing a copy of the encoded content buffered so far.
+     */
+    public byte[] toByteArray() throws IOException
+    {
+        final ByteBuffer content = _content();
+        return Arrays.copyOfRange(content.array(), content.arrayOffset(),
+                content.arrayOffset() + content.position());
+    }
+
+    /**
+     * @return Length of the encoded content buffered so far, in bytes
+     */
+    public int size() throws IOException {
+        return _content().position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _generator.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected ByteBuffer _content() throws IOException
+    {
+        _generator.flush();
+        return (ByteBuffer) _generator.getOutputTarget();
+    }
+
+    private static ByteBuffer _expand(ByteBuffer full)
+    {
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(DEFAULT_INITIAL_CAPACITY,
+                full.capacity() << 1));
+        full.flip();
+        bigger.put(full);
+        return bigger;
+    }
+}
@@ -0,0 +1,147 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+
+/**
+ * Helper class for copying ("transcoding") content from a {@link CBORParser}
+ * into any {@link JsonGenerator} (like one for Smile or JSON) with minimal
+ * intermediate processing: UTF-8 encoded String values and Binary values are
+ * passed byte-for-byte from the input buffer using
+ * {@link JsonGenerator#writeUTF8String} and
+ * {@link JsonGenerator#writeBinary(byte[], int, int)}, without decoding them
+ * into {@link String}s or copying into intermediate byte arrays; only numbers
+ * and structural tokens go through regular token handling.
+ *<p>
+ * Values that are not available as-is (chunked values, ones longer than input
+ * buffer, and ones decoded for other reasons like "stringref" handling) are
+ * copied using regular accessors. Same is done for all String values if
+ * generator does not support writing of UTF-8 encoded content (like ones that
+ * output to a {@link java.io.Writer}).
+ *<p>
+ * Instances are stateful and not thread-safe; a new instance is to be
+ * constructed for each parser, generator pair.
+ *
+ * @since 3.0
+ */
+public class CBORTranscoder
+{
+    protected final CBORParser _parser;
+
+    protected final JsonGenerator _generator;
+
+    /**
+     * Flag that indicates whether String values may be written as UTF-8
+     * encoded bytes: cleared if generator does not support it.
+     */
+    protected boolean _rawText = true;
+
+    public CBORTranscoder(CBORParser p, JsonGenerator g) {
+        _parser = p;
+        _generator = g;
+    }
+
+    /**
+     * Convenience method for copying all remaining content of the parser
+     * (including possible multiple root-level values) into the generator.
+     * Generator is not flushed or closed.
+     */
+    public static void transcode(CBORParser p, JsonGenerator g) throws IOException
+    {
+        CBORTranscoder tc = new CBORTranscoder(p, g);
+        while (p.nextToken() != null) {
+            tc.copyCurrentStructure();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method similar to {@link JsonGenerator#copyCurrentEvent}: copies the
+     * current token of the parser (and nothing else).
+     */
+    public void copyCurrentEvent() throws IOException
+    {
+        final CBORParser p = _parser;
+        switch (p.currentTokenId()) {
+        case JsonTokenId.ID_STRING:
+            if (_rawText) {
+                try {
+                    if (p._writeRawText(_generator)) {
+                        return;
+                    }
+                } catch (UnsupportedOperationException e) {
+                    // Not supported by the generator; reported before anything is written
+                    _rawText = false;
+                }
+            }
+            _generator.writeString(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            return;
+        case JsonTokenId.ID_EMBEDDED_OBJECT:
+            if (!p._writeRawBinary(_generator)) {
+                Object ob = p.getEmbeddedObject();
+                if (ob instanceof byte[]) {
+                    _generator.writeBinary((byte[]) ob);
+                } else {
+                    _generator.copyCurrentEvent(p);
+                }
+            }
+            return;
+        default:
+            _generator.copyCurrentEvent(p);
+        }
+    }
+
+    /**
+     * Method similar to {@link JsonGenerator#copyCurrentStructure}: copies the
+     * current token of the parser, and if it starts an Array or Object, all
+     * content up to and including the matching end marker. If current token
+     * is a property name, both it and the following value are copied.
+     */
+    public void copyCurrentStructure() throws IOException
+    {
+        final CBORParser p = _parser;
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.FIELD_NAME) {
+            _generator.writeFieldName(p.currentName());
+            t = p.nextToken();
+        }
+        if ((t == null) || !t.isStructStart()) {
+            copyCurrentEvent();
+            return;
+        }
+        int depth = 0;
+        do {
+            switch (p.currentTokenId()) {
+            case JsonTokenId.ID_FIELD_NAME:
+                _generator.writeFieldName(p.currentName());
+                break;
+            case JsonTokenId.ID_START_ARRAY:
+                _generator.writeStartArray();
+                ++depth;
+                break;
+            case JsonTokenId.ID_START_OBJECT:
+                _generator.writeStartObject();
+                ++depth;
+                break;
+            case JsonTokenId.ID_END_ARRAY:
+                _generator.writeEndArray();
+                --depth;
+                break;
+            case JsonTokenId.ID_END_OBJECT:
+                _generator.writeEndObject();
+                --depth;
+                break;
+            default:
+                copyCurrentEvent();
+            }
+        } while ((depth > 0) && (p.nextToken() != null));
+    }
+}
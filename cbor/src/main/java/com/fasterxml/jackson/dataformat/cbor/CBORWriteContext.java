@@ -52,6 +52,15 @@ public final class CBORWriteContext extends TokenStreamContext
      */
     protected boolean _gotFieldId;
 
+    /**
+     * Offset (within the whole output) of the placeholder for the length
+     * head of this Array or Object, if length is to be back-patched once
+     * the number of entries is known; -1 if not.
+     *
+     * @since 3.0
+     */
+    protected int _lengthHeadOffset = -1;
+
     /*
     /**********************************************************
     /* Life-cycle
@@ -74,6 +83,7 @@ public final class CBORWriteContext extends TokenStreamContext
         // as long as _gotFieldId false, current name/id can be left as-is
         _gotFieldId = false;
         _currentValue = currentValue;
+        _lengthHeadOffset = -1;
         if (_dups != null) { _dups.reset(); }
         return this;
     }
@@ -137,6 +147,16 @@ public final class CBORWriteContext extends TokenStreamContext
 
     @Override public boolean hasCurrentName() { return _gotFieldId; }
 
+    /**
+     * @since 3.0
+     */
+    public int getLengthHeadOffset() { return _lengthHeadOffset; }
+
+    /**
+     * @since 3.0
+     */
+    public void setLengthHeadOffset(int offset) { _lengthHeadOffset = offset; }
+
     /**
      * Method that can be used to both clear the accumulated references
      * (specifically value set with {@link #setCurrentValue(Object)})
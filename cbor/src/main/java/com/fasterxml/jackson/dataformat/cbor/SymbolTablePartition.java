@@ -0,0 +1,79 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+/**
+ * Helper class that contains shared (root) symbol table used by parsers
+ * of a {@link CBORFactory} (or one of its symbol table partitions), as well
+ * as optional configuration for releasing symbol tables of parsers.
+ */
+final class SymbolTablePartition
+{
+    final ByteQuadsCanonicalizer root;
+
+    /**
+     * Maximum number of symbols to merge in the shared symbol table; 0 for
+     * no limit (other than that of symbol table itself).
+     */
+    private final int _maxSize;
+
+    private final CBORSymbolTableMetrics _metrics;
+
+    SymbolTablePartition(int maxSize, CBORSymbolTableMetrics metrics) {
+        root = ByteQuadsCanonicalizer.createRoot();
+        _maxSize = maxSize;
+        _metrics = metrics;
+    }
+
+    /**
+     * @return True if symbol tables of parsers need to be released using
+     *    {@link #release}; false if plain {@link ByteQuadsCanonicalizer#release}
+     *    is enough
+     */
+    boolean hasCustomRelease() {
+        return (_maxSize > 0) || (_metrics != null);
+    }
+
+    /**
+     * Method called when a parser is closed, to merge its symbol table in the
+     * shared symbol table (unless it got too big), and update metrics.
+     *
+     * @param symbols Symbol table of the parser
+     * @param initialBuckets Number of hash buckets symbol table had when
+     *    parser was constructed
+     * @param lookups Number of symbol table lookups parser made
+     * @param misses Number of lookups that did not find a symbol
+     */
+    void release(ByteQuadsCanonicalizer symbols, int initialBuckets,
+            int lookups, int misses)
+    {
+        final int size = symbols.size();
+        final boolean dirty = symbols.maybeDirty();
+        boolean flushed;
+        if ((_maxSize > 0) && (size > _maxSize)) {
+            // Too big to share: keep whatever shared table has now
+            flushed = dirty;
+        } else {
+            symbols.release();
+            // shared table itself gets cleared if it would grow too big
+            flushed = dirty && (root.size() < size);
+        }
+        final CBORSymbolTableMetrics metrics = _metrics;
+        if (metrics != null) {
+            metrics._lookups.add(lookups);
+            metrics._misses.add(misses);
+            final int buckets = symbols.bucketCount();
+            if (buckets > initialBuckets) {
+                metrics._rehashes.add(Integer.numberOfTrailingZeros(buckets)
+                        - Integer.numberOfTrailingZeros(initialBuckets));
+            }
+            if (flushed) {
+                metrics._flushes.increment();
+            }
+            metrics._lastSymbolCount = size;
+            metrics._lastBucketCount = buckets;
+            metrics._lastCollisionCount = symbols.secondaryCount() + symbols.tertiaryCount()
+                + symbols.spilloverCount();
+        }
+    }
+}
@@ -0,0 +1,771 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.util.VersionUtil;
+
+import static com.fasterxml.jackson.dataformat.cbor.CBORConstants.*;
+
+/**
+ * Non-blocking parser implementation for CBOR that is fed content
+ * in blocks of bytes, via {@link ByteArrayFeeder}. Tokens that can not
+ * be completely decoded with content available so far (including
+ * multi-byte length and number prefixes, Text values with split UTF-8
+ * sequences and chunked Text and Binary values) are reported as
+ * {@link JsonToken#NOT_AVAILABLE}, and decoding resumes once more
+ * content has been fed.
+ */
+public class NonBlockingByteArrayParser
+    extends NonBlockingParserBase
+    implements ByteArrayFeeder
+{
+    /*
+    /**********************************************************************
+    /* Input source config
+    /**********************************************************************
+     */
+
+    // Note: buffer itself (`_inputBuffer`) is inherited from `CBORParser`,
+    // but is provided via `feedInput()` instead of being read
+
+    /**
+     * In addition to current buffer pointer, and end pointer,
+     * we will also need to know number of bytes originally
+     * contained. This is needed to correctly update location
+     * information when the block has been completed.
+     */
+    protected int _origBufferLen;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingByteArrayParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym);
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public ByteArrayFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public final boolean needMoreInput() {
+        return (_inputPtr >=_inputEnd) && !_endOfInput;
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        // Must not have remaining input
+        if (_inputPtr < _inputEnd) {
+            _reportError("Still have %d undecoded bytes, should not call 'feedInput'", _inputEnd - _inputPtr);
+        }
+        if (end < start) {
+            _reportError("Input end (%d) may not be before start (%d)", end, start);
+        }
+        // and shouldn't have been marked as end-of-input
+        if (_endOfInput) {
+            _reportError("Already closed, can not feed more input");
+        }
+        // Time to update pointers first
+        _currInputProcessed += _origBufferLen;
+
+        // And then update buffer settings
+        _inputBuffer = buf;
+        _inputPtr = start;
+        _inputEnd = end;
+        _origBufferLen = end - start;
+    }
+
+    @Override
+    public void endOfInput() {
+        _endOfInput = true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods/overrides from JsonParser
+    /**********************************************************************
+     */
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        int avail = _inputEnd - _inputPtr;
+        if (avail > 0) {
+            out.write(_inputBuffer, _inputPtr, avail);
+        }
+        return avail;
+    }
+
+    /*
+    /**********************************************************************
+    /* Main-level decoding
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        // In the middle of tokenization? Need at least one more byte to proceed
+        if (_minorState != MINOR_NONE) {
+            if (_inputPtr >= _inputEnd) {
+                if (_closed) {
+                    return null;
+                }
+                if (_endOfInput) {
+                    return _eofAsNextToken();
+                }
+                return JsonToken.NOT_AVAILABLE;
+            }
+            return _finishPartialToken();
+        }
+        if (_closed) {
+            return null;
+        }
+
+        // No: fresh new token; may or may not have existing one
+        _numTypesValid = NR_UNKNOWN;
+        _tokenInputTotal = _currInputProcessed + _inputPtr;
+        // also: clear any data retained so far
+        _binaryValue = null;
+        _chunked = false;
+        _decimalState = DECIMAL_NONE;
+
+        // First: need to keep track of lengths of defined-length Arrays and
+        // Objects (to materialize END_ARRAY/END_OBJECT as necessary), which
+        // requires no input
+        if (_parsingContext.inObject()) {
+            if (_currToken != JsonToken.FIELD_NAME) {
+                _tagValue = -1;
+                // completed the whole Object?
+                if (!_parsingContext.expectMoreValues()) {
+                    _parsingContext = _parsingContext.getParent();
+                    if (_parsingContext == _stringRefParent) {
+                        _exitStringRefNamespace();
+                    }
+                    return (_currToken = JsonToken.END_OBJECT);
+                }
+                _expectName = true;
+            } else {
+                _expectName = false;
+            }
+        } else {
+            _expectName = false;
+            if (!_parsingContext.expectMoreValues()) {
+                _tagValue = -1;
+                _typedArray = null;
+                _parsingContext = _parsingContext.getParent();
+                if (_parsingContext == _stringRefParent) {
+                    _exitStringRefNamespace();
+                }
+                return (_currToken = JsonToken.END_ARRAY);
+            }
+            // elements of typed arrays have been decoded already
+            if (_typedArray != null) {
+                return _nextTypedArrayElement();
+            }
+        }
+        _tagValue = -1;
+        _minorState = MINOR_TOKEN_START;
+        if (_inputPtr >= _inputEnd) {
+            if (_endOfInput) {
+                return _eofAsNextToken();
+            }
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        return _startToken(_inputBuffer[_inputPtr++] & 0xFF);
+    }
+
+    /**
+     * Method called when decoding of a token was started but not
+     * finished because input was exhausted; caller has verified that
+     * at least one more byte is available.
+     */
+    protected final JsonToken _finishPartialToken() throws IOException
+    {
+        switch (_minorState) {
+        case MINOR_TOKEN_START:
+        case MINOR_TAGGED_START:
+            return _startToken(_inputBuffer[_inputPtr++] & 0xFF);
+        case MINOR_HEAD:
+            return _finishHead();
+        case MINOR_BODY:
+            return _finishBody();
+        case MINOR_CHUNK_START:
+            return _startChunk(_inputBuffer[_inputPtr++] & 0xFF);
+        default:
+        }
+        VersionUtil.throwInternal();
+        return null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, initial byte and its argument
+    /**********************************************************************
+     */
+
+    private final JsonToken _startToken(int ch) throws IOException
+    {
+        final int type = ch >> 5;
+        if (_expectName) {
+            if (type > MAJOR_TYPE_TEXT) {
+                if (ch == INT_BREAK) { // end of indefinite-length Object?
+                    if (!_parsingContext.hasExpectedLength()) {
+                        _minorState = MINOR_NONE;
+                        _parsingContext = _parsingContext.getParent();
+                        if (_parsingContext == _stringRefParent) {
+                            _exitStringRefNamespace();
+                        }
+                        return (_currToken = JsonToken.END_OBJECT);
+                    }
+                    _reportUnexpectedBreak();
+                }
+                // only tag allowed is that of stringref (verified once its value is known)
+                if ((type != MAJOR_TYPE_TAG) || (_stringRefs == null)
+                        || (_minorState == MINOR_TAGGED_START)) {
+                    throw _constructError("Unsupported major type ("+type
+                            +") for CBOR Objects, not (yet?) supported, only Strings");
+                }
+            }
+        } else if (type == MAJOR_TYPE_TAG) {
+            // Self-describe tag is just a marker, may be followed by another tag
+            if ((_minorState == MINOR_TAGGED_START) && (_tagValue != TAG_ID_SELF_DESCRIBE)) {
+                _reportError("Multiple tags not allowed per value (first tag: "+_tagValue+")");
+            }
+        }
+        _typeByte = ch;
+        final int lowBits = ch & 0x1F;
+        if (lowBits <= 23) {
+            return _handleHead(ch, lowBits);
+        }
+        if (lowBits <= 27) { // 1, 2, 4 or 8 bytes of argument follow
+            _pending32 = 1 << (lowBits - 24);
+            _pending64 = 0L;
+            return _finishHead();
+        }
+        if (lowBits == 31) { // "indefinite": no argument
+            return _handleHead(ch, 0L);
+        }
+        _invalidToken(ch);
+        return null;
+    }
+
+    /**
+     * Method for collecting argument bytes that follow the initial byte
+     * (of value or, for chunked values, of a chunk)
+     */
+    private final JsonToken _finishHead() throws IOException
+    {
+        int needed = _pending32;
+        long value = _pending64;
+        while (_inputPtr < _inputEnd) {
+            value = (value << 8) | (_inputBuffer[_inputPtr++] & 0xFF);
+            if (--needed == 0) {
+                if (_chunked) {
+                    return _startBody(_decodeLength(value));
+                }
+                return _handleHead(_typeByte, value);
+            }
+        }
+        _pending32 = needed;
+        _pending64 = value;
+        _minorState = MINOR_HEAD;
+        return (_currToken = JsonToken.NOT_AVAILABLE);
+    }
+
+    /**
+     * Method called once the initial byte of a value and its argument (if any)
+     * are available.
+     */
+    private final JsonToken _handleHead(int ch, long arg) throws IOException
+    {
+        final int type = ch >> 5;
+        final int lowBits = ch & 0x1F;
+
+        if (_decimalState != DECIMAL_NONE) {
+            if (type > MAJOR_TYPE_BYTES && type != MAJOR_TYPE_TAG) {
+                _reportError("Unexpected token (major type "+type+") as a part of 'bigfloat' value: should get VALUE_NUMBER_INT");
+            }
+        }
+        if (_tagValue >= 0) {
+            if (_tagValue == TAG_ID_STRINGREF) {
+                if ((_stringRefs != null) && (type == MAJOR_TYPE_INT_POS) && (lowBits != 31)) {
+                    return _stringRefComplete(arg);
+                }
+            } else if (_expectName) {
+                throw _constructError("Unsupported tagged value (tag "+_tagValue
+                        +") for CBOR Object property name: only stringrefs allowed");
+            }
+        }
+        switch (type) {
+        case MAJOR_TYPE_INT_POS:
+            if (lowBits == 31) {
+                _invalidToken(ch);
+            }
+            if (_expectName) {
+                return _nameComplete((lowBits == 27) ? String.valueOf(arg) : _intToName((int) arg));
+            }
+            if (lowBits < 26) {
+                _numberInt = (int) arg;
+                _numTypesValid = NR_INT;
+            } else if (lowBits == 26) {
+                if (arg <= MAX_INT_L) {
+                    _numberInt = (int) arg;
+                    _numTypesValid = NR_INT;
+                } else {
+                    _numberLong = arg;
+                    _numTypesValid = NR_LONG;
+                }
+            } else {
+                if (arg >= 0L) {
+                    _numberLong = arg;
+                    _numTypesValid = NR_LONG;
+                } else {
+                    _numberBigInt = _bigPositive(arg);
+                    _numTypesValid = NR_BIGINT;
+                }
+            }
+            return _intValueComplete();
+
+        case MAJOR_TYPE_INT_NEG:
+            if (lowBits == 31) {
+                _invalidToken(ch);
+            }
+            if (_expectName) {
+                return _nameComplete((lowBits == 27) ? String.valueOf(-arg - 1L)
+                        : _intToName(-((int) arg) - 1));
+            }
+            if (lowBits < 26) {
+                _numberInt = -((int) arg) - 1;
+                _numTypesValid = NR_INT;
+            } else if (lowBits == 26) {
+                if (arg <= MAX_INT_L) {
+                    _numberInt = -((int) arg) - 1;
+                    _numTypesValid = NR_INT;
+                } else {
+                    _numberLong = -arg - 1L;
+                    _numTypesValid = NR_LONG;
+                }
+            } else {
+                if (arg >= 0L) {
+                    _numberLong = -arg - 1L;
+                    _numTypesValid = NR_LONG;
+                } else {
+                    _numberBigInt = _bigNegative(arg);
+                    _numTypesValid = NR_BIGINT;
+                }
+            }
+            return _intValueComplete();
+
+        case MAJOR_TYPE_BYTES:
+        case MAJOR_TYPE_TEXT:
+            _inputCopyLen = 0;
+            if (lowBits == 31) {
+                _chunked = true;
+                _minorState = MINOR_CHUNK_START;
+                if (_inputPtr >= _inputEnd) {
+                    return (_currToken = JsonToken.NOT_AVAILABLE);
+                }
+                return _startChunk(_inputBuffer[_inputPtr++] & 0xFF);
+            }
+            {
+                final int len = _decodeLength(arg);
+                // Fast path: all content available in current block
+                if ((_inputEnd - _inputPtr) >= len) {
+                    final int ptr = _inputPtr;
+                    _inputPtr += len;
+                    return _bodyComplete(_inputBuffer, ptr, len, false);
+                }
+                return _startBody(len);
+            }
+
+        case MAJOR_TYPE_ARRAY:
+            {
+                final int len = (lowBits == 31) ? -1 : _decodeLength(arg);
+                if (_tagValue == TAG_DECIMAL_FRACTION) {
+                    return _startDecimalFraction(len);
+                }
+                if (_tagValue == TAG_ID_STRINGREF_NAMESPACE) {
+                    _enterStringRefNamespace();
+                    _tagValue = -1;
+                }
+                _minorState = MINOR_NONE;
+                _parsingContext = _parsingContext.createChildArrayContext(len);
+                return (_currToken = JsonToken.START_ARRAY);
+            }
+
+        case MAJOR_TYPE_OBJECT:
+            {
+                final int len = (lowBits == 31) ? -1 : _decodeLength(arg);
+                if (_tagValue == TAG_ID_STRINGREF_NAMESPACE) {
+                    _enterStringRefNamespace();
+                    _tagValue = -1;
+                }
+                _minorState = MINOR_NONE;
+                _parsingContext = _parsingContext.createChildObjectContext(len);
+                return (_currToken = JsonToken.START_OBJECT);
+            }
+
+        case MAJOR_TYPE_TAG:
+            if ((lowBits == 31) || (arg > MAX_INT_L)) {
+                _reportError("Illegal Tag value: "+((lowBits == 31) ? "0x1F" : String.valueOf(arg)));
+            }
+            _tagValue = (int) arg;
+            _minorState = MINOR_TAGGED_START;
+            if (_inputPtr >= _inputEnd) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            return _startToken(_inputBuffer[_inputPtr++] & 0xFF);
+
+        default: // misc: floats, boolean, null etc
+        }
+
+        switch (lowBits) {
+        case 20:
+            return _valueComplete(JsonToken.VALUE_FALSE);
+        case 21:
+            return _valueComplete(JsonToken.VALUE_TRUE);
+        case 22:
+            return _valueComplete(JsonToken.VALUE_NULL);
+        case 23:
+            return _valueComplete(_decodeUndefinedValue());
+        case 25: // 16-bit float
+            _numberFloat = _decodeHalfSizeFloat((int) arg);
+            _numTypesValid = NR_FLOAT;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        case 26: // 32-bit float
+            _numberFloat = Float.intBitsToFloat((int) arg);
+            _numTypesValid = NR_FLOAT;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        case 27: // 64-bit double
+            _numberDouble = Double.longBitsToDouble(arg);
+            _numTypesValid = NR_DOUBLE;
+            return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+        case 31: // Break
+            if (_parsingContext.inArray()) {
+                if (!_parsingContext.hasExpectedLength()) {
+                    _minorState = MINOR_NONE;
+                    _parsingContext = _parsingContext.getParent();
+                    if (_parsingContext == _stringRefParent) {
+                        _exitStringRefNamespace();
+                    }
+                    return (_currToken = JsonToken.END_ARRAY);
+                }
+            }
+            // Object end-marker can't occur here
+            _reportUnexpectedBreak();
+        }
+        _invalidToken(ch);
+        return null;
+    }
+
+    private final int _decodeLength(long arg) throws IOException
+    {
+        if (arg < 0L || arg > MAX_INT_L) {
+            throw _constructError("Illegal length for "+currentToken()+": "+arg);
+        }
+        return (int) arg;
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, Text and Binary content
+    /**********************************************************************
+     */
+
+    /**
+     * Method called when length of (definite-length) Text or Binary value,
+     * or of a chunk of chunked value, is known but not all content is
+     * available in current input block.
+     */
+    private final JsonToken _startBody(int len) throws IOException
+    {
+        _pending32 = len;
+        return _finishBody();
+    }
+
+    private final JsonToken _finishBody() throws IOException
+    {
+        final int left = _pending32;
+        if (left > 0) {
+            final int avail = _inputEnd - _inputPtr;
+            // only grow copy buffer for content actually available
+            _ensureInputCopy(Math.min(avail, left), left);
+            if (avail < left) {
+                System.arraycopy(_inputBuffer, _inputPtr, _inputCopy, _inputCopyLen, avail);
+                _inputPtr += avail;
+                _inputCopyLen += avail;
+                _pending32 = left - avail;
+                _minorState = MINOR_BODY;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            System.arraycopy(_inputBuffer, _inputPtr, _inputCopy, _inputCopyLen, left);
+            _inputPtr += left;
+            _inputCopyLen += left;
+            _pending32 = 0;
+        }
+        if (_chunked) {
+            _minorState = MINOR_CHUNK_START;
+            if (_inputPtr >= _inputEnd) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            return _startChunk(_inputBuffer[_inputPtr++] & 0xFF);
+        }
+        return _bodyComplete(_inputCopy, 0, _inputCopyLen, false);
+    }
+
+    private final JsonToken _startChunk(int ch) throws IOException
+    {
+        if (ch == INT_BREAK) {
+            _chunked = false;
+            return _bodyComplete(_inputCopy, 0, _inputCopyLen, true);
+        }
+        final int type = ch >> 5;
+        final int expType = _typeByte >> 5;
+        if (type != expType) {
+            throw _constructError("Mismatched chunk in chunked content: expected "
+                    +expType+" but encountered "+type+" (byte 0x"+Integer.toHexString(ch)+")");
+        }
+        final int lowBits = ch & 0x1F;
+        if (lowBits <= 23) {
+            return _startBody(lowBits);
+        }
+        if (lowBits <= 27) {
+            _pending32 = 1 << (lowBits - 24);
+            _pending64 = 0L;
+            return _finishHead();
+        }
+        throw _constructError("Illegal chunked-length indicator within chunked-length value (type "+expType+")");
+    }
+
+    /**
+     * Method called once all content of a Text or Binary value is available,
+     * either directly in input buffer or (if split) in {@link #_inputCopy}.
+     */
+    private final JsonToken _bodyComplete(byte[] buf, int ptr, int len,
+            boolean chunked) throws IOException
+    {
+        final boolean isText = (_typeByte >> 5) == MAJOR_TYPE_TEXT;
+        // within stringref namespace, definite-length values may need to be added in string table
+        final boolean addRef = (_stringRefs != null) && !chunked;
+        if (_expectName) {
+            if (len == 0) {
+                return _nameComplete("");
+            }
+            if (!isText) {
+                // Non-standard but legal (binary) key: decode as UTF-8 as well
+                if (addRef) {
+                    _addStringRef(Arrays.copyOfRange(buf, ptr, ptr+len), len);
+                }
+                return _nameComplete(new String(buf, ptr, len, StandardCharsets.UTF_8));
+            }
+            String name = _findDecodedFromSymbols(buf, ptr, len);
+            if (name == null) {
+                name = _addDecodedToSymbols(len, _decodeUTF8(buf, ptr, len));
+            }
+            if (addRef) {
+                _addStringRef(name, len);
+            }
+            return _nameComplete(name);
+        }
+        if (isText) {
+            String text = _decodeUTF8(buf, ptr, len);
+            if (addRef) {
+                _addStringRef(text, len);
+            }
+            return _valueComplete(JsonToken.VALUE_STRING);
+        }
+        _binaryValue = (len == 0) ? NO_BYTES : Arrays.copyOfRange(buf, ptr, ptr+len);
+        if (addRef) {
+            _addStringRef(_binaryValue, len);
+        }
+        final int tag = _tagValue;
+        if ((tag == TAG_BIGNUM_POS) || (tag == TAG_BIGNUM_NEG)) {
+            BigInteger nr = new BigInteger(_binaryValue);
+            if (tag == TAG_BIGNUM_NEG) {
+                nr = nr.negate();
+            }
+            _numberBigInt = nr;
+            _numTypesValid = NR_BIGINT;
+            _tagValue = -1;
+            return _intValueComplete();
+        }
+        if (_decimalState != DECIMAL_NONE) {
+            _reportError("Unexpected token (VALUE_EMBEDDED_OBJECT) as a part of 'bigfloat' value: should get VALUE_NUMBER_INT");
+        }
+        if ((tag >= TAG_TYPED_ARRAY_FIRST) && (tag <= TAG_TYPED_ARRAY_LAST)
+                && _startTypedArray(tag, _binaryValue)) {
+            return _valueComplete(JsonToken.START_ARRAY);
+        }
+        return _valueComplete(JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    /**
+     * Method called once index of a stringref (tag 25 within namespace) is known.
+     */
+    private final JsonToken _stringRefComplete(long index) throws IOException
+    {
+        if (_decimalState != DECIMAL_NONE) {
+            _reportError("Unexpected stringref as a part of 'bigfloat' value: should get VALUE_NUMBER_INT");
+        }
+        Object value = _stringRefAt((int) Math.min(index, Integer.MAX_VALUE));
+        _tagValue = -1;
+        if (_expectName) {
+            return _nameComplete((value instanceof String) ? (String) value
+                    : new String((byte[]) value, StandardCharsets.UTF_8));
+        }
+        if (value instanceof String) {
+            _textBuffer.resetWithString((String) value);
+            return _valueComplete(JsonToken.VALUE_STRING);
+        }
+        // copy to keep string table safe from modifications by caller
+        _binaryValue = ((byte[]) value).clone();
+        return _valueComplete(JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    /**
+     * Helper method for decoding complete UTF-8 encoded content into
+     * text buffer.
+     */
+    private final String _decodeUTF8(byte[] inputBuf, int inPtr, int len) throws IOException
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        if (len == 0) {
+            return _textBuffer.setCurrentAndReturn(0);
+        }
+        if (outBuf.length < len) { // one minor complication
+            outBuf = _textBuffer.expandCurrentSegment(len);
+        }
+        int outPtr = 0;
+        final int end = inPtr + len;
+
+        // Let's actually do a tight loop for ASCII first:
+        int i;
+        while ((i = inputBuf[inPtr]) >= 0) {
+            outBuf[outPtr++] = (char) i;
+            if (++inPtr == end) {
+                return _textBuffer.setCurrentAndReturn(outPtr);
+            }
+        }
+
+        final int[] codes = sUtf8UnitLengths;
+        do {
+            i = inputBuf[inPtr++] & 0xFF;
+            final int needed = codes[i];
+            if ((inPtr + needed) > end) {
+                _reportError("Truncated UTF-8 character in Unicode text block");
+            }
+            switch (needed) {
+            case 0:
+                break;
+            case 1:
+                i = ((i & 0x1F) << 6) | (inputBuf[inPtr++] & 0x3F);
+                break;
+            case 2:
+                i = ((i & 0x0F) << 12)
+                   | ((inputBuf[inPtr++] & 0x3F) << 6)
+                   | (inputBuf[inPtr++] & 0x3F);
+                break;
+            case 3:
+                i = ((i & 0x07) << 18)
+                 | ((inputBuf[inPtr++] & 0x3F) << 12)
+                 | ((inputBuf[inPtr++] & 0x3F) << 6)
+                 | (inputBuf[inPtr++] & 0x3F);
+                // note: this is the codepoint value; need to split, too
+                i -= 0x10000;
+                outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+                i = 0xDC00 | (i & 0x3FF);
+                break;
+            default: // invalid
+                _reportError("Invalid byte "+Integer.toHexString(i)+" in Unicode text block");
+            }
+            outBuf[outPtr++] = (char) i;
+        } while (inPtr < end);
+        return _textBuffer.setCurrentAndReturn(outPtr);
+    }
+
+    /*
+    /**********************************************************************
+    /* Second-level decoding, tagged values
+    /**********************************************************************
+     */
+
+    /**
+     * Method called on encountering Array tagged as "decimal fraction":
+     * its two elements are decoded into a single {@link BigDecimal} value
+     * (instead of exposing them as an Array), same as blocking parser does.
+     */
+    private final JsonToken _startDecimalFraction(int len) throws IOException
+    {
+        // but has to have length of 2; otherwise we have a problem...
+        if (len != 2) {
+            _reportError("Unexpected array size ("+len+") for tagged 'bigfloat' value; should have exactly 2 number elements");
+        }
+        _decimalState = DECIMAL_EXPONENT;
+        _minorState = MINOR_TOKEN_START;
+        if (_inputPtr >= _inputEnd) {
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        return _startToken(_inputBuffer[_inputPtr++] & 0xFF);
+    }
+
+    private final JsonToken _intValueComplete() throws IOException
+    {
+        switch (_decimalState) {
+        case DECIMAL_NONE:
+            return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        case DECIMAL_EXPONENT:
+            if (_numTypesValid != NR_INT) {
+                _reportError("Unexpected exponent for 'bigfloat' value: should fit in 32-bit int");
+            }
+            // 27-Nov-2019, tatu: As per [dataformats-binary#139] need to change sign here
+            _decimalScale = -_numberInt;
+            _decimalState = DECIMAL_MANTISSA;
+            _minorState = MINOR_TOKEN_START;
+            if (_inputPtr >= _inputEnd) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            return _startToken(_inputBuffer[_inputPtr++] & 0xFF);
+        default:
+        }
+        BigDecimal dec;
+        switch (_numTypesValid) {
+        case NR_INT:
+            dec = BigDecimal.valueOf(_numberInt, _decimalScale);
+            break;
+        case NR_LONG:
+            dec = BigDecimal.valueOf(_numberLong, _decimalScale);
+            break;
+        default:
+            dec = new BigDecimal(_numberBigInt, _decimalScale);
+        }
+        _decimalState = DECIMAL_NONE;
+        _tagValue = TAG_DECIMAL_FRACTION;
+        _numberBigDecimal = dec;
+        _numTypesValid = NR_BIGDECIMAL;
+        return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+    }
+}
@@ -0,0 +1,465 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.*;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+
+/**
+ * Intermediate base class for non-blocking CBOR parsers: contains state
+ * handling and accessors that do not depend on the way input is fed.
+ *<p>
+ * Note that unlike blocking {@link CBORParser}, all content of a token is
+ * decoded by the time token is returned (there are no "incomplete" tokens);
+ * instead {@link JsonToken#NOT_AVAILABLE} is returned if a token can not
+ * yet be fully decoded with content fed so far.
+ */
+public abstract class NonBlockingParserBase
+    extends CBORParser
+{
+    /*
+    /**********************************************************************
+    /* State constants
+    /**********************************************************************
+     */
+
+    /**
+     * State between tokens: next call will start decoding a new token
+     * (possibly closing an Object or Array with definite length, without
+     * requiring any input)
+     */
+    protected final static int MINOR_NONE = 0;
+
+    /**
+     * State in which structural checks for the next token have been done
+     * but its first byte is not yet available.
+     */
+    protected final static int MINOR_TOKEN_START = 1;
+
+    /**
+     * State after a Tag has been decoded, but before first byte of the
+     * tagged value is available.
+     */
+    protected final static int MINOR_TAGGED_START = 2;
+
+    /**
+     * State in which we are collecting 1, 2, 4 or 8 bytes of argument (length,
+     * number or tag id) that follow the initial byte (kept in {@link #_typeByte}),
+     * or the initial byte of a chunk in chunked Text or Binary value.
+     */
+    protected final static int MINOR_HEAD = 3;
+
+    /**
+     * State in which we are collecting content of a Text or Binary value
+     * (or, for chunked values, of one of its chunks).
+     */
+    protected final static int MINOR_BODY = 4;
+
+    /**
+     * State in which we are expecting initial byte of the next chunk of a
+     * chunked ("indefinite-length") Text or Binary value, or BREAK.
+     */
+    protected final static int MINOR_CHUNK_START = 5;
+
+    // // // Decoding state of tagged "decimal fraction" (BigDecimal) values
+
+    protected final static int DECIMAL_NONE = 0;
+    protected final static int DECIMAL_EXPONENT = 1;
+    protected final static int DECIMAL_MANTISSA = 2;
+
+    /*
+    /**********************************************************************
+    /* Additional parsing state
+    /**********************************************************************
+     */
+
+    /**
+     * Current decoding state within token (or {@link #MINOR_NONE} between
+     * tokens)
+     */
+    protected int _minorState;
+
+    /**
+     * Flag that indicates whether the token being decoded is in Object
+     * property name position
+     */
+    protected boolean _expectName;
+
+    /**
+     * Flag that indicates whether the Text or Binary value being decoded
+     * uses chunked ("indefinite-length") encoding
+     */
+    protected boolean _chunked;
+
+    /**
+     * Which part of a "decimal fraction" (tag 4) value is being decoded, if any
+     */
+    protected int _decimalState;
+
+    /**
+     * Scale of "decimal fraction" value being decoded, once exponent has been read
+     */
+    protected int _decimalScale;
+
+    /**
+     * Flag that is sent when calling application indicates that there will
+     * be no more input to parse.
+     */
+    protected boolean _endOfInput = false;
+
+    /*
+    /**********************************************************************
+    /* Other buffering
+    /**********************************************************************
+     */
+
+    /**
+     * Temporary buffer for holding content of Text and Binary values if
+     * input is not contiguous
+     */
+    protected byte[] _inputCopy;
+
+    /**
+     * Number of bytes buffered in <code>_inputCopy</code>
+     */
+    protected int _inputCopyLen;
+
+    /**
+     * Flag that indicates whether {@link #_inputCopy} is the buffer allocated
+     * from {@link IOContext} (and needs to be released back to it); cleared
+     * when buffer is replaced with a bigger one, which is not recycled.
+     */
+    protected boolean _inputCopyRecyclable;
+
+    /**
+     * Number of argument bytes (for {@link #MINOR_HEAD}) or content bytes
+     * (for {@link #MINOR_BODY}) still needed to complete current state
+     */
+    protected int _pending32;
+
+    /**
+     * Argument bytes decoded so far in {@link #MINOR_HEAD} state
+     */
+    protected long _pending64;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingParserBase(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int cborFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, cborFeatures, sym,
+                null, NO_BYTES, 0, 0, false);
+        // Only used for values split across input blocks; grown as necessary
+        _inputCopy = ioCtxt.allocReadIOBuffer(500);
+        _inputCopyRecyclable = true;
+        _currToken = null;
+        _minorState = MINOR_NONE;
+    }
+
+    @Override
+    public boolean canParseAsync() { return true; }
+
+    /**
+     * Overridden to use token-based skipping: structural skipping of base
+     * class reads raw input outside of the state machine, and so can not
+     * handle content split across input blocks.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        return _skipChildrenByToken();
+    }
+
+    @Override
+    public JsonParser skipRemainingElements() throws IOException {
+        return _skipRemainingElementsByToken();
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException
+    {
+        super._releaseBuffers();
+        byte[] b = _inputCopy;
+        if (b != null) {
+            _inputCopy = null;
+            if (_inputCopyRecyclable) {
+                _inputCopyRecyclable = false;
+                _ioContext.releaseReadIOBuffer(b);
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Test support
+    /**********************************************************************
+     */
+
+    protected ByteQuadsCanonicalizer symbolTableForTests() {
+        return _symbols;
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods from JsonParser
+    /**********************************************************************
+     */
+
+    @Override
+    public abstract int releaseBuffered(OutputStream out) throws IOException;
+
+    @Override
+    public Object getInputSource() {
+        // since input is "pushed", to traditional source...
+        return null;
+    }
+
+    @Override
+    protected void _closeInput() throws IOException {
+        // nothing to do here
+    }
+
+    /*
+    /**********************************************************************
+    /* Overridden traversal methods: blocking parser variants read input
+    /* directly so need to use simple non-optimized implementations
+    /**********************************************************************
+     */
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) ? currentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) && str.getValue().equals(currentName());
+    }
+
+    @Override
+    public int nextFieldName(FieldNameMatcher matcher) throws IOException {
+        JsonToken t = nextToken();
+        if (t == JsonToken.FIELD_NAME) {
+            return matcher.matchName(currentName());
+        }
+        if (t == JsonToken.END_OBJECT) {
+            return FieldNameMatcher.MATCH_END_OBJECT;
+        }
+        return FieldNameMatcher.MATCH_ODD_TOKEN;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return (nextToken() == JsonToken.VALUE_STRING) ? _textBuffer.contentsAsString() : null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, access to token information, text
+    /**********************************************************************
+     */
+
+    @Override
+    public String getText() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return null;
+        }
+        return super.getText();
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return null;
+        }
+        return super.getTextCharacters();
+    }
+
+    @Override
+    public int getTextLength() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            return 0;
+        }
+        return super.getTextLength();
+    }
+
+    @Override
+    public int getText(Writer w) throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            _reportError("Current token not available: can not call this method");
+        }
+        return super.getText(w);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, field name parsing
+    /**********************************************************************
+     */
+
+    // Helper method for trying to find specified encoded UTF-8 byte sequence
+    // from symbol table; if successful avoids actual decoding to String
+    protected final String _findDecodedFromSymbols(byte[] inBuf, int inPtr, int len) throws IOException
+    {
+        // First: maybe we already have this name decoded?
+        if (len < 5) {
+            int q = inBuf[inPtr] & 0xFF;
+            if (--len > 0) {
+                q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                    if (--len > 0) {
+                        q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                    }
+                }
+            }
+            _quad1 = q;
+            return _symbols.findName(q);
+        }
+        if (len < 9) {
+            // First quadbyte is easy
+            int q1 = (inBuf[inPtr] & 0xFF) << 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            q1 <<= 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            q1 <<= 8;
+            q1 += (inBuf[++inPtr] & 0xFF);
+            int q2 = (inBuf[++inPtr] & 0xFF);
+            len -= 5;
+            if (len > 0) {
+                q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                    if (--len > 0) {
+                        q2 = (q2 << 8) + (inBuf[++inPtr] & 0xFF);
+                    }
+                }
+            }
+            _quad1 = q1;
+            _quad2 = q2;
+            return _symbols.findName(q1, q2);
+        }
+        return _findDecodedLonger(inBuf, inPtr, len);
+    }
+
+    // Method for locating names longer than 8 bytes (in UTF-8)
+    private final String _findDecodedLonger(byte[] inBuf, int inPtr, int len) throws IOException
+    {
+        // first, need enough buffer to store bytes as ints:
+        {
+            int bufLen = (len + 3) >> 2;
+            if (bufLen > _quadBuffer.length) {
+                _quadBuffer = Arrays.copyOf(_quadBuffer, bufLen+4);
+            }
+        }
+        // then decode, full quads first
+        int offset = 0;
+        do {
+            int q = (inBuf[inPtr++] & 0xFF) << 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            q <<= 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            q <<= 8;
+            q |= inBuf[inPtr++] & 0xFF;
+            _quadBuffer[offset++] = q;
+        } while ((len -= 4) > 3);
+        // and then leftovers
+        if (len > 0) {
+            int q = inBuf[inPtr] & 0xFF;
+            if (--len > 0) {
+                q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                if (--len > 0) {
+                    q = (q << 8) + (inBuf[++inPtr] & 0xFF);
+                }
+            }
+            _quadBuffer[offset++] = q;
+        }
+        return _symbols.findName(_quadBuffer, offset);
+    }
+
+    protected final String _addDecodedToSymbols(int len, String name)
+    {
+        if (len < 5) {
+            return _symbols.addName(name, _quad1);
+        }
+        if (len < 9) {
+            return _symbols.addName(name, _quad1, _quad2);
+        }
+        int qlen = (len + 3) >> 2;
+        return _symbols.addName(name, _quadBuffer, qlen);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, state changes
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method called at point when all input has been exhausted and
+     * input feeder has indicated no more input will be forthcoming.
+     */
+    protected final JsonToken _eofAsNextToken() throws IOException
+    {
+        // Only legal between tokens, not within
+        if ((_minorState != MINOR_TOKEN_START) || (_decimalState != DECIMAL_NONE)) {
+            _reportInvalidEOF(": was expecting rest of token", null);
+        }
+        _minorState = MINOR_NONE;
+        _tagValue = -1;
+        _handleEOF();
+        close();
+        return (_currToken = null);
+    }
+
+    protected final JsonToken _valueComplete(JsonToken t) throws IOException
+    {
+        _minorState = MINOR_NONE;
+        return (_currToken = t);
+    }
+
+    protected final JsonToken _nameComplete(String name) throws IOException
+    {
+        _minorState = MINOR_NONE;
+        _parsingContext.setCurrentName(name);
+        return (_currToken = JsonToken.FIELD_NAME);
+    }
+
+    /**
+     * Helper method for ensuring that {@link #_inputCopy} can hold
+     * specified number of additional bytes. Buffer is grown as content
+     * arrives, and not based on declared length of value (which can not be
+     * trusted), but never beyond number of bytes still expected.
+     *
+     * @param moreBytes Number of bytes about to be appended
+     * @param maxMoreBytes Maximum number of bytes that may still be appended,
+     *    including {@code moreBytes}
+     */
+    protected final void _ensureInputCopy(int moreBytes, int maxMoreBytes)
+    {
+        final int needed = _inputCopyLen + moreBytes;
+        final byte[] old = _inputCopy;
+        if (needed > old.length) {
+            long newLen = Math.min(old.length + (old.length >> 1),
+                    (long) _inputCopyLen + maxMoreBytes);
+            _inputCopy = Arrays.copyOf(old, (int) Math.max(needed, newLen));
+            // Oversized buffers are not to be recycled; but original one may be
+            if (_inputCopyRecyclable) {
+                _inputCopyRecyclable = false;
+                _ioContext.releaseReadIOBuffer(old);
+            }
+        }
+    }
+}
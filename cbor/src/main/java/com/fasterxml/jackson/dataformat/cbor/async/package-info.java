@@ -0,0 +1,6 @@
+/**
+ * Package that contains non-blocking ("asynchronous")
+ * implementation of reader-part of Jackson streaming API,
+ * working on CBOR format.
+ */
+package com.fasterxml.jackson.dataformat.cbor.async;
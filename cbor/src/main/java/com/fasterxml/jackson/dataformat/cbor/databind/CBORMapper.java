@@ -1,12 +1,36 @@
 package com.fasterxml.jackson.dataformat.cbor.databind;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.Version;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.cfg.MapperBuilderState;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
 import com.fasterxml.jackson.dataformat.cbor.PackageVersion;
 
 /**
@@ -24,10 +48,19 @@ public class CBORMapper extends ObjectMapper
     {
         public Builder(CBORFactory f) {
             super(f);
+
+            // Use bulk read methods of CBORParser for primitive arrays
+            SimpleModule m = new SimpleModule("CBORPrimitiveArrayModule", PackageVersion.VERSION);
+            m.addDeserializer(int[].class, CBORPrimitiveArrayDeserializers.IntArrayDeserializer.instance);
+            m.addDeserializer(long[].class, CBORPrimitiveArrayDeserializers.LongArrayDeserializer.instance);
+            m.addDeserializer(double[].class, CBORPrimitiveArrayDeserializers.DoubleArrayDeserializer.instance);
+            m.addDeserializer(float[].class, CBORPrimitiveArrayDeserializers.FloatArrayDeserializer.instance);
+            addModule(m);
         }
 
         public Builder(StateImpl state) {
             super(state);
+            // no need to add module, should come by default
         }
 
         @Override
@@ -122,6 +155,339 @@ public class CBORMapper extends ObjectMapper
         return (CBORFactory) _streamFactory;
     }
 
+    /*
+    /**********************************************************************
+    /* Extended API: projection
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading only specified parts of given CBOR document: result
+     * is a tree with same structure as the document, but only containing
+     * values at given paths (and Objects and Arrays containing them).
+     * Other values are skipped without decoding them (including names of
+     * nested Object properties), using {@link JsonParser#skipChildren()}.
+     * Within Arrays, elements before the last requested index that are not
+     * on requested paths are included as {@code null}s, to retain indexes;
+     * elements after it are skipped.
+     *<p>
+     * If none of the paths match, an empty {@link ObjectNode} (or
+     * {@link ArrayNode}) is returned.
+     *
+     * @since 3.0
+     */
+    public JsonNode readProjection(byte[] content, JsonPointer... paths) throws IOException
+    {
+        try (JsonParser p = createParser(content)) {
+            return _readProjection(p, paths);
+        }
+    }
+
+    /**
+     * @since 3.0
+     */
+    public JsonNode readProjection(InputStream in, JsonPointer... paths) throws IOException
+    {
+        try (JsonParser p = createParser(in)) {
+            return _readProjection(p, paths);
+        }
+    }
+
+    /**
+     * Method similar to {@link #readProjection(byte[], JsonPointer...)}, but
+     * that binds resulting tree as value of given type.
+     *
+     * @since 3.0
+     */
+    public <T> T readProjection(Class<T> valueType, byte[] content, JsonPointer... paths)
+        throws IOException
+    {
+        return treeToValue(readProjection(content, paths), valueType);
+    }
+
+    protected JsonNode _readProjection(JsonParser p, JsonPointer[] paths) throws IOException
+    {
+        if (p.nextToken() == null) {
+            return null;
+        }
+        return _readProjected(p, Arrays.asList(paths));
+    }
+
+    private JsonNode _readProjected(JsonParser p, List<JsonPointer> paths) throws IOException
+    {
+        for (JsonPointer path : paths) {
+            if (path.matches()) { // whole value included
+                return readTree(p);
+            }
+        }
+        final JsonToken t = p.currentToken();
+        if (t == JsonToken.START_OBJECT) {
+            ObjectNode result = createObjectNode();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                List<JsonPointer> matching = null;
+                for (JsonPointer path : paths) {
+                    JsonPointer tail = path.matchProperty(name);
+                    if (tail != null) {
+                        if (matching == null) {
+                            matching = new ArrayList<>();
+                        }
+                        matching.add(tail);
+                    }
+                }
+                if (matching == null) {
+                    p.skipChildren();
+                } else {
+                    JsonNode value = _readProjected(p, matching);
+                    if (value != null) {
+                        result.set(name, value);
+                    }
+                }
+            }
+            return result;
+        }
+        if (t == JsonToken.START_ARRAY) {
+            ArrayNode result = createArrayNode();
+            int lastIndex = -1;
+            for (JsonPointer path : paths) {
+                lastIndex = Math.max(lastIndex, path.getMatchingIndex());
+            }
+            for (int i = 0; i <= lastIndex; ++i) {
+                if (p.nextToken() == JsonToken.END_ARRAY) {
+                    return result;
+                }
+                List<JsonPointer> matching = null;
+                for (JsonPointer path : paths) {
+                    JsonPointer tail = path.matchElement(i);
+                    if (tail != null) {
+                        if (matching == null) {
+                            matching = new ArrayList<>();
+                        }
+                        matching.add(tail);
+                    }
+                }
+                JsonNode value = null;
+                if (matching == null) {
+                    p.skipChildren();
+                } else {
+                    value = _readProjected(p, matching);
+                }
+                if (value == null) {
+                    result.addNull();
+                } else {
+                    result.add(value);
+                }
+            }
+            // No more requested elements: skip the rest without reading
+            _skipRemainingElements(p);
+            return result;
+        }
+        // Scalar value where path would need to continue: no match
+        return null;
+    }
+
+    private static void _skipRemainingElements(JsonParser p) throws IOException
+    {
+        if (p instanceof CBORParser) {
+            ((CBORParser) p).skipRemainingElements();
+        } else {
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                p.skipChildren();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: CBOR Sequences (RFC 8742)
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading a "CBOR Sequence" (RFC 8742), that is, a sequence of
+     * root-level CBOR data items without any framing, as a sequence of values
+     * of given type.
+     * A single {@link com.fasterxml.jackson.dataformat.cbor.CBORParser} is used for
+     * all items, so that its input buffer, symbol table and parsing contexts
+     * get reused; parser is closed when the iterator is closed.
+     *<p>
+     * Note that unlike with {@link ObjectReader#readValues(InputStream)}, a
+     * root-level Array is never unwrapped: every item is read as one value,
+     * including Arrays.
+     *
+     * @since 3.0
+     */
+    public <T> MappingIterator<T> readSequence(Class<T> valueType, InputStream in)
+        throws IOException
+    {
+        ObjectReader r = readerFor(valueType);
+        return _readSequence(r, r.createParser(in));
+    }
+
+    /**
+     * @since 3.0
+     */
+    public <T> MappingIterator<T> readSequence(JavaType valueType, InputStream in)
+        throws IOException
+    {
+        ObjectReader r = readerFor(valueType);
+        return _readSequence(r, r.createParser(in));
+    }
+
+    /**
+     * @since 3.0
+     */
+    public <T> MappingIterator<T> readSequence(Class<T> valueType, File f)
+        throws IOException
+    {
+        ObjectReader r = readerFor(valueType);
+        return _readSequence(r, r.createParser(f));
+    }
+
+    /**
+     * @since 3.0
+     */
+    public <T> MappingIterator<T> readSequence(Class<T> valueType,
+            byte[] data, int offset, int len)
+        throws IOException
+    {
+        ObjectReader r = readerFor(valueType);
+        return _readSequence(r, r.createParser(data, offset, len));
+    }
+
+    // Parser passed explicitly so that it is not considered managed: otherwise
+    // iterator would unwrap an Array as the first item
+    private <T> MappingIterator<T> _readSequence(ObjectReader r, JsonParser p)
+        throws IOException
+    {
+        try {
+            return r.readValues(p);
+        } catch (IOException | RuntimeException e) {
+            p.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method for writing a "CBOR Sequence" (RFC 8742): values written using
+     * returned {@link SequenceWriter} are written as root-level CBOR data items
+     * without any framing.
+     * A single {@link com.fasterxml.jackson.dataformat.cbor.CBORGenerator}
+     * (and its output buffer) is used for all items; and unlike with default
+     * {@link SequenceWriter} settings, output is not flushed after each value
+     * ({@link SerializationFeature#FLUSH_AFTER_WRITE_VALUE} is disabled) but
+     * only when output buffer is full, or when {@link SequenceWriter#flush()}
+     * or {@link SequenceWriter#close()} is called.
+     *
+     * @since 3.0
+     */
+    public SequenceWriter writeSequence(OutputStream out) throws IOException {
+        return writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(out);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public SequenceWriter writeSequence(File f) throws IOException {
+        return writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValues(f);
+    }
+
+    /**
+     * Method for writing a "CBOR Sequence" (RFC 8742) same as
+     * {@link #writeSequence(OutputStream)}, but also flushing output after every
+     * {@code flushInterval} values, so that items of long-running sequences
+     * (like logs) are passed on regularly.
+     *
+     * @since 3.0
+     */
+    public CBORSequenceWriter writeSequence(OutputStream out, int flushInterval)
+        throws IOException
+    {
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive ("+flushInterval+")");
+        }
+        return new CBORSequenceWriter(writeSequence(out), flushInterval);
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API: parallel reading
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading elements of the root-level Array of given content
+     * as a parallel {@link Stream} of values of given type. Element boundaries
+     * are first located using a structural pre-scan (see
+     * {@link CBORValueSpliterator}); ranges of elements are then decoded in
+     * parallel, each by its own parser over the same content buffer.
+     * As with other parallel streams, decoding is done using the common
+     * {@link java.util.concurrent.ForkJoinPool}, unless the terminal operation
+     * is invoked from within another pool.
+     *<p>
+     * If content can not be split (root-level value not an Array, or Array
+     * within "stringref" namespace), values are read sequentially instead.
+     * Problems with decoding are reported as {@link java.io.UncheckedIOException}s.
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readArrayInParallel(Class<T> valueType, byte[] content)
+        throws IOException
+    {
+        return readArrayInParallel(valueType, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * @since 3.0
+     */
+    public <T> Stream<T> readArrayInParallel(Class<T> valueType, ByteBuffer content)
+        throws IOException
+    {
+        final ObjectReader r = readerFor(valueType);
+        Spliterator<T> split = CBORValueSpliterator.forArray(r, content);
+        if (split != null) {
+            return StreamSupport.stream(split, true);
+        }
+        // Can not split: just read sequentially
+        MappingIterator<T> it;
+        if (content.hasArray()) {
+            it = r.readValues(content.array(), content.arrayOffset() + content.position(),
+                    content.remaining());
+        } else {
+            it = r.readValues(new ByteBufferBackedInputStream(content.duplicate()));
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED),
+                false);
+    }
+
+    /**
+     * Method for reading root-level values of a "CBOR Sequence" (RFC 8742) as
+     * a parallel {@link Stream} of values of given type; see
+     * {@link #readArrayInParallel(Class, byte[])} for details.
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readSequenceInParallel(Class<T> valueType, byte[] content)
+        throws IOException
+    {
+        return readSequenceInParallel(valueType, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * @since 3.0
+     */
+    public <T> Stream<T> readSequenceInParallel(Class<T> valueType, ByteBuffer content)
+        throws IOException
+    {
+        Spliterator<T> split = CBORValueSpliterator.forSequence(readerFor(valueType), content);
+        return StreamSupport.stream(split, true);
+    }
+
     /*
     /**********************************************************
     /* Helper class(es)
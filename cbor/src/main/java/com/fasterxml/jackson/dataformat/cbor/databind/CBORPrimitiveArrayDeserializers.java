@@ -0,0 +1,287 @@
+package com.fasterxml.jackson.dataformat.cbor.databind;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.Nulls;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.ArrayBuilders;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+
+/**
+ * Container for deserializers of primitive arrays ({@code int[]},
+ * {@code long[]}, {@code double[]}, {@code float[]}) that use bulk read
+ * methods of {@link CBORParser} (like {@link CBORParser#readIntArray}) to
+ * read elements, instead of reading them one token at a time.
+ * Elements that bulk methods do not accept (like {@code null}s or Strings),
+ * as well as content from other parsers, are handled same as by the
+ * standard databind deserializers.
+ *
+ * @since 3.0
+ */
+public class CBORPrimitiveArrayDeserializers
+{
+    /**
+     * Shared base class for deserializers, handles delegation to the
+     * standard deserializer.
+     */
+    protected abstract static class Base<T> extends StdDeserializer<T>
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Standard deserializer, used for content from other parsers, for
+         * merging, and if handling of {@code null} elements is configured.
+         */
+        protected final JsonDeserializer<Object> _defaultDeserializer;
+
+        @SuppressWarnings("unchecked")
+        protected Base(Class<T> arrayType, JsonDeserializer<?> defaultDeser) {
+            super(arrayType);
+            _defaultDeserializer = (JsonDeserializer<Object>) defaultDeser;
+        }
+
+        protected abstract Base<T> withDefault(JsonDeserializer<?> defaultDeser);
+
+        protected abstract T _deserialize(CBORParser p, DeserializationContext ctxt)
+            throws IOException;
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException
+        {
+            JsonDeserializer<?> deser = _defaultDeserializer.createContextual(ctxt, property);
+            // Handling of null elements configured (skip, fail, ...)? Leave it
+            // all to the standard deserializer
+            final Nulls nulls = findContentNullStyle(ctxt, property);
+            if ((nulls != null) && (nulls != Nulls.DEFAULT)) {
+                return deser;
+            }
+            return (deser == _defaultDeserializer) ? this : withDefault(deser);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+        {
+            if ((p instanceof CBORParser) && p.isExpectedStartArrayToken()) {
+                return _deserialize((CBORParser) p, ctxt);
+            }
+            return (T) _defaultDeserializer.deserialize(p, ctxt);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt, T intoValue) throws IOException {
+            return (T) _defaultDeserializer.deserialize(p, ctxt, intoValue);
+        }
+
+        @Override
+        public Boolean supportsUpdate(DeserializationConfig config) {
+            return Boolean.TRUE;
+        }
+    }
+
+    public final static class IntArrayDeserializer extends Base<int[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static IntArrayDeserializer instance = new IntArrayDeserializer(
+                PrimitiveArrayDeserializers.forType(Integer.TYPE));
+
+        protected IntArrayDeserializer(JsonDeserializer<?> defaultDeser) {
+            super(int[].class, defaultDeser);
+        }
+
+        @Override
+        protected IntArrayDeserializer withDefault(JsonDeserializer<?> defaultDeser) {
+            return new IntArrayDeserializer(defaultDeser);
+        }
+
+        @Override
+        protected int[] _deserialize(CBORParser p, DeserializationContext ctxt) throws IOException
+        {
+            final ArrayBuilders.IntBuilder builder = ctxt.getArrayBuilders().getIntBuilder();
+            int[] chunk = builder.resetAndStart();
+            int ix = 0;
+
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                final int max = chunk.length - ix;
+                final int count = p.readIntArray(chunk, ix, max);
+                ix += count;
+                if (count < max) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    // some other value: use standard handling (coercion, error reporting)
+                    if (p.currentToken() == JsonToken.VALUE_NULL) {
+                        // as with standard deserializer, if no null handling configured
+                        _verifyNullForPrimitive(ctxt);
+                        chunk[ix++] = 0;
+                    } else {
+                        chunk[ix++] = (Integer) ctxt.readValue(p, Integer.TYPE);
+                    }
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+
+    public final static class LongArrayDeserializer extends Base<long[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static LongArrayDeserializer instance = new LongArrayDeserializer(
+                PrimitiveArrayDeserializers.forType(Long.TYPE));
+
+        protected LongArrayDeserializer(JsonDeserializer<?> defaultDeser) {
+            super(long[].class, defaultDeser);
+        }
+
+        @Override
+        protected LongArrayDeserializer withDefault(JsonDeserializer<?> defaultDeser) {
+            return new LongArrayDeserializer(defaultDeser);
+        }
+
+        @Override
+        protected long[] _deserialize(CBORParser p, DeserializationContext ctxt) throws IOException
+        {
+            final ArrayBuilders.LongBuilder builder = ctxt.getArrayBuilders().getLongBuilder();
+            long[] chunk = builder.resetAndStart();
+            int ix = 0;
+
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                final int max = chunk.length - ix;
+                final int count = p.readLongArray(chunk, ix, max);
+                ix += count;
+                if (count < max) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (p.currentToken() == JsonToken.VALUE_NULL) {
+                        // as with standard deserializer, if no null handling configured
+                        _verifyNullForPrimitive(ctxt);
+                        chunk[ix++] = 0L;
+                    } else {
+                        chunk[ix++] = (Long) ctxt.readValue(p, Long.TYPE);
+                    }
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+
+    public final static class DoubleArrayDeserializer extends Base<double[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static DoubleArrayDeserializer instance = new DoubleArrayDeserializer(
+                PrimitiveArrayDeserializers.forType(Double.TYPE));
+
+        protected DoubleArrayDeserializer(JsonDeserializer<?> defaultDeser) {
+            super(double[].class, defaultDeser);
+        }
+
+        @Override
+        protected DoubleArrayDeserializer withDefault(JsonDeserializer<?> defaultDeser) {
+            return new DoubleArrayDeserializer(defaultDeser);
+        }
+
+        @Override
+        protected double[] _deserialize(CBORParser p, DeserializationContext ctxt) throws IOException
+        {
+            final ArrayBuilders.DoubleBuilder builder = ctxt.getArrayBuilders().getDoubleBuilder();
+            double[] chunk = builder.resetAndStart();
+            int ix = 0;
+
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                final int max = chunk.length - ix;
+                final int count = p.readDoubleArray(chunk, ix, max);
+                ix += count;
+                if (count < max) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (p.currentToken() == JsonToken.VALUE_NULL) {
+                        // as with standard deserializer, if no null handling configured
+                        _verifyNullForPrimitive(ctxt);
+                        chunk[ix++] = 0.0;
+                    } else {
+                        chunk[ix++] = (Double) ctxt.readValue(p, Double.TYPE);
+                    }
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+
+    public final static class FloatArrayDeserializer extends Base<float[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final static FloatArrayDeserializer instance = new FloatArrayDeserializer(
+                PrimitiveArrayDeserializers.forType(Float.TYPE));
+
+        protected FloatArrayDeserializer(JsonDeserializer<?> defaultDeser) {
+            super(float[].class, defaultDeser);
+        }
+
+        @Override
+        protected FloatArrayDeserializer withDefault(JsonDeserializer<?> defaultDeser) {
+            return new FloatArrayDeserializer(defaultDeser);
+        }
+
+        @Override
+        protected float[] _deserialize(CBORParser p, DeserializationContext ctxt) throws IOException
+        {
+            final ArrayBuilders.FloatBuilder builder = ctxt.getArrayBuilders().getFloatBuilder();
+            float[] chunk = builder.resetAndStart();
+            int ix = 0;
+
+            while (true) {
+                if (ix >= chunk.length) {
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                final int max = chunk.length - ix;
+                final int count = p.readFloatArray(chunk, ix, max);
+                ix += count;
+                if (count < max) {
+                    if (p.currentToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (p.currentToken() == JsonToken.VALUE_NULL) {
+                        // as with standard deserializer, if no null handling configured
+                        _verifyNullForPrimitive(ctxt);
+                        chunk[ix++] = 0.0f;
+                    } else {
+                        chunk[ix++] = (Float) ctxt.readValue(p, Float.TYPE);
+                    }
+                }
+            }
+            return builder.completeAndClearBuffer(chunk, ix);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fasterxml.jackson.dataformat.cbor.databind;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Writer for "CBOR Sequences" (RFC 8742) constructed by
+ * {@link CBORMapper#writeSequence(java.io.OutputStream, int)}: wraps a
+ * {@link SequenceWriter} (that does not flush after each value), and flushes
+ * it after every configured number of values, so that output of long-running
+ * sequences reaches its destination regularly without flushing each value.
+ *
+ * @since 3.0
+ */
+public class CBORSequenceWriter
+    implements Closeable, Flushable
+{
+    protected final SequenceWriter _writer;
+
+    /**
+     * Number of values to write between flushes
+     */
+    protected final int _flushInterval;
+
+    /**
+     * Number of values written since the last flush
+     */
+    protected int _unflushedCount;
+
+    /**
+     * @param flushInterval Number of values to write between flushes; if not
+     *    positive, output is flushed after each value
+     */
+    public CBORSequenceWriter(SequenceWriter w, int flushInterval)
+    {
+        _writer = w;
+        _flushInterval = flushInterval;
+    }
+
+    /**
+     * Method for writing given value as the next item of the sequence, and
+     * flushing output if flush interval was reached.
+     */
+    public CBORSequenceWriter write(Object value) throws IOException
+    {
+        _writer.write(value);
+        if (++_unflushedCount >= _flushInterval) {
+            flush();
+        }
+        return this;
+    }
+
+    public CBORSequenceWriter writeAll(Object[] values) throws IOException
+    {
+        for (Object value : values) {
+            write(value);
+        }
+        return this;
+    }
+
+    public CBORSequenceWriter writeAll(Iterable<?> values) throws IOException
+    {
+        for (Object value : values) {
+            write(value);
+        }
+        return this;
+    }
+
+    /**
+     * Accessor for the underlying {@link SequenceWriter}; note that values
+     * written directly using it do not count towards flush interval.
+     */
+    public SequenceWriter getSequenceWriter() {
+        return _writer;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        _unflushedCount = 0;
+        _writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _writer.close();
+    }
+}
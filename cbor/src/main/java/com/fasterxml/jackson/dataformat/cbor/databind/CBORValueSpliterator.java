@@ -0,0 +1,397 @@
+package com.fasterxml.jackson.dataformat.cbor.databind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORConstants;
+
+/**
+ * {@link Spliterator} for values of a root-level CBOR Array, or of a
+ * "CBOR Sequence" (RFC 8742), in a fully available buffer. Boundaries of values
+ * are located with a structural pre-scan that only decodes heads (lengths and
+ * tags) and skips payload bytes; after this, ranges of values may be split off
+ * and decoded in parallel (for example, using a parallel
+ * {@link java.util.stream.Stream}), each with its own parser over the same
+ * backing buffer.
+ *<p>
+ * Values can be decoded independently except if the root-level Array is
+ * enclosed in a "stringref" namespace, as references within values may point
+ * to Strings in preceding values: such content can not be split.
+ *
+ * @since 3.0
+ */
+public class CBORValueSpliterator<T> implements Spliterator<T>
+{
+    /**
+     * Ranges with fewer values than this are not split further, to keep
+     * overhead of parser construction low.
+     */
+    protected final static int MIN_SPLIT_SIZE = 16;
+
+    protected final ObjectReader _reader;
+
+    /**
+     * Buffer that contains content; shared by all spliterators split from the
+     * same root, and never modified.
+     */
+    protected final ByteBuffer _content;
+
+    /**
+     * Offsets of values within {@link #_content}, with one additional entry for
+     * the end of the last value.
+     */
+    protected final int[] _offsets;
+
+    /**
+     * Index of the next value to decode
+     */
+    protected int _index;
+
+    /**
+     * Index of the first value past the range of this spliterator
+     */
+    protected final int _end;
+
+    /**
+     * Parser used for decoding values, once decoding has started
+     */
+    protected JsonParser _parser;
+
+    protected CBORValueSpliterator(ObjectReader reader, ByteBuffer content,
+            int[] offsets, int index, int end)
+    {
+        _reader = reader;
+        _content = content;
+        _offsets = offsets;
+        _index = index;
+        _end = end;
+    }
+
+    /**
+     * Factory method for constructing spliterator for elements of the root-level
+     * Array of given content (from its position to limit).
+     *
+     * @return Spliterator constructed, if content can be split; {@code null}
+     *   if not (root-level value not an Array, or Array within "stringref"
+     *   namespace)
+     */
+    public static <T> CBORValueSpliterator<T> forArray(ObjectReader reader, ByteBuffer content)
+    {
+        final Scanner scanner = new Scanner(content);
+        int ch;
+        // skip tags, but can not split within stringref namespace
+        while (true) {
+            ch = scanner.nextByte();
+            if ((ch >> 5) != CBORConstants.MAJOR_TYPE_TAG) {
+                break;
+            }
+            long tag = scanner.argument(ch & 0x1F);
+            if ((tag == CBORConstants.TAG_ID_STRINGREF_NAMESPACE) || (tag == -2L)) {
+                return null;
+            }
+        }
+        if ((ch < 0) || ((ch >> 5) != CBORConstants.MAJOR_TYPE_ARRAY)) {
+            return null;
+        }
+        long count = scanner.argument(ch & 0x1F);
+        if (count < -1L) {
+            return null;
+        }
+        return _construct(reader, content, scanner.scanValues(count));
+    }
+
+    /**
+     * Factory method for constructing spliterator for root-level values of
+     * given content (from its position to limit), that is, a "CBOR Sequence".
+     */
+    public static <T> CBORValueSpliterator<T> forSequence(ObjectReader reader, ByteBuffer content)
+    {
+        return _construct(reader, content, new Scanner(content).scanValues(-2L));
+    }
+
+    private static <T> CBORValueSpliterator<T> _construct(ObjectReader reader, ByteBuffer content,
+            int[] offsets) {
+        return new CBORValueSpliterator<T>(reader, content, offsets, 0, offsets.length - 1);
+    }
+
+    /*
+    /**********************************************************************
+    /* Spliterator implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (_index >= _end) {
+            return false;
+        }
+        T value;
+        try {
+            if (_parser == null) {
+                _parser = _createParser(_offsets[_index], _offsets[_end]);
+            }
+            value = _reader.readValue(_parser);
+            if (++_index == _end) {
+                _parser.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        // can only split before decoding has started
+        final int size = _end - _index;
+        if ((_parser != null) || (size < (2 * MIN_SPLIT_SIZE))) {
+            return null;
+        }
+        final int mid = _index + (size >>> 1);
+        Spliterator<T> prefix = new CBORValueSpliterator<T>(_reader, _content, _offsets, _index, mid);
+        _index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return _end - _index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+
+    /**
+     * Accessor for the total number of values found by the pre-scan.
+     */
+    public int getValueCount() {
+        return _offsets.length - 1;
+    }
+
+    protected JsonParser _createParser(int start, int end) throws IOException
+    {
+        if (_content.hasArray()) {
+            return _reader.createParser(_content.array(), _content.arrayOffset() + start,
+                    end - start);
+        }
+        ByteBuffer slice = _content.duplicate();
+        slice.limit(end);
+        slice.position(start);
+        return _reader.createParser(new ByteBufferBackedInputStream(slice));
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Helper class for structural pre-scan: only decodes heads of data items
+     * to find value boundaries. If malformed or truncated content is encountered,
+     * scanning stops and all the remaining content is considered to be the
+     * last value, so that the actual decoding reports the problem.
+     */
+    final static class Scanner
+    {
+        private final ByteBuffer _buffer;
+
+        private final int _end;
+
+        private int _ptr;
+
+        private int[] _offsets = new int[64];
+
+        private int _count;
+
+        Scanner(ByteBuffer buffer) {
+            _buffer = buffer;
+            _ptr = buffer.position();
+            _end = buffer.limit();
+        }
+
+        /**
+         * @return Next byte (as unsigned value), or -1 if end of content reached
+         */
+        int nextByte() {
+            if (_ptr >= _end) {
+                return -1;
+            }
+            return _buffer.get(_ptr++) & 0xFF;
+        }
+
+        /**
+         * Method for decoding argument of a head with given low bits.
+         *
+         * @return Argument value (possibly negative, for 64-bit values over
+         *   {@link Long#MAX_VALUE}); -1 for indefinite length; or -2 for invalid
+         *   or truncated content
+         */
+        long argument(int lowBits)
+        {
+            if (lowBits < 24) {
+                return lowBits;
+            }
+            if (lowBits == 31) {
+                return -1L;
+            }
+            if (lowBits > 27) {
+                return -2L;
+            }
+            final int len = 1 << (lowBits - 24);
+            if ((_end - _ptr) < len) {
+                return -2L;
+            }
+            long value = 0L;
+            for (int i = 0; i < len; ++i) {
+                value = (value << 8) | (_buffer.get(_ptr++) & 0xFF);
+            }
+            // can not have enough content for values this big
+            return (value < 0L) ? Long.MAX_VALUE : value;
+        }
+
+        /**
+         * Method for scanning given number of values (-1 for values up to
+         * "break" marker, -2 for values up to end of content) and returning
+         * their offsets.
+         */
+        int[] scanValues(long count)
+        {
+            while (count != 0) {
+                final int start = _ptr;
+                if (count == -1L) {
+                    final int ch = nextByte();
+                    if (ch == CBORConstants.INT_BREAK) {
+                        break;
+                    }
+                    _ptr = start;
+                }
+                if ((start >= _end) || !_skipValue()) {
+                    // end of (or invalid) content: let parser handle the rest
+                    if (start < _end) {
+                        _addOffset(start);
+                        _ptr = _end;
+                    }
+                    break;
+                }
+                _addOffset(start);
+                if (count > 0L) {
+                    --count;
+                }
+            }
+            _addOffset(_ptr);
+            return Arrays.copyOf(_offsets, _count);
+        }
+
+        private void _addOffset(int offset) {
+            if (_count == _offsets.length) {
+                _offsets = Arrays.copyOf(_offsets, _count + (_count >> 1));
+            }
+            _offsets[_count++] = offset;
+        }
+
+        /**
+         * Method for skipping over a complete data item (including nested
+         * ones) without decoding payload.
+         *
+         * @return True if value was skipped; false if content was invalid or
+         *    truncated
+         */
+        private boolean _skipValue()
+        {
+            // Number of items remaining at each nesting level; -1 for
+            // indefinite-length ones
+            long[] stack = null;
+            int depth = 0;
+            long remaining = 1;
+
+            while (true) {
+                if (remaining == 0L) {
+                    if (depth == 0) {
+                        return true;
+                    }
+                    remaining = stack[--depth];
+                    continue;
+                }
+                final int ch = nextByte();
+                if (ch < 0) {
+                    return false;
+                }
+                if (ch == CBORConstants.INT_BREAK) {
+                    if (remaining > 0L) {
+                        return false;
+                    }
+                    remaining = 0L;
+                    continue;
+                }
+                final int type = ch >> 5;
+                final long arg = argument(ch & 0x1F);
+                if (arg == -2L) {
+                    return false;
+                }
+                if (type == CBORConstants.MAJOR_TYPE_TAG) { // tag does not count as item
+                    continue;
+                }
+                if (remaining > 0L) {
+                    --remaining;
+                }
+                switch (type) {
+                case CBORConstants.MAJOR_TYPE_BYTES:
+                case CBORConstants.MAJOR_TYPE_TEXT:
+                    if (arg >= 0L) {
+                        if (arg > (_end - _ptr)) {
+                            return false;
+                        }
+                        _ptr += (int) arg;
+                        continue;
+                    }
+                    break; // chunked: chunks handled as items of a container
+                case CBORConstants.MAJOR_TYPE_ARRAY:
+                case CBORConstants.MAJOR_TYPE_OBJECT:
+                    if (arg == 0L) {
+                        continue;
+                    }
+                    break;
+                case CBORConstants.MAJOR_TYPE_MISC:
+                    if (arg == -1L) { // "break" handled earlier, so invalid
+                        return false;
+                    }
+                    continue;
+                default: // integers
+                    if (arg == -1L) {
+                        return false;
+                    }
+                    continue;
+                }
+                // Start of a container
+                if (stack == null) {
+                    stack = new long[8];
+                } else if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth + depth);
+                }
+                stack[depth++] = remaining;
+                if (arg < 0L) {
+                    remaining = -1L;
+                } else if (type == CBORConstants.MAJOR_TYPE_OBJECT) {
+                    remaining = (arg > (Long.MAX_VALUE >> 1)) ? Long.MAX_VALUE : (arg << 1);
+                } else {
+                    remaining = arg;
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ module com.fasterxml.jackson.dataformat.cbor {
     requires com.fasterxml.jackson.databind;
 
     exports com.fasterxml.jackson.dataformat.cbor;
+    exports com.fasterxml.jackson.dataformat.cbor.async;
     exports com.fasterxml.jackson.dataformat.cbor.databind;
 
     provides com.fasterxml.jackson.core.TokenStreamFactory with
@@ -0,0 +1,92 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for {@link CBORTokenBuffer}.
+ */
+public class CBORTokenBufferTest extends CBORTestBase
+{
+    static class Point {
+        public int x, y;
+        public String label;
+        public byte[] data;
+    }
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testCopyAndReplay() throws Exception
+    {
+        Map<String,Object> point = new LinkedHashMap<>();
+        point.put("label", generateUnicodeString(100));
+        point.put("x", 1);
+        point.put("data", new byte[] { 1, 2, 3 });
+        point.put("y", -2000000);
+        byte[] doc = MAPPER.writeValueAsBytes(Arrays.asList("type", point, true));
+
+        try (CBORParser p = cborParser(new ThrottledInputStream(doc, 5))) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            CBORTokenBuffer buffer = CBORTokenBuffer.asCopyOfValue(cborFactory(), p);
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+
+            // buffered content is same as original encoding
+            assertEquals(MAPPER.writeValueAsBytes(point).length, buffer.size());
+            // can replay multiple times
+            for (int i = 0; i < 2; ++i) {
+                try (CBORParser p2 = buffer.asParser(ObjectReadContext.empty())) {
+                    Point result = MAPPER.readValue(p2, Point.class);
+                    assertEquals(1, result.x);
+                    assertEquals(-2000000, result.y);
+                    assertEquals(point.get("label"), result.label);
+                    assertEquals(3, result.data.length);
+                    assertNull(p2.nextToken());
+                }
+            }
+            buffer.close();
+        }
+    }
+
+    public void testWriteViaGenerator() throws Exception
+    {
+        CBORTokenBuffer buffer = new CBORTokenBuffer(cborFactory(), ObjectWriteContext.empty(), 0);
+        CBORGenerator g = buffer.getGenerator();
+        g.writeStartObject();
+        g.writeNumberField("x", 3);
+        // copy rest of the properties from another parser
+        try (CBORParser p = cborParser(MAPPER.writeValueAsBytes(
+                Collections.singletonMap("label", generateLongAsciiString(3000))))) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            buffer.copyCurrentStructure(p);
+        }
+        g.writeEndObject();
+
+        // parser constructed before more content is written only sees content so far
+        CBORParser p1 = buffer.asParser(ObjectReadContext.empty());
+        g.writeNumber(42);
+        byte[] doc = buffer.toByteArray();
+        assertEquals(doc.length, buffer.size());
+
+        Point result = MAPPER.readValue(p1, Point.class);
+        assertEquals(3, result.x);
+        assertEquals(generateLongAsciiString(3000), result.label);
+        assertNull(p1.nextToken());
+        p1.close();
+
+        try (CBORParser p2 = cborParser(doc)) {
+            assertToken(JsonToken.START_OBJECT, p2.nextToken());
+            p2.skipChildren();
+            assertToken(JsonToken.VALUE_NUMBER_INT, p2.nextToken());
+            assertEquals(42, p2.getIntValue());
+        }
+        buffer.close();
+    }
+}
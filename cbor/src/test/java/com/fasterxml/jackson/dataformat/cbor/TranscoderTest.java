@@ -0,0 +1,103 @@
+package com.fasterxml.jackson.dataformat.cbor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for {@link CBORTranscoder}.
+ */
+public class TranscoderTest extends CBORTestBase
+{
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testTranscodeToCBOR() throws Exception
+    {
+        final Map<String,Object> input = _input(true);
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        JsonNode exp = MAPPER.readTree(doc);
+
+        assertEquals(exp, MAPPER.readTree(_transcodeToCBOR(cborParser(doc))));
+        // and with content split across buffer boundaries
+        assertEquals(exp, MAPPER.readTree(_transcodeToCBOR(
+                cborParser(new ThrottledInputStream(doc, 7)))));
+    }
+
+    public void testTranscodeToJSON() throws Exception
+    {
+        final Map<String,Object> input = _input(false);
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        final String exp = JSON_MAPPER.writeValueAsString(input);
+
+        // First, byte-based generator: raw UTF-8 content written as-is
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORParser p = cborParser(doc);
+                JsonGenerator g = JSON_MAPPER.createGenerator(bytes)) {
+            CBORTranscoder.transcode(p, g);
+        }
+        assertEquals(exp, bytes.toString("UTF-8"));
+
+        // then one that can not write UTF-8 content, values get decoded
+        StringWriter w = new StringWriter();
+        try (CBORParser p = cborParser(doc);
+                JsonGenerator g = JSON_MAPPER.createGenerator(w)) {
+            CBORTranscoder.transcode(p, g);
+        }
+        assertEquals(exp, w.toString());
+    }
+
+    public void testCopyCurrentStructure() throws Exception
+    {
+        byte[] doc = MAPPER.writeValueAsBytes(Arrays.asList("a",
+                Collections.singletonMap("b", Arrays.asList(1, "c")), "d"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORParser p = cborParser(doc);
+                JsonGenerator g = JSON_MAPPER.createGenerator(bytes)) {
+            CBORTranscoder tc = new CBORTranscoder(p, g);
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            tc.copyCurrentStructure();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            // raw values are not consumed, may still be accessed
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            tc.copyCurrentEvent();
+            assertEquals("d", p.getText());
+        }
+        assertEquals("{\"b\":[1,\"c\"]}\"d\"", bytes.toString("UTF-8").replace(" ", ""));
+    }
+
+    private byte[] _transcodeToCBOR(CBORParser p) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = cborGenerator(bytes)) {
+            CBORTranscoder.transcode(p, g);
+        }
+        p.close();
+        return bytes.toByteArray();
+    }
+
+    private Map<String,Object> _input(boolean binary)
+    {
+        Map<String,Object> input = new LinkedHashMap<>();
+        input.put("ascii", "abc");
+        input.put("empty", "");
+        input.put("unicode", generateUnicodeString(300));
+        // longer than input buffer, so gets decoded
+        input.put("long", generateLongAsciiString(20000));
+        input.put("numbers", Arrays.asList(1, -200, Long.MAX_VALUE, 0.25, true, null));
+        input.put("nested", Collections.singletonMap("strings",
+                Arrays.asList("x", generateUnicodeString(40), "z")));
+        if (binary) {
+            input.put("binary", new byte[] { 1, 2, 3, (byte) 0xFF });
+            input.put("longBinary", new byte[30000]);
+        }
+        return input;
+    }
+}
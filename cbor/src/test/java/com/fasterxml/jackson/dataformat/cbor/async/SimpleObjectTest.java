@@ -0,0 +1,336 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+public class SimpleObjectTest extends AsyncTestBase
+{
+    private final ObjectMapper MAPPER = cborMapper();
+
+    private final static String UNICODE_SHORT_NAME = "Unicode"+UNICODE_3BYTES+"RlzOk";
+
+    private final static String LONG_NAME = "this_is_a_longer_name_to_use_"+UNICODE_2BYTES+"_at_least_not_short";
+
+    public void testBooleans() throws IOException
+    {
+        final String json = aposToQuotes("{ 'a':true, 'b':false, 'acdc':true, '"+UNICODE_SHORT_NAME+"':true, 'a1234567':false,"
+                +"'"+LONG_NAME+"':  true }");
+        // both with definite (from JSON) and indefinite length
+        byte[] data = cborDoc(json);
+        _testBooleans(data, 0, 100);
+        _testBooleans(data, 0, 3);
+        _testBooleans(data, 0, 1);
+
+        _testBooleans(data, 1, 100);
+        _testBooleans(data, 1, 3);
+        _testBooleans(data, 1, 1);
+    }
+
+    private void _testBooleans(byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        // start with "no token"
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("a", r.currentText());
+        assertEquals("a", r.currentTextViaCharacters());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("b", r.currentText());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("acdc", r.currentText());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals(UNICODE_SHORT_NAME, r.currentText());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("a1234567", r.currentText());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals(LONG_NAME, r.currentText());
+        assertEquals(LONG_NAME, r.currentName());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+
+        // and end up with "no token" as well
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testIndefiniteLengthNested() throws IOException
+    {
+        final String LONG_TEXT = generateUnicodeString(5000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            // no sizes passed: indefinite-length Objects, Arrays
+            g.writeStartObject();
+            g.writeFieldName("list");
+            g.writeStartArray();
+            g.writeString(UNICODE_SEGMENT);
+            g.writeStartObject();
+            g.writeEndObject();
+            g.writeString(LONG_TEXT);
+            g.writeEndArray();
+            g.writeFieldName(UNICODE_SHORT_NAME);
+            g.writeNumber(42);
+            g.writeEndObject();
+        }
+        byte[] data = bytes.toByteArray();
+        for (int readSize : new int[] { 1, 2, 3, 7, 1000, 100000 }) {
+            _testIndefiniteLengthNested(data, 0, readSize, LONG_TEXT);
+            _testIndefiniteLengthNested(data, 1, readSize, LONG_TEXT);
+        }
+    }
+
+    private void _testIndefiniteLengthNested(byte[] data, int offset, int readSize,
+            String longText) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("list", r.currentName());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertToken(JsonToken.VALUE_STRING, r.nextToken());
+        assertEquals(UNICODE_SEGMENT, r.currentText());
+        assertEquals(UNICODE_SEGMENT, r.currentTextViaWriter());
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+        assertToken(JsonToken.VALUE_STRING, r.nextToken());
+        assertEquals(longText, r.currentText());
+        assertEquals(longText, r.currentTextViaCharacters());
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals(UNICODE_SHORT_NAME, r.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+        assertEquals(42, r.getIntValue());
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    // Chunked ("indefinite-length") Text and Binary values are not produced by
+    // generator, so need to hand-craft content
+    public void testChunkedTextAndBinary() throws IOException
+    {
+        final byte[] data = new byte[] {
+                (byte) 0xA2, // Object with 2 entries
+                // name as chunked text: "ab" + "c" + U+00A7 (2-byte UTF-8, split across chunks)
+                0x7F, 0x62, 'a', 'b', 0x62, 'c', (byte) 0xC2, 0x61, (byte) 0xA7, (byte) 0xFF,
+                // value: chunked text with empty chunk
+                0x7F, 0x60, 0x63, 'x', 'y', 'z', (byte) 0xFF,
+                0x61, 'b',
+                // value: chunked binary, one chunk with 1-byte length prefix
+                0x5F, 0x42, 1, 2, 0x58, 0x03, 3, 4, 5, (byte) 0xFF
+        };
+        final String NAME = "abc"+UNICODE_2BYTES;
+        for (int readSize : new int[] { 1, 2, 3, 5, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, 0);
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals(NAME, r.currentName());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("xyz", r.currentText());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("b", r.currentName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, r.nextToken());
+            assertEquals("[1, 2, 3, 4, 5]", Arrays.toString(r.getBinaryValue()));
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testIntAndBinaryNames() throws IOException
+    {
+        final byte[] data = new byte[] {
+                (byte) 0xBF, // indefinite-length Object
+                0x19, 0x01, 0x00, 0x61, 'a', // 256: "a"
+                0x38, 0x63, (byte) 0xF5, // -100: true
+                0x42, 'x', 'y', (byte) 0xF6, // b"xy": null
+                (byte) 0xFF
+        };
+        for (int readSize : new int[] { 1, 2, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, 0);
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("256", r.currentName());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("a", r.currentText());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("-100", r.currentName());
+            assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertEquals("xy", r.currentName());
+            assertToken(JsonToken.VALUE_NULL, r.nextToken());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testMultipleRootValues() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(cborDoc("[ 1 ]"));
+        bytes.write(cborDoc("{ \"x\" : \"abc\" }"));
+        bytes.write(cborDoc("\"root\""));
+        byte[] data = bytes.toByteArray();
+
+        for (int readSize : new int[] { 1, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertToken(JsonToken.START_OBJECT, r.nextToken());
+            assertToken(JsonToken.FIELD_NAME, r.nextToken());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("abc", r.currentText());
+            assertToken(JsonToken.END_OBJECT, r.nextToken());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals("root", r.currentText());
+            assertNull(r.nextToken());
+            assertTrue(r.isClosed());
+        }
+    }
+
+    public void testStringRefs() throws IOException
+    {
+        ObjectMapper refMapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = refMapper.createGenerator(bytes)) {
+            for (int i = 0; i < 2; ++i) {
+                g.writeStartArray();
+                g.writeStartObject();
+                g.writeFieldName("status");
+                g.writeString(UNICODE_SHORT_NAME);
+                g.writeEndObject();
+                g.writeStartObject();
+                g.writeFieldName("status");
+                g.writeString(UNICODE_SHORT_NAME);
+                g.writeEndObject();
+                g.writeBinary(new byte[] { 1, 2, 3 });
+                g.writeString("status");
+                g.writeEndArray();
+            }
+        }
+        byte[] data = bytes.toByteArray();
+        for (int readSize : new int[] { 1, 2, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, 0);
+            for (int i = 0; i < 2; ++i) {
+                assertToken(JsonToken.START_ARRAY, r.nextToken());
+                for (int j = 0; j < 2; ++j) {
+                    assertToken(JsonToken.START_OBJECT, r.nextToken());
+                    assertToken(JsonToken.FIELD_NAME, r.nextToken());
+                    assertEquals("status", r.currentName());
+                    assertToken(JsonToken.VALUE_STRING, r.nextToken());
+                    assertEquals(UNICODE_SHORT_NAME, r.currentText());
+                    assertToken(JsonToken.END_OBJECT, r.nextToken());
+                }
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, r.nextToken());
+                assertEquals("[1, 2, 3]", Arrays.toString(r.getBinaryValue()));
+                assertToken(JsonToken.VALUE_STRING, r.nextToken());
+                assertEquals("status", r.currentText());
+                assertToken(JsonToken.END_ARRAY, r.nextToken());
+            }
+            assertNull(r.nextToken());
+            assertTrue(r.isClosed());
+        }
+    }
+
+    public void testSkipChildren() throws IOException
+    {
+        byte[] data = cborDoc("{ \"a\" : [ 1, { \"b\" : \"text\" } ], \"c\" : { \"d\" : true } }");
+        data = Arrays.copyOf(data, data.length + 1);
+        data[data.length - 1] = 0x07; // and another root value
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, data.length, data, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("a", r.currentName());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        r.parser().skipChildren();
+        assertToken(JsonToken.END_ARRAY, r.currentToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        assertEquals("c", r.currentName());
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        r.parser().skipChildren();
+        assertToken(JsonToken.END_OBJECT, r.currentToken());
+        assertToken(JsonToken.END_OBJECT, r.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+        assertEquals(7, r.getIntValue());
+        r.close();
+    }
+
+    public void testLargeDeclaredLength() throws IOException
+    {
+        // Binary value claiming to be almost 2 GB long, with little actual content
+        NonBlockingParserBase p = (NonBlockingParserBase) MAPPER.reader().createNonBlockingByteArrayParser();
+        ByteArrayFeeder feeder = (ByteArrayFeeder) p.getNonBlockingInputFeeder();
+        byte[] doc = new byte[] { 0x5A, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1, 2, 3 };
+        feeder.feedInput(doc, 0, doc.length);
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        // only content received so far needs to be buffered
+        assertTrue(p._inputCopy.length < 100000);
+        feeder.endOfInput();
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unexpected end-of-input");
+        }
+        p.close();
+    }
+
+    public void testLongValueAcrossFeeds() throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30000; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        final String text = sb.toString();
+        byte[] data = cborDoc("[ \""+text+"\", \""+text+"\" ]");
+        for (int bytesPerRead : new int[] { 7, 1000 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, bytesPerRead, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals(text, r.currentText());
+            assertToken(JsonToken.VALUE_STRING, r.nextToken());
+            assertEquals(text, r.currentText());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+            r.close();
+        }
+    }
+
+    public void testTruncatedContent() throws IOException
+    {
+        byte[] data = cborDoc("{ \"abc\" : \"defgh\" }");
+        // drop last 2 bytes, in the middle of String value
+        data = Arrays.copyOf(data, data.length - 2);
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, 3, data, 0);
+        assertToken(JsonToken.START_OBJECT, r.nextToken());
+        assertToken(JsonToken.FIELD_NAME, r.nextToken());
+        try {
+            r.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unexpected end-of-input");
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.fasterxml.jackson.dataformat.cbor.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORConstants;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+public class SimpleScalarArrayTest extends AsyncTestBase
+{
+    private final ObjectMapper MAPPER = cborMapper();
+
+    /*
+    /**********************************************************************
+    /* Boolean, int, long tests
+    /**********************************************************************
+     */
+
+    public void testBooleansAndNull() throws IOException
+    {
+        byte[] data = cborDoc("[ true, false, null, true, false ]");
+
+        _testBooleans(data, 0, 100);
+        _testBooleans(data, 0, 3);
+        _testBooleans(data, 0, 1);
+
+        _testBooleans(data, 1, 100);
+        _testBooleans(data, 1, 3);
+        _testBooleans(data, 1, 1);
+    }
+
+    private void _testBooleans(byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        // start with "no token"
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+        assertToken(JsonToken.VALUE_NULL, r.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, r.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, r.nextToken());
+
+        assertEquals("false", r.currentText());
+        assertEquals("false", r.currentTextViaCharacters());
+
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+
+        // and end up with "no token" as well
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testInts() throws IOException
+    {
+        final int[] input = new int[] { 1, -1, 16, -17, 24, -25, 131, -155, 1000, -3000, 0xFFFF, -99999,
+                Integer.MIN_VALUE, 0, Integer.MAX_VALUE };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testInts(input, data, 0, 100);
+        _testInts(input, data, 0, 3);
+        _testInts(input, data, 0, 1);
+
+        _testInts(input, data, 1, 100);
+        _testInts(input, data, 1, 3);
+        _testInts(input, data, 1, 1);
+    }
+
+    private void _testInts(int[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(values[i], r.getIntValue());
+            assertEquals(NumberType.INT, r.getNumberType());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testLongs() throws IOException
+    {
+        final long[] input = new long[] {
+                -1L + Integer.MIN_VALUE, 1L + Integer.MAX_VALUE,
+                19L * Integer.MIN_VALUE, 27L * Integer.MAX_VALUE,
+                Long.MIN_VALUE, Long.MAX_VALUE };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testLongs(input, data, 0, 100);
+        _testLongs(input, data, 0, 3);
+        _testLongs(input, data, 0, 1);
+
+        _testLongs(input, data, 1, 100);
+        _testLongs(input, data, 1, 3);
+        _testLongs(input, data, 1, 1);
+    }
+
+    private void _testLongs(long[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(values[i], r.getLongValue());
+            assertEquals(NumberType.LONG, r.getNumberType());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testBigIntegers() throws IOException
+    {
+        BigInteger bigBase = BigInteger.valueOf(Long.MAX_VALUE);
+        final BigInteger[] input = new BigInteger[] {
+                bigBase.shiftLeft(100).add(BigInteger.valueOf(123456789L)),
+                bigBase.add(bigBase),
+                bigBase.multiply(BigInteger.valueOf(17)),
+                bigBase.negate().subtract(BigInteger.TEN)
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testBigIntegers(input, data, 0, 100);
+        _testBigIntegers(input, data, 0, 3);
+        _testBigIntegers(input, data, 0, 1);
+
+        _testBigIntegers(input, data, 1, 100);
+        _testBigIntegers(input, data, 1, 3);
+        _testBigIntegers(input, data, 1, 1);
+    }
+
+    private void _testBigIntegers(BigInteger[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(NumberType.BIG_INTEGER, r.getNumberType());
+            assertEquals(values[i], r.getBigIntegerValue());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    /*
+    /**********************************************************************
+    /* Floating point tests
+    /**********************************************************************
+     */
+
+    public void testFloats() throws IOException
+    {
+        final float[] input = new float[] { 0.0f, 0.25f, -0.5f, 10000.125f, - 99999.075f };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testFloats(input, data, 0, 100);
+        _testFloats(input, data, 0, 3);
+        _testFloats(input, data, 0, 1);
+
+        _testFloats(input, data, 1, 100);
+        _testFloats(input, data, 1, 3);
+        _testFloats(input, data, 1, 1);
+    }
+
+    private void _testFloats(float[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(values[i], r.getFloatValue());
+            assertEquals(NumberType.FLOAT, r.getNumberType());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    public void testDoubles() throws IOException
+    {
+        final double[] input = new double[] { 0.0, 0.25, -0.5, 10000.125, -99999.075 };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testDoubles(input, data, 0, 100);
+        _testDoubles(input, data, 0, 3);
+        _testDoubles(input, data, 0, 1);
+
+        _testDoubles(input, data, 1, 100);
+        _testDoubles(input, data, 1, 3);
+        _testDoubles(input, data, 1, 1);
+    }
+
+    private void _testDoubles(double[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(values[i], r.getDoubleValue());
+            assertEquals(NumberType.DOUBLE, r.getNumberType());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    // Half-precision floats are not produced by generator so use hand-crafted doc
+    public void testHalfFloats() throws IOException
+    {
+        final byte[] data = new byte[] { (byte) 0x82,
+                (byte) 0xF9, (byte) 0x3C, 0x00, // 1.0
+                (byte) 0xF9, (byte) 0xC4, 0x00 // -4.0
+        };
+        for (int readSize : new int[] { 1, 2, 3, 100 }) {
+            AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, 0);
+            assertToken(JsonToken.START_ARRAY, r.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(1.0f, r.getFloatValue());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(-4.0f, r.getFloatValue());
+            assertToken(JsonToken.END_ARRAY, r.nextToken());
+            assertNull(r.nextToken());
+        }
+    }
+
+    public void testBigDecimals() throws IOException
+    {
+        BigDecimal bigBase = new BigDecimal("1234567890344656736.125");
+        final BigDecimal[] input = new BigDecimal[] {
+                BigDecimal.ZERO,
+                new BigDecimal("0.25"),
+                new BigDecimal("-17.0125"),
+                bigBase,
+                bigBase.negate(),
+                bigBase.multiply(bigBase).multiply(bigBase)
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < input.length; ++i) {
+                g.writeNumber(input[i]);
+            }
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testBigDecimals(input, data, 0, 100);
+        _testBigDecimals(input, data, 0, 3);
+        _testBigDecimals(input, data, 0, 1);
+
+        _testBigDecimals(input, data, 1, 100);
+        _testBigDecimals(input, data, 1, 3);
+        _testBigDecimals(input, data, 1, 1);
+    }
+
+    private void _testBigDecimals(BigDecimal[] values, byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        for (int i = 0; i < values.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(NumberType.BIG_DECIMAL, r.getNumberType());
+            assertEquals(values[i], r.getBigDecimalValue());
+            assertEquals(4, ((CBORParser) r.parser()).getCurrentTag());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+
+    /*
+    /**********************************************************************
+    /* Typed array tests
+    /**********************************************************************
+     */
+
+    public void testTypedArrays() throws IOException
+    {
+        final ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPED_ARRAYS)
+                .build());
+        final int[] ints = new int[] { 1, -1, 0x12345678, Integer.MIN_VALUE };
+        final double[] doubles = new double[] { 0.25, -1.5, Math.E };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = mapper.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeArray(ints, 0, ints.length);
+            g.writeArray(doubles, 0, doubles.length);
+            g.writeEndArray();
+        }
+        byte[] data = bytes.toByteArray();
+        _testTypedArrays(ints, doubles, data, 0, 100);
+        _testTypedArrays(ints, doubles, data, 0, 3);
+        _testTypedArrays(ints, doubles, data, 0, 1);
+
+        _testTypedArrays(ints, doubles, data, 1, 100);
+        _testTypedArrays(ints, doubles, data, 1, 3);
+        _testTypedArrays(ints, doubles, data, 1, 1);
+    }
+
+    private void _testTypedArrays(int[] ints, double[] doubles,
+            byte[] data, int offset, int readSize) throws IOException
+    {
+        AsyncReaderWrapper r = asyncForBytes(MAPPER, readSize, data, offset);
+        assertNull(r.currentToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertEquals(CBORConstants.TAG_TYPED_ARRAY_SINT32_BE, ((CBORParser) r.parser()).getCurrentTag());
+        for (int i = 0; i < ints.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, r.nextToken());
+            assertEquals(NumberType.INT, r.getNumberType());
+            assertEquals(ints[i], r.getIntValue());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertToken(JsonToken.START_ARRAY, r.nextToken());
+        assertEquals(CBORConstants.TAG_TYPED_ARRAY_FLOAT64_BE, ((CBORParser) r.parser()).getCurrentTag());
+        for (int i = 0; i < doubles.length; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, r.nextToken());
+            assertEquals(NumberType.DOUBLE, r.getNumberType());
+            assertEquals(doubles[i], r.getDoubleValue());
+        }
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertToken(JsonToken.END_ARRAY, r.nextToken());
+        assertNull(r.nextToken());
+        assertTrue(r.isClosed());
+    }
+}
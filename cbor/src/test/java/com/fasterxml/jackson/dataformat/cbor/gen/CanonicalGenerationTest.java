@@ -0,0 +1,176 @@
+package com.fasterxml.jackson.dataformat.cbor.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for "deterministic" encoding enabled with
+ * {@link CBORGenerator.Feature#WRITE_CANONICAL}.
+ */
+public class CanonicalGenerationTest extends CBORTestBase
+{
+    private final ObjectMapper CANONICAL_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_CANONICAL)
+            .build());
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testSortedKeys() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) CANONICAL_MAPPER.createGenerator(bytes)) {
+            g.writeStartObject();
+            g.writeFieldName("aa");
+            g.writeNumber(1);
+            g.writeFieldName("b");
+            g.writeNumber(2);
+            g.writeFieldId(-1);
+            g.writeNumber(3);
+            g.writeFieldName("a");
+            g.writeStartArray();
+            g.writeBoolean(true);
+            g.writeEndArray();
+            g.writeFieldId(10);
+            g.writeNumber(4);
+            g.writeEndObject();
+        }
+        // keys in bytewise order: 10, -1, "a", "b", "aa"
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0xA5,
+                0x0A, 0x04,
+                0x20, 0x03,
+                0x61, 'a', (byte) 0x81, (byte) 0xF5,
+                0x61, 'b', 0x02,
+                0x62, 'a', 'a', 0x01
+        });
+    }
+
+    public void testOrderIndependence() throws Exception
+    {
+        Map<String, Object> first = new LinkedHashMap<>();
+        Map<String, Object> second = new LinkedHashMap<>();
+        final String[] keys = new String[] { "zeta", "alpha", "id", "x", "nested", "count" };
+        for (int i = 0; i < keys.length; ++i) {
+            first.put(keys[i], _value(i));
+            String key = keys[keys.length - 1 - i];
+            second.put(key, _value(Arrays.asList(keys).indexOf(key)));
+        }
+        assertFalse(Arrays.equals(MAPPER.writeValueAsBytes(first), MAPPER.writeValueAsBytes(second)));
+
+        byte[] doc1 = CANONICAL_MAPPER.writeValueAsBytes(first);
+        byte[] doc2 = CANONICAL_MAPPER.writeValueAsBytes(second);
+        _verifyBytes(doc2, doc1);
+        // and regular readers can read it
+        assertEquals(first, MAPPER.readValue(doc1, Map.class));
+    }
+
+    private Object _value(int index) {
+        switch (index % 3) {
+        case 0:
+            return index * 1000;
+        case 1:
+            Map<String, Object> nested = new LinkedHashMap<>();
+            nested.put("value", true);
+            nested.put("key", "k" + index);
+            return nested;
+        default:
+            return Arrays.asList("a", index);
+        }
+    }
+
+    public void testDefiniteLengths() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = CANONICAL_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeStartArray();
+            g.writeEndArray();
+            g.writeStartObject();
+            g.writeEndObject();
+            g.writeString("abc");
+            g.writeEndArray();
+        }
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0x83, (byte) 0x80, (byte) 0xA0, 0x63, 'a', 'b', 'c'
+        });
+
+        // including long Strings that would otherwise be chunked
+        char[] chars = new char[10000];
+        Arrays.fill(chars, 'x');
+        final String longText = new String(chars);
+        bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = CANONICAL_MAPPER.createGenerator(bytes)) {
+            g.writeString(longText);
+        }
+        byte[] doc = bytes.toByteArray();
+        assertEquals(3 + chars.length, doc.length);
+        _verifyBytes(Arrays.copyOfRange(doc, 0, 3), new byte[] { 0x79, 0x27, 0x10 });
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(longText, p.getText());
+        }
+    }
+
+    public void testShortestNumbers() throws Exception
+    {
+        ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_CANONICAL)
+                .disable(CBORGenerator.Feature.WRITE_MINIMAL_INTS)
+                .build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = mapper.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeNumber(1);
+            g.writeNumber(1.5);
+            g.writeNumber(BigInteger.valueOf(-500));
+            g.writeEndArray();
+        }
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0x83,
+                0x01,
+                (byte) 0xF9, 0x3E, 0x00,
+                0x39, 0x01, (byte) 0xF3
+        });
+    }
+
+    public void testLargeContent() throws Exception
+    {
+        // Enough content to require flushing of buffered content
+        Map<String, Object> input = new TreeMap<>();
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("name", "entry #" + i);
+            entry.put("index", i);
+            entry.put("tags", Arrays.asList("tag" + (i % 7), "other"));
+            list.add(entry);
+        }
+        input.put("entries", list);
+        input.put("count", list.size());
+        byte[] doc = CANONICAL_MAPPER.writeValueAsBytes(input);
+        assertEquals(MAPPER.readValue(MAPPER.writeValueAsBytes(input), Map.class),
+                MAPPER.readValue(doc, Map.class));
+        // and ordering of input must not change result
+        assertTrue(Arrays.equals(doc, CANONICAL_MAPPER.writeValueAsBytes(new LinkedHashMap<>(input))));
+
+        // finally, verify there are no indefinite-length values
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals(2, ((CBORReadContext) p.getParsingContext()).getExpectedLength());
+            assertEquals("count", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals("entries", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals(3000, ((CBORReadContext) p.getParsingContext()).getExpectedLength());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("name", p.nextFieldName());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.fasterxml.jackson.dataformat.cbor.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for back-patching of definite lengths enabled with
+ * {@link CBORGenerator.Feature#WRITE_DEFINITE_LENGTHS}.
+ */
+public class DefiniteLengthGenerationTest extends CBORTestBase
+{
+    private final ObjectMapper DEFINITE_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build());
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testSmallContainers() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = DEFINITE_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeNumber(1);
+            g.writeStartObject();
+            g.writeFieldName("a");
+            g.writeBoolean(true);
+            g.writeEndObject();
+            g.writeStartArray();
+            g.writeEndArray();
+            g.writeEndArray();
+        }
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0x83,
+                0x01,
+                (byte) 0xA1, 0x61, 'a', (byte) 0xF5,
+                (byte) 0x80
+        });
+    }
+
+    public void testLongerContainers() throws Exception
+    {
+        // lengths that need 1 and 2 additional bytes, nested
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = DEFINITE_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeStartObject();
+            for (int i = 0; i < 30; ++i) {
+                g.writeFieldName("f" + i);
+                g.writeNumber(i);
+            }
+            g.writeEndObject();
+            g.writeStartArray();
+            for (int i = 0; i < 300; ++i) {
+                g.writeBoolean(false);
+            }
+            g.writeEndArray();
+            g.writeString("end");
+            g.writeEndArray();
+        }
+        byte[] doc = bytes.toByteArray();
+        _verifyBytes(Arrays.copyOfRange(doc, 0, 3), new byte[] { (byte) 0x83, (byte) 0xB8, 30 });
+
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals(30, ((CBORReadContext) p.getParsingContext()).getExpectedLength());
+            for (int i = 0; i < 30; ++i) {
+                assertEquals("f" + i, p.nextFieldName());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(i, p.getIntValue());
+            }
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals(300, ((CBORReadContext) p.getParsingContext()).getExpectedLength());
+            for (int i = 0; i < 300; ++i) {
+                assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+            }
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("end", p.getText());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+
+        bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = DEFINITE_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < 70000; ++i) {
+                g.writeNull();
+            }
+            g.writeEndArray();
+        }
+        // too big to fit in output buffer: must use indefinite length
+        doc = bytes.toByteArray();
+        assertEquals(70002, doc.length);
+        assertEquals((byte) 0x9F, doc[0]);
+        assertEquals((byte) 0xFF, doc[doc.length-1]);
+    }
+
+    public void testDatabind() throws Exception
+    {
+        Map<String, Object> input = new LinkedHashMap<>();
+        for (int i = 0; i < 40; ++i) {
+            input.put("key" + i, Arrays.asList(i, "value" + i));
+        }
+        input.put("iterator", new LinkedHashSet<>(input.keySet()).iterator());
+        byte[] doc = DEFINITE_MAPPER.writeValueAsBytes(input);
+        // whether databind passes sizes or not, no BREAK markers should be needed
+        for (byte b : doc) {
+            assertFalse(b == CBORConstants.BYTE_BREAK);
+        }
+        Map<?,?> result = MAPPER.readValue(doc, Map.class);
+        assertEquals(41, result.size());
+        assertEquals(Arrays.asList(3, "value3"), result.get("key3"));
+        assertEquals(40, ((List<?>) result.get("iterator")).size());
+    }
+}
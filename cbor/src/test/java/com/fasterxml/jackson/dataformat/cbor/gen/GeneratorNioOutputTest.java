@@ -0,0 +1,208 @@
+package com.fasterxml.jackson.dataformat.cbor.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for generators constructed for NIO output targets,
+ * {@link WritableByteChannel}s and {@link ByteBuffer}s.
+ */
+public class GeneratorNioOutputTest extends CBORTestBase
+{
+    private final CBORFactory F = cborFactory();
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testChannelOutput() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel ch = Channels.newChannel(bytes);
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), ch)) {
+            assertSame(ch, g.getOutputTarget());
+            _writeDocument(g, 100000);
+        }
+        _verifyBytes(bytes.toByteArray(), _document(100000));
+        assertFalse(ch.isOpen());
+    }
+
+    public void testNonBlockingChannel() throws Exception
+    {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.sink().configureBlocking(false);
+            try {
+                F.createGenerator(ObjectWriteContext.empty(), pipe.sink());
+                fail("Should not pass");
+            } catch (IllegalArgumentException e) {
+                verifyException(e, "non-blocking channel");
+            }
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+
+        // and channels that do not accept content should fail, not hang
+        WritableByteChannel ch = new WritableByteChannel() {
+            @Override
+            public boolean isOpen() { return true; }
+
+            @Override
+            public void close() { }
+
+            @Override
+            public int write(ByteBuffer src) { return 0; }
+        };
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), ch)) {
+            g.writeBinary(new byte[100000]);
+            g.flush();
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "wrote 0 bytes");
+        }
+    }
+
+    public void testExpandingByteBuffer() throws Exception
+    {
+        final byte[] exp = _document(30000);
+        ByteBuffer result;
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), ByteBuffer.allocate(16),
+                buf -> {
+                    ByteBuffer bigger = ByteBuffer.allocate(buf.capacity() * 2);
+                    buf.flip();
+                    bigger.put(buf);
+                    return bigger;
+                })) {
+            _writeDocument(g, 30000);
+            g.flush();
+            result = (ByteBuffer) g.getOutputTarget();
+        }
+        assertEquals(exp.length, result.position());
+        byte[] actual = new byte[result.position()];
+        result.flip();
+        result.get(actual);
+        _verifyBytes(actual, exp);
+    }
+
+    public void testGatheringByteBuffers() throws Exception
+    {
+        final byte[] exp = _document(20000);
+        final List<ByteBuffer> full = new ArrayList<>();
+        ByteBuffer last;
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), ByteBuffer.allocateDirect(1000),
+                buf -> {
+                    buf.flip();
+                    full.add(buf);
+                    return ByteBuffer.allocateDirect(1000);
+                })) {
+            _writeDocument(g, 20000);
+            g.flush();
+            last = (ByteBuffer) g.getOutputTarget();
+        }
+        last.flip();
+        full.add(last);
+        assertEquals((exp.length + 999) / 1000, full.size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel ch = Channels.newChannel(bytes);
+        for (ByteBuffer buf : full) {
+            ch.write(buf);
+        }
+        _verifyBytes(bytes.toByteArray(), exp);
+    }
+
+    public void testFixedByteBuffer() throws Exception
+    {
+        ByteBuffer buf = ByteBuffer.allocate(100);
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), buf, null)) {
+            g.writeStartArray();
+            g.writeString("abc");
+            g.writeEndArray();
+        }
+        _verifyBytes(Arrays.copyOf(buf.array(), buf.position()), new byte[] {
+                (byte) 0x9F, 0x63, 'a', 'b', 'c', (byte) 0xFF
+        });
+
+        buf = ByteBuffer.allocate(100);
+        try (JsonGenerator g = F.createGenerator(ObjectWriteContext.empty(), buf, null)) {
+            g.writeBinary(new byte[200]);
+            g.flush();
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Output ByteBuffer full");
+        }
+    }
+
+    public void testLongBinaryWithDefiniteLengths() throws Exception
+    {
+        // Long Binary values are written through, bypassing output buffer:
+        // must still work with features that rely on buffering
+        final byte[] data = new byte[50000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte) (i * 7);
+        }
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("data", data);
+        input.put("id", 3);
+        for (CBORGenerator.Feature f : new CBORGenerator.Feature[] {
+                CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS,
+                CBORGenerator.Feature.WRITE_CANONICAL }) {
+            ObjectMapper mapper = new CBORMapper(CBORFactory.builder().enable(f).build());
+            byte[] doc = mapper.writeValueAsBytes(Arrays.asList(input, "end"));
+            try (JsonParser p = cborParser(doc)) {
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                String name = p.nextFieldName();
+                if (f == CBORGenerator.Feature.WRITE_CANONICAL) {
+                    // sorted, shorter key first
+                    assertEquals("id", name);
+                    assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                    name = p.nextFieldName();
+                }
+                assertEquals("data", name);
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+                assertTrue(Arrays.equals(data, p.getBinaryValue()));
+            }
+            List<?> result = MAPPER.readValue(doc, List.class);
+            assertEquals("end", result.get(1));
+            assertEquals(Integer.valueOf(3), ((Map<?,?>) result.get(0)).get("id"));
+        }
+    }
+
+    private byte[] _document(int binaryLength) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            _writeDocument(g, binaryLength);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void _writeDocument(JsonGenerator g, int binaryLength) throws Exception
+    {
+        byte[] data = new byte[binaryLength];
+        for (int i = 0; i < binaryLength; ++i) {
+            data[i] = (byte) i;
+        }
+        g.writeStartObject();
+        g.writeFieldName("values");
+        g.writeStartArray();
+        for (int i = 0; i < 500; ++i) {
+            g.writeString("value #"+i);
+        }
+        g.writeEndArray();
+        g.writeFieldName("data");
+        g.writeBinary(data);
+        g.writeEndObject();
+    }
+}
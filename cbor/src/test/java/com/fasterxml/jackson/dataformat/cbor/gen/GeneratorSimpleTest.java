@@ -8,6 +8,7 @@ import java.util.*;
 import org.junit.Assert;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonToken;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -233,6 +234,70 @@ public class GeneratorSimpleTest extends CBORTestBase
                 (byte) rawL);
     }
 
+    public void testMinimalFloatValues() throws Exception
+    {
+        // half-precision is enough for small integers and halves
+        _verifyBytes(_writeMinimalFloat(1.5), CBORConstants.BYTE_FLOAT16, (byte) 0x3E, (byte) 0x00);
+        _verifyBytes(_writeMinimalFloat(-0.0), CBORConstants.BYTE_FLOAT16, (byte) 0x80, (byte) 0x00);
+        _verifyBytes(_writeMinimalFloat(65504.0), CBORConstants.BYTE_FLOAT16, (byte) 0x7B, (byte) 0xFF);
+        // smallest "subnormal" half-precision value
+        _verifyBytes(_writeMinimalFloat(Math.pow(2, -24)), CBORConstants.BYTE_FLOAT16, (byte) 0x00, (byte) 0x01);
+        _verifyBytes(_writeMinimalFloat(Double.NEGATIVE_INFINITY),
+                CBORConstants.BYTE_FLOAT16, (byte) 0xFC, (byte) 0x00);
+        _verifyBytes(_writeMinimalFloat(Double.NaN), CBORConstants.BYTE_FLOAT16, (byte) 0x7E, (byte) 0x00);
+
+        // single-precision for values that have exact 32-bit representation
+        _verifyBytes(_writeMinimalFloat(100000.0), CBORConstants.BYTE_FLOAT32,
+                (byte) 0x47, (byte) 0xC3, (byte) 0x50, (byte) 0x00);
+        _verifyBytes(_writeMinimalFloat(1.0 / 1024.0 / 1024.0 / 1024.0), CBORConstants.BYTE_FLOAT32,
+                (byte) 0x30, (byte) 0x80, (byte) 0x00, (byte) 0x00);
+
+        // and full 64 bits for others
+        assertEquals(9, _writeMinimalFloat(0.1).length);
+        assertEquals(9, _writeMinimalFloat(1.0e300).length);
+
+        // also applies to 'float' values, as well as values in arrays
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CBORGenerator gen = (CBORGenerator) MAPPER.writer()
+                .with(CBORGenerator.Feature.WRITE_MINIMAL_FLOATS)
+                .createGenerator(out)) {
+            gen.writeNumber(0.25f);
+            gen.writeArray(new double[] { 2.0, 0.1 }, 0, 2);
+        }
+        byte[] encoded = out.toByteArray();
+        assertEquals(3 + 1 + 3 + 9, encoded.length);
+
+        CBORParser p = cborParser(encoded);
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.25f, p.getFloatValue());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(2.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.1, p.getDoubleValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private byte[] _writeMinimalFloat(double d) throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CBORGenerator gen = (CBORGenerator) MAPPER.writer()
+                .with(CBORGenerator.Feature.WRITE_MINIMAL_FLOATS)
+                .createGenerator(out)) {
+            assertTrue(gen.isEnabled(CBORGenerator.Feature.WRITE_MINIMAL_FLOATS));
+            gen.writeNumber(d);
+        }
+        byte[] encoded = out.toByteArray();
+        // should always read back as the same value
+        try (CBORParser p = cborParser(encoded)) {
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(Double.doubleToLongBits(d), Double.doubleToLongBits(p.getDoubleValue()));
+        }
+        return encoded;
+    }
+
     // [dataformats-binary#139]: wrong encoding of BigDecimal
     public void testBigDecimalValues() throws Exception
     {
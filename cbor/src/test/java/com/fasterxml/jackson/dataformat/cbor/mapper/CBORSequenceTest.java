@@ -0,0 +1,130 @@
+package com.fasterxml.jackson.dataformat.cbor.mapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORSequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ByteOutputStreamForTesting;
+
+/**
+ * Tests for reading and writing of "CBOR Sequences" (RFC 8742).
+ */
+public class CBORSequenceTest extends CBORTestBase
+{
+    static class LogEntry {
+        public long timestamp;
+        public String level;
+        public String message;
+
+        protected LogEntry() { }
+        public LogEntry(long ts, String l, String msg) {
+            timestamp = ts;
+            level = l;
+            message = msg;
+        }
+    }
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testSimpleSequence() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SequenceWriter w = MAPPER.writeSequence(bytes)) {
+            w.write(1);
+            w.write("abc");
+            w.write(Collections.singletonMap("a", true));
+        }
+        byte[] doc = bytes.toByteArray();
+        // no framing, just concatenated items
+        _verifyBytes(doc, new byte[] {
+                0x01,
+                0x63, 'a', 'b', 'c',
+                (byte) 0xBF, 0x61, 'a', (byte) 0xF5, (byte) 0xFF
+        });
+
+        try (MappingIterator<Object> it = MAPPER.readSequence(Object.class, doc, 0, doc.length)) {
+            assertEquals(Integer.valueOf(1), it.nextValue());
+            assertEquals("abc", it.nextValue());
+            assertEquals(Collections.singletonMap("a", true), it.nextValue());
+            assertFalse(it.hasNextValue());
+        }
+    }
+
+    public void testSequenceOfArrays() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SequenceWriter w = MAPPER.writeSequence(bytes)) {
+            w.write(new int[] { 1, 2 });
+            w.write("x");
+            w.write(new int[0]);
+            w.write(new int[] { 3 });
+        }
+        byte[] doc = bytes.toByteArray();
+        // Arrays must not be unwrapped, whether first item or not
+        try (MappingIterator<int[]> it = MAPPER.readSequence(int[].class,
+                new ByteArrayInputStream(doc))) {
+            assertEquals("[1, 2]", Arrays.toString(it.nextValue()));
+        }
+        try (MappingIterator<Object> it = MAPPER.readSequence(Object.class, doc, 0, doc.length)) {
+            assertEquals(Arrays.asList(1, 2), it.nextValue());
+            assertEquals("x", it.nextValue());
+            assertEquals(Collections.emptyList(), it.nextValue());
+            assertEquals(Arrays.asList(3), it.nextValue());
+            assertFalse(it.hasNextValue());
+        }
+    }
+
+    public void testFlushInterval() throws Exception
+    {
+        ByteOutputStreamForTesting bytes = new ByteOutputStreamForTesting();
+        try (CBORSequenceWriter w = MAPPER.writeSequence(bytes, 10)) {
+            for (int i = 0; i < 25; ++i) {
+                w.write(i);
+            }
+            assertEquals(2, bytes.flushCount);
+            // all flushed items written out
+            assertEquals(20, bytes.size());
+        }
+        // one byte per value, except 2 for the last one
+        assertEquals(26, bytes.toByteArray().length);
+
+        try {
+            MAPPER.writeSequence(bytes, 0);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "must be positive");
+        }
+    }
+
+    public void testLongerSequence() throws Exception
+    {
+        final int COUNT = 20000;
+        ByteOutputStreamForTesting bytes = new ByteOutputStreamForTesting();
+        try (SequenceWriter w = MAPPER.writeSequence(bytes)) {
+            for (int i = 0; i < COUNT; ++i) {
+                w.write(new LogEntry(1000L + i, (i % 10 == 0) ? "WARN" : "INFO", "Message #"+i));
+            }
+            // output is not flushed after each item
+            assertEquals(0, bytes.flushCount);
+        }
+        byte[] doc = bytes.toByteArray();
+
+        int count = 0;
+        try (MappingIterator<LogEntry> it = MAPPER.readSequence(LogEntry.class,
+                new ByteArrayInputStream(doc))) {
+            while (it.hasNextValue()) {
+                LogEntry entry = it.nextValue();
+                assertEquals(1000L + count, entry.timestamp);
+                assertEquals("Message #"+count, entry.message);
+                ++count;
+            }
+        }
+        assertEquals(COUNT, count);
+    }
+}
@@ -0,0 +1,123 @@
+package com.fasterxml.jackson.dataformat.cbor.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORTestBase;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for reading of integer-valued property names, as used by
+ * COSE keys and headers, for example.
+ */
+public class IntegerKeyReadTest extends CBORTestBase
+{
+    // Simplified COSE_Key
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class CoseKey {
+        @JsonProperty("1")
+        public int kty;
+
+        @JsonProperty("3")
+        public int alg;
+
+        @JsonProperty("-1")
+        public int crv;
+
+        @JsonProperty("-2")
+        public byte[] x;
+    }
+
+    static class CoseKeyWrapper {
+        public CoseKey key1, key2;
+    }
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testBeanWithIntKeys() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) MAPPER.createGenerator(bytes)) {
+            g.writeStartObject();
+            g.writeFieldName("key1");
+            _writeKey(g, 1);
+            g.writeFieldName("key2");
+            _writeKey(g, 2);
+            g.writeEndObject();
+        }
+        CoseKeyWrapper result = MAPPER.readValue(bytes.toByteArray(), CoseKeyWrapper.class);
+        _verifyKey(result.key1, 1);
+        _verifyKey(result.key2, 2);
+    }
+
+    private void _writeKey(CBORGenerator g, int index) throws Exception
+    {
+        g.writeStartObject();
+        g.writeFieldId(1);
+        g.writeNumber(2);
+        g.writeFieldId(3);
+        g.writeNumber(-7);
+        g.writeFieldId(-1);
+        g.writeNumber(index);
+        g.writeFieldId(-2);
+        g.writeBinary(new byte[] { (byte) index });
+        // unknown ones should be skipped
+        g.writeFieldId(-24);
+        g.writeNull();
+        g.writeFieldId(1000);
+        g.writeNull();
+        g.writeEndObject();
+    }
+
+    private void _verifyKey(CoseKey key, int index)
+    {
+        assertEquals(2, key.kty);
+        assertEquals(-7, key.alg);
+        assertEquals(index, key.crv);
+        assertEquals(1, key.x.length);
+        assertEquals(index, key.x[0]);
+    }
+
+    public void testSharedNames() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) MAPPER.createGenerator(bytes)) {
+            for (int i = 0; i < 2; ++i) {
+                g.writeStartObject();
+                g.writeFieldId(17);
+                g.writeNumber(i);
+                g.writeFieldId(-300);
+                g.writeNumber(i);
+                g.writeEndObject();
+            }
+        }
+        final byte[] doc = bytes.toByteArray();
+        String name1, name2;
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            name1 = p.currentName();
+            assertEquals("17", name1);
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("-300", p.currentName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            name2 = p.currentName();
+        }
+        // small values use shared instances
+        assertSame(name1, name2);
+
+        Map<?,?> result = MAPPER.readValue(doc, Map.class);
+        assertEquals(Integer.valueOf(0), result.get("17"));
+        assertEquals(Integer.valueOf(0), result.get("-300"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.fasterxml.jackson.dataformat.cbor.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORValueSpliterator;
+
+/**
+ * Tests for splitting of root-level Arrays and CBOR Sequences for
+ * parallel decoding.
+ */
+public class ParallelReadTest extends CBORTestBase
+{
+    static class Record {
+        public int id;
+        public String name;
+        public byte[] data;
+        public List<Object> values;
+
+        protected Record() { }
+        public Record(int id) {
+            this.id = id;
+            name = "record #"+id;
+            data = new byte[id % 40];
+            values = Arrays.asList(id, 0.5 * id, Collections.singletonMap("nested", "x"+id));
+        }
+    }
+
+    private final static int COUNT = 3000;
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    private final CBORMapper DEFINITE_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build());
+
+    public void testIndefiniteLengthArray() throws Exception
+    {
+        byte[] doc = MAPPER.writeValueAsBytes(_records());
+        assertEquals((byte) 0x9F, doc[0]);
+        _verifyRecords(MAPPER.readArrayInParallel(Record.class, doc)
+                .collect(Collectors.toList()));
+
+        CBORValueSpliterator<Record> split = CBORValueSpliterator.forArray(
+                MAPPER.readerFor(Record.class), ByteBuffer.wrap(doc));
+        assertEquals(COUNT, split.getValueCount());
+        assertEquals(COUNT, split.estimateSize());
+        assertNotNull(split.trySplit());
+        assertEquals(COUNT / 2, split.estimateSize());
+    }
+
+    public void testDefiniteLengthArray() throws Exception
+    {
+        byte[] doc = DEFINITE_MAPPER.writeValueAsBytes(_records());
+        _verifyRecords(MAPPER.readArrayInParallel(Record.class, doc)
+                .collect(Collectors.toList()));
+
+        // as well as from direct buffer
+        ByteBuffer input = ByteBuffer.allocateDirect(doc.length);
+        input.put(doc);
+        input.flip();
+        _verifyRecords(MAPPER.readArrayInParallel(Record.class, input)
+                .collect(Collectors.toList()));
+    }
+
+    public void testSequence() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SequenceWriter w = MAPPER.writeSequence(bytes)) {
+            for (Record r : _records()) {
+                w.write(r);
+            }
+        }
+        _verifyRecords(MAPPER.readSequenceInParallel(Record.class, bytes.toByteArray())
+                .collect(Collectors.toList()));
+    }
+
+    public void testNonSplittable() throws Exception
+    {
+        // Strings may refer to earlier values within stringref namespace
+        CBORMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build());
+        byte[] doc = mapper.writeValueAsBytes(_records());
+        assertNull(CBORValueSpliterator.forArray(MAPPER.readerFor(Record.class),
+                ByteBuffer.wrap(doc)));
+        _verifyRecords(MAPPER.readArrayInParallel(Record.class, doc)
+                .collect(Collectors.toList()));
+    }
+
+    public void testTruncatedContent() throws Exception
+    {
+        byte[] doc = MAPPER.writeValueAsBytes(_records());
+        doc = Arrays.copyOf(doc, doc.length / 2);
+        try {
+            MAPPER.readArrayInParallel(Record.class, doc).collect(Collectors.toList());
+            fail("Should not pass");
+        } catch (UncheckedIOException e) {
+            verifyException(e.getCause(), "end-of-input");
+        }
+    }
+
+    private List<Record> _records() {
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < COUNT; ++i) {
+            records.add(new Record(i));
+        }
+        return records;
+    }
+
+    private void _verifyRecords(List<Record> result) {
+        assertEquals(COUNT, result.size());
+        for (int i = 0; i < COUNT; ++i) {
+            Record r = result.get(i);
+            assertEquals(i, r.id);
+            assertEquals("record #"+i, r.name);
+            assertEquals(i % 40, r.data.length);
+            assertEquals(3, r.values.size());
+            assertEquals(Collections.singletonMap("nested", "x"+i), r.values.get(2));
+        }
+    }
+}
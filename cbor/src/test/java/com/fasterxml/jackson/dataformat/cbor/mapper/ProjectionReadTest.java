@@ -0,0 +1,279 @@
+package com.fasterxml.jackson.dataformat.cbor.mapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for structural skipping of Arrays and Objects, and reading of
+ * projections of documents.
+ */
+public class ProjectionReadTest extends CBORTestBase
+{
+    static class Header {
+        public String id;
+        public int version;
+    }
+
+    static class Document {
+        public Header header;
+    }
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    private final CBORMapper DEFINITE_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_DEFINITE_LENGTHS)
+            .build());
+
+    public void testSkipChildren() throws Exception
+    {
+        // Definite-length Object with all kinds of values...
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) DEFINITE_MAPPER.createGenerator(bytes)) {
+            g.writeStartObject();
+            g.writeFieldName("a");
+            g.writeNumber(Long.MAX_VALUE);
+            g.writeFieldId(-3);
+            g.writeNumber(0.25f);
+            g.writeFieldName("c");
+            g.writeNumber(-1.5e100);
+            g.writeFieldName("d");
+            g.writeTag(24);
+            g.writeBinary(new byte[300]);
+            g.writeFieldName("e");
+            g.writeStartArray();
+            g.writeString("nested");
+            g.writeStartObject();
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeFieldName("f");
+            g.writeNull();
+            g.writeFieldName("g");
+            g.writeString(_longText(5000));
+            g.writeEndObject();
+        }
+        assertEquals((byte) 0xA7, bytes.toByteArray()[0]);
+        // followed by indefinite-length Array, and a String
+        try (CBORGenerator g = (CBORGenerator) MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeStartArray(null, 2);
+            g.writeBoolean(true);
+            g.writeNumber(1.5);
+            g.writeEndArray();
+            g.writeStartObject();
+            g.writeFieldName("x");
+            g.writeString(_longText(20000));
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeString("end");
+        }
+
+        try (JsonParser p = cborParser(bytes.toByteArray())) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("end", p.getText());
+            assertNull(p.nextToken());
+        }
+
+        // also when skipping nested ones
+        try (JsonParser p = cborParser(bytes.toByteArray())) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("a", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals("-3", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals("c", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals("d", p.nextFieldName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals("e", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertEquals("f", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertEquals("g", p.nextFieldName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("end", p.getText());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testSkipDeeplyNested() throws Exception
+    {
+        // Nesting must not be limited by stack size, for either
+        // definite- or indefinite-length Arrays
+        final int DEPTH = 200000;
+        for (boolean definite : new boolean[] { true, false }) {
+            byte[] doc = new byte[DEPTH + DEPTH + 4];
+            int ptr = 0;
+            doc[ptr++] = (byte) 0x82; // [ deeply-nested, 1 ]
+            for (int i = 0; i < DEPTH; ++i) {
+                doc[ptr++] = definite ? (byte) 0x81 : (byte) 0x9F;
+            }
+            doc[ptr++] = 0x00;
+            if (!definite) {
+                for (int i = 0; i < DEPTH; ++i) {
+                    doc[ptr++] = (byte) 0xFF;
+                }
+            }
+            doc[ptr++] = 0x01;
+            doc[ptr++] = 0x02; // followed by another root value
+            doc = Arrays.copyOf(doc, ptr);
+
+            try (JsonParser p = cborParser(doc)) {
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                p.skipChildren();
+                assertToken(JsonToken.END_ARRAY, p.currentToken());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(2, p.getIntValue());
+                assertNull(p.nextToken());
+            }
+        }
+    }
+
+    public void testSkipRemainingElements() throws Exception
+    {
+        for (CBORMapper mapper : new CBORMapper[] { MAPPER, DEFINITE_MAPPER }) {
+            byte[] doc = mapper.writeValueAsBytes(Arrays.asList(
+                    Arrays.asList(1, 2, 3),
+                    Collections.singletonMap("a", "b"),
+                    "text",
+                    Arrays.asList(Collections.singletonMap("x", Arrays.asList(true)))));
+            try (CBORParser p = cborParser(doc)) {
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                // skip rest of the nested Array...
+                p.skipRemainingElements();
+                assertToken(JsonToken.END_ARRAY, p.currentToken());
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                p.skipChildren();
+                // and then that of the outer one
+                p.skipRemainingElements();
+                assertToken(JsonToken.END_ARRAY, p.currentToken());
+                assertNull(p.nextToken());
+            }
+        }
+    }
+
+    public void testProjection() throws Exception
+    {
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("payload", _bigPayload());
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("id", "abc-123");
+        header.put("version", 3);
+        header.put("extra", Arrays.asList(1, 2, 3));
+        doc.put("header", header);
+        doc.put("items", Arrays.asList(
+                Collections.singletonMap("price", 10),
+                Collections.singletonMap("price", 20),
+                Collections.singletonMap("price", 30)));
+        byte[] cbor = MAPPER.writeValueAsBytes(doc);
+
+        JsonNode result = MAPPER.readProjection(cbor,
+                JsonPointer.compile("/header/id"),
+                JsonPointer.compile("/header/version"),
+                JsonPointer.compile("/items/1/price"),
+                JsonPointer.compile("/missing/value"));
+        assertEquals(2, result.size());
+        assertEquals("abc-123", result.path("header").path("id").asText());
+        assertEquals(3, result.path("header").path("version").asInt());
+        assertEquals(2, result.path("header").size());
+        // index of array elements retained
+        assertEquals(2, result.path("items").size());
+        assertTrue(result.path("items").get(0).isNull());
+        assertEquals(20, result.path("items").get(1).path("price").asInt());
+
+        // whole subtrees may be included as well
+        result = MAPPER.readProjection(new ByteArrayInputStream(cbor),
+                JsonPointer.compile("/header"));
+        assertEquals(1, result.size());
+        assertEquals(3, result.path("header").size());
+        assertEquals(3, result.path("header").path("extra").size());
+
+        // and bound to POJOs
+        Document result2 = MAPPER.readProjection(Document.class, cbor,
+                JsonPointer.compile("/header/id"),
+                JsonPointer.compile("/header/version"));
+        assertNotNull(result2.header);
+        assertEquals("abc-123", result2.header.id);
+        assertEquals(3, result2.header.version);
+    }
+
+    // Value at the last requested index may be an unread String or Binary value,
+    // which must be skipped before skipping rest of the Array
+    public void testProjectionWithScalarAtLastIndex() throws Exception
+    {
+        for (CBORMapper mapper : new CBORMapper[] { MAPPER, DEFINITE_MAPPER }) {
+            for (Object value : new Object[] { _longText(300), new byte[300] }) {
+                Map<String, Object> doc = new LinkedHashMap<>();
+                doc.put("list", Arrays.asList(1, Collections.singletonMap("x", 2), value,
+                        "more", Arrays.asList(3)));
+                doc.put("after", "end");
+                byte[] cbor = mapper.writeValueAsBytes(doc);
+
+                JsonNode result = mapper.readProjection(cbor,
+                        JsonPointer.compile("/list/2/x"),
+                        JsonPointer.compile("/after"));
+                assertEquals("end", result.path("after").asText());
+
+                // and same directly with parser
+                try (CBORParser p = cborParser(cbor)) {
+                    assertToken(JsonToken.START_OBJECT, p.nextToken());
+                    assertEquals("list", p.nextFieldName());
+                    assertToken(JsonToken.START_ARRAY, p.nextToken());
+                    assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                    assertToken(JsonToken.START_OBJECT, p.nextToken());
+                    p.skipChildren();
+                    JsonToken t = p.nextToken();
+                    assertTrue(t == JsonToken.VALUE_STRING || t == JsonToken.VALUE_EMBEDDED_OBJECT);
+                    p.skipRemainingElements();
+                    assertToken(JsonToken.END_ARRAY, p.currentToken());
+                    assertEquals("after", p.nextFieldName());
+                    assertEquals("end", p.nextTextValue());
+                    assertToken(JsonToken.END_OBJECT, p.nextToken());
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> _bigPayload() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            payload.put("key" + i, Arrays.asList(i, "value" + i, new byte[i % 50]));
+        }
+        return payload;
+    }
+
+    private String _longText(int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,238 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for bulk read methods for primitive arrays ({@link CBORParser#readIntArray}
+ * and so on), as well as deserializers of {@link CBORMapper} that use them.
+ */
+public class BulkArrayReadTest extends CBORTestBase
+{
+    static class ArraysBean {
+        public int[] ints;
+        public long[] longs;
+        public double[] doubles;
+        public float[] floats;
+    }
+
+    static class NullsBean {
+        @JsonSetter(contentNulls = Nulls.SKIP)
+        public int[] skipped;
+
+        @JsonSetter(contentNulls = Nulls.FAIL)
+        public long[] failing;
+
+        public double[] defaults;
+    }
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testReadIntArray() throws Exception
+    {
+        final int[] input = _ints(5000);
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        _testReadIntArray(cborParser(doc), input);
+        // also with values split across input buffer boundaries
+        _testReadIntArray(cborParser(new ThrottledInputStream(doc, 17)), input);
+    }
+
+    private void _testReadIntArray(CBORParser p, int[] input) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        int[] result = new int[input.length + 10];
+        // first just a few
+        assertEquals(3, p.readIntArray(result, 0, 3));
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+        assertEquals(input[2], p.getIntValue());
+        // and can mix with regular access
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        result[3] = p.getIntValue();
+        assertEquals(input.length - 4, p.readIntArray(result, 4, result.length - 4));
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        assertEquals(0, p.readIntArray(result, 0, 0));
+        assertNull(p.nextToken());
+        p.close();
+        assertTrue(Arrays.equals(input, Arrays.copyOf(result, input.length)));
+    }
+
+    public void testIndefiniteLengthAndMismatch() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeNumber(1);
+            g.writeNumber(-200);
+            g.writeNumber(Long.MAX_VALUE);
+            g.writeString("x");
+            g.writeNumber(2.5);
+            g.writeNumber(2.5f);
+            g.writeNumber(7);
+            g.writeEndArray();
+        }
+        try (CBORParser p = cborParser(bytes.toByteArray())) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            int[] ints = new int[10];
+            // stops at value not within int range
+            assertEquals(2, p.readIntArray(ints, 0, 10));
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+            assertEquals(Long.MAX_VALUE, p.getLongValue());
+            assertEquals(1, ints[0]);
+            assertEquals(-200, ints[1]);
+            // Strings not accepted by any method
+            long[] longs = new long[10];
+            assertEquals(0, p.readLongArray(longs, 0, 10));
+            assertToken(JsonToken.VALUE_STRING, p.currentToken());
+            assertEquals("x", p.getText());
+            // but floating-point numbers accept integers too
+            double[] doubles = new double[10];
+            assertEquals(3, p.readDoubleArray(doubles, 0, 10));
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertEquals(2.5, doubles[0]);
+            assertEquals(2.5, doubles[1]);
+            assertEquals(7.0, doubles[2]);
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testNotInArray() throws Exception
+    {
+        try (CBORParser p = cborParser(MAPPER.writeValueAsBytes(3))) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            p.readIntArray(new int[3], 0, 3);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Can not read Array values");
+        }
+    }
+
+    public void testReadArraysViaMapper() throws Exception
+    {
+        ArraysBean input = new ArraysBean();
+        input.ints = _ints(3000);
+        input.longs = new long[2000];
+        input.doubles = new double[1500];
+        input.floats = new float[1200];
+        for (int i = 0; i < input.longs.length; ++i) {
+            input.longs[i] = (i * 0x1234567890L) - 0x1000000000000L;
+        }
+        for (int i = 0; i < input.doubles.length; ++i) {
+            input.doubles[i] = i * -0.25;
+        }
+        for (int i = 0; i < input.floats.length; ++i) {
+            input.floats[i] = i / 8f;
+        }
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        ArraysBean result = MAPPER.readValue(doc, ArraysBean.class);
+        assertTrue(Arrays.equals(input.ints, result.ints));
+        assertTrue(Arrays.equals(input.longs, result.longs));
+        assertTrue(Arrays.equals(input.doubles, result.doubles));
+        assertTrue(Arrays.equals(input.floats, result.floats));
+
+        // and same with (throttled) InputStream
+        result = MAPPER.readValue(new ThrottledInputStream(doc, 33), ArraysBean.class);
+        assertTrue(Arrays.equals(input.ints, result.ints));
+        assertTrue(Arrays.equals(input.longs, result.longs));
+        assertTrue(Arrays.equals(input.doubles, result.doubles));
+        assertTrue(Arrays.equals(input.floats, result.floats));
+    }
+
+    public void testMixedContentViaMapper() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeNumber(1);
+            g.writeString("2");
+            g.writeNumber(3);
+            g.writeEndArray();
+        }
+        int[] result = MAPPER.readValue(bytes.toByteArray(), int[].class);
+        assertEquals("[1, 2, 3]", Arrays.toString(result));
+        long[] longs = MAPPER.readValue(bytes.toByteArray(), long[].class);
+        assertEquals("[1, 2, 3]", Arrays.toString(longs));
+    }
+
+    public void testNullElementsViaMapper() throws Exception
+    {
+        // by default, null elements become default values
+        byte[] doc = _arrayWithNull();
+        assertEquals("[1, 0, 3]", Arrays.toString(MAPPER.readValue(doc, int[].class)));
+        assertEquals("[1.0, 0.0, 3.0]", Arrays.toString(MAPPER.readValue(doc, float[].class)));
+        // unless that is prevented
+        try {
+            MAPPER.readerFor(int[].class)
+                .with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                .readValue(doc);
+            fail("Should not pass");
+        } catch (MismatchedInputException e) {
+            verifyException(e, "null");
+        }
+
+        // and configured content null handling must be obeyed as well
+        NullsBean result = MAPPER.readValue(_objectWithNulls("skipped", "defaults"),
+                NullsBean.class);
+        assertEquals("[1, 3]", Arrays.toString(result.skipped));
+        assertEquals("[1.0, 0.0, 3.0]", Arrays.toString(result.defaults));
+        try {
+            MAPPER.readValue(_objectWithNulls("failing"), NullsBean.class);
+            fail("Should not pass");
+        } catch (MismatchedInputException e) {
+            verifyException(e, "Invalid `null` value");
+        }
+    }
+
+    private byte[] _arrayWithNull() throws Exception {
+        return _objectWithNulls((String[]) null);
+    }
+
+    // Either root-level Array `[1, null, 3]` (if no names given), or Object
+    // with such Array as value of each given property
+    private byte[] _objectWithNulls(String... names) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            if (names == null) {
+                _writeArrayWithNull(g);
+            } else {
+                g.writeStartObject();
+                for (String name : names) {
+                    g.writeFieldName(name);
+                    _writeArrayWithNull(g);
+                }
+                g.writeEndObject();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void _writeArrayWithNull(JsonGenerator g) throws Exception
+    {
+        g.writeStartArray();
+        g.writeNumber(1);
+        g.writeNull();
+        g.writeNumber(3);
+        g.writeEndArray();
+    }
+
+    private int[] _ints(int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; ++i) {
+            // mix of different lengths
+            result[i] = ((i & 1) == 0) ? (i * i * 1000) : -(i % 300);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for parsers constructed for {@link ByteBuffer} input.
+ */
+public class ByteBufferParserTest extends CBORTestBase
+{
+    private final CBORFactory SLICING_F = CBORFactory.builder()
+            .enable(CBORParser.Feature.READ_BINARY_AS_BYTE_BUFFER)
+            .build();
+
+    private final CBORMapper MAPPER = cborMapper();
+
+    public void testHeapBuffer() throws Exception
+    {
+        byte[] doc = _document(100);
+        // place within bigger array, to verify offset handling
+        byte[] padded = new byte[doc.length + 20];
+        System.arraycopy(doc, 0, padded, 7, doc.length);
+        ByteBuffer input = ByteBuffer.wrap(padded, 7, doc.length);
+
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(), input)) {
+            _verifyDocument(p, 100, false);
+        }
+        // parsing must not change position
+        assertEquals(7, input.position());
+        Map<?,?> result = MAPPER.readValue(cborFactory().createParser(ObjectReadContext.empty(), input),
+                Map.class);
+        assertEquals("value", result.get("name"));
+    }
+
+    public void testDirectBuffer() throws Exception
+    {
+        // long enough to require multiple reads
+        byte[] doc = _document(70000);
+        ByteBuffer input = ByteBuffer.allocateDirect(doc.length);
+        input.put(doc);
+        input.flip();
+
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(), input)) {
+            assertSame(input, p.getInputSource());
+            _verifyDocument(p, 70000, false);
+        }
+        assertEquals(0, input.position());
+
+        // and same for read-only heap buffer, which has no accessible array
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(),
+                ByteBuffer.wrap(doc).asReadOnlyBuffer())) {
+            _verifyDocument(p, 70000, false);
+        }
+    }
+
+    public void testSkipDirectBufferContent() throws Exception
+    {
+        byte[] doc = _document(70000);
+        ByteBuffer input = ByteBuffer.allocateDirect(doc.length);
+        input.put(doc);
+        input.flip();
+
+        // Binary value skipped without reading, and then as part of Object
+        long expOffset;
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(), doc)) {
+            expOffset = _skipBinary(p);
+        }
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(), input)) {
+            // offset must account for skipped content
+            assertEquals(expOffset, _skipBinary(p));
+        }
+        try (JsonParser p = cborFactory().createParser(ObjectReadContext.empty(), input)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testBinarySlices() throws Exception
+    {
+        for (int size : new int[] { 10, 70000 }) {
+            byte[] doc = _document(size);
+            try (JsonParser p = SLICING_F.createParser(ObjectReadContext.empty(), ByteBuffer.wrap(doc))) {
+                _verifyDocument(p, size, true);
+            }
+            ByteBuffer input = ByteBuffer.allocateDirect(doc.length);
+            input.put(doc);
+            input.flip();
+            try (JsonParser p = SLICING_F.createParser(ObjectReadContext.empty(), input)) {
+                _verifyDocument(p, size, true);
+            }
+        }
+    }
+
+    public void testBinarySliceAccess() throws Exception
+    {
+        byte[] doc = _document(3);
+        try (JsonParser p = SLICING_F.createParser(ObjectReadContext.empty(), ByteBuffer.wrap(doc))) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("data", p.nextFieldName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            ByteBuffer slice = (ByteBuffer) p.getEmbeddedObject();
+            assertTrue(slice.isReadOnly());
+            assertEquals(3, slice.remaining());
+            // can still access as byte[]
+            assertEquals("[0, 1, 2]", Arrays.toString(p.getBinaryValue()));
+            assertEquals("name", p.nextFieldName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertNull(p.getEmbeddedObject());
+        }
+    }
+
+    public void testTruncatedBinary() throws Exception
+    {
+        byte[] doc = _document(5000);
+        // truncate within Binary value
+        ByteBuffer input = ByteBuffer.allocateDirect(3000);
+        input.put(doc, 0, 3000);
+        input.flip();
+        try (JsonParser p = SLICING_F.createParser(ObjectReadContext.empty(), input)) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("data", p.nextFieldName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            p.getEmbeddedObject();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unexpected end-of-input");
+        }
+    }
+
+    private long _skipBinary(JsonParser p) throws Exception
+    {
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("data", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("name", p.nextFieldName());
+        assertEquals("value", p.nextTextValue());
+        return p.getCurrentLocation().getByteOffset();
+    }
+
+    private byte[] _document(int binaryLength) throws Exception
+    {
+        byte[] data = new byte[binaryLength];
+        for (int i = 0; i < binaryLength; ++i) {
+            data[i] = (byte) i;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = MAPPER.createGenerator(bytes)) {
+            g.writeStartObject();
+            g.writeFieldName("data");
+            g.writeBinary(data);
+            g.writeFieldName("name");
+            g.writeString("value");
+            g.writeFieldName("values");
+            g.writeStartArray();
+            for (int i = 0; i < 1000; ++i) {
+                g.writeNumber(i);
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void _verifyDocument(JsonParser p, int binaryLength, boolean slices) throws Exception
+    {
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("data", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        Object ob = p.getEmbeddedObject();
+        byte[] data;
+        if (slices) {
+            ByteBuffer bb = (ByteBuffer) ob;
+            data = new byte[bb.remaining()];
+            bb.get(data);
+        } else {
+            data = (byte[]) ob;
+        }
+        assertEquals(binaryLength, data.length);
+        for (int i = 0; i < binaryLength; ++i) {
+            if (data[i] != (byte) i) {
+                fail("Wrong byte #"+i+": "+data[i]);
+            }
+        }
+        assertEquals("name", p.nextFieldName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("value", p.getText());
+        assertEquals("values", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (int i = 0; i < 1000; ++i) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+    }
+}
@@ -0,0 +1,188 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for decoding of standard date/time tags (0, 1, 1001), and
+ * matching generator methods.
+ */
+public class DateTimeTagTest extends CBORTestBase
+{
+    private final CBORFactory DATE_TIME_F = CBORFactory.builder()
+            .enable(CBORParser.Feature.DECODE_DATE_TIME_TAGS)
+            .build();
+
+    private final static OffsetDateTime DATE_TIME = OffsetDateTime.of(2013, 3, 21, 20, 4, 0,
+            500_000_000, ZoneOffset.ofHours(2));
+
+    public void testMinimalTimestampEncoding() throws Exception
+    {
+        _verifyBytes(_write(g -> g.writeTimestamp(1363896240L)),
+                new byte[] { (byte) 0xC1, (byte) 0x1A, 0x51, 0x4B, 0x67, (byte) 0xB0 });
+        _verifyBytes(_write(g -> g.writeTimestamp(10L)),
+                new byte[] { (byte) 0xC1, 0x0A });
+        _verifyBytes(_write(g -> g.writeTimestamp(-500L)),
+                new byte[] { (byte) 0xC1, 0x39, 0x01, (byte) 0xF3 });
+        _verifyBytes(_write(g -> g.writeTimestamp(Instant.ofEpochSecond(3000000000L))),
+                new byte[] { (byte) 0xC1, (byte) 0x1A, (byte) 0xB2, (byte) 0xD0, 0x5E, 0x00 });
+        // and full 64 bits if need be
+        byte[] doc = _write(g -> g.writeTimestamp(0x1000000000L));
+        assertEquals(10, doc.length);
+        assertEquals((byte) 0x1B, doc[1]);
+    }
+
+    public void testDisabledByDefault() throws Exception
+    {
+        byte[] doc = _write(g -> g.writeTimestamp(1363896240L));
+        try (CBORParser p = cborParser(doc)) {
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(CBORConstants.TAG_EPOCH_DATE_TIME, p.getCurrentTag());
+            assertEquals(1363896240L, p.getLongValue());
+        }
+    }
+
+    public void testDecodeDateTimeTags() throws Exception
+    {
+        final Instant instant = DATE_TIME.toInstant();
+        byte[] doc = _write(g -> {
+            g.writeStartArray();
+            g.writeTimestamp(1363896240L);
+            g.writeTimestamp(-1L);
+            g.writeTimestamp(instant);
+            g.writeTimestamp(1.25);
+            g.writeDateTimeString(DATE_TIME);
+            g.writeStartObject();
+            g.writeFieldName("when");
+            g.writeTimestamp(1363896240L);
+            g.writeEndObject();
+            g.writeNumber(42);
+            g.writeTimestamp((Instant) null);
+            g.writeEndArray();
+        });
+        _verifyDecoded(_parser(doc), instant);
+        _verifyDecoded(DATE_TIME_F.createParser(ObjectReadContext.empty(),
+                new ThrottledInputStream(doc, 3)), instant);
+    }
+
+    private void _verifyDecoded(JsonParser p, Instant instant) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(Instant.ofEpochSecond(1363896240L), p.getEmbeddedObject());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(Instant.ofEpochSecond(-1L), p.getEmbeddedObject());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(instant, p.getEmbeddedObject());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(Instant.ofEpochSecond(1L, 250_000_000L), p.getEmbeddedObject());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(DATE_TIME, p.getEmbeddedObject());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("when", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(Instant.ofEpochSecond(1363896240L), p.getEmbeddedObject());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        // untagged values not affected
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(42, p.getIntValue());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testExtendedTime() throws Exception
+    {
+        // 1001({1: 1363896240, -6: 250000, -12: 0})
+        byte[] doc = new byte[] {
+                (byte) 0xD9, 0x03, (byte) 0xE9,
+                (byte) 0xA3,
+                0x01, (byte) 0x1A, 0x51, 0x4B, 0x67, (byte) 0xB0,
+                0x25, (byte) 0x1A, 0x00, 0x03, (byte) 0xD0, (byte) 0x90,
+                0x2B, 0x00
+        };
+        try (JsonParser p = _parser(doc)) {
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals(Instant.ofEpochSecond(1363896240L, 250_000_000L), p.getEmbeddedObject());
+            assertNull(p.nextToken());
+        }
+
+        // without base time, not valid
+        doc = new byte[] {
+                (byte) 0xD9, 0x03, (byte) 0xE9,
+                (byte) 0xBF, 0x22, 0x19, 0x01, (byte) 0xF4, (byte) 0xFF
+        };
+        try (JsonParser p = _parser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "missing base time");
+        }
+    }
+
+    public void testExtendedTimeInvalidFraction() throws Exception
+    {
+        // 1001({1: 1363896240, -3: 0x7FFFFFFFFFFFFFFF}): milliseconds overflow
+        byte[] doc = new byte[] {
+                (byte) 0xD9, 0x03, (byte) 0xE9,
+                (byte) 0xA2,
+                0x01, (byte) 0x1A, 0x51, 0x4B, 0x67, (byte) 0xB0,
+                0x22, (byte) 0x1B, 0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF
+        };
+        try (JsonParser p = _parser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Invalid fraction of second");
+        }
+    }
+
+    public void testEpochTimeInvalidHead() throws Exception
+    {
+        // 1(<negative int with reserved length 28>): whole head byte reported
+        byte[] doc = new byte[] { (byte) 0xC1, 0x3C };
+        try (JsonParser p = _parser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "0x3c");
+        }
+    }
+
+    public void testInvalidDateTimeString() throws Exception
+    {
+        byte[] doc = new byte[] { (byte) 0xC0, 0x63, 'a', 'b', 'c' };
+        try (JsonParser p = _parser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Invalid date/time String");
+        }
+    }
+
+    interface GeneratorCall {
+        void write(CBORGenerator g) throws Exception;
+    }
+
+    private byte[] _write(GeneratorCall call) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) cborFactory().createGenerator(ObjectWriteContext.empty(), bytes)) {
+            call.write(g);
+        }
+        return bytes.toByteArray();
+    }
+
+    private JsonParser _parser(byte[] doc) throws Exception {
+        return DATE_TIME_F.createParser(ObjectReadContext.empty(), doc);
+    }
+}
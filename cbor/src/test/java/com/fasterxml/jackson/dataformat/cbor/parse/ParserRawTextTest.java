@@ -0,0 +1,104 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for accessing String values as raw UTF-8 content.
+ */
+public class ParserRawTextTest extends CBORTestBase
+{
+    private final static String UNICODE_TEXT = "Caf\u00e9 \u20ac\u00bd \ud83d\ude00!";
+
+    public void testRawText() throws Exception
+    {
+        final String longText = _longText(20000);
+        byte[] doc = _document(longText);
+        _testRawText(cborParser(doc), longText);
+        // with input in small pieces, values span input buffer boundaries
+        _testRawText(cborParser(new ThrottledInputStream(doc, 7)), longText);
+    }
+
+    private void _testRawText(CBORParser p, String longText) throws Exception
+    {
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        _verifyUTF8(UNICODE_TEXT, p.getTextAsUTF8Bytes());
+        // and still available via other accessors
+        assertEquals(UNICODE_TEXT, p.getText());
+        _verifyUTF8(UNICODE_TEXT, p.getTextAsUTF8Bytes());
+
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertEquals(300, p.getTextAsUTF8(bytes));
+        _verifyUTF8(_longText(300), bytes.toByteArray());
+        // may also be skipped after access
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("", p.getText());
+        _verifyUTF8("", p.getTextAsUTF8Bytes());
+
+        // long and chunked values get decoded
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        _verifyUTF8(longText, p.getTextAsUTF8Bytes());
+        assertEquals(longText, p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        _verifyUTF8("abc", p.getTextAsUTF8Bytes());
+
+        // as well as other tokens
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        _verifyUTF8("key", p.getTextAsUTF8Bytes());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        _verifyUTF8("42", p.getTextAsUTF8Bytes());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        assertNull(p.getTextAsUTF8Bytes());
+        p.close();
+    }
+
+    private byte[] _document(String longText) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = (CBORGenerator) sharedMapper().createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeString(UNICODE_TEXT);
+            g.writeString(_longText(300));
+            g.writeString("");
+            g.writeString(longText);
+            // chunked "abc"
+            g.writeRaw((byte) 0x7F);
+            g.writeRaw((byte) 0x62);
+            g.writeRaw((byte) 'a');
+            g.writeRaw((byte) 'b');
+            g.writeRaw((byte) 0x61);
+            g.writeRaw((byte) 'c');
+            g.writeRaw((byte) 0xFF);
+            g.writeStartObject();
+            g.writeFieldName("key");
+            g.writeNumber(42);
+            g.writeEndObject();
+            g.writeEndArray();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void _verifyUTF8(String exp, byte[] actual) {
+        _verifyBytes(actual, exp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String _longText(int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        return sb.toString();
+    }
+}
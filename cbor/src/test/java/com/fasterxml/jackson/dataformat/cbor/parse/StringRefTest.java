@@ -0,0 +1,204 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for "stringref" extension (tags 256, 25): both generation with
+ * {@link CBORGenerator.Feature#STRINGREF} and resolution by parser.
+ */
+public class StringRefTest extends CBORTestBase
+{
+    private final ObjectMapper REF_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.STRINGREF)
+            .build());
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testSimpleGeneration() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = REF_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeString("abc");
+            g.writeString("abc");
+            // too short to be added
+            g.writeString("ab");
+            g.writeString("ab");
+            g.writeEndArray();
+        }
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0xD9, 0x01, 0x00, // namespace
+                (byte) 0x9F,
+                0x63, 'a', 'b', 'c',
+                (byte) 0xD8, 0x19, 0x00, // ref #0
+                0x62, 'a', 'b',
+                0x62, 'a', 'b',
+                (byte) 0xFF });
+    }
+
+    public void testTextAndBinaryRefs() throws Exception
+    {
+        final byte[] doc = new byte[] {
+                (byte) 0xD9, 0x01, 0x00, // namespace
+                (byte) 0x85, // array of 5
+                0x41, 'a', // b"a": too short to be added
+                0x43, 'b', 'b', 'b', // b"bbb" is #0
+                0x63, 'a', 'a', 'a', // "aaa" is #1
+                (byte) 0xD8, 0x19, 0x01, // ref to "aaa"
+                (byte) 0xD8, 0x19, 0x00 // ref to b"bbb"
+        };
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals("[97]", Arrays.toString(p.getBinaryValue()));
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals("[98, 98, 98]", Arrays.toString(p.getBinaryValue()));
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("aaa", p.getText());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("aaa", p.getText());
+            assertEquals(-1, p.getCurrentTag());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals("[98, 98, 98]", Arrays.toString(p.getBinaryValue()));
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testInvalidRef() throws Exception
+    {
+        final byte[] doc = new byte[] {
+                (byte) 0xD9, 0x01, 0x00, // namespace
+                (byte) 0x82,
+                0x62, 'a', 'b', // too short to be added
+                (byte) 0xD8, 0x19, 0x00 // so there is no #0
+        };
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            try {
+                p.nextToken();
+                fail("Should not pass");
+            } catch (JsonParseException e) {
+                verifyException(e, "Invalid stringref index (0)");
+            }
+        }
+    }
+
+    public void testNamesAndValues() throws Exception
+    {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("tenantId", "tenant-"+(i % 3));
+            event.put("status", (i % 2 == 0) ? "ACCEPTED" : "REJECTED");
+            event.put("url", "https://example.com/api/v1/resource/"+(i % 5));
+            event.put("id", i);
+            event.put("note", "x"+i);
+            events.add(event);
+        }
+        final byte[] plain = MAPPER.writeValueAsBytes(events);
+        final byte[] refs = REF_MAPPER.writeValueAsBytes(events);
+        assertTrue("Expected stringrefs to reduce size ("+refs.length+" vs "+plain.length+")",
+                refs.length < plain.length / 2);
+
+        // reading does not require any configuration
+        assertEquals(events, MAPPER.readValue(refs, List.class));
+        assertEquals(events, REF_MAPPER.readValue(refs, List.class));
+
+        // and same String instances are returned for references
+        try (JsonParser p = cborParser(refs)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            String first = null;
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                assertEquals("tenantId", p.nextFieldName());
+                String tenant = p.nextTextValue();
+                if ("tenant-0".equals(tenant)) {
+                    if (first == null) {
+                        first = tenant;
+                    } else {
+                        assertSame(first, tenant);
+                    }
+                }
+                while (p.nextToken() != JsonToken.END_OBJECT) {
+                    p.skipChildren();
+                }
+            }
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testNamespacePerRootValue() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = REF_MAPPER.createGenerator(bytes)) {
+            for (int i = 0; i < 2; ++i) {
+                g.writeStartObject();
+                g.writeFieldName("value");
+                g.writeString("value");
+                g.writeFieldName("nested");
+                g.writeStartArray();
+                g.writeString("value");
+                g.writeBinary(new byte[] { 1, 2, 3 });
+                g.writeString("other");
+                g.writeString("other");
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+            // root-level Strings are not within namespace
+            g.writeString("value");
+        }
+        final byte[] doc = bytes.toByteArray();
+        try (JsonParser p = cborParser(doc)) {
+            for (int i = 0; i < 2; ++i) {
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("value", p.currentName());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("value", p.getText());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertEquals("nested", p.currentName());
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("value", p.getText());
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+                assertEquals("[1, 2, 3]", Arrays.toString(p.getBinaryValue()));
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("other", p.getText());
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("other", p.getText());
+                assertToken(JsonToken.END_ARRAY, p.nextToken());
+                assertToken(JsonToken.END_OBJECT, p.nextToken());
+            }
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("value", p.getText());
+            assertNull(p.nextToken());
+        }
+        // Last String must be written in full
+        _verifyBytes(Arrays.copyOfRange(doc, doc.length - 6, doc.length),
+                new byte[] { 0x65, 'v', 'a', 'l', 'u', 'e' });
+    }
+
+    public void testWithTypeHeader() throws Exception
+    {
+        ObjectMapper mapper = new CBORMapper(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .enable(CBORGenerator.Feature.WRITE_TYPE_HEADER)
+                .build());
+        List<String> input = Arrays.asList("abcd", "abcd", "abcd");
+        byte[] doc = mapper.writeValueAsBytes(input);
+        _verifyBytes(Arrays.copyOfRange(doc, 0, 6), new byte[] {
+                (byte) 0xD9, (byte) 0xD9, (byte) 0xF7, // self-describe
+                (byte) 0xD9, 0x01, 0x00 // namespace
+        });
+        assertEquals(input, MAPPER.readValue(doc, List.class));
+    }
+}
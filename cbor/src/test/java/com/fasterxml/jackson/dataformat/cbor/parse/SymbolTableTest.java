@@ -0,0 +1,154 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+
+/**
+ * Tests for symbol table configuration (size limit, partitions) and metrics.
+ */
+public class SymbolTableTest extends CBORTestBase
+{
+    public void testMetrics() throws Exception
+    {
+        CBORSymbolTableMetrics metrics = new CBORSymbolTableMetrics();
+        CBORFactory f = CBORFactory.builder()
+                .symbolTableMetrics(metrics)
+                .build();
+        assertSame(metrics, f.getSymbolTableMetrics());
+        byte[] doc = _doc(f, 3, 10);
+
+        _parse(f, doc);
+        assertEquals(3, metrics.getMissCount());
+        assertEquals(27, metrics.getHitCount());
+        assertEquals(3, metrics.getSymbolCount());
+        assertEquals(0, metrics.getRehashCount());
+        assertEquals(0, metrics.getFlushCount());
+
+        // second time around, all names found from shared table
+        _parse(f, doc);
+        assertEquals(3, metrics.getMissCount());
+        assertEquals(57, metrics.getHitCount());
+
+        // and with more names, need to rehash
+        _parse(f, _doc(f, 300, 1));
+        assertEquals(303, metrics.getMissCount());
+        assertTrue(metrics.getRehashCount() > 0);
+        assertEquals(303, metrics.getSymbolCount());
+        assertTrue(metrics.getBucketCount() >= 303);
+        assertTrue(metrics.toString().contains("misses=303"));
+    }
+
+    public void testMaxSize() throws Exception
+    {
+        CBORSymbolTableMetrics metrics = new CBORSymbolTableMetrics();
+        CBORFactory f = CBORFactory.builder()
+                .symbolTableMetrics(metrics)
+                .symbolTableMaxSize(5)
+                .build();
+        assertEquals(5, f.rebuild().symbolTableMaxSize());
+        byte[] smallDoc = _doc(f, 3, 2);
+        byte[] bigDoc = _doc(f, 10, 2);
+
+        _parse(f, smallDoc);
+        assertEquals(3, metrics.getMissCount());
+        // too many names to share, so dropped...
+        _parse(f, bigDoc);
+        assertEquals(3 + 7, metrics.getMissCount());
+        assertEquals(1, metrics.getFlushCount());
+        _parse(f, bigDoc);
+        assertEquals(3 + 7 + 7, metrics.getMissCount());
+        assertEquals(2, metrics.getFlushCount());
+        // but previously shared ones retained
+        _parse(f, smallDoc);
+        assertEquals(3 + 7 + 7, metrics.getMissCount());
+
+        try {
+            CBORFactory.builder().symbolTableMaxSize(-1);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "can not be negative");
+        }
+    }
+
+    public void testPartitions() throws Exception
+    {
+        CBORSymbolTableMetrics metrics = new CBORSymbolTableMetrics();
+        CBORFactory f = CBORFactory.builder()
+                .symbolTableMetrics(metrics)
+                .build();
+        CBORFactory partA = f.forSymbolTablePartition("a");
+        assertSame(partA, f.forSymbolTablePartition("a"));
+        assertSame(partA, partA.forSymbolTablePartition("a"));
+        CBORFactory partB = partA.forSymbolTablePartition("b");
+        assertNotSame(partA, partB);
+        assertSame(metrics, partB.getSymbolTableMetrics());
+
+        byte[] doc = _doc(f, 4, 1);
+        _parse(partA, doc);
+        _parse(partA, doc);
+        assertEquals(4, metrics.getMissCount());
+        // separate symbol tables for other partitions, as well as the main factory
+        _parse(partB, doc);
+        assertEquals(8, metrics.getMissCount());
+        _parse(f, doc);
+        assertEquals(12, metrics.getMissCount());
+    }
+
+    public void testPartitionRemovalAndLimit() throws Exception
+    {
+        CBORFactory f = CBORFactory.builder()
+                .symbolTableMaxPartitions(2)
+                .build();
+        assertEquals(2, f.rebuild().symbolTableMaxPartitions());
+        CBORFactory partA = f.forSymbolTablePartition("a");
+        assertTrue(f.removeSymbolTablePartition("a"));
+        assertFalse(f.removeSymbolTablePartition("a"));
+        assertNotSame(partA, f.forSymbolTablePartition("a"));
+
+        partA = f.forSymbolTablePartition("a");
+        CBORFactory partB = f.forSymbolTablePartition("b");
+        assertSame(partB, f.forSymbolTablePartition("b"));
+        // over the limit: new partitions not retained
+        CBORFactory partC = f.forSymbolTablePartition("c");
+        assertNotSame(partC, f.forSymbolTablePartition("c"));
+        assertSame(partA, f.forSymbolTablePartition("a"));
+        // but can be, once others are removed
+        assertTrue(partC.removeSymbolTablePartition("b"));
+        partC = f.forSymbolTablePartition("c");
+        assertSame(partC, f.forSymbolTablePartition("c"));
+
+        try {
+            CBORFactory.builder().symbolTableMaxPartitions(-1);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "can not be negative");
+        }
+    }
+
+    private byte[] _doc(CBORFactory f, int names, int objects) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = f.createGenerator(ObjectWriteContext.empty(), bytes)) {
+            g.writeStartArray();
+            for (int i = 0; i < objects; ++i) {
+                g.writeStartObject();
+                for (int j = 0; j < names; ++j) {
+                    g.writeNumberField("name"+j, j);
+                }
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+        }
+        return bytes.toByteArray();
+    }
+
+    private void _parse(CBORFactory f, byte[] doc) throws Exception
+    {
+        try (JsonParser p = f.createParser(ObjectReadContext.empty(), doc)) {
+            while (p.nextToken() != null) { }
+        }
+    }
+}
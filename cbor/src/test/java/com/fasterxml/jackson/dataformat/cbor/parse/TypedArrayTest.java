@@ -0,0 +1,203 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Tests for "typed arrays" (RFC 8746): generation with
+ * {@link CBORGenerator.Feature#WRITE_TYPED_ARRAYS} and exposure of such
+ * tagged Binary values as regular Arrays by parser.
+ */
+public class TypedArrayTest extends CBORTestBase
+{
+    private final ObjectMapper TYPED_MAPPER = new CBORMapper(CBORFactory.builder()
+            .enable(CBORGenerator.Feature.WRITE_TYPED_ARRAYS)
+            .build());
+
+    private final ObjectMapper MAPPER = cborMapper();
+
+    public void testIntArrayGeneration() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = TYPED_MAPPER.createGenerator(bytes)) {
+            g.writeArray(new int[] { 1, -2 }, 0, 2);
+        }
+        _verifyBytes(bytes.toByteArray(), new byte[] {
+                (byte) 0xD8, 0x4A, // tag 74, sint32 big-endian
+                0x48,
+                0, 0, 0, 1,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFE });
+
+        try (JsonParser p = cborParser(bytes.toByteArray())) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals(CBORConstants.TAG_TYPED_ARRAY_SINT32_BE, ((CBORParser) p).getCurrentTag());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(NumberType.INT, p.getNumberType());
+            assertEquals(1, p.getIntValue());
+            assertEquals(-1, ((CBORParser) p).getCurrentTag());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(-2, p.getIntValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testDatabindRoundTrip() throws Exception
+    {
+        final int[] ints = new int[] { 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE };
+        final long[] longs = new long[] { 0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE };
+        final double[] doubles = new double[] { 0.0, -0.25, Math.PI, Double.MAX_VALUE, Double.NaN };
+
+        byte[] doc = TYPED_MAPPER.writeValueAsBytes(ints);
+        assertEquals(3 + ints.length * 4, doc.length);
+        assertTrue(Arrays.equals(ints, MAPPER.readValue(doc, int[].class)));
+
+        doc = TYPED_MAPPER.writeValueAsBytes(longs);
+        _verifyBytes(Arrays.copyOfRange(doc, 0, 2), new byte[] { (byte) 0xD8, 0x4B });
+        assertTrue(Arrays.equals(longs, MAPPER.readValue(doc, long[].class)));
+
+        doc = TYPED_MAPPER.writeValueAsBytes(doubles);
+        _verifyBytes(Arrays.copyOfRange(doc, 0, 2), new byte[] { (byte) 0xD8, 0x52 });
+        assertTrue(Arrays.equals(doubles, MAPPER.readValue(doc, double[].class)));
+    }
+
+    public void testLongArrays() throws Exception
+    {
+        // big enough to span multiple output buffers
+        final double[] input = new double[10000];
+        for (int i = 0; i < input.length; ++i) {
+            input[i] = i * 0.5 - 17.0;
+        }
+        byte[] doc = TYPED_MAPPER.writeValueAsBytes(input);
+        // tag (2), length marker (5), content
+        assertEquals(2 + 5 + input.length * 8, doc.length);
+        assertTrue(Arrays.equals(input, MAPPER.readValue(doc, double[].class)));
+
+        // also when wrapped within other structures
+        Object[] wrapped = new Object[] { "a", input, "b" };
+        doc = TYPED_MAPPER.writeValueAsBytes(wrapped);
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("b", p.getText());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+    }
+
+    public void testLittleEndianAndSmallTypes() throws Exception
+    {
+        final byte[] doc = new byte[] {
+                (byte) 0x84,
+                (byte) 0xD8, 0x4E, // sint32 little-endian
+                0x44, 0x02, 0x01, 0x00, (byte) 0x80,
+                (byte) 0xD8, 0x41, // uint16 big-endian
+                0x42, (byte) 0xFF, (byte) 0xFE,
+                (byte) 0xD8, 0x55, // float32 little-endian
+                0x44, 0x00, 0x00, (byte) 0xC0, 0x3F,
+                (byte) 0xD8, 0x40, // uint8: exposed as Binary
+                0x42, 0x01, 0x02
+        };
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(0x80000102, p.getIntValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(0xFFFE, p.getIntValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+            assertEquals(NumberType.FLOAT, p.getNumberType());
+            assertEquals(1.5f, p.getFloatValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals("[1, 2]", Arrays.toString(p.getBinaryValue()));
+
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testInvalidLength() throws Exception
+    {
+        final byte[] doc = new byte[] {
+                (byte) 0xD8, 0x4A, // sint32 big-endian
+                0x43, 0x00, 0x00, 0x01
+        };
+        try (JsonParser p = cborParser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Invalid length (3) of typed array");
+        }
+    }
+
+    public void testReservedSint8Tag() throws Exception
+    {
+        // tag 72 is signed 8-bit; tag 76 (its "little-endian" variant) is reserved
+        byte[] doc = new byte[] { (byte) 0xD8, 0x48, 0x42, 0x01, (byte) 0xFF };
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(1, p.getIntValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(-1, p.getIntValue());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+
+        doc = new byte[] { (byte) 0xD8, 0x4C, 0x42, 0x01, (byte) 0xFF };
+        try (JsonParser p = cborParser(doc)) {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unsupported typed array (tag 76)");
+        }
+        try (JsonParser p = cborParser(doc)) {
+            p.nextTextValue();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unsupported typed array (tag 76)");
+        }
+    }
+
+    public void testTypedArrayWithNextTextValue() throws Exception
+    {
+        final byte[] doc = TYPED_MAPPER.writeValueAsBytes(
+                new Object[] { "a", new int[] { 3, -4 }, "b" });
+        try (JsonParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertEquals("a", p.nextTextValue());
+            assertNull(p.nextTextValue());
+            assertToken(JsonToken.START_ARRAY, p.currentToken());
+            assertEquals(CBORConstants.TAG_TYPED_ARRAY_SINT32_BE, ((CBORParser) p).getCurrentTag());
+            assertNull(p.nextTextValue());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+            assertEquals(3, p.getIntValue());
+            assertNull(p.nextTextValue());
+            assertEquals(-4, p.getIntValue());
+            assertNull(p.nextTextValue());
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertEquals("b", p.nextTextValue());
+            assertNull(p.nextTextValue());
+            assertToken(JsonToken.END_ARRAY, p.currentToken());
+            assertNull(p.nextToken());
+        }
+    }
+}
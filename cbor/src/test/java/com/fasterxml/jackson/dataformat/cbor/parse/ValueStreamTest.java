@@ -0,0 +1,193 @@
+package com.fasterxml.jackson.dataformat.cbor.parse;
+
+import java.io.*;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+
+import com.fasterxml.jackson.dataformat.cbor.*;
+import com.fasterxml.jackson.dataformat.cbor.testutil.ThrottledInputStream;
+
+/**
+ * Tests for streaming access to String and Binary values, using
+ * {@link CBORParser#getBinaryStream()} and {@link CBORParser#getTextReader()},
+ * as well as for writing Binary values of unknown length.
+ */
+public class ValueStreamTest extends CBORTestBase
+{
+    // Chunked Binary value [1, 2, 3], chunked String "abc", followed by int 5
+    private final static byte[] CHUNKED_DOC = new byte[] {
+            (byte) 0x83,
+            (byte) 0x5F, 0x42, 1, 2, 0x41, 3, (byte) 0xFF,
+            (byte) 0x7F, 0x62, 'a', 'b', 0x60, 0x61, 'c', (byte) 0xFF,
+            5
+    };
+
+    public void testDefiniteLengthValues() throws Exception
+    {
+        final byte[] binary = _bytes(30000);
+        final String text = generateUnicodeString(20000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = cborGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeBinary(binary);
+            g.writeString(text);
+            g.writeNumber(5);
+            g.writeEndArray();
+        }
+        byte[] doc = bytes.toByteArray();
+
+        for (int mode = 0; mode < 2; ++mode) {
+            try (CBORParser p = (mode == 0) ? cborParser(doc)
+                    : cborParser(new ThrottledInputStream(doc, 7))) {
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+                assertTrue(Arrays.equals(binary, _readAll(p.getBinaryStream())));
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals(text, _readAll(p.getTextReader()));
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(5, p.getIntValue());
+                assertToken(JsonToken.END_ARRAY, p.nextToken());
+                assertNull(p.nextToken());
+            }
+        }
+    }
+
+    public void testChunkedValues() throws Exception
+    {
+        for (int mode = 0; mode < 2; ++mode) {
+            try (CBORParser p = (mode == 0) ? cborParser(CHUNKED_DOC)
+                    : cborParser(new ThrottledInputStream(CHUNKED_DOC, 1))) {
+                assertToken(JsonToken.START_ARRAY, p.nextToken());
+                assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+                InputStream in = p.getBinaryStream();
+                assertEquals(1, in.read());
+                byte[] buf = new byte[10];
+                assertEquals(1, in.read(buf, 0, 10));
+                assertEquals(2, buf[0]);
+                assertEquals(1, in.read(buf, 0, 10));
+                assertEquals(3, buf[0]);
+                assertEquals(-1, in.read(buf, 0, 10));
+                assertEquals(-1, in.read());
+
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals("abc", _readAll(p.getTextReader()));
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertEquals(5, p.getIntValue());
+                assertToken(JsonToken.END_ARRAY, p.nextToken());
+            }
+        }
+    }
+
+    public void testSkipPartiallyRead() throws Exception
+    {
+        try (CBORParser p = cborParser(new ThrottledInputStream(CHUNKED_DOC, 3))) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            InputStream in = p.getBinaryStream();
+            assertEquals(1, in.read());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            // stream no longer usable once parser advances
+            assertEquals(-1, in.read());
+            Reader r = p.getTextReader();
+            assertEquals('a', r.read());
+            assertEquals(5, p.nextIntValue(0));
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+
+        // and when not read at all, or just opened
+        try (CBORParser p = cborParser(CHUNKED_DOC)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            p.getBinaryStream();
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+    }
+
+    public void testDecodedValues() throws Exception
+    {
+        // values already accessed are returned from memory
+        try (CBORParser p = cborParser(CHUNKED_DOC)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals(3, p.getBinaryValue().length);
+            assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, _readAll(p.getBinaryStream())));
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getText());
+            assertEquals("abc", _readAll(p.getTextReader()));
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            try {
+                p.getTextReader();
+                fail("Should not pass");
+            } catch (JsonParseException e) {
+                verifyException(e, "not VALUE_STRING");
+            }
+        }
+    }
+
+    public void testWriteBinaryOfUnknownLength() throws Exception
+    {
+        final byte[] binary = _bytes(100000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CBORGenerator g = cborGenerator(bytes)) {
+            g.writeStartArray();
+            assertEquals(binary.length, g.writeBinary(new ThrottledInputStream(binary, 999), -1));
+            assertEquals(0, g.writeBinary(new ByteArrayInputStream(new byte[0]), -1));
+            g.writeEndArray();
+        }
+        byte[] doc = bytes.toByteArray();
+        assertEquals((byte) 0x5F, doc[1]);
+
+        try (CBORParser p = cborParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertTrue(Arrays.equals(binary, p.getBinaryValue()));
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertEquals(0, p.getBinaryValue().length);
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+
+        // but canonical output requires definite length
+        CBORFactory f = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_CANONICAL)
+                .build();
+        bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = f.createGenerator(ObjectWriteContext.empty(), bytes)) {
+            assertEquals(3, g.writeBinary(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), -1));
+        }
+        assertTrue(Arrays.equals(new byte[] { 0x43, 1, 2, 3 }, bytes.toByteArray()));
+    }
+
+    private byte[] _bytes(int len)
+    {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            b[i] = (byte) (i * 31);
+        }
+        return b;
+    }
+
+    private byte[] _readAll(InputStream in) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buf = new byte[1000];
+        int count;
+        while ((count = in.read(buf)) >= 0) {
+            bytes.write(buf, 0, count);
+        }
+        return bytes.toByteArray();
+    }
+
+    private String _readAll(Reader r) throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[1000];
+        int count;
+        while ((count = r.read(buf)) >= 0) {
+            sb.append(buf, 0, count);
+        }
+        return sb.toString();
+    }
+}
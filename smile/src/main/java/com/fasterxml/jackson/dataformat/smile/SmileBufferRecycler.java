@@ -16,6 +16,22 @@ public class SmileBufferRecycler<T>
 
     protected T[] _seenStringValuesBuffer;
 
+    /**
+     * Secondary buffer used along with {@link #_seenNamesBuffer} by
+     * generators, for back-reference indexes of entries.
+     *
+     * @since 3.0
+     */
+    protected int[] _seenNameRefsBuffer;
+
+    /**
+     * Secondary buffer used along with {@link #_seenStringValuesBuffer} by
+     * generators, for back-reference indexes of entries.
+     *
+     * @since 3.0
+     */
+    protected int[] _seenStringValueRefsBuffer;
+
     public SmileBufferRecycler() { }
 
     public T[] allocSeenNamesBuffer()
@@ -41,6 +57,30 @@ public class SmileBufferRecycler<T>
         return result;
     }
     
+    /**
+     * @since 3.0
+     */
+    public int[] allocSeenNameRefsBuffer()
+    {
+        int[] result = _seenNameRefsBuffer;
+        if (result != null) {
+            _seenNameRefsBuffer = null;
+        }
+        return result;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public int[] allocSeenStringValueRefsBuffer()
+    {
+        int[] result = _seenStringValueRefsBuffer;
+        if (result != null) {
+            _seenStringValueRefsBuffer = null;
+        }
+        return result;
+    }
+
     public void releaseSeenNamesBuffer(T[] buffer) {
         _seenNamesBuffer = buffer;
     }
@@ -48,4 +88,18 @@ public class SmileBufferRecycler<T>
     public void releaseSeenStringValuesBuffer(T[] buffer) {
         _seenStringValuesBuffer = buffer;
     }
+
+    /**
+     * @since 3.0
+     */
+    public void releaseSeenNameRefsBuffer(int[] buffer) {
+        _seenNameRefsBuffer = buffer;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public void releaseSeenStringValueRefsBuffer(int[] buffer) {
+        _seenStringValueRefsBuffer = buffer;
+    }
 }
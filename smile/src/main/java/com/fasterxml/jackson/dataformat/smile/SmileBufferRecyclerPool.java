@@ -0,0 +1,35 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+/**
+ * Interface for pools of {@link SmileBufferRecycler}s that parsers and
+ * generators use for reusing their Smile-specific buffers (shared name and
+ * value tables). Parsers and generators use differently structured buffers,
+ * so implementations must keep separate recyclers for each.
+ *<p>
+ * Recycler is acquired when parser or generator first needs it, and released
+ * when it is closed; implementations must be thread-safe.
+ * See {@link SmileBufferRecyclerPools} for standard implementations.
+ *
+ * @since 3.0
+ */
+public interface SmileBufferRecyclerPool
+    extends java.io.Serializable
+{
+    /**
+     * Method called to acquire a recycler to use, constructing a new one if
+     * pool has none available.
+     *
+     * @param forGenerator Whether recycler is for a generator ({@code true})
+     *    or parser ({@code false})
+     */
+    public SmileBufferRecycler<String> acquireRecycler(boolean forGenerator);
+
+    /**
+     * Method called to return a recycler acquired using
+     * {@link #acquireRecycler} once it is no longer used.
+     *
+     * @param forGenerator Whether recycler is for a generator ({@code true})
+     *    or parser ({@code false})
+     */
+    public void releaseRecycler(SmileBufferRecycler<String> recycler, boolean forGenerator);
+}
@@ -0,0 +1,247 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Standard {@link SmileBufferRecyclerPool} implementations:
+ *<ul>
+ * <li>{@link ThreadLocalPool} (default): one recycler per thread, referenced
+ *   using {@link SoftReference}; works well with a limited number of
+ *   long-lived (platform) threads, but gives no reuse with short-lived
+ *   (for example, virtual) threads.
+ *  </li>
+ * <li>{@link LockFreePool}: lock-free striped pool, independent of thread identity.
+ *  </li>
+ * <li>{@link BoundedPool}: pool that uses bounded queues, independent of
+ *   thread identity.
+ *  </li>
+ * <li>{@link NonRecyclingPool}: no reuse at all.
+ *  </li>
+ *</ul>
+ *
+ * @since 3.0
+ */
+public final class SmileBufferRecyclerPools
+{
+    /**
+     * Default number of stripes (slots) of {@link LockFreePool}.
+     */
+    public final static int DEFAULT_STRIPES = 16;
+
+    /**
+     * Default size of queues of {@link BoundedPool}.
+     */
+    public final static int DEFAULT_POOL_SIZE = 100;
+
+    private SmileBufferRecyclerPools() { }
+
+    /**
+     * @return Shared pool that uses {@link ThreadLocal} recyclers (default pool)
+     */
+    public static SmileBufferRecyclerPool threadLocalPool() {
+        return ThreadLocalPool.SHARED;
+    }
+
+    /**
+     * @return Shared pool that does no recycling
+     */
+    public static SmileBufferRecyclerPool nonRecyclingPool() {
+        return NonRecyclingPool.SHARED;
+    }
+
+    public static SmileBufferRecyclerPool newLockFreePool() {
+        return new LockFreePool(DEFAULT_STRIPES);
+    }
+
+    public static SmileBufferRecyclerPool newLockFreePool(int stripes) {
+        return new LockFreePool(stripes);
+    }
+
+    public static SmileBufferRecyclerPool newBoundedPool() {
+        return new BoundedPool(DEFAULT_POOL_SIZE);
+    }
+
+    public static SmileBufferRecyclerPool newBoundedPool(int size) {
+        return new BoundedPool(size);
+    }
+
+    /*
+    /**********************************************************
+    /* Implementations
+    /**********************************************************
+     */
+
+    /**
+     * Pool that keeps one recycler (of both kinds) per thread, referenced
+     * using {@link SoftReference}s; releasing recyclers is a no-op.
+     */
+    public static class ThreadLocalPool implements SmileBufferRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final static ThreadLocalPool SHARED = new ThreadLocalPool();
+
+        protected final transient ThreadLocal<SoftReference<SmileBufferRecycler<String>>> _parserRecyclerRef
+            = new ThreadLocal<SoftReference<SmileBufferRecycler<String>>>();
+
+        protected final transient ThreadLocal<SoftReference<SmileBufferRecycler<String>>> _generatorRecyclerRef
+            = new ThreadLocal<SoftReference<SmileBufferRecycler<String>>>();
+
+        protected ThreadLocalPool() { }
+
+        @Override
+        public SmileBufferRecycler<String> acquireRecycler(boolean forGenerator)
+        {
+            ThreadLocal<SoftReference<SmileBufferRecycler<String>>> tl = forGenerator
+                    ? _generatorRecyclerRef : _parserRecyclerRef;
+            SoftReference<SmileBufferRecycler<String>> ref = tl.get();
+            SmileBufferRecycler<String> br = (ref == null) ? null : ref.get();
+
+            if (br == null) {
+                br = new SmileBufferRecycler<String>();
+                tl.set(new SoftReference<SmileBufferRecycler<String>>(br));
+            }
+            return br;
+        }
+
+        @Override
+        public void releaseRecycler(SmileBufferRecycler<String> recycler, boolean forGenerator) {
+            // nothing to do, recycler remains referenced by thread
+        }
+
+        protected Object readResolve() {
+            return SHARED;
+        }
+    }
+
+    /**
+     * Pool that constructs a new recycler for every parser and generator.
+     */
+    public static class NonRecyclingPool implements SmileBufferRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final static NonRecyclingPool SHARED = new NonRecyclingPool();
+
+        protected NonRecyclingPool() { }
+
+        @Override
+        public SmileBufferRecycler<String> acquireRecycler(boolean forGenerator) {
+            return new SmileBufferRecycler<String>();
+        }
+
+        @Override
+        public void releaseRecycler(SmileBufferRecycler<String> recycler, boolean forGenerator) { }
+
+        protected Object readResolve() {
+            return SHARED;
+        }
+    }
+
+    /**
+     * Lock-free pool that keeps released recyclers in a fixed number of
+     * slots (stripes); threads start probing for a free (or full) slot at
+     * a random position, to reduce contention. Recyclers released when all
+     * slots are full are dropped.
+     */
+    public static class LockFreePool implements SmileBufferRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final int _stripes;
+
+        protected final transient AtomicReferenceArray<SmileBufferRecycler<String>> _parserRecyclers;
+
+        protected final transient AtomicReferenceArray<SmileBufferRecycler<String>> _generatorRecyclers;
+
+        protected LockFreePool(int stripes)
+        {
+            if (stripes < 1) {
+                throw new IllegalArgumentException("Number of stripes must be positive, was "+stripes);
+            }
+            _stripes = stripes;
+            _parserRecyclers = new AtomicReferenceArray<>(stripes);
+            _generatorRecyclers = new AtomicReferenceArray<>(stripes);
+        }
+
+        @Override
+        public SmileBufferRecycler<String> acquireRecycler(boolean forGenerator)
+        {
+            final AtomicReferenceArray<SmileBufferRecycler<String>> slots = forGenerator
+                    ? _generatorRecyclers : _parserRecyclers;
+            final int start = ThreadLocalRandom.current().nextInt(_stripes);
+            for (int i = 0; i < _stripes; ++i) {
+                final int ix = (start + i) % _stripes;
+                if (slots.get(ix) != null) {
+                    SmileBufferRecycler<String> br = slots.getAndSet(ix, null);
+                    if (br != null) {
+                        return br;
+                    }
+                }
+            }
+            return new SmileBufferRecycler<String>();
+        }
+
+        @Override
+        public void releaseRecycler(SmileBufferRecycler<String> recycler, boolean forGenerator)
+        {
+            final AtomicReferenceArray<SmileBufferRecycler<String>> slots = forGenerator
+                    ? _generatorRecyclers : _parserRecyclers;
+            final int start = ThreadLocalRandom.current().nextInt(_stripes);
+            for (int i = 0; i < _stripes; ++i) {
+                final int ix = (start + i) % _stripes;
+                if ((slots.get(ix) == null) && slots.compareAndSet(ix, null, recycler)) {
+                    return;
+                }
+            }
+        }
+
+        protected Object readResolve() {
+            return new LockFreePool(_stripes);
+        }
+    }
+
+    /**
+     * Pool that keeps released recyclers in bounded queues; recyclers
+     * released when queue is full are dropped.
+     */
+    public static class BoundedPool implements SmileBufferRecyclerPool
+    {
+        private static final long serialVersionUID = 1L;
+
+        protected final int _size;
+
+        protected final transient ArrayBlockingQueue<SmileBufferRecycler<String>> _parserRecyclers;
+
+        protected final transient ArrayBlockingQueue<SmileBufferRecycler<String>> _generatorRecyclers;
+
+        protected BoundedPool(int size)
+        {
+            if (size < 1) {
+                throw new IllegalArgumentException("Pool size must be positive, was "+size);
+            }
+            _size = size;
+            _parserRecyclers = new ArrayBlockingQueue<>(size);
+            _generatorRecyclers = new ArrayBlockingQueue<>(size);
+        }
+
+        @Override
+        public SmileBufferRecycler<String> acquireRecycler(boolean forGenerator)
+        {
+            SmileBufferRecycler<String> br = (forGenerator ? _generatorRecyclers : _parserRecyclers).poll();
+            return (br == null) ? new SmileBufferRecycler<String>() : br;
+        }
+
+        @Override
+        public void releaseRecycler(SmileBufferRecycler<String> recycler, boolean forGenerator) {
+            (forGenerator ? _generatorRecyclers : _parserRecyclers).offer(recycler);
+        }
+
+        protected Object readResolve() {
+            return new BoundedPool(_size);
+        }
+    }
+}
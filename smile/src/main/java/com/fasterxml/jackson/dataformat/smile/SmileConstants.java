@@ -161,7 +161,20 @@ public final class SmileConstants
      * written.
      */
     public final static int HEADER_BIT_HAS_RAW_BINARY = 0x04;
-    
+
+    /**
+     * Indicator bit that indicates whether shared name and String value
+     * tables are pre-seeded with contents of a {@link SmileDictionary}
+     * (extension, not part of Smile 1.0 specification: uses bit that
+     * was reserved).
+     * If bit value is 1, header is followed by two bytes that contain
+     * the dictionary id, 7 bits in each (most significant bits first),
+     * and parser must know dictionary with that id to decode content.
+     *
+     * @since 3.0
+     */
+    public final static int HEADER_BIT_HAS_DICTIONARY = 0x08;
+
     /*
     /**********************************************************
     /* Type prefixes: 3 MSB of token byte
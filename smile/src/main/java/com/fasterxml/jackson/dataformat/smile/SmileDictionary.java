@@ -0,0 +1,128 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of field names and short String values that both
+ * {@link SmileGenerator} and {@link SmileParser} pre-seed their shared
+ * name and value tables with, so that back references may be used for the
+ * very first occurrence of these Strings within a document. This is
+ * useful for small documents (messages) with the same keys, where
+ * shared names would otherwise not help much.
+ *<p>
+ * Dictionary is identified by its id, which generator writes in the
+ * document header (see {@link SmileConstants#HEADER_BIT_HAS_DICTIONARY});
+ * parser must be configured with a dictionary that has the same id and
+ * contents, otherwise content can not be decoded. Contents of a dictionary
+ * with given id should therefore never be changed: new id should be used
+ * for a modified dictionary instead.
+ *<p>
+ * Note that names are only used if shared name checking is enabled (see
+ * {@link SmileGenerator.Feature#CHECK_SHARED_NAMES}), and values only if
+ * shared String value checking is (see
+ * {@link SmileGenerator.Feature#CHECK_SHARED_STRING_VALUES}).
+ *
+ * @since 3.0
+ */
+public final class SmileDictionary
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum dictionary id: ids are encoded in header as two 7-bit bytes.
+     */
+    public final static int MAX_ID = 0x3FFF;
+
+    protected final int _id;
+
+    protected final String[] _names;
+
+    protected final String[] _values;
+
+    protected SmileDictionary(int id, String[] names, String[] values)
+    {
+        _id = id;
+        _names = names;
+        _values = values;
+    }
+
+    /**
+     * Factory method for constructing a dictionary with given id, field
+     * names and String values; order of names and values is significant,
+     * as back references refer to their index.
+     *
+     * @param id Id of dictionary, between 0 and {@link #MAX_ID} (inclusive)
+     * @param names Field names to pre-seed shared name table with; at most
+     *    {@link SmileConstants#MAX_SHARED_NAMES}
+     * @param values String values to pre-seed shared value table with; at most
+     *    {@link SmileConstants#MAX_SHARED_STRING_VALUES}, each non-empty and
+     *    at most {@link SmileConstants#MAX_SHARED_STRING_LENGTH_BYTES} bytes
+     *    long when UTF-8 encoded
+     */
+    public static SmileDictionary construct(int id, Collection<String> names,
+            Collection<String> values)
+    {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Invalid dictionary id ("+id+"): must be between 0 and "+MAX_ID);
+        }
+        String[] nameArr = _toArray(names, SmileConstants.MAX_SHARED_NAMES, "names");
+        String[] valueArr = _toArray(values, SmileConstants.MAX_SHARED_STRING_VALUES, "values");
+        for (String value : valueArr) {
+            final int len = value.getBytes(StandardCharsets.UTF_8).length;
+            if (len == 0 || len > SmileConstants.MAX_SHARED_STRING_LENGTH_BYTES) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid dictionary value '%s': encoded length (%d bytes) must be between 1 and %d",
+                        value, len, SmileConstants.MAX_SHARED_STRING_LENGTH_BYTES));
+            }
+        }
+        return new SmileDictionary(id, nameArr, valueArr);
+    }
+
+    private static String[] _toArray(Collection<String> strings, int maxCount, String desc)
+    {
+        if (strings == null) {
+            return new String[0];
+        }
+        if (strings.size() > maxCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Too many dictionary %s (%d): can have at most %d",
+                    desc, strings.size(), maxCount));
+        }
+        String[] result = strings.toArray(new String[0]);
+        for (String str : result) {
+            if (str == null) {
+                throw new IllegalArgumentException("Dictionary "+desc+" can not contain null");
+            }
+        }
+        return result;
+    }
+
+    /*
+    /**********************************************************
+    /* Accessors
+    /**********************************************************
+     */
+
+    public int getId() {
+        return _id;
+    }
+
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(_names));
+    }
+
+    public List<String> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(_values));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[SmileDictionary: id %d, %d names, %d values]",
+                _id, _names.length, _values.length);
+    }
+}
@@ -13,6 +13,7 @@ import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.Named;
 
 import com.fasterxml.jackson.dataformat.smile.async.NonBlockingByteArrayParser;
+import com.fasterxml.jackson.dataformat.smile.async.NonBlockingByteBufferParser;
 
 /**
  * Factory used for constructing {@link SmileParser} and {@link SmileGenerator}
@@ -72,6 +73,38 @@ public class SmileFactory
      */
     protected final transient ByteQuadsCanonicalizer _byteSymbolCanonicalizer = ByteQuadsCanonicalizer.createRoot();
 
+    /*
+    /**********************************************************************
+    /* Dictionaries
+    /**********************************************************************
+     */
+
+    protected final static SmileDictionary[] NO_DICTIONARIES = new SmileDictionary[0];
+
+    /**
+     * Dictionary that generators pre-seed shared names and values with,
+     * if any.
+     *
+     * @since 3.0
+     */
+    protected final SmileDictionary _dictionary;
+
+    /**
+     * Dictionaries that parsers may pre-seed shared names and values with,
+     * if document header refers to one.
+     *
+     * @since 3.0
+     */
+    protected final SmileDictionary[] _dictionaries;
+
+    /**
+     * Pool parsers and generators acquire recyclers for their Smile-specific
+     * buffers from.
+     *
+     * @since 3.0
+     */
+    protected final SmileBufferRecyclerPool _recyclerPool;
+
     /*
     /**********************************************************************
     /* Factory construction, configuration
@@ -90,11 +123,17 @@ public class SmileFactory
      */
     public SmileFactory() {
         super(DEFAULT_SMILE_PARSER_FEATURE_FLAGS, DEFAULT_SMILE_GENERATOR_FEATURE_FLAGS);
+        _dictionary = null;
+        _dictionaries = NO_DICTIONARIES;
+        _recyclerPool = SmileBufferRecyclerPools.threadLocalPool();
     }
 
     public SmileFactory(SmileFactory src)
     {
         super(src);
+        _dictionary = src._dictionary;
+        _dictionaries = src._dictionaries;
+        _recyclerPool = src._recyclerPool;
     }
 
     /**
@@ -104,6 +143,9 @@ public class SmileFactory
      */
     protected SmileFactory(SmileFactoryBuilder b) {
         super(b);
+        _dictionary = b.dictionary();
+        _dictionaries = b.dictionaries().toArray(NO_DICTIONARIES);
+        _recyclerPool = b.recyclerPool();
     }
 
     @Override
@@ -174,6 +216,24 @@ public class SmileFactory
         return f.enabledIn(_formatWriteFeatures);
     }
 
+    /**
+     * Accessor for dictionary generators use, if any.
+     *
+     * @since 3.0
+     */
+    public SmileDictionary getDictionary() {
+        return _dictionary;
+    }
+
+    /**
+     * Accessor for pool that parsers and generators acquire buffer recyclers from.
+     *
+     * @since 3.0
+     */
+    public SmileBufferRecyclerPool getRecyclerPool() {
+        return _recyclerPool;
+    }
+
     /*
     /**********************************************************************
     /* Format support
@@ -211,10 +271,34 @@ public class SmileFactory
             throws IOException
     {
         ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
-        return new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
+        NonBlockingByteArrayParser p = new NonBlockingByteArrayParser(readCtxt, _createContext(null, false),
+                readCtxt.getStreamReadFeatures(_streamReadFeatures),
+                readCtxt.getFormatReadFeatures(_formatReadFeatures),
+                can);
+        p._setDictionaries(_dictionaries);
+        p._setRecyclerPool(_recyclerPool);
+        return p;
+    }
+
+    /**
+     * Method for constructing a non-blocking parser that is fed input using
+     * {@link java.nio.ByteBuffer}s (heap or direct), instead of byte arrays.
+     * Heap buffers are decoded in place; content of direct buffers is copied
+     * in slices (see {@link NonBlockingByteBufferParser}).
+     *
+     * @since 3.0
+     */
+    public NonBlockingByteBufferParser createNonBlockingByteBufferParser(ObjectReadContext readCtxt)
+            throws IOException
+    {
+        ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
+        NonBlockingByteBufferParser p = new NonBlockingByteBufferParser(readCtxt, _createContext(null, false),
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
                 can);
+        p._setDictionaries(_dictionaries);
+        p._setRecyclerPool(_recyclerPool);
+        return p;
     }
 
     /*
@@ -230,22 +314,26 @@ public class SmileFactory
     protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             InputStream in) throws IOException
     {
-        return new SmileParserBootstrapper(ioCtxt, in)
+        SmileParser p = new SmileParserBootstrapper(ioCtxt, in)
             .constructParser(readCtxt, _factoryFeatures,
                     readCtxt.getStreamReadFeatures(_streamReadFeatures),
                     readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                    _byteSymbolCanonicalizer);
+                    _byteSymbolCanonicalizer, _dictionaries);
+        p._setRecyclerPool(_recyclerPool);
+        return p;
     }
 
     @Override
     protected JsonParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             byte[] data, int offset, int len) throws IOException
     {
-        return new SmileParserBootstrapper(ioCtxt, data, offset, len)
+        SmileParser p = new SmileParserBootstrapper(ioCtxt, data, offset, len)
             .constructParser(readCtxt, _factoryFeatures,
                 readCtxt.getStreamReadFeatures(_streamReadFeatures),
                 readCtxt.getFormatReadFeatures(_formatReadFeatures),
-                _byteSymbolCanonicalizer);
+                _byteSymbolCanonicalizer, _dictionaries);
+        p._setRecyclerPool(_recyclerPool);
+        return p;
     }
 
     @Override
@@ -274,7 +362,8 @@ public class SmileFactory
         SmileGenerator gen = new SmileGenerator(writeCtxt, ioCtxt,
                 writeCtxt.getStreamWriteFeatures(_streamWriteFeatures),
                 smileFeatures,
-                out);
+                out, _recyclerPool);
+        gen._setDictionary(_dictionary);
         if (SmileGenerator.Feature.WRITE_HEADER.enabledIn(smileFeatures)) {
             gen.writeHeader();
         } else {
@@ -1,5 +1,9 @@
 package com.fasterxml.jackson.dataformat.smile;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
 
 /**
@@ -11,6 +15,28 @@ import com.fasterxml.jackson.core.base.DecorableTSFactory.DecorableTSFBuilder;
  */
 public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, SmileFactoryBuilder>
 {
+    /*
+    /**********************************************************
+    /* Configuration
+    /**********************************************************
+     */
+
+    /**
+     * Dictionary generators pre-seed shared names and values with, if any.
+     */
+    protected SmileDictionary _dictionary;
+
+    /**
+     * Dictionaries parsers may use for pre-seeding shared names and values,
+     * as indicated by document header; includes {@link #_dictionary}, if any.
+     */
+    protected List<SmileDictionary> _dictionaries;
+
+    /**
+     * Pool parsers and generators acquire buffer recyclers from.
+     */
+    protected SmileBufferRecyclerPool _recyclerPool;
+
     /*
     /**********************************************************
     /* Life cycle
@@ -20,10 +46,15 @@ public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, Smile
     protected SmileFactoryBuilder() {
         super(SmileFactory.DEFAULT_SMILE_PARSER_FEATURE_FLAGS,
                 SmileFactory.DEFAULT_SMILE_GENERATOR_FEATURE_FLAGS);
+        _dictionaries = new ArrayList<>();
+        _recyclerPool = SmileBufferRecyclerPools.threadLocalPool();
     }
 
     public SmileFactoryBuilder(SmileFactory base) {
         super(base);
+        _dictionary = base._dictionary;
+        _dictionaries = new ArrayList<>(Arrays.asList(base._dictionaries));
+        _recyclerPool = base._recyclerPool;
     }
 
     // // // Parser features
@@ -90,6 +121,78 @@ public class SmileFactoryBuilder extends DecorableTSFBuilder<SmileFactory, Smile
         return state ? enable(f) : disable(f);
     }
 
+    // // // Dictionaries
+
+    /**
+     * Method for specifying dictionary that generators pre-seed their shared
+     * name and value tables with (and indicate in the document header, which
+     * requires {@link SmileGenerator.Feature#WRITE_HEADER} to be enabled);
+     * dictionary is also registered for parsers to use, as with
+     * {@link #addDictionary}. Passing {@code null} means that generators use
+     * no dictionary, but does not unregister dictionaries for parsers.
+     */
+    public SmileFactoryBuilder dictionary(SmileDictionary dict) {
+        _dictionary = dict;
+        if (dict != null) {
+            addDictionary(dict);
+        }
+        return _this();
+    }
+
+    /**
+     * Method for registering a dictionary that parsers use if document header
+     * refers to it, without generators using it: useful for reading content
+     * written using older versions of dictionary. Dictionary replaces one
+     * with the same id registered earlier, if any.
+     */
+    public SmileFactoryBuilder addDictionary(SmileDictionary dict) {
+        for (int i = 0, end = _dictionaries.size(); i < end; ++i) {
+            if (_dictionaries.get(i).getId() == dict.getId()) {
+                _dictionaries.set(i, dict);
+                return _this();
+            }
+        }
+        _dictionaries.add(dict);
+        return _this();
+    }
+
+    // // // Buffer recycling
+
+    /**
+     * Method for specifying pool that parsers and generators acquire recyclers
+     * of their Smile-specific buffers from. Default pool,
+     * {@link SmileBufferRecyclerPools#threadLocalPool()}, keeps one recycler
+     * per thread, which gives no reuse when a new thread is used for each
+     * task (as is typical with virtual threads); pools from
+     * {@link SmileBufferRecyclerPools#newLockFreePool()} and
+     * {@link SmileBufferRecyclerPools#newBoundedPool()} are shared by all threads.
+     */
+    public SmileFactoryBuilder recyclerPool(SmileBufferRecyclerPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Can not pass null recycler pool");
+        }
+        _recyclerPool = pool;
+        return _this();
+    }
+
+    /*
+    /**********************************************************
+    /* Accessors
+    /**********************************************************
+     */
+
+    public SmileDictionary dictionary() {
+        return _dictionary;
+    }
+
+    public List<SmileDictionary> dictionaries() {
+        return _dictionaries;
+    }
+
+    public SmileBufferRecyclerPool recyclerPool() {
+        return _recyclerPool;
+    }
+
     @Override
     public SmileFactory build() {
         // 28-Dec-2017, tatu: No special settings beyond base class ones, so:
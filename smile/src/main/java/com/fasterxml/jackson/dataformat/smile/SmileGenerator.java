@@ -1,9 +1,9 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import java.io.*;
-import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import com.fasterxml.jackson.core.*;
@@ -115,22 +115,28 @@ public class SmileGenerator
     }
 
     /**
-     * Helper class used for keeping track of possibly shareable String
-     * references (for field names and/or short String values)
+     * Size of hash areas used for keeping track of possibly shareable Strings
+     * (field names and/or short String values) initially: twice the number
+     * of entries, to keep open-addressing tables at most half full.
+     *
+     * @since 3.0
      */
-    protected final static class SharedStringNode
-    {
-        public final String value;
-        public final int index;
-        public SharedStringNode next;
-        
-        public SharedStringNode(String value, int index, SharedStringNode next)
-        {
-            this.value = value;
-            this.index = index;
-            this.next = next;
-        }
-    }
+    protected final static int DEFAULT_SHARED_TABLE_SIZE = 2 * SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH;
+
+    /**
+     * Size of hash areas once expanded to hold maximum number of entries.
+     *
+     * @since 3.0
+     */
+    protected final static int MAX_SHARED_TABLE_SIZE = 2 * MAX_SHARED_NAMES;
+
+    /**
+     * Mask for back-reference index in entries of {@link #_seenNameRefs} and
+     * {@link #_seenStringValueRefs}; remaining (upper) bits contain upper bits
+     * of hash code of the String, to avoid most {@link String#equals} calls
+     * for non-matching entries.
+     */
+    private final static int SHARED_REF_MASK = MAX_SHARED_NAMES - 1;
     
     /**
      * To simplify certain operations, we require output buffer length
@@ -175,10 +181,18 @@ public class SmileGenerator
     protected int _formatFeatures;
 
     /**
-     * Helper object used for low-level recycling of Smile-generator
-     * specific buffers.
+     * Pool from which helper object used for low-level recycling of
+     * Smile-generator specific buffers is acquired.
+     *
+     * @since 3.0
+     */
+    final protected SmileBufferRecyclerPool _recyclerPool;
+
+    /**
+     * Recycler acquired from {@link #_recyclerPool}, until released when
+     * generator is closed.
      */
-    final protected SmileBufferRecycler<SharedStringNode> _smileBufferRecycler;
+    protected SmileBufferRecycler<String> _smileBufferRecycler;
     
     /*
     /**********************************************************************
@@ -230,9 +244,19 @@ public class SmileGenerator
 
     /**
      * Raw data structure used for checking whether field name to
-     * write can be output using back reference or not.
+     * write can be output using back reference or not: open-addressing
+     * (linear probing) hash area of names, with back-reference indexes
+     * in matching entries of {@link #_seenNameRefs}.
      */
-    protected SharedStringNode[] _seenNames;
+    protected String[] _seenNames;
+
+    /**
+     * Back-reference indexes (and partial hash codes) of names in
+     * {@link #_seenNames}.
+     *
+     * @since 3.0
+     */
+    protected int[] _seenNameRefs;
 
     /**
      * Number of entries in {@link #_seenNames}; -1 if no shared name
@@ -242,9 +266,18 @@ public class SmileGenerator
 
     /**
      * Raw data structure used for checking whether String value to
-     * write can be output using back reference or not.
+     * write can be output using back reference or not; structured same
+     * way as {@link #_seenNames}.
      */
-    protected SharedStringNode[] _seenStringValues;
+    protected String[] _seenStringValues;
+
+    /**
+     * Back-reference indexes (and partial hash codes) of values in
+     * {@link #_seenStringValues}.
+     *
+     * @since 3.0
+     */
+    protected int[] _seenStringValueRefs;
 
     /**
      * Number of entries in {@link #_seenStringValues}; -1 if no shared text value
@@ -253,24 +286,18 @@ public class SmileGenerator
     protected int _seenStringValueCount;
 
     /**
-     * Flag that indicates whether the output buffer is recycable (and
-     * needs to be returned to recycler once we are done) or not.
+     * Dictionary shared names and values are pre-seeded with when header
+     * is written, if any.
+     *
+     * @since 3.0
      */
-    protected boolean _bufferRecyclable;
+    protected SmileDictionary _dictionary;
 
-    /*
-    /**********************************************************************
-    /* Thread-local recycling
-    /**********************************************************************
-     */
-    
     /**
-     * This <code>ThreadLocal</code> contains a {@link java.lang.ref.SoftReference}
-     * to a buffer recycler used to provide a low-cost
-     * buffer recycling for Smile-specific buffers.
+     * Flag that indicates whether the output buffer is recycable (and
+     * needs to be returned to recycler once we are done) or not.
      */
-    final protected static ThreadLocal<SoftReference<SmileBufferRecycler<SharedStringNode>>> _smileRecyclerRef
-        = new ThreadLocal<SoftReference<SmileBufferRecycler<SharedStringNode>>>();
+    protected boolean _bufferRecyclable;
 
     /*
     /**********************************************************************
@@ -281,6 +308,17 @@ public class SmileGenerator
     public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
             int streamWriteFeatures, int smileFeatures,
             OutputStream out)
+    {
+        this(writeCtxt, ioCtxt, streamWriteFeatures, smileFeatures, out,
+                SmileBufferRecyclerPools.threadLocalPool());
+    }
+
+    /**
+     * @since 3.0
+     */
+    public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int streamWriteFeatures, int smileFeatures,
+            OutputStream out, SmileBufferRecyclerPool recyclerPool)
     {
         super(writeCtxt, streamWriteFeatures);
         _formatFeatures = smileFeatures;
@@ -288,7 +326,8 @@ public class SmileGenerator
         final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
                 ? DupDetector.rootDetector(this) : null;
         _tokenWriteContext = SimpleTokenWriteContext.createRootContext(dups);
-        _smileBufferRecycler = _smileBufferRecycler();
+        _recyclerPool = recyclerPool;
+        _smileBufferRecycler = recyclerPool.acquireRecycler(true);
         _out = out;
         _bufferRecyclable = true;
         _outputBuffer = ioCtxt.allocWriteEncodingBuffer();
@@ -304,8 +343,11 @@ public class SmileGenerator
             _seenNameCount = -1;
         } else {
             _seenNames = _smileBufferRecycler.allocSeenNamesBuffer();
-            if (_seenNames == null) {
-                _seenNames = new SharedStringNode[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];
+            _seenNameRefs = _smileBufferRecycler.allocSeenNameRefsBuffer();
+            if ((_seenNames == null) || (_seenNameRefs == null)
+                    || (_seenNames.length != _seenNameRefs.length)) {
+                _seenNames = new String[DEFAULT_SHARED_TABLE_SIZE];
+                _seenNameRefs = new int[DEFAULT_SHARED_TABLE_SIZE];
             }
             _seenNameCount = 0;
         }
@@ -315,8 +357,11 @@ public class SmileGenerator
             _seenStringValueCount = -1;
         } else {
             _seenStringValues = _smileBufferRecycler.allocSeenStringValuesBuffer();
-            if (_seenStringValues == null) {
-                _seenStringValues = new SharedStringNode[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
+            _seenStringValueRefs = _smileBufferRecycler.allocSeenStringValueRefsBuffer();
+            if ((_seenStringValues == null) || (_seenStringValueRefs == null)
+                    || (_seenStringValues.length != _seenStringValueRefs.length)) {
+                _seenStringValues = new String[DEFAULT_SHARED_TABLE_SIZE];
+                _seenStringValueRefs = new int[DEFAULT_SHARED_TABLE_SIZE];
             }
             _seenStringValueCount = 0;
         }
@@ -326,6 +371,19 @@ public class SmileGenerator
             int streamWriteFeatures, int smileFeatures,
             OutputStream out, byte[] outputBuffer, int offset,
             boolean bufferRecyclable)
+    {
+        this(writeCtxt, ioCtxt, streamWriteFeatures, smileFeatures,
+                out, outputBuffer, offset, bufferRecyclable,
+                SmileBufferRecyclerPools.threadLocalPool());
+    }
+
+    /**
+     * @since 3.0
+     */
+    public SmileGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int streamWriteFeatures, int smileFeatures,
+            OutputStream out, byte[] outputBuffer, int offset,
+            boolean bufferRecyclable, SmileBufferRecyclerPool recyclerPool)
     {
         super(writeCtxt, streamWriteFeatures);
         _formatFeatures = smileFeatures;
@@ -333,7 +391,8 @@ public class SmileGenerator
         final DupDetector dups = StreamWriteFeature.STRICT_DUPLICATE_DETECTION.enabledIn(streamWriteFeatures)
                 ? DupDetector.rootDetector(this) : null;
                 _tokenWriteContext = SimpleTokenWriteContext.createRootContext(dups);
-        _smileBufferRecycler = _smileBufferRecycler();
+        _recyclerPool = recyclerPool;
+        _smileBufferRecycler = recyclerPool.acquireRecycler(true);
         _out = out;
         _bufferRecyclable = bufferRecyclable;
         _outputTail = offset;
@@ -350,8 +409,11 @@ public class SmileGenerator
             _seenNameCount = -1;
         } else {
             _seenNames = _smileBufferRecycler.allocSeenNamesBuffer();
-            if (_seenNames == null) {
-                _seenNames = new SharedStringNode[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];
+            _seenNameRefs = _smileBufferRecycler.allocSeenNameRefsBuffer();
+            if ((_seenNames == null) || (_seenNameRefs == null)
+                    || (_seenNames.length != _seenNameRefs.length)) {
+                _seenNames = new String[DEFAULT_SHARED_TABLE_SIZE];
+                _seenNameRefs = new int[DEFAULT_SHARED_TABLE_SIZE];
             }
             _seenNameCount = 0;
         }
@@ -361,8 +423,11 @@ public class SmileGenerator
             _seenStringValueCount = -1;
         } else {
             _seenStringValues = _smileBufferRecycler.allocSeenStringValuesBuffer();
-            if (_seenStringValues == null) {
-                _seenStringValues = new SharedStringNode[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
+            _seenStringValueRefs = _smileBufferRecycler.allocSeenStringValueRefsBuffer();
+            if ((_seenStringValues == null) || (_seenStringValueRefs == null)
+                    || (_seenStringValues.length != _seenStringValueRefs.length)) {
+                _seenStringValues = new String[DEFAULT_SHARED_TABLE_SIZE];
+                _seenStringValueRefs = new int[DEFAULT_SHARED_TABLE_SIZE];
             }
             _seenStringValueCount = 0;
         }
@@ -387,19 +452,27 @@ public class SmileGenerator
         if (!Feature.ENCODE_BINARY_AS_7BIT.enabledIn(_formatFeatures)) {
             last |= SmileConstants.HEADER_BIT_HAS_RAW_BINARY;
         }
-        _writeBytes(HEADER_BYTE_1, HEADER_BYTE_2, HEADER_BYTE_3, (byte) last);
+        final SmileDictionary dict = _dictionary;
+        if (dict == null) {
+            _writeBytes(HEADER_BYTE_1, HEADER_BYTE_2, HEADER_BYTE_3, (byte) last);
+            return;
+        }
+        last |= SmileConstants.HEADER_BIT_HAS_DICTIONARY;
+        final int id = dict.getId();
+        _writeBytes(HEADER_BYTE_1, HEADER_BYTE_2, HEADER_BYTE_3, (byte) last,
+                (byte) (id >> 7), (byte) (id & 0x7F));
+        _seedShared(dict);
     }
 
-    protected final static SmileBufferRecycler<SharedStringNode> _smileBufferRecycler()
-    {
-        SoftReference<SmileBufferRecycler<SharedStringNode>> ref = _smileRecyclerRef.get();
-        SmileBufferRecycler<SharedStringNode> br = (ref == null) ? null : ref.get();
-
-        if (br == null) {
-            br = new SmileBufferRecycler<SharedStringNode>();
-            _smileRecyclerRef.set(new SoftReference<SmileBufferRecycler<SharedStringNode>>(br));
-        }
-        return br;
+    /**
+     * Method called by {@link SmileFactory} to specify dictionary to pre-seed
+     * shared names and values with, when header is written: dictionary is not
+     * used if no header is written.
+     *
+     * @since 3.0
+     */
+    protected void _setDictionary(SmileDictionary dict) {
+        _dictionary = dict;
     }
 
     /*                                                                                       
@@ -1153,6 +1226,31 @@ public class SmileGenerator
         if (_seenStringValueCount >= 0) {
             throw new UnsupportedOperationException("Can not use direct UTF-8 write methods when 'Feature.CHECK_SHARED_STRING_VALUES' enabled");
         } 
+        _writeUTF8String(text, offset, len);
+    }
+
+    @Override
+    public final void writeUTF8String(byte[] text, int offset, int len)
+        throws IOException
+    {
+        // Short values may be shared, so need to be decoded if sharing enabled
+        if ((_seenStringValueCount >= 0) && (len <= MAX_SHARED_STRING_LENGTH_BYTES)) {
+            writeString(new String(text, offset, len, StandardCharsets.UTF_8));
+            return;
+        }
+        // Otherwise no escaping is needed, same as 'writeRawUTF8String'
+        _verifyValueWrite("write String value");
+        _writeUTF8String(text, offset, len);
+    }
+
+    private final void _writeUTF8String(byte[] text, int offset, int len)
+        throws IOException
+    {
+        // first: is it empty String?
+        if (len == 0) {
+            _writeByte(TOKEN_LITERAL_EMPTY_STRING);
+            return;
+        }
         /* Other practical limitation is that we do not really know if it might be
          * ASCII or not; and figuring it out is rather slow. So, best we can do is
          * to declare we do not know it is ASCII (i.e. "is Unicode").
@@ -1191,14 +1289,6 @@ public class SmileGenerator
             }
         }
     }
-
-    @Override
-    public final void writeUTF8String(byte[] text, int offset, int len)
-        throws IOException
-    {
-        // Since no escaping is needed, same as 'writeRawUTF8String'
-        writeRawUTF8String(text, offset, len);
-    }
     
     /*
     /**********************************************************
@@ -2538,35 +2628,38 @@ public class SmileGenerator
             _outputBuffer = null;
             _ioContext.releaseWriteEncodingBuffer(buf);
         }
-        /* Ok: since clearing up of larger arrays is much slower,
-         * let's only recycle default-sized buffers...
-         */
+        // Hash areas of all sizes are recycled: they are cleared at most once per document
         {
-            SharedStringNode[] nameBuf = _seenNames;
-            if (nameBuf != null && nameBuf.length == SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) {
+            String[] nameBuf = _seenNames;
+            if (nameBuf != null) {
                 _seenNames = null;
-                /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
-                 *   that since it's a hash area, must clear all
-                 */
+                // caller needs to clear the buffer; and since it's a hash area, must clear all
                 if (_seenNameCount > 0) {
                     Arrays.fill(nameBuf, null);
                 }
                 _smileBufferRecycler.releaseSeenNamesBuffer(nameBuf);
+                _smileBufferRecycler.releaseSeenNameRefsBuffer(_seenNameRefs);
+                _seenNameRefs = null;
             }
         }
         {
-            SharedStringNode[] valueBuf = _seenStringValues;
-            if (valueBuf != null && valueBuf.length == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) {
+            String[] valueBuf = _seenStringValues;
+            if (valueBuf != null) {
                 _seenStringValues = null;
-                /* 28-Jun-2011, tatu: With 1.9, caller needs to clear the buffer; and note
-                 *   that since it's a hash area, must clear all
-                 */
                 if (_seenStringValueCount > 0) {
                     Arrays.fill(valueBuf, null);
                 }
                 _smileBufferRecycler.releaseSeenStringValuesBuffer(valueBuf);
+                _smileBufferRecycler.releaseSeenStringValueRefsBuffer(_seenStringValueRefs);
+                _seenStringValueRefs = null;
             }
         }
+        // and finally recycler itself may be reused by other generators
+        final SmileBufferRecycler<String> br = _smileBufferRecycler;
+        if (br != null) {
+            _smileBufferRecycler = null;
+            _recyclerPool.releaseRecycler(br, true);
+        }
     }
 
     protected final void _flushBuffer() throws IOException
@@ -2584,113 +2677,50 @@ public class SmileGenerator
     /**********************************************************************
      */
 
-    private final int _findSeenName(String name)
-    {
-        int hash = name.hashCode();
-        SharedStringNode head = _seenNames[hash & (_seenNames.length-1)];
-        if (head == null) {
-            return -1;
-        }
-        SharedStringNode node = head;
-        // first, identity match; assuming most of the time we get intern()ed String
-        // And do unrolled initial check; 90+% likelihood head node has all info we need:
-        if (node.value == name) {
-            return node.index;
-        }
-        while ((node = node.next) != null) {
-            if (node.value == name) {
-                return node.index;
-            }
-        }
-        // If not, equality check; we already know head is not null
-        node = head;
-        do {
-            String value = node.value;
-            if (value.hashCode() == hash && value.equals(name)) {
-                return node.index;
-            }
-            node = node.next;
-        } while (node != null);
-        return -1;
+    private final int _findSeenName(String name) {
+        return _findShared(_seenNames, _seenNameRefs, name);
     }
-    
+
     private final void _addSeenName(String name)
     {
-        // first: do we need to expand?
-        if (_seenNameCount == _seenNames.length) {
+        // first: do we need to expand (or flush)?
+        if (_seenNameCount == (_seenNames.length >> 1)) {
             if (_seenNameCount == MAX_SHARED_NAMES) { // we are too full, restart from empty
                 Arrays.fill(_seenNames, null);
                 _seenNameCount = 0;
             } else { // we always start with modest default size (like 64), so expand to full
-                SharedStringNode[] old = _seenNames;
-                _seenNames = new SharedStringNode[MAX_SHARED_NAMES];
-                final int mask = MAX_SHARED_NAMES-1;
-                for (SharedStringNode node : old) {
-                    while (node != null) {
-                        int ix = node.value.hashCode() & mask;
-                        SharedStringNode next = node.next;
-                        node.next = _seenNames[ix];
-                        _seenNames[ix] = node;
-                        node = next;
-                    }
-                }
+                String[] keys = new String[MAX_SHARED_TABLE_SIZE];
+                int[] refs = new int[MAX_SHARED_TABLE_SIZE];
+                _rehashShared(_seenNames, _seenNameRefs, keys, refs);
+                _seenNames = keys;
+                _seenNameRefs = refs;
             }
         }
         // other than that, just slap it there
         int ref = _seenNameCount;
         if (_validBackRef(ref)) {
-            int ix = name.hashCode() & (_seenNames.length-1);
-            _seenNames[ix] = new SharedStringNode(name, ref, _seenNames[ix]);
+            _addShared(_seenNames, _seenNameRefs, name, ref);
         }
         _seenNameCount = ref+1;
     }
 
-    private final int _findSeenStringValue(String text)
-    {
-        int hash = text.hashCode();
-        SharedStringNode head = _seenStringValues[hash & (_seenStringValues.length-1)];
-        if (head != null) {
-            SharedStringNode node = head;
-            // first, identity match; assuming most of the time we get intern()ed String
-            do {
-                if (node.value == text) {
-                    return node.index;
-                }
-                node = node.next;
-            } while (node != null);
-            // and then comparison, if no match yet
-            node = head;
-            do {
-                String value = node.value;
-                if (value.hashCode() == hash && value.equals(text)) {
-                    return node.index;
-                }
-                node = node.next;
-            } while (node != null);
-        }
-        return -1;
+    private final int _findSeenStringValue(String text) {
+        return _findShared(_seenStringValues, _seenStringValueRefs, text);
     }
 
     private final void _addSeenStringValue(String text)
     {
-        // first: do we need to expand?
-        if (_seenStringValueCount == _seenStringValues.length) {
+        // first: do we need to expand (or flush)?
+        if (_seenStringValueCount == (_seenStringValues.length >> 1)) {
             if (_seenStringValueCount == MAX_SHARED_STRING_VALUES) { // we are too full, restart from empty
                 Arrays.fill(_seenStringValues, null);
                 _seenStringValueCount = 0;
             } else { // we always start with modest default size (like 64), so expand to full
-                SharedStringNode[] old = _seenStringValues;
-                _seenStringValues = new SharedStringNode[MAX_SHARED_STRING_VALUES];
-                final int mask = MAX_SHARED_STRING_VALUES-1;
-                for (SharedStringNode node : old) {
-                    while (node != null) {
-                        int ix = node.value.hashCode() & mask;
-                        SharedStringNode next = node.next;
-                        node.next = _seenStringValues[ix];
-                        _seenStringValues[ix] = node;
-                        node = next;
-                    }
-                }
+                String[] keys = new String[MAX_SHARED_TABLE_SIZE];
+                int[] refs = new int[MAX_SHARED_TABLE_SIZE];
+                _rehashShared(_seenStringValues, _seenStringValueRefs, keys, refs);
+                _seenStringValues = keys;
+                _seenStringValueRefs = refs;
             }
         }
         // other than that, just slap it there
@@ -2702,12 +2732,102 @@ public class SmileGenerator
          */
         int ref = _seenStringValueCount;
         if (_validBackRef(ref)) {
-            int ix = text.hashCode() & (_seenStringValues.length-1);
-            _seenStringValues[ix] = new SharedStringNode(text, ref, _seenStringValues[ix]);
+            _addShared(_seenStringValues, _seenStringValueRefs, text, ref);
         }
         _seenStringValueCount = ref+1;
     }
 
+    /**
+     * Method called after header that refers to given dictionary has been
+     * written, to replace shared names and values with ones from dictionary
+     * (same as parser does when decoding header).
+     */
+    private final void _seedShared(SmileDictionary dict)
+    {
+        if (_seenNameCount >= 0) {
+            if (_seenNameCount > 0) {
+                Arrays.fill(_seenNames, null);
+                _seenNameCount = 0;
+            }
+            for (String name : dict._names) {
+                _addSeenName(name);
+            }
+        }
+        if (_seenStringValueCount >= 0) {
+            if (_seenStringValueCount > 0) {
+                Arrays.fill(_seenStringValues, null);
+                _seenStringValueCount = 0;
+            }
+            for (String value : dict._values) {
+                _addSeenStringValue(value);
+            }
+        }
+    }
+
+    /**
+     * Helper method for finding back-reference index of given String in
+     * given hash area, if any: checks identity first (assuming most of the
+     * time we get intern()ed Strings), and equality only for entries with
+     * matching hash bits.
+     *
+     * @return Back-reference index of String, if found; -1 if not
+     */
+    private final static int _findShared(String[] keys, int[] refs, String str)
+    {
+        final int hash = str.hashCode();
+        final int mask = keys.length - 1;
+        int ix = _sharedHash(hash) & mask;
+        String key;
+        while ((key = keys[ix]) != null) {
+            if (key == str) {
+                return refs[ix] & SHARED_REF_MASK;
+            }
+            final int entry = refs[ix];
+            if ((((entry ^ hash) & ~SHARED_REF_MASK) == 0) && key.equals(str)) {
+                return entry & SHARED_REF_MASK;
+            }
+            ix = (ix + 1) & mask;
+        }
+        return -1;
+    }
+
+    private final static void _addShared(String[] keys, int[] refs, String str, int ref)
+    {
+        final int hash = str.hashCode();
+        final int mask = keys.length - 1;
+        int ix = _sharedHash(hash) & mask;
+        while (keys[ix] != null) {
+            ix = (ix + 1) & mask;
+        }
+        keys[ix] = str;
+        refs[ix] = (hash & ~SHARED_REF_MASK) | ref;
+    }
+
+    private final static void _rehashShared(String[] oldKeys, int[] oldRefs,
+            String[] keys, int[] refs)
+    {
+        final int mask = keys.length - 1;
+        for (int i = 0, end = oldKeys.length; i < end; ++i) {
+            final String key = oldKeys[i];
+            if (key != null) {
+                int ix = _sharedHash(key.hashCode()) & mask;
+                while (keys[ix] != null) {
+                    ix = (ix + 1) & mask;
+                }
+                keys[ix] = key;
+                refs[ix] = oldRefs[i];
+            }
+        }
+    }
+
+    /**
+     * Helper method for mixing upper bits of hash code into lower ones,
+     * since only lower bits are used for locating hash area slot.
+     */
+    private final static int _sharedHash(int hash) {
+        return hash ^ (hash >>> 15);
+    }
+
     /**
      * Helper method used to ensure that we do not use back-reference values
      * that would produce illegal byte sequences (ones with byte 0xFE or 0xFF).
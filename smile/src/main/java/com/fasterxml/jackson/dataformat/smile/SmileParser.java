@@ -168,6 +168,16 @@ public class SmileParser extends SmileParserBase
             _seenStringValueCount = 0;
         }
         _mayContainRawBinary = ((ch & SmileConstants.HEADER_BIT_HAS_RAW_BINARY) != 0);
+        // and dictionary id follows, if shared names, values are pre-seeded
+        if ((ch & SmileConstants.HEADER_BIT_HAS_DICTIONARY) != 0) {
+            int b1 = _nextByteGuaranteed();
+            int b2 = _nextByteGuaranteed();
+            if (((b1 | b2) & 0x80) != 0) {
+                _reportError("Malformed content: dictionary id in header not valid, has byte with high bit set (0x"
+                        +Integer.toHexString((b1 < 0 ? b1 : b2) & 0xFF)+")");
+            }
+            _applyDictionary((b1 << 7) | b2);
+        }
         return true;
     }
 
@@ -496,7 +506,7 @@ public class SmileParser extends SmileParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            newShared = _smileBufferRecycler().allocSeenStringValuesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
@@ -1664,7 +1674,7 @@ public class SmileParser extends SmileParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenNamesBuffer();
+            newShared = _smileBufferRecycler().allocSeenNamesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];                
             }
@@ -2681,6 +2691,50 @@ public class SmileParser extends SmileParserBase
         }
     }
     
+    /**
+     * Helper method used by {@link SmileTranscoder} for writing UTF-8 encoded
+     * content of the current (undecoded) String value as-is, using
+     * {@link JsonGenerator#writeUTF8String}. Value is not consumed.
+     *
+     * @return True if content was written; false if not (value already
+     *    decoded, or long value not fully contained in input buffer)
+     */
+    protected boolean _writeRawText(JsonGenerator g) throws IOException
+    {
+        if (!_tokenIncomplete || (_currToken != JsonToken.VALUE_STRING)) {
+            return false;
+        }
+        final int tb = _typeAsInt;
+        int len;
+        switch (tb >> 5) {
+        case 2: // tiny & short ASCII
+        case 3:
+            len = 1 + (tb & 0x3F);
+            break;
+        case 4: // tiny & short Unicode
+        case 5:
+            len = 2 + (tb & 0x3F);
+            break;
+        default: // long variable length; only if end marker already in buffer
+            {
+                final byte[] buf = _inputBuffer;
+                final int end = _inputEnd;
+                for (int ptr = _inputPtr; ptr < end; ++ptr) {
+                    if (buf[ptr] == BYTE_MARKER_END_OF_STRING) {
+                        g.writeUTF8String(buf, _inputPtr, ptr - _inputPtr);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        if ((_inputEnd - _inputPtr) < len) {
+            _loadToHaveAtLeast(len);
+        }
+        g.writeUTF8String(_inputBuffer, _inputPtr, len);
+        return true;
+    }
+
     /*
     /**********************************************************
     /* Internal methods, skipping
@@ -1,7 +1,6 @@
 package com.fasterxml.jackson.dataformat.smile;
 
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -44,6 +43,14 @@ public abstract class SmileParserBase extends ParserMinimalBase
      */
     protected boolean _mayContainRawBinary;
 
+    /**
+     * Dictionaries that shared names and values may be pre-seeded with,
+     * if document header refers to one.
+     *
+     * @since 3.0
+     */
+    protected SmileDictionary[] _dictionaries = SmileFactory.NO_DICTIONARIES;
+
     /*
     /**********************************************************
     /* Generic I/O state
@@ -193,23 +200,23 @@ public abstract class SmileParserBase extends ParserMinimalBase
 
     /*
     /**********************************************************
-    /* Thread-local recycling
+    /* Recycling
     /**********************************************************
      */
-    
+
     /**
-     * <code>ThreadLocal</code> contains a {@link java.lang.ref.SoftReference}
-     * to a buffer recycler used to provide a low-cost
-     * buffer recycling for Smile-specific buffers.
+     * Pool from which recycler for Smile-specific buffers is acquired.
+     *
+     * @since 3.0
      */
-    final protected static ThreadLocal<SoftReference<SmileBufferRecycler<String>>> _smileRecyclerRef
-        = new ThreadLocal<SoftReference<SmileBufferRecycler<String>>>();
+    protected SmileBufferRecyclerPool _recyclerPool = SmileBufferRecyclerPools.threadLocalPool();
 
     /**
-     * Helper object used for low-level recycling of Smile-generator
-     * specific buffers.
+     * Helper object used for low-level recycling of Smile-parser
+     * specific buffers; acquired from {@link #_recyclerPool} when first
+     * needed, and released when parser is closed.
      */
-    final protected SmileBufferRecycler<String> _smileBufferRecycler;
+    protected SmileBufferRecycler<String> _smileBufferRecycler;
 
     /*
     /**********************************************************
@@ -230,17 +237,33 @@ public abstract class SmileParserBase extends ParserMinimalBase
         _parsingContext = JsonReadContext.createRootContext(dups);
 
         _textBuffer = ioCtxt.constructTextBuffer();
-        _smileBufferRecycler = _smileBufferRecycler();
     }
 
-    protected final static SmileBufferRecycler<String> _smileBufferRecycler()
-    {
-        SoftReference<SmileBufferRecycler<String>> ref = _smileRecyclerRef.get();
-        SmileBufferRecycler<String> br = (ref == null) ? null : ref.get();
+    /**
+     * Method called by {@link SmileFactory} to pass dictionaries document
+     * header may refer to; needs to be called before header is decoded.
+     *
+     * @since 3.0
+     */
+    protected void _setDictionaries(SmileDictionary[] dictionaries) {
+        _dictionaries = dictionaries;
+    }
+
+    /**
+     * Method called by {@link SmileFactory} to pass pool to acquire buffer
+     * recycler from; needs to be called before recycler is first needed.
+     *
+     * @since 3.0
+     */
+    protected void _setRecyclerPool(SmileBufferRecyclerPool pool) {
+        _recyclerPool = pool;
+    }
 
+    protected final SmileBufferRecycler<String> _smileBufferRecycler()
+    {
+        SmileBufferRecycler<String> br = _smileBufferRecycler;
         if (br == null) {
-            br = new SmileBufferRecycler<String>();
-            _smileRecyclerRef.set(new SoftReference<SmileBufferRecycler<String>>(br));
+            _smileBufferRecycler = br = _recyclerPool.acquireRecycler(false);
         }
         return br;
     }
@@ -362,7 +385,7 @@ public abstract class SmileParserBase extends ParserMinimalBase
             if (_seenNameCount > 0) {
                 Arrays.fill(nameBuf, 0, _seenNameCount, null);
             }
-            _smileBufferRecycler.releaseSeenNamesBuffer(nameBuf);
+            _smileBufferRecycler().releaseSeenNamesBuffer(nameBuf);
         }
         String[] valueBuf = _seenStringValues;
         if (valueBuf != null && valueBuf.length > 0) {
@@ -372,13 +395,74 @@ public abstract class SmileParserBase extends ParserMinimalBase
             if (_seenStringValueCount > 0) {
                 Arrays.fill(valueBuf, 0, _seenStringValueCount, null);
             }
-            _smileBufferRecycler.releaseSeenStringValuesBuffer(valueBuf);
+            _smileBufferRecycler().releaseSeenStringValuesBuffer(valueBuf);
+        }
+        final SmileBufferRecycler<String> br = _smileBufferRecycler;
+        if (br != null) {
+            _smileBufferRecycler = null;
+            _recyclerPool.releaseRecycler(br, false);
         }
         _releaseBuffers2();
     }
 
     protected abstract void _releaseBuffers2();
 
+    /*
+    /**********************************************************
+    /* Internal methods, dictionaries
+    /**********************************************************
+     */
+
+    /**
+     * Method called when document header indicates that shared names and
+     * values are to be pre-seeded with dictionary that has given id.
+     *
+     * @since 3.0
+     */
+    protected void _applyDictionary(int id) throws IOException
+    {
+        SmileDictionary dict = null;
+        for (SmileDictionary d : _dictionaries) {
+            if (d.getId() == id) {
+                dict = d;
+                break;
+            }
+        }
+        if (dict == null) {
+            _reportError("Header refers to unknown dictionary (id %d): no dictionary with that id registered with SmileFactory",
+                    id);
+        }
+        if (_seenNameCount >= 0) {
+            _seenNames = _seedShared(_seenNames, _seenNameCount, dict._names);
+            _seenNameCount = dict._names.length;
+        }
+        if (_seenStringValueCount >= 0) {
+            _seenStringValues = _seedShared(_seenStringValues, _seenStringValueCount, dict._values);
+            _seenStringValueCount = dict._values.length;
+        }
+    }
+
+    private final static String[] _seedShared(String[] shared, int count, String[] seed)
+    {
+        final int len = seed.length;
+        if (shared.length < len) {
+            // need to use one of sizes expansion uses, to expand (or flush) same way as generator
+            final int size;
+            if (len <= SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH) {
+                size = SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH;
+            } else if (len <= 256) {
+                size = 256;
+            } else {
+                size = SmileConstants.MAX_SHARED_NAMES;
+            }
+            shared = new String[size];
+        } else if (count > len) {
+            Arrays.fill(shared, len, count, null);
+        }
+        System.arraycopy(seed, 0, shared, 0, len);
+        return shared;
+    }
+
     /*
     /**********************************************************
     /* Numeric accessors of public API
@@ -87,6 +87,22 @@ public class SmileParserBootstrapper
             int generalParserFeatures, int smileFeatures,
             ByteQuadsCanonicalizer rootByteSymbols)
         throws IOException, JsonParseException
+    {
+        return constructParser(readCtxt, factoryFeatures, generalParserFeatures, smileFeatures,
+                rootByteSymbols, SmileFactory.NO_DICTIONARIES);
+    }
+
+    /**
+     * @param dictionaries Dictionaries parser may pre-seed shared names and
+     *    values with, if document header refers to one
+     *
+     * @since 3.0
+     */
+    public SmileParser constructParser(ObjectReadContext readCtxt,
+            int factoryFeatures,
+            int generalParserFeatures, int smileFeatures,
+            ByteQuadsCanonicalizer rootByteSymbols, SmileDictionary[] dictionaries)
+        throws IOException, JsonParseException
     {
         ByteQuadsCanonicalizer can = rootByteSymbols.makeChild(factoryFeatures);
         // We just need a single byte, really, to know if it starts with header
@@ -101,6 +117,7 @@ public class SmileParserBootstrapper
         SmileParser p = new SmileParser(readCtxt, _ioContext, generalParserFeatures, smileFeatures,
                 can, 
                 _in, _inputBuffer, _inputPtr, _inputEnd, _bufferRecyclable);
+        p._setDictionaries(dictionaries);
         boolean hadSig = false;
         if (_inputPtr < _inputEnd) { // only false for empty doc
             if (_inputBuffer[_inputPtr] == SmileConstants.HEADER_BYTE_1) {
@@ -8,10 +8,12 @@ import java.util.Arrays;
 
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.VersionUtil;
 
 import com.fasterxml.jackson.dataformat.smile.SmileConstants;
@@ -72,7 +74,7 @@ public class NonBlockingByteArrayParser
     }
 
     @Override
-    public final boolean needMoreInput() {
+    public boolean needMoreInput() {
         return (_inputPtr >=_inputEnd) && !_endOfInput;
     }
 
@@ -111,16 +113,102 @@ public class NonBlockingByteArrayParser
     /**********************************************************************
      */
 
-    /* Implementing these methods efficiently for non-blocking cases would
-     * be complicated; so for now let's just use the default non-optimized
-     * implementation
+    /* Optimized traversal methods only handle cases where the whole token is
+     * available in the current input buffer, and parser is not in the middle of
+     * a token; otherwise they fall back to regular handling via `nextToken()`
      */
 
-//    public boolean nextFieldName(SerializableString str) throws IOException
-//    public String nextTextValue() throws IOException
-//    public int nextIntValue(int defaultValue) throws IOException
-//    public long nextLongValue(long defaultValue) throws IOException
-//    public Boolean nextBooleanValue() throws IOException
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException
+    {
+        final int index = _nextSharedName();
+        if (index >= 0) {
+            return str.getValue().equals(_seenNames[index]);
+        }
+        return (nextToken() == JsonToken.FIELD_NAME) && str.getValue().equals(currentName());
+    }
+
+    @Override
+    public int nextFieldName(FieldNameMatcher matcher) throws IOException
+    {
+        int index = _nextSharedName();
+        if (index >= 0) {
+            return _matchSeenName(matcher, index);
+        }
+        final JsonToken t = nextToken();
+        if (t == JsonToken.FIELD_NAME) {
+            final String name = _parsingContext.currentName();
+            final int match = matcher.matchName(name);
+            // If name was just added for back-references, retain match for those
+            index = _seenNameCount - 1;
+            if ((index >= 0) && (_seenNames[index] == name)) {
+                _addSeenNameMatch(matcher, index, match);
+            }
+            return match;
+        }
+        return (t == JsonToken.END_OBJECT) ? FieldNameMatcher.MATCH_END_OBJECT
+                : FieldNameMatcher.MATCH_ODD_TOKEN;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException
+    {
+        if (_canDecodeValueDirectly()) {
+            final int ch = _inputBuffer[_inputPtr];
+            if ((ch > 0) && (ch <= 0x1F)) { // short shared string value reference
+                ++_inputPtr;
+                _binaryValue = null;
+                _handleSharedString(ch - 1);
+                return _seenStringValues[ch - 1];
+            }
+        }
+        return (nextToken() == JsonToken.VALUE_STRING) ? _textBuffer.contentsAsString() : null;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException
+    {
+        if (_nextSmallInt()) {
+            return _numberInt;
+        }
+        return (nextToken() == JsonToken.VALUE_NUMBER_INT) ? getIntValue() : defaultValue;
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException
+    {
+        if (_nextSmallInt()) {
+            return _numberInt;
+        }
+        return (nextToken() == JsonToken.VALUE_NUMBER_INT) ? getLongValue() : defaultValue;
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException
+    {
+        if (_canDecodeValueDirectly()) {
+            switch (_inputBuffer[_inputPtr]) {
+            case 0x22:
+                ++_inputPtr;
+                _binaryValue = null;
+                _valueComplete(JsonToken.VALUE_FALSE);
+                return Boolean.FALSE;
+            case 0x23:
+                ++_inputPtr;
+                _binaryValue = null;
+                _valueComplete(JsonToken.VALUE_TRUE);
+                return Boolean.TRUE;
+            }
+        }
+        final JsonToken t = nextToken();
+        if (t == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        }
+        if (t == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
 
     @Override
     public int releaseBuffered(OutputStream out) throws IOException {
@@ -324,6 +412,75 @@ public class NonBlockingByteArrayParser
         throw new IllegalStateException("Illegal state when trying to complete token: majorState="+_majorState);
     }
 
+    /*
+    /**********************************************************************
+    /* Optimized traversal, helper methods
+    /**********************************************************************
+     */
+
+    // Whether next token is a value that is (at least partially) available in
+    // the input buffer, and parser is not in the middle of a token
+    private final boolean _canDecodeValueDirectly() {
+        return (_inputPtr < _inputEnd) && (_currToken != JsonToken.NOT_AVAILABLE)
+                && ((_majorState == MAJOR_OBJECT_VALUE) || (_majorState == MAJOR_ARRAY_ELEMENT));
+    }
+
+    /**
+     * Helper method for decoding next token directly, if it is a back-reference
+     * to a shared name available in the input buffer.
+     *
+     * @return Index of shared name, if next token was decoded;
+     *    -1 if not (and nothing was consumed)
+     */
+    private final int _nextSharedName() throws IOException
+    {
+        if ((_majorState != MAJOR_OBJECT_FIELD) || (_currToken == JsonToken.NOT_AVAILABLE)) {
+            return -1;
+        }
+        int ptr = _inputPtr;
+        if (ptr >= _inputEnd) {
+            return -1;
+        }
+        final int ch = _inputBuffer[ptr++] & 0xFF;
+        final int index;
+        if ((ch >> 6) == 1) { // short shared
+            index = ch & 0x3F;
+        } else if (((ch & 0xFC) == 0x30) && (ptr < _inputEnd)) { // long shared
+            index = ((ch & 0x3) << 8) + (_inputBuffer[ptr++] & 0xFF);
+        } else {
+            return -1;
+        }
+        _inputPtr = ptr;
+        _numTypesValid = NR_UNKNOWN;
+        _binaryValue = null;
+        _handleSharedName(index);
+        return index;
+    }
+
+    /**
+     * Helper method for decoding next token directly, if it is a small
+     * (5-bit) integer value.
+     *
+     * @return True if next token was decoded (into {@link #_numberInt});
+     *    false if not (and nothing was consumed)
+     */
+    private final boolean _nextSmallInt() throws IOException
+    {
+        if (_canDecodeValueDirectly()) {
+            final int ch = _inputBuffer[_inputPtr] & 0xFF;
+            if ((ch >> 5) == 6) { // small integers; zigzag encoded
+                ++_inputPtr;
+                _binaryValue = null;
+                _numberInt = SmileUtil.zigzagDecode(ch & 0x1F);
+                _numTypesValid = NR_INT;
+                _numberType = NumberType.INT;
+                _valueComplete(JsonToken.VALUE_NUMBER_INT);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /*
     /**********************************************************************
     /* Second-level decoding
@@ -388,23 +545,56 @@ public class NonBlockingByteArrayParser
                 }
                 _mayContainRawBinary = ((ch & SmileConstants.HEADER_BIT_HAS_RAW_BINARY) != 0);
             }
-            _majorState = MAJOR_ROOT;
-            _currToken = null;
-
-            // Mild difference here: initial marker not reported separately, but in-line
-            // ones need to be reported as `null` tokens as they are logical document end
-            // markers (although should be collated with actual end markers)
-            if (_minorState == MINOR_HEADER_INLINE) {
-                return null;
+            if ((ch & SmileConstants.HEADER_BIT_HAS_DICTIONARY) == 0) {
+                return _finishHeaderDone();
             }
-            // Ok to use recursion in case of initial header, as well:
-            return nextToken();
+            state = 3;
+            // fall through: two bytes of dictionary id follow
+        case 3:
+            if (_inputPtr >= _inputEnd) {
+                _pending32 = state;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            ch = _inputBuffer[_inputPtr++];
+            if (ch < 0) {
+                errorDesc = "Malformed content: dictionary id in header not valid, has byte with high bit set (0x%s)";
+                break;
+            }
+            _pending64 = ch;
+            state = 4;
+        case 4:
+            if (_inputPtr >= _inputEnd) {
+                _pending32 = state;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            ch = _inputBuffer[_inputPtr++];
+            if (ch < 0) {
+                errorDesc = "Malformed content: dictionary id in header not valid, has byte with high bit set (0x%s)";
+                break;
+            }
+            _applyDictionary((((int) _pending64) << 7) | ch);
+            return _finishHeaderDone();
         default:
         }
-        _reportError(errorDesc, Integer.toHexString(ch));
+        _reportError(errorDesc, Integer.toHexString(ch & 0xFF));
         return null;
     }
 
+    private final JsonToken _finishHeaderDone() throws IOException
+    {
+        _majorState = MAJOR_ROOT;
+        _currToken = null;
+
+        // Mild difference here: initial marker not reported separately, but in-line
+        // ones need to be reported as `null` tokens as they are logical document end
+        // markers (although should be collated with actual end markers)
+        if (_minorState == MINOR_HEADER_INLINE) {
+            return null;
+        }
+        // Ok to use recursion in case of initial header, as well:
+        return nextToken();
+    }
+
     /**
      * Helper method called to detect type of a value token (at any level), and possibly
      * decode it if contained in input buffer.
@@ -0,0 +1,170 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+/**
+ * Non-blocking parser that is fed input using {@link ByteBuffer}s, instead of
+ * byte arrays: useful with NIO-based frameworks that receive content in
+ * (direct or heap) buffers. Contents of fed buffer are read from its current
+ * position up to its limit; buffer itself (including its position) is not
+ * modified, but its contents must not be changed until parser has consumed
+ * them, that is, until {@link #needMoreInput()} returns {@code true}.
+ *<p>
+ * Only heap buffers are decoded directly from their backing array. Decoding
+ * itself works on byte arrays, so content of direct (and read-only) buffers
+ * is copied, one slice of {@link #SLICE_SIZE} bytes at a time, into a
+ * buffer reused by the parser as it proceeds: this avoids the need for caller
+ * to allocate and copy a byte array for each buffer fed, but does not avoid
+ * copying altogether. As with byte arrays, tokens that straddle buffer (and
+ * slice) boundaries are handled by regular non-blocking decoding.
+ *
+ * @since 3.0
+ */
+public class NonBlockingByteBufferParser
+    extends NonBlockingByteArrayParser
+    implements ByteBufferFeeder
+{
+    /**
+     * Size of slices in which content of buffers without accessible backing
+     * array is copied for decoding.
+     */
+    protected final static int SLICE_SIZE = 8000;
+
+    /**
+     * Buffer that has content not yet transferred for decoding, if any;
+     * a view of buffer fed, positioned at the first byte not yet transferred.
+     */
+    protected ByteBuffer _pendingInput;
+
+    /**
+     * Reusable buffer into which slices of {@link #_pendingInput} are
+     * copied, allocated when first needed.
+     */
+    protected byte[] _sliceBuffer;
+
+    public NonBlockingByteBufferParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int smileFeatures,
+            ByteQuadsCanonicalizer sym)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, smileFeatures, sym);
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public ByteBufferFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public final boolean needMoreInput() {
+        return (_inputPtr >=_inputEnd) && (_pendingInput == null) && !_endOfInput;
+    }
+
+    @Override
+    public void feedInput(ByteBuffer buf) throws IOException
+    {
+        if (_pendingInput != null) {
+            _reportError("Still have %d undecoded bytes, should not call 'feedInput'",
+                    (_inputEnd - _inputPtr) + _pendingInput.remaining());
+        }
+        if (buf.hasArray()) {
+            final int offset = buf.arrayOffset();
+            feedInput(buf.array(), offset + buf.position(), offset + buf.limit());
+            return;
+        }
+        // Verify state same way as with byte arrays; first slice is transferred lazily
+        feedInput(NO_BYTES, 0, 0);
+        if (buf.hasRemaining()) {
+            _pendingInput = buf.duplicate();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract methods/overrides from JsonParser
+    /**********************************************************************
+     */
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        int avail = super.releaseBuffered(out);
+        final ByteBuffer pending = _pendingInput;
+        if (pending != null) {
+            final ByteBuffer rest = pending.duplicate();
+            final byte[] buf = new byte[Math.min(SLICE_SIZE, rest.remaining())];
+            while (rest.hasRemaining()) {
+                final int count = Math.min(buf.length, rest.remaining());
+                rest.get(buf, 0, count);
+                out.write(buf, 0, count);
+                avail += count;
+            }
+        }
+        return avail;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if ((_inputPtr >= _inputEnd) && (_pendingInput != null)) {
+            _loadNextSlice();
+        }
+        JsonToken t = super.nextToken();
+        // token may continue in the next slice
+        while ((t == JsonToken.NOT_AVAILABLE) && (_pendingInput != null)) {
+            _loadNextSlice();
+            t = super.nextToken();
+        }
+        return t;
+    }
+
+    @Override
+    protected void _releaseBuffers2()
+    {
+        super._releaseBuffers2();
+        _pendingInput = null;
+        _sliceBuffer = null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to copy next slice of pending content, once all
+     * content of the previous one has been consumed.
+     */
+    protected void _loadNextSlice()
+    {
+        final ByteBuffer pending = _pendingInput;
+        byte[] slice = _sliceBuffer;
+        if (slice == null) {
+            _sliceBuffer = slice = new byte[SLICE_SIZE];
+        }
+        final int count = Math.min(slice.length, pending.remaining());
+        pending.get(slice, 0, count);
+        if (!pending.hasRemaining()) {
+            _pendingInput = null;
+        }
+        // Update pointers same way as when content is fed
+        _currInputProcessed += _origBufferLen;
+        _inputBuffer = slice;
+        _inputPtr = 0;
+        _inputEnd = count;
+        _origBufferLen = count;
+    }
+}
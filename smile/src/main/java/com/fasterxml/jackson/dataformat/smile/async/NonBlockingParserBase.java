@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.sym.FieldNameMatcher;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.dataformat.smile.*;
 
@@ -120,6 +121,20 @@ public abstract class NonBlockingParserBase
      */
     protected int _inputCopyLen;
 
+    /**
+     * Matchers used with {@link #nextFieldName(FieldNameMatcher)} for shared
+     * names, indexed by back-reference index, along with matching entries of
+     * {@link #_seenNameMatches}: allows resolving back-references to names
+     * without matching names again. Allocated when first needed.
+     */
+    protected FieldNameMatcher[] _seenNameMatchers;
+
+    /**
+     * Match indexes for names in {@link #_seenNames}, for matchers in
+     * {@link #_seenNameMatchers}.
+     */
+    protected int[] _seenNameMatches;
+
     /**
      * Temporary storage for 32-bit values (int, float), as well as length markers
      * for length-prefixed values.
@@ -524,13 +539,17 @@ public abstract class NonBlockingParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenNamesBuffer();
+            newShared = _smileBufferRecycler().allocSeenNamesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_NAME_BUFFER_LENGTH];                
             }
         } else if (len == SmileConstants.MAX_SHARED_NAMES) { // too many? Just flush...
       	   newShared = oldShared;
       	   _seenNameCount = 0; // could also clear, but let's not yet bother
+            // but matches for old names must not be used
+            if (_seenNameMatchers != null) {
+                Arrays.fill(_seenNameMatchers, null);
+            }
         } else {
             int newSize = (len == SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH) ? 256 : SmileConstants.MAX_SHARED_NAMES;
             newShared = new String[newSize];
@@ -539,6 +558,16 @@ public abstract class NonBlockingParserBase
         return newShared;
     }
 
+    @Override
+    protected void _applyDictionary(int id) throws IOException
+    {
+        super._applyDictionary(id);
+        // names may have changed, so matches for them must not be used
+        if (_seenNameMatchers != null) {
+            Arrays.fill(_seenNameMatchers, null);
+        }
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, state changes
@@ -584,6 +613,39 @@ public abstract class NonBlockingParserBase
         return (_currToken = JsonToken.FIELD_NAME);
     }
 
+    /**
+     * Helper method for matching shared name with given back-reference index,
+     * using match found earlier with the same matcher, if any.
+     */
+    protected final int _matchSeenName(FieldNameMatcher matcher, int index)
+    {
+        final FieldNameMatcher[] matchers = _seenNameMatchers;
+        if ((matchers != null) && (index < matchers.length) && (matchers[index] == matcher)) {
+            return _seenNameMatches[index];
+        }
+        final int match = matcher.matchName(_seenNames[index]);
+        _addSeenNameMatch(matcher, index, match);
+        return match;
+    }
+
+    protected final void _addSeenNameMatch(FieldNameMatcher matcher, int index, int match)
+    {
+        FieldNameMatcher[] matchers = _seenNameMatchers;
+        if ((matchers == null) || (index >= matchers.length)) {
+            final int len = _seenNames.length;
+            if (matchers == null) {
+                matchers = new FieldNameMatcher[len];
+                _seenNameMatches = new int[len];
+            } else {
+                matchers = Arrays.copyOf(matchers, len);
+                _seenNameMatches = Arrays.copyOf(_seenNameMatches, len);
+            }
+            _seenNameMatchers = matchers;
+        }
+        matchers[index] = matcher;
+        _seenNameMatches[index] = match;
+    }
+
     protected final void _addSeenStringValue(String v) throws IOException
     {
         if (_seenStringValueCount < _seenStringValues.length) {
@@ -599,7 +661,7 @@ public abstract class NonBlockingParserBase
         int len = oldShared.length;
         String[] newShared;
         if (len == 0) {
-            newShared = _smileBufferRecycler.allocSeenStringValuesBuffer();
+            newShared = _smileBufferRecycler().allocSeenStringValuesBuffer();
             if (newShared == null) {
                 newShared = new String[SmileBufferRecycler.DEFAULT_STRING_VALUE_BUFFER_LENGTH];
             }
@@ -0,0 +1,201 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.fasterxml.jackson.dataformat.smile.async.AsyncReaderWrapper;
+import com.fasterxml.jackson.dataformat.smile.async.AsyncReaderWrapperForByteArray;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.smile.testutil.ThrottledInputStream;
+
+/**
+ * Tests for pre-seeding shared names and values using {@link SmileDictionary}.
+ */
+public class DictionaryTest extends BaseTestForSmile
+{
+    private final static SmileDictionary DICT = SmileDictionary.construct(0x1234,
+            Arrays.asList("id", "name", "roles", "active"),
+            Arrays.asList("admin", "user", "guest"));
+
+    private final static SmileDictionary OLD_DICT = SmileDictionary.construct(3,
+            Arrays.asList("name"), null);
+
+    private final SmileMapper DICT_MAPPER = new SmileMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .dictionary(DICT)
+            .build());
+
+    private final SmileMapper PLAIN_MAPPER = new SmileMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    public void testRoundTrip() throws Exception
+    {
+        final Map<String,Object> input = _input();
+        byte[] doc = DICT_MAPPER.writeValueAsBytes(input);
+        byte[] plainDoc = PLAIN_MAPPER.writeValueAsBytes(input);
+
+        // header has dictionary id, and back-references are used from the start
+        assertEquals(SmileConstants.HEADER_BIT_HAS_DICTIONARY,
+                doc[3] & SmileConstants.HEADER_BIT_HAS_DICTIONARY);
+        assertEquals(0x1234 >> 7, doc[4]);
+        assertEquals(0x1234 & 0x7F, doc[5]);
+        assertTrue("Expected less than "+(plainDoc.length - 20)+" bytes, got "+doc.length,
+                doc.length < plainDoc.length - 20);
+
+        JsonNode exp = PLAIN_MAPPER.readTree(plainDoc);
+        assertEquals(exp, DICT_MAPPER.readTree(doc));
+        // and with content split across buffer boundaries
+        assertEquals(exp, DICT_MAPPER.readTree(new ThrottledInputStream(doc, 3)));
+    }
+
+    public void testAsyncParsing() throws Exception
+    {
+        byte[] doc = DICT_MAPPER.writeValueAsBytes(_input());
+        final String exp = _tokens(DICT_MAPPER.createParser(doc));
+
+        for (int bytesPerFeed : new int[] { 1, 3, 1000 }) {
+            AsyncReaderWrapper r = new AsyncReaderWrapperForByteArray(
+                    DICT_MAPPER.tokenStreamFactory().createNonBlockingByteArrayParser(ObjectReadContext.empty()),
+                    bytesPerFeed, doc, 0);
+            StringBuilder sb = new StringBuilder();
+            JsonToken t;
+            while ((t = r.nextToken()) != null) {
+                sb.append(t);
+                if (t == JsonToken.FIELD_NAME) {
+                    sb.append(':').append(r.currentName());
+                } else if (t.isScalarValue()) {
+                    sb.append(':').append(r.currentText());
+                }
+                sb.append(' ');
+            }
+            r.close();
+            assertEquals(exp, sb.toString());
+        }
+    }
+
+    public void testMultipleDocuments() throws Exception
+    {
+        // Each header re-seeds shared names, values
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SmileGenerator g = (SmileGenerator) DICT_MAPPER.createGenerator(bytes)) {
+            g.writeStartObject();
+            g.writeStringField("name", "admin");
+            g.writeStringField("other", "guest");
+            g.writeEndObject();
+            g.writeHeader();
+            g.writeStartObject();
+            g.writeStringField("other", "user");
+            g.writeStringField("name", "guest");
+            g.writeEndObject();
+        }
+        try (JsonParser p = DICT_MAPPER.createParser(bytes.toByteArray())) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("admin", p.nextTextValue());
+            assertEquals("other", p.nextFieldName());
+            assertEquals("guest", p.nextTextValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("other", p.nextFieldName());
+            assertEquals("user", p.nextTextValue());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("guest", p.nextTextValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+            assertNull(p.nextToken());
+        }
+    }
+
+    public void testRegisteredDictionaries() throws Exception
+    {
+        SmileMapper oldMapper = new SmileMapper(SmileFactory.builder()
+                .dictionary(OLD_DICT)
+                .build());
+        byte[] doc = oldMapper.writeValueAsBytes(Collections.singletonMap("name", "x"));
+
+        // factory that writes using new dictionary can still read old one, if registered
+        SmileFactory f = DICT_MAPPER.tokenStreamFactory().rebuild()
+                .addDictionary(OLD_DICT)
+                .build();
+        assertSame(DICT, f.getDictionary());
+        assertEquals("{\"name\":\"x\"}", new SmileMapper(f).readTree(doc).toString());
+
+        // but not one that does not know it
+        try {
+            DICT_MAPPER.readTree(doc);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "unknown dictionary (id 3)");
+        }
+    }
+
+    public void testNoDictionaryWithoutHeader() throws Exception
+    {
+        SmileMapper mapper = new SmileMapper(SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .dictionary(DICT)
+                .build());
+        byte[] doc = mapper.writeValueAsBytes(_input());
+        assertEquals(_tokens(PLAIN_MAPPER.createParser(PLAIN_MAPPER.writeValueAsBytes(_input()))),
+                _tokens(newSmileMapper().createParser(doc)));
+    }
+
+    public void testInvalidDictionaries() throws Exception
+    {
+        try {
+            SmileDictionary.construct(SmileDictionary.MAX_ID + 1, null, null);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Invalid dictionary id");
+        }
+        try {
+            SmileDictionary.construct(1, Arrays.asList("a", null), null);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "can not contain null");
+        }
+        // values longer than what may be shared are not allowed
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            sb.append("\u00E9");
+        }
+        try {
+            SmileDictionary.construct(1, null, Arrays.asList(sb.toString()));
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "encoded length (80 bytes)");
+        }
+    }
+
+    private Map<String,Object> _input()
+    {
+        Map<String,Object> input = new LinkedHashMap<>();
+        input.put("id", 123);
+        input.put("name", "admin");
+        input.put("roles", Arrays.asList("admin", "user", "other"));
+        input.put("active", Boolean.TRUE);
+        input.put("extra", Collections.singletonMap("name", "guest"));
+        return input;
+    }
+
+    private String _tokens(JsonParser p) throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            sb.append(t);
+            if (t == JsonToken.FIELD_NAME) {
+                sb.append(':').append(p.currentName());
+            } else if (t.isScalarValue()) {
+                sb.append(':').append(p.getText());
+            }
+            sb.append(' ');
+        }
+        p.close();
+        return sb.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Tests for {@link SmileBufferRecyclerPool} implementations and their
+ * configuration using {@link SmileFactoryBuilder}.
+ */
+public class RecyclerPoolTest extends BaseTestForSmile
+{
+    public void testDefaultPool() throws Exception
+    {
+        assertSame(SmileBufferRecyclerPools.threadLocalPool(),
+                new SmileFactory().getRecyclerPool());
+        assertSame(SmileBufferRecyclerPools.threadLocalPool(),
+                SmileFactory.builder().build().getRecyclerPool());
+    }
+
+    public void testRoundTripWithPools() throws Exception
+    {
+        for (SmileBufferRecyclerPool pool : _pools()) {
+            SmileMapper mapper = _mapper(pool);
+            assertSame(pool, mapper.tokenStreamFactory().getRecyclerPool());
+            assertSame(pool, mapper.tokenStreamFactory().rebuild().build().getRecyclerPool());
+            // multiple rounds, to get recyclers (and buffers) reused
+            for (int i = 0; i < 3; ++i) {
+                _verifyRoundTrip(mapper, i);
+            }
+        }
+    }
+
+    public void testPooledRecyclerReuse() throws Exception
+    {
+        SmileBufferRecyclerPool pool = SmileBufferRecyclerPools.newBoundedPool(2);
+        SmileBufferRecycler<String> genRecycler = pool.acquireRecycler(true);
+        SmileBufferRecycler<String> parserRecycler = pool.acquireRecycler(false);
+        assertNotSame(genRecycler, parserRecycler);
+        pool.releaseRecycler(genRecycler, true);
+        pool.releaseRecycler(parserRecycler, false);
+        // recyclers are only handed back for same kind of use
+        assertSame(parserRecycler, pool.acquireRecycler(false));
+        assertSame(genRecycler, pool.acquireRecycler(true));
+        assertNotSame(genRecycler, pool.acquireRecycler(true));
+
+        pool = SmileBufferRecyclerPools.newLockFreePool(1);
+        genRecycler = pool.acquireRecycler(true);
+        pool.releaseRecycler(genRecycler, true);
+        assertSame(genRecycler, pool.acquireRecycler(true));
+        assertNotSame(genRecycler, pool.acquireRecycler(true));
+    }
+
+    public void testConcurrentUse() throws Exception
+    {
+        for (SmileBufferRecyclerPool pool : new SmileBufferRecyclerPool[] {
+                SmileBufferRecyclerPools.newLockFreePool(2),
+                SmileBufferRecyclerPools.newBoundedPool(2)
+        }) {
+            final SmileMapper mapper = _mapper(pool);
+            ExecutorService exec = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < 40; ++i) {
+                    final int index = i;
+                    results.add(exec.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            _verifyRoundTrip(mapper, index);
+                            return null;
+                        }
+                    }));
+                }
+                for (Future<?> f : results) {
+                    f.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                exec.shutdown();
+            }
+        }
+    }
+
+    public void testPoolsSerializable() throws Exception
+    {
+        for (SmileBufferRecyclerPool pool : _pools()) {
+            SmileFactory f = _mapper(pool).tokenStreamFactory();
+            SmileFactory f2 = _jdkRoundTrip(f);
+            assertEquals(pool.getClass(), f2.getRecyclerPool().getClass());
+            _verifyRoundTrip(new SmileMapper(f2), 0);
+        }
+        assertSame(SmileBufferRecyclerPools.threadLocalPool(),
+                _jdkRoundTrip(SmileBufferRecyclerPools.threadLocalPool()));
+    }
+
+    public void testInvalidPools() throws Exception
+    {
+        try {
+            SmileBufferRecyclerPools.newLockFreePool(0);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "must be positive");
+        }
+        try {
+            SmileFactory.builder().recyclerPool(null);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "null recycler pool");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private SmileBufferRecyclerPool[] _pools() {
+        return new SmileBufferRecyclerPool[] {
+                SmileBufferRecyclerPools.threadLocalPool(),
+                SmileBufferRecyclerPools.nonRecyclingPool(),
+                SmileBufferRecyclerPools.newLockFreePool(),
+                SmileBufferRecyclerPools.newBoundedPool()
+        };
+    }
+
+    private SmileMapper _mapper(SmileBufferRecyclerPool pool) {
+        return new SmileMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .recyclerPool(pool)
+                .build());
+    }
+
+    private void _verifyRoundTrip(SmileMapper mapper, int index) throws Exception
+    {
+        List<Map<String,Object>> input = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            Map<String,Object> entry = new LinkedHashMap<>();
+            entry.put("id", i);
+            entry.put("name"+(i % 7), "value"+(i % 5));
+            entry.put("index", "doc"+index);
+            input.add(entry);
+        }
+        byte[] doc = mapper.writeValueAsBytes(input);
+        JsonNode exp = mapper.valueToTree(input);
+        assertEquals(exp, mapper.readTree(doc));
+        assertEquals(exp, mapper.readTree(new ByteArrayInputStream(doc)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T _jdkRoundTrip(T value) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1000);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.fasterxml.jackson.dataformat.smile;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.smile.testutil.ThrottledInputStream;
+
+/**
+ * Tests for {@link SmileTranscoder}.
+ */
+public class TranscoderTest extends BaseTestForSmile
+{
+    private final SmileMapper MAPPER = smileMapper();
+
+    private final SmileMapper SHARED_VALUES_MAPPER = new SmileMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    public void testTranscodeToSmile() throws Exception
+    {
+        for (SmileMapper source : new SmileMapper[] { MAPPER, SHARED_VALUES_MAPPER }) {
+            byte[] doc = source.writeValueAsBytes(_input());
+            JsonNode exp = MAPPER.readTree(doc);
+            for (SmileMapper target : new SmileMapper[] { MAPPER, SHARED_VALUES_MAPPER }) {
+                assertEquals(exp, MAPPER.readTree(_transcode(target,
+                        (SmileParser) MAPPER.createParser(doc))));
+                // and with content split across buffer boundaries
+                assertEquals(exp, MAPPER.readTree(_transcode(target,
+                        (SmileParser) MAPPER.createParser(new ThrottledInputStream(doc, 7)))));
+            }
+        }
+    }
+
+    public void testTranscodeToJSON() throws Exception
+    {
+        Map<String,Object> input = _input();
+        input.remove("binary");
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SmileParser p = (SmileParser) MAPPER.createParser(doc);
+                JsonGenerator g = JSON_MAPPER.createGenerator(bytes)) {
+            SmileTranscoder.transcode(p, g);
+        }
+        assertEquals(JSON_MAPPER.writeValueAsString(input), bytes.toString("UTF-8"));
+    }
+
+    public void testSharedValuesWithUTF8Strings() throws Exception
+    {
+        // Short values written as UTF-8 still need to be shared
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] value = "shared\u00A9".getBytes("UTF-8");
+        try (JsonGenerator g = SHARED_VALUES_MAPPER.createGenerator(bytes)) {
+            g.writeStartArray();
+            g.writeUTF8String(value, 0, value.length);
+            g.writeUTF8String(value, 0, value.length);
+            g.writeEndArray();
+        }
+        byte[] doc = bytes.toByteArray();
+        // header (4), start/end array, 1 type byte + 8 bytes, 1 byte for back-reference
+        assertEquals(4 + 2 + 9 + 1, doc.length);
+        assertEquals("[\"shared\u00A9\",\"shared\u00A9\"]",
+                JSON_MAPPER.writeValueAsString(MAPPER.readTree(doc)));
+    }
+
+    private byte[] _transcode(SmileMapper target, SmileParser p) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator g = target.createGenerator(bytes)) {
+            SmileTranscoder.transcode(p, g);
+        }
+        p.close();
+        return bytes.toByteArray();
+    }
+
+    private Map<String,Object> _input()
+    {
+        Map<String,Object> input = new LinkedHashMap<>();
+        input.put("ascii", "abc");
+        input.put("empty", "");
+        input.put("unicode", "\u00A9 2019 \u20AC");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("value #").append(i).append(" \u00E9; ");
+        }
+        input.put("long", sb.toString());
+        input.put("numbers", Arrays.asList(1, -200, Long.MAX_VALUE, 0.25, true, null));
+        // short values repeated, to use shared value references
+        List<String> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            repeated.add("name"+(i % 5));
+        }
+        input.put("repeated", repeated);
+        input.put("binary", new byte[] { 1, 2, 3, (byte) 0xFF });
+        return input;
+    }
+}
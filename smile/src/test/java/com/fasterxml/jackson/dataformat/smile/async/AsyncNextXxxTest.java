@@ -0,0 +1,129 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Tests for optimized traversal methods ({@code nextFieldName()},
+ * {@code nextXxxValue()}) of non-blocking parser.
+ */
+public class AsyncNextXxxTest extends AsyncTestBase
+{
+    static class Point {
+        public int x, y;
+        public String label;
+        public boolean visible;
+
+        protected Point() { }
+        public Point(int x, int y, String label, boolean visible) {
+            this.x = x;
+            this.y = y;
+            this.label = label;
+            this.visible = visible;
+        }
+    }
+
+    static class Line {
+        public Point from, to;
+        public long weight;
+
+        protected Line() { }
+        public Line(Point from, Point to, long weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+    }
+
+    private final SmileFactory FACTORY = smileFactoryBuilder(false, true, false)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    private final ObjectMapper MAPPER = new SmileMapper(FACTORY);
+
+    public void testNextFieldNameWithMatcher() throws Exception
+    {
+        List<Line> input = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            input.add(new Line(new Point(i, -i, "from"+(i % 3), true),
+                    new Point(i * 1000, 7, "to", (i & 1) == 0), 1L << (i % 60)));
+        }
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+
+        NonBlockingByteArrayParser p = _parser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (int i = 0; i < input.size(); ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            Line exp = input.get(i);
+            Line act = MAPPER.readValue(p, Line.class);
+            assertEquals(exp.weight, act.weight);
+            _assertPoint(exp.from, act.from);
+            _assertPoint(exp.to, act.to);
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    public void testNextFieldNameAndValues() throws Exception
+    {
+        List<Map<String,Object>> input = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            Map<String,Object> map = new LinkedHashMap<>();
+            map.put("text", "value");
+            map.put("int", i - 1);
+            map.put("long", 100000L + i);
+            map.put("bool", (i == 1));
+            map.put("other", null);
+            input.add(map);
+        }
+        byte[] doc = MAPPER.writeValueAsBytes(input);
+        NonBlockingByteArrayParser p = _parser(doc);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        for (int i = 0; i < 3; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            // names shared after first Object
+            assertTrue(p.nextFieldName(new SerializedString("text")));
+            assertEquals("value", p.nextTextValue());
+            assertFalse(p.nextFieldName(new SerializedString("long")));
+            assertEquals("int", p.currentName());
+            assertEquals(i - 1, p.nextIntValue(-99));
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.currentToken());
+            assertTrue(p.nextFieldName(new SerializedString("long")));
+            assertEquals(100000L + i, p.nextLongValue(-1L));
+            assertTrue(p.nextFieldName(new SerializedString("bool")));
+            assertEquals(Boolean.valueOf(i == 1), p.nextBooleanValue());
+            assertTrue(p.nextFieldName(new SerializedString("other")));
+            assertNull(p.nextTextValue());
+            assertToken(JsonToken.VALUE_NULL, p.currentToken());
+            assertFalse(p.nextFieldName(new SerializedString("text")));
+            assertToken(JsonToken.END_OBJECT, p.currentToken());
+        }
+        assertNull(p.nextTextValue());
+        assertToken(JsonToken.END_ARRAY, p.currentToken());
+        p.close();
+    }
+
+    private NonBlockingByteArrayParser _parser(byte[] doc) throws Exception
+    {
+        NonBlockingByteArrayParser p = FACTORY.createNonBlockingByteArrayParser(ObjectReadContext.empty());
+        p.feedInput(doc, 0, doc.length);
+        p.endOfInput();
+        return p;
+    }
+
+    private void _assertPoint(Point exp, Point act)
+    {
+        assertEquals(exp.x, act.x);
+        assertEquals(exp.y, act.y);
+        assertEquals(exp.label, act.label);
+        assertEquals(exp.visible, act.visible);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+/**
+ * Helper class used with async parser fed using {@link ByteBuffer}s
+ */
+public class AsyncReaderWrapperForByteBuffer extends AsyncReaderWrapper
+{
+    private final byte[] _doc;
+    private final int _bytesPerFeed;
+    private final int _padding;
+    private final boolean _direct;
+
+    private int _offset;
+    private int _end;
+
+    public AsyncReaderWrapperForByteBuffer(JsonParser sr, int bytesPerCall,
+            byte[] doc, int padding, boolean direct)
+    {
+        super(sr);
+        _bytesPerFeed = bytesPerCall;
+        _doc = doc;
+        _offset = 0;
+        _end = doc.length;
+        _padding = padding;
+        _direct = direct;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        JsonToken token;
+
+        while ((token = _streamReader.nextToken()) == JsonToken.NOT_AVAILABLE) {
+            ByteBufferFeeder feeder = (ByteBufferFeeder) _streamReader.getNonBlockingInputFeeder();
+            if (!feeder.needMoreInput()) {
+                throw new IOException("Got NOT_AVAILABLE, could not feed more input");
+            }
+            int amount = Math.min(_bytesPerFeed, _end - _offset);
+            if (amount < 1) { // end-of-input?
+                feeder.endOfInput();
+            } else {
+                // content between padding on both sides
+                ByteBuffer buf = _direct ? ByteBuffer.allocateDirect(amount + _padding + _padding)
+                        : ByteBuffer.allocate(amount + _padding + _padding);
+                buf.position(_padding);
+                buf.put(_doc, _offset, amount);
+                buf.flip();
+                buf.position(_padding);
+                feeder.feedInput(buf);
+                _offset += amount;
+            }
+        }
+        return token;
+    }
+}
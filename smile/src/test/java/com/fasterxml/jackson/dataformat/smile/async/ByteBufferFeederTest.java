@@ -0,0 +1,130 @@
+package com.fasterxml.jackson.dataformat.smile.async;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Tests for {@link NonBlockingByteBufferParser}.
+ */
+public class ByteBufferFeederTest extends AsyncTestBase
+{
+    private final SmileFactory FACTORY = smileFactoryBuilder(true, true, false)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    private final ObjectMapper MAPPER = newSmileMapper();
+
+    public void testHeapBuffers() throws Exception
+    {
+        _testWithFeeds(false);
+    }
+
+    public void testDirectBuffers() throws Exception
+    {
+        _testWithFeeds(true);
+    }
+
+    public void testPartiallyConsumedBuffer() throws Exception
+    {
+        // content larger than a single slice, fed in one direct buffer
+        final byte[] doc = _doc();
+        assertTrue(doc.length > NonBlockingByteBufferParser.SLICE_SIZE);
+        NonBlockingByteBufferParser p = FACTORY.createNonBlockingByteBufferParser(ObjectReadContext.empty());
+        assertTrue(p.needMoreInput());
+        ByteBuffer buf = ByteBuffer.allocateDirect(doc.length);
+        buf.put(doc);
+        buf.flip();
+        p.feedInput(buf);
+        // caller's buffer not modified
+        assertEquals(0, buf.position());
+        assertFalse(p.needMoreInput());
+
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        try {
+            p.feedInput(ByteBuffer.allocateDirect(10));
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Still have");
+        }
+        // remaining content may be released
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int count = p.releaseBuffered(bytes);
+        assertTrue(count > NonBlockingByteBufferParser.SLICE_SIZE);
+        assertTrue(Arrays.equals(Arrays.copyOfRange(doc, doc.length - count, doc.length),
+                bytes.toByteArray()));
+        p.close();
+    }
+
+    private void _testWithFeeds(boolean direct) throws Exception
+    {
+        final byte[] doc = _doc();
+        for (int bytesPerFeed : new int[] { 1, 3, 17, 1000, 9000, doc.length }) {
+            for (int padding : new int[] { 0, 1 }) {
+                AsyncReaderWrapper r = new AsyncReaderWrapperForByteBuffer(
+                        FACTORY.createNonBlockingByteBufferParser(ObjectReadContext.empty()),
+                        bytesPerFeed, doc, padding, direct);
+                _verifyTokens(doc, r);
+                r.close();
+            }
+        }
+    }
+
+    private void _verifyTokens(byte[] doc, AsyncReaderWrapper r) throws Exception
+    {
+        try (JsonParser p = MAPPER.createParser(doc)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                assertToken(t, r.nextToken());
+                switch (t) {
+                case FIELD_NAME:
+                    assertEquals(p.currentName(), r.currentName());
+                    break;
+                case VALUE_STRING:
+                    assertEquals(p.getText(), r.currentText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    assertEquals(p.getNumberValue(), r.parser().getNumberValue());
+                    break;
+                case VALUE_EMBEDDED_OBJECT:
+                    assertTrue(Arrays.equals(p.getBinaryValue(), r.getBinaryValue()));
+                    break;
+                default:
+                }
+            }
+            assertNull(r.nextToken());
+        }
+    }
+
+    private byte[] _doc() throws Exception
+    {
+        Map<String,Object> input = new LinkedHashMap<>();
+        input.put("ascii", "abc");
+        input.put("unicode", UNICODE_SEGMENT);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("value #").append(i).append(UNICODE_SEGMENT);
+        }
+        input.put("long", sb.toString());
+        input.put("numbers", Arrays.asList(1, -200, Long.MAX_VALUE, 0.25, true, null));
+        List<String> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            repeated.add("name"+(i % 5));
+        }
+        input.put("repeated", repeated);
+        input.put("binary", new byte[3000]);
+        return new SmileMapper(FACTORY).writeValueAsBytes(input);
+    }
+}
@@ -8,6 +8,9 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.fasterxml.jackson.dataformat.smile.BaseTestForSmile;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
 /* Test based on kimchy's issue (see https://gist.github.com/853232);
  * exhibits an issue with buffer recycling.
@@ -27,6 +30,28 @@ public class TestGeneratorBufferRecycle extends BaseTestForSmile
         writeMapAndParse(mapper, props2);
     }
 
+    // Shared name/value tables of all sizes are recycled, must be cleared properly
+    public void testSharedStringTables() throws Exception
+    {
+        ObjectMapper mapper = new SmileMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        Map<String,String> big = new LinkedHashMap<String,String>();
+        // enough to expand tables, and to flush them once full
+        for (int i = 0; i < 1500; ++i) {
+            big.put("prop_"+i, "value_"+(i % 1100));
+        }
+        Map<String,String> small = new LinkedHashMap<String,String>();
+        small.put("prop_3", "value_9");
+        small.put("x", "value_3");
+        small.put("prop_9", "value_9");
+
+        for (Map<String,String> map : Arrays.asList(big, small, big, small)) {
+            byte[] doc = mapper.writeValueAsBytes(map);
+            assertEquals(map, mapper.readValue(doc, Map.class));
+        }
+    }
+
     /*
     /**********************************************************
     /* Helper methods
@@ -0,0 +1,121 @@
+package perf;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectWriteContext;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Manual test for measuring throughput of {@code writeFieldName()} and
+ * {@code writeString()} with shared name (and value) checking enabled,
+ * for documents with many distinct names and short String values,
+ * which exercises lookups in hash areas of shared Strings.
+ */
+public class WritePerfSharedStrings
+{
+    private final static int WARMUP_ROUNDS = 10;
+
+    private final static int REPS = 200;
+
+    private final static int ENTRIES = 2000;
+
+    private final String[] _names;
+
+    private final String[] _values;
+
+    private final String[] _descs = new String[] { "Shared-names", "Shared-names+values" };
+
+    private final SmileFactory[] _factories;
+
+    private WritePerfSharedStrings(int distinctNames, int distinctValues)
+    {
+        _names = new String[ENTRIES];
+        _values = new String[ENTRIES];
+        for (int i = 0; i < ENTRIES; ++i) {
+            // use non-interned copies for some to exercise equality checks too
+            String name = "field"+(i % distinctNames);
+            _names[i] = ((i & 1) == 0) ? name.intern() : name;
+            _values[i] = "value-"+(i % distinctValues);
+        }
+        _factories = new SmileFactory[] {
+                SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                    .disable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build(),
+                SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build()
+        };
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length > 2) {
+            System.err.println("Usage: java ... [distinct-names] [distinct-values]");
+            System.exit(1);
+        }
+        int names = (args.length > 0) ? Integer.parseInt(args[0]) : 300;
+        int values = (args.length > 1) ? Integer.parseInt(args[1]) : 900;
+        new WritePerfSharedStrings(names, values).test();
+    }
+
+    private void test() throws Exception
+    {
+        final int TYPES = _factories.length;
+        final double[] msecs = new double[TYPES];
+        final NopOutputStream out = new NopOutputStream();
+        int round = 0;
+
+        System.out.printf("Writing %d documents of %d fields per round\n", REPS, ENTRIES);
+
+        while (true) {
+            Thread.sleep(100L);
+            final int type = round % TYPES;
+            long start = System.nanoTime();
+            for (int i = 0; i < REPS; ++i) {
+                _write(_factories[type], out);
+            }
+            double time = (System.nanoTime() - start) / 1000000.0;
+            ++round;
+
+            if (round <= WARMUP_ROUNDS * TYPES) {
+                System.out.print(".");
+                if (round == WARMUP_ROUNDS * TYPES) {
+                    System.out.println(" warmup complete!");
+                }
+                continue;
+            }
+            msecs[type] += time;
+            System.out.printf("Test '%s' -> %.1f msecs\n", _descs[type], time);
+            if (type == (TYPES - 1)) {
+                int measured = (round / TYPES) - WARMUP_ROUNDS;
+                if ((measured % 5) == 0) {
+                    System.out.printf("Averages after %d rounds (%s/%s): %.1f / %.1f msecs\n",
+                            measured, _descs[0], _descs[1],
+                            msecs[0] / measured, msecs[1] / measured);
+                }
+                System.out.println();
+                if ((measured % 17) == 0) {
+                    System.out.println("[GC]");
+                    Thread.sleep(100L);
+                    System.gc();
+                    Thread.sleep(100L);
+                }
+            }
+        }
+    }
+
+    private void _write(SmileFactory f, NopOutputStream out) throws Exception
+    {
+        try (JsonGenerator g = f.createGenerator(ObjectWriteContext.empty(), out)) {
+            g.writeStartObject();
+            for (int i = 0; i < ENTRIES; ++i) {
+                g.writeFieldName(_names[i]);
+                g.writeString(_values[i]);
+            }
+            g.writeEndObject();
+        }
+    }
+}